@@ -14,9 +14,9 @@ CREATE TABLE product (
 );
 
 -- Create indexes for product table
-CREATE INDEX idx_product_name ON product(product_name);
-CREATE INDEX idx_created_by ON product(created_by);
-CREATE INDEX idx_created_on ON product(created_on);
+CREATE INDEX idx_product_name_id ON product(product_name, id);
+CREATE INDEX idx_product_created_on ON product(created_on, id);
+CREATE INDEX idx_product_owner_created ON product(created_by, created_on, id);
 CREATE INDEX idx_version ON product(version);
 
 -- Add comment to product table
@@ -38,8 +38,9 @@ CREATE TABLE item (
 );
 
 -- Create indexes for item table
-CREATE INDEX idx_product_id ON item(product_id);
+CREATE INDEX idx_item_product_id ON item(product_id, id);
 CREATE INDEX idx_quantity ON item(quantity);
+CREATE INDEX idx_product_quantity_id ON item(product_id, quantity, id);
 CREATE INDEX idx_version ON item(version);
 
 -- Add comment to item table
@@ -13,9 +13,9 @@ CREATE TABLE product (
     version BIGINT DEFAULT 0 COMMENT 'Optimistic locking version',
     
     UNIQUE KEY unique_product_name (product_name),
-    INDEX idx_product_name (product_name),
-    INDEX idx_created_by (created_by),
-    INDEX idx_created_on (created_on),
+    INDEX idx_product_name_id (product_name, id),
+    INDEX idx_product_created_on (created_on, id),
+    INDEX idx_product_owner_created (created_by, created_on, id),
     INDEX idx_version (version)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='Product master table';
 
@@ -27,8 +27,9 @@ CREATE TABLE item (
     version BIGINT DEFAULT 0 COMMENT 'Optimistic locking version',
     
     CONSTRAINT fk_item_product FOREIGN KEY (product_id) REFERENCES product(id) ON DELETE CASCADE ON UPDATE CASCADE,
-    INDEX idx_product_id (product_id),
+    INDEX idx_item_product_id (product_id, id),
     INDEX idx_quantity (quantity),
+    INDEX idx_product_quantity_id (product_id, quantity, id),
     INDEX idx_version (version)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='Product items table';
 
@@ -0,0 +1,342 @@
+package com.productmanager.asyncwrite;
+
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.dto.BatchOperationType;
+import com.productmanager.dto.ItemDTO;
+import com.productmanager.dto.OperationDTO;
+import com.productmanager.dto.OperationStatus;
+import com.productmanager.dto.ProductDTO;
+import com.productmanager.exception.DuplicateResourceException;
+import com.productmanager.exception.InvalidRequestException;
+import com.productmanager.exception.ResourceNotFoundException;
+import com.productmanager.exception.VersionConflictException;
+import com.productmanager.monitoring.MetricsSource;
+import com.productmanager.service.ItemService;
+import com.productmanager.service.ProductService;
+import com.productmanager.util.BatchingWorker;
+import com.productmanager.util.TimerWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accepts product and item creations for a later grouped commit.
+ *
+ * A client opts in per request with {@code Prefer: respond-async}. The create is queued and the
+ * client gets an operation id right away. Writer threads drain the queue in groups of up to
+ * {@code async-writes.group-size} and run each shard's share of a group through the regular
+ * service methods in one transaction, so a group pays for one commit instead of one per create.
+ * An operation only reports SUCCEEDED once its group has committed.
+ *
+ * One failing create rolls back its whole group. The group's creates are then replayed one
+ * transaction each, so only the failing create reports FAILED. When the queue is full or async
+ * writes are disabled, nothing is queued and the caller writes synchronously. Queued creates are
+ * written before a graceful shutdown completes; a crash loses the ones not yet committed. Finished
+ * operations stay readable for {@code async-writes.retention-seconds}.
+ */
+@Slf4j
+@Component
+public class AsyncWriteQueue implements SmartInitializingSingleton, MetricsSource {
+
+    public static final String PREFER_HEADER = "Prefer";
+    public static final String RESPOND_ASYNC = "respond-async";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Autowired
+    private ShardTransactions shardTransactions;
+
+    @Value("${async-writes.enabled:true}")
+    private boolean enabled;
+
+    @Value("${async-writes.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${async-writes.group-size:100}")
+    private int groupSize;
+
+    @Value("${async-writes.linger-ms:5}")
+    private long lingerMillis;
+
+    @Value("${async-writes.writer-threads:2}")
+    private int writerThreads;
+
+    @Value("${async-writes.retention-seconds:600}")
+    private int retentionSeconds;
+
+    @Value("${async-writes.shutdown-timeout-ms:30000}")
+    private long shutdownTimeoutMillis;
+
+    private BatchingWorker<PendingWrite> writer;
+    private final ConcurrentHashMap<String, PendingWrite> operations = new ConcurrentHashMap<>();
+    private final TimerWheel<PendingWrite> expiries = new TimerWheel<>(1000, 512, System.currentTimeMillis());
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder groups = new LongAdder();
+    private final LongAdder groupedWrites = new LongAdder();
+    private final LongAdder groupReplays = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        writer = new BatchingWorker<>("async-writer", queueCapacity, groupSize, lingerMillis, this::writeGroup);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        writer.start(writerThreads);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        int left = writer.stop(shutdownTimeoutMillis);
+        if (left > 0) {
+            log.warn("{} queued writes were not committed before shutdown", left);
+        }
+    }
+
+    /**
+     * Whether a {@code Prefer} header value asks for an asynchronous response (RFC 7240).
+     */
+    public static boolean prefersAsync(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String preference : prefer.split("[,;]")) {
+            if (RESPOND_ASYNC.equalsIgnoreCase(preference.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Queues a product creation; returns {@code null} when it was not queued and the caller
+     * should create the product synchronously.
+     */
+    public OperationDTO submitProduct(ProductDTO productDTO, String username) {
+        return submit(new PendingWrite(BatchOperationType.CREATE_PRODUCT,
+                shardResolver.shardForProductName(productDTO.getProductName()), null, productDTO, null, username));
+    }
+
+    /**
+     * Queues an item creation; returns {@code null} when it was not queued and the caller
+     * should create the item synchronously.
+     */
+    public OperationDTO submitItem(Long productId, ItemDTO itemDTO, String username) {
+        return submit(new PendingWrite(BatchOperationType.CREATE_ITEM,
+                shardResolver.shardForProductId(productId), productId, null, itemDTO, username));
+    }
+
+    public OperationDTO getOperation(String operationId, String username) {
+        PendingWrite write = operations.get(operationId);
+        // Operations are only visible to whoever submitted them
+        if (write == null || !write.username.equals(username)) {
+            throw ResourceNotFoundException.operationNotFound(operationId);
+        }
+        return toDTO(write);
+    }
+
+    @Scheduled(fixedDelayString = "${async-writes.prune-interval-ms:1000}")
+    public void pruneOperations() {
+        expiries.advance(System.currentTimeMillis(), write -> operations.remove(write.id, write));
+    }
+
+    private OperationDTO submit(PendingWrite write) {
+        if (!enabled || writer.isStopped()) {
+            return null;
+        }
+        operations.put(write.id, write);
+        if (!writer.offer(write)) {
+            operations.remove(write.id);
+            overflowed.increment();
+            return null;
+        }
+        accepted.increment();
+        return toDTO(write);
+    }
+
+    int writePending() {
+        return writer.drain();
+    }
+
+    private void writeGroup(List<PendingWrite> group) {
+        ShardResolver.groupByShard(group, write -> write.shard).forEach((shard, writes) -> {
+            groups.increment();
+            groupedWrites.add(writes.size());
+            List<Object> results;
+            try {
+                results = shardTransactions.writeOnShard(shard, () -> {
+                    List<Object> created = new ArrayList<>(writes.size());
+                    for (PendingWrite write : writes) {
+                        created.add(apply(write));
+                    }
+                    return created;
+                });
+            } catch (RuntimeException ex) {
+                if (writes.size() == 1) {
+                    fail(writes.get(0), ex);
+                    return;
+                }
+                groupReplays.increment();
+                log.debug("Group of {} writes on shard {} rolled back, replaying one by one: {}",
+                        writes.size(), shard, ex.getMessage());
+                for (PendingWrite write : writes) {
+                    try {
+                        succeed(write, shardTransactions.writeOnShard(shard, () -> apply(write)));
+                    } catch (RuntimeException writeEx) {
+                        fail(write, writeEx);
+                    }
+                }
+                return;
+            }
+            for (int i = 0; i < writes.size(); i++) {
+                succeed(writes.get(i), results.get(i));
+            }
+        });
+    }
+
+    private Object apply(PendingWrite write) {
+        return switch (write.type) {
+            case CREATE_PRODUCT -> productService.createProduct(write.product, write.username);
+            case CREATE_ITEM -> itemService.createItem(write.productId, write.item, write.username);
+            default -> throw new IllegalStateException("Unsupported async write: " + write.type);
+        };
+    }
+
+    private void succeed(PendingWrite write, Object result) {
+        write.result = result;
+        write.resourceId = result instanceof ProductDTO product ? product.getId() : ((ItemDTO) result).getId();
+        finish(write, OperationStatus.SUCCEEDED);
+        succeeded.increment();
+    }
+
+    private void fail(PendingWrite write, RuntimeException ex) {
+        HttpStatus status = statusFor(ex);
+        write.errorStatus = status.value();
+        if (status == HttpStatus.INTERNAL_SERVER_ERROR) {
+            log.error("Async {} {} failed: {}", write.type, write.id, ex.getMessage(), ex);
+            write.error = "An unexpected error occurred";
+        } else {
+            write.error = ex.getMessage();
+        }
+        finish(write, OperationStatus.FAILED);
+        failed.increment();
+    }
+
+    private void finish(PendingWrite write, OperationStatus status) {
+        write.completedOn = LocalDateTime.now();
+        write.status = status;
+        expiries.schedule(write, System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(retentionSeconds));
+    }
+
+    private static HttpStatus statusFor(RuntimeException ex) {
+        if (ex instanceof ResourceNotFoundException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        if (ex instanceof DuplicateResourceException || ex instanceof VersionConflictException
+                || ex instanceof OptimisticLockingFailureException) {
+            return HttpStatus.CONFLICT;
+        }
+        if (ex instanceof InvalidRequestException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+
+    private static OperationDTO toDTO(PendingWrite write) {
+        OperationStatus status = write.status;
+        return OperationDTO.builder()
+                .id(write.id)
+                .type(write.type)
+                .status(status)
+                .submittedOn(write.submittedOn)
+                .completedOn(write.completedOn)
+                .resourceId(write.resourceId)
+                .result(status == OperationStatus.SUCCEEDED ? write.result : null)
+                .errorStatus(write.errorStatus)
+                .error(write.error)
+                .build();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "async-writes";
+    }
+
+    @Override
+    public Map<String, Object> getMetricsSnapshot() {
+        long groupCount = groups.sum();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("queued", writer == null ? 0 : writer.size());
+        snapshot.put("retainedOperations", operations.size());
+        snapshot.put("accepted", accepted.sum());
+        snapshot.put("overflowed", overflowed.sum());
+        snapshot.put("succeeded", succeeded.sum());
+        snapshot.put("failed", failed.sum());
+        snapshot.put("groups", groupCount);
+        snapshot.put("groupReplays", groupReplays.sum());
+        snapshot.put("averageGroupSize", groupCount == 0 ? 0.0 : (double) groupedWrites.sum() / groupCount);
+        return snapshot;
+    }
+
+    /**
+     * A queued create. Outcome fields are written by a writer thread before the volatile
+     * status, and read after it.
+     */
+    private static final class PendingWrite {
+
+        private final String id = UUID.randomUUID().toString();
+        private final BatchOperationType type;
+        private final int shard;
+        private final Long productId;
+        private final ProductDTO product;
+        private final ItemDTO item;
+        private final String username;
+        private final LocalDateTime submittedOn = LocalDateTime.now();
+        private LocalDateTime completedOn;
+        private Long resourceId;
+        private Object result;
+        private Integer errorStatus;
+        private String error;
+        private volatile OperationStatus status = OperationStatus.PENDING;
+
+        private PendingWrite(BatchOperationType type, int shard, Long productId, ProductDTO product, ItemDTO item,
+                             String username) {
+            this.type = type;
+            this.shard = shard;
+            this.productId = productId;
+            this.product = product;
+            this.item = item;
+            this.username = username;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.productmanager.changes;
+
+import com.productmanager.event.CatalogChangeEvent;
+import lombok.Value;
+
+/**
+ * A committed change together with its position in the stream; the sequence is the SSE event id.
+ */
+@Value
+public class ChangeEnvelope {
+
+    long sequence;
+
+    CatalogChangeEvent event;
+}
@@ -0,0 +1,74 @@
+package com.productmanager.changes;
+
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.entity.ChangeLogEntry;
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.repository.ChangeLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Appends every catalog change to the {@code change_log} table.
+ *
+ * Listens synchronously, so the row is written in the transaction (and on the shard) of the
+ * change itself and commits or rolls back with it.
+ */
+@Slf4j
+@Component
+public class ChangeLogRecorder {
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Autowired
+    private ShardTransactions shardTransactions;
+
+    @Value("${changes.log.enabled:true}")
+    private boolean enabled;
+
+    @Value("${changes.log.retention-days:30}")
+    private int retentionDays;
+
+    @EventListener
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        changeLogRepository.save(ChangeLogEntry.builder()
+                .entityType(event.getType().isItemChange() ? ChangeLogEntry.EntityType.ITEM : ChangeLogEntry.EntityType.PRODUCT)
+                .entityId(event.getType().isItemChange() ? event.getItemId() : event.getProductId())
+                .productId(event.getProductId())
+                .changeType(event.getType())
+                .build());
+    }
+
+    @Scheduled(cron = "${changes.log.prune-cron:0 30 3 * * *}")
+    public void pruneExpiredEntries() {
+        if (!enabled || retentionDays <= 0) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        for (int shard = 0; shard < shardResolver.getShardCount(); shard++) {
+            try {
+                int deleted = shardTransactions.writeOnShard(shard, () -> changeLogRepository.deleteRecordedBefore(cutoff));
+                log.info("Pruned {} change log entries older than {} on shard {}", deleted, cutoff, shard);
+            } catch (Throwable ex) {
+                log.error("Failed to prune change log on shard {}: {}", shard, ex.getMessage());
+            }
+        }
+    }
+
+    public boolean isRetentionEnabled() {
+        return enabled && retentionDays > 0;
+    }
+}
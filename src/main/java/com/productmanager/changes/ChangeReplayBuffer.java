@@ -0,0 +1,50 @@
+package com.productmanager.changes;
+
+import com.productmanager.event.CatalogChangeEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-size ring of the most recent changes, used to resume a stream from {@code Last-Event-ID}.
+ *
+ * Not thread-safe; {@link ChangeStreamBroker} guards it with its publish lock.
+ */
+class ChangeReplayBuffer {
+
+    private final ChangeEnvelope[] ring;
+    private long latestSequence;
+
+    ChangeReplayBuffer(int capacity) {
+        this.ring = new ChangeEnvelope[capacity];
+    }
+
+    ChangeEnvelope append(CatalogChangeEvent event) {
+        ChangeEnvelope envelope = new ChangeEnvelope(++latestSequence, event);
+        ring[(int) (envelope.getSequence() % ring.length)] = envelope;
+        return envelope;
+    }
+
+    long getLatestSequence() {
+        return latestSequence;
+    }
+
+    long getOldestSequence() {
+        return Math.max(1, latestSequence - ring.length + 1);
+    }
+
+    /**
+     * Whether every change after {@code lastSequence} is still retained.
+     */
+    boolean canResumeAfter(long lastSequence) {
+        return lastSequence <= latestSequence && lastSequence >= getOldestSequence() - 1;
+    }
+
+    List<ChangeEnvelope> after(long lastSequence) {
+        List<ChangeEnvelope> missed = new ArrayList<>((int) (latestSequence - lastSequence));
+        for (long sequence = lastSequence + 1; sequence <= latestSequence; sequence++) {
+            missed.add(ring[(int) (sequence % ring.length)]);
+        }
+        return missed;
+    }
+}
@@ -0,0 +1,250 @@
+package com.productmanager.changes;
+
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.monitoring.MetricsSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fans committed catalog changes out to SSE subscribers.
+ *
+ * Every change gets a sequence number and is kept in a replay ring so a client reconnecting with
+ * {@code Last-Event-ID} receives what it missed. Each subscriber has a bounded buffer drained by a
+ * small sender pool, so one slow client never blocks a service call or other subscribers; when a
+ * buffer fills the configured {@link OverflowPolicy} applies.
+ *
+ * Sequences are per process: after a restart, or when a client falls further behind than the
+ * replay ring, the client receives a {@code reset} event and should reload its state.
+ */
+@Slf4j
+@Component
+public class ChangeStreamBroker implements MetricsSource {
+
+    static final String RESET_EVENT = "reset";
+    static final String OVERFLOW_EVENT = "overflow";
+
+    @Value("${changes.stream.enabled:true}")
+    private boolean enabled;
+
+    @Value("${changes.stream.replay-buffer-size:10000}")
+    private int replayBufferSize;
+
+    @Value("${changes.stream.subscriber-buffer-size:256}")
+    private int subscriberBufferSize;
+
+    @Value("${changes.stream.overflow-policy:DROP_OLDEST}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${changes.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${changes.stream.sender-threads:2}")
+    private int senderThreads;
+
+    private final Object publishLock = new Object();
+    private final List<ChangeSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private ChangeReplayBuffer replayBuffer;
+    private ExecutorService sender;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder disconnectedSlow = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        replayBuffer = new ChangeReplayBuffer(replayBufferSize);
+        AtomicInteger threadCounter = new AtomicInteger();
+        sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "change-stream-sender-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Opens a stream of changes matching the optional product and owner filters, starting after
+     * {@code lastEventId} when given.
+     */
+    public SseEmitter subscribe(Long productId, String owner, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        ChangeSubscription subscription = new ChangeSubscription(emitter, productId, owner, subscriberBufferSize);
+        emitter.onCompletion(() -> close(subscription));
+        emitter.onTimeout(() -> close(subscription));
+        emitter.onError(ex -> close(subscription));
+
+        boolean reset = false;
+        synchronized (publishLock) {
+            if (lastEventId != null) {
+                if (replayBuffer.canResumeAfter(lastEventId)) {
+                    List<ChangeEnvelope> missed = new ArrayList<>();
+                    for (ChangeEnvelope envelope : replayBuffer.after(lastEventId)) {
+                        if (subscription.matches(envelope.getEvent())) {
+                            missed.add(envelope);
+                        }
+                    }
+                    if (missed.size() > subscriberBufferSize) {
+                        reset = true;
+                    } else {
+                        missed.forEach(envelope -> subscription.offer(envelope, overflowPolicy));
+                    }
+                } else {
+                    reset = true;
+                }
+            }
+            subscriptions.add(subscription);
+        }
+
+        if (reset) {
+            sendControl(subscription, RESET_EVENT, Map.of("latestEventId", latestSequence()));
+        }
+        scheduleDrain(subscription);
+        log.debug("Change stream subscriber added (productId={}, owner={}, lastEventId={})", productId, owner, lastEventId);
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        List<ChangeSubscription> ready = new ArrayList<>();
+        List<ChangeSubscription> overflowed = new ArrayList<>();
+        synchronized (publishLock) {
+            ChangeEnvelope envelope = replayBuffer.append(event);
+            published.increment();
+            for (ChangeSubscription subscription : subscriptions) {
+                if (!subscription.matches(event)) {
+                    continue;
+                }
+                if (subscription.offer(envelope, overflowPolicy)) {
+                    ready.add(subscription);
+                } else {
+                    overflowed.add(subscription);
+                }
+            }
+        }
+        ready.forEach(this::scheduleDrain);
+        for (ChangeSubscription subscription : overflowed) {
+            disconnectedSlow.increment();
+            close(subscription);
+            subscription.getEmitter().complete();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${changes.stream.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        for (ChangeSubscription subscription : subscriptions) {
+            sender.execute(() -> {
+                try {
+                    subscription.getEmitter().send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException ex) {
+                    close(subscription);
+                }
+            });
+        }
+    }
+
+    private void scheduleDrain(ChangeSubscription subscription) {
+        if (subscription.tryStartDrain()) {
+            sender.execute(() -> drain(subscription));
+        }
+    }
+
+    private void drain(ChangeSubscription subscription) {
+        try {
+            ChangeEnvelope envelope;
+            while (!subscription.isClosed() && (envelope = subscription.poll()) != null) {
+                long droppedCount = subscription.takeDroppedCount();
+                if (droppedCount > 0) {
+                    dropped.add(droppedCount);
+                    subscription.getEmitter().send(SseEmitter.event()
+                            .name(OVERFLOW_EVENT)
+                            .data(Map.of("dropped", droppedCount)));
+                }
+                subscription.getEmitter().send(SseEmitter.event()
+                        .id(Long.toString(envelope.getSequence()))
+                        .name(envelope.getEvent().getType().name())
+                        .data(envelope.getEvent()));
+                delivered.increment();
+            }
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Change stream subscriber disconnected: {}", ex.getMessage());
+            close(subscription);
+        } finally {
+            subscription.endDrain();
+        }
+        // A change may have been buffered between the last poll and endDrain()
+        if (!subscription.isClosed() && subscription.hasPending()) {
+            scheduleDrain(subscription);
+        }
+    }
+
+    private void sendControl(ChangeSubscription subscription, String name, Object data) {
+        try {
+            subscription.getEmitter().send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException ex) {
+            close(subscription);
+        }
+    }
+
+    private void close(ChangeSubscription subscription) {
+        subscription.markClosed();
+        subscriptions.remove(subscription);
+    }
+
+    private long latestSequence() {
+        synchronized (publishLock) {
+            return replayBuffer.getLatestSequence();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (ChangeSubscription subscription : subscriptions) {
+            close(subscription);
+            subscription.getEmitter().complete();
+        }
+        sender.shutdownNow();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "change-stream";
+    }
+
+    @Override
+    public Map<String, Object> getMetricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("subscribers", subscriptions.size());
+        snapshot.put("latestEventId", latestSequence());
+        snapshot.put("published", published.sum());
+        snapshot.put("delivered", delivered.sum());
+        snapshot.put("dropped", dropped.sum());
+        snapshot.put("disconnectedSlow", disconnectedSlow.sum());
+        snapshot.put("overflowPolicy", overflowPolicy.name());
+        return snapshot;
+    }
+}
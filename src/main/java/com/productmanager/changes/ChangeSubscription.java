@@ -0,0 +1,82 @@
+package com.productmanager.changes;
+
+import com.productmanager.event.CatalogChangeEvent;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One connected SSE client: its filters and a bounded buffer of changes waiting to be written.
+ */
+class ChangeSubscription {
+
+    private final SseEmitter emitter;
+    private final Long productId;
+    private final String owner;
+    private final ArrayBlockingQueue<ChangeEnvelope> buffer;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicLong droppedSinceLastSend = new AtomicLong();
+    private volatile boolean closed;
+
+    ChangeSubscription(SseEmitter emitter, Long productId, String owner, int bufferSize) {
+        this.emitter = emitter;
+        this.productId = productId;
+        this.owner = owner;
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    boolean matches(CatalogChangeEvent event) {
+        return (productId == null || productId.equals(event.getProductId()))
+                && (owner == null || owner.equals(event.getOwner()));
+    }
+
+    /**
+     * Buffers a change. Returns {@code false} when the buffer is full and the policy is
+     * {@link OverflowPolicy#DISCONNECT}; the caller then closes the subscription.
+     */
+    boolean offer(ChangeEnvelope envelope, OverflowPolicy policy) {
+        while (!buffer.offer(envelope)) {
+            if (policy == OverflowPolicy.DISCONNECT) {
+                return false;
+            }
+            if (buffer.poll() != null) {
+                droppedSinceLastSend.incrementAndGet();
+            }
+        }
+        return true;
+    }
+
+    ChangeEnvelope poll() {
+        return buffer.poll();
+    }
+
+    boolean hasPending() {
+        return !buffer.isEmpty();
+    }
+
+    long takeDroppedCount() {
+        return droppedSinceLastSend.getAndSet(0);
+    }
+
+    boolean tryStartDrain() {
+        return draining.compareAndSet(false, true);
+    }
+
+    void endDrain() {
+        draining.set(false);
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    void markClosed() {
+        closed = true;
+    }
+}
@@ -0,0 +1,18 @@
+package com.productmanager.changes;
+
+/**
+ * What happens when a subscriber's buffer is full because it reads slower than changes arrive.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Discard the oldest buffered change and tell the client how many it missed.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Close the stream; the client reconnects with {@code Last-Event-ID} and catches up from the
+     * replay buffer.
+     */
+    DISCONNECT
+}
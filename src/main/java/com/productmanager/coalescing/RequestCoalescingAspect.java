@@ -0,0 +1,73 @@
+package com.productmanager.coalescing;
+
+import com.productmanager.monitoring.MetricsSource;
+import com.productmanager.util.SingleFlight;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single-flight layer for {@link Coalesced} service methods.
+ *
+ * Ordered outside the transaction interceptor so followers never open a transaction or borrow a
+ * connection; only the leader reaches the database. Calls made inside an existing transaction are
+ * not coalesced, because they must observe that transaction's own uncommitted writes.
+ */
+@Aspect
+@Component
+@Order(RequestCoalescingAspect.ORDER)
+public class RequestCoalescingAspect implements MetricsSource {
+
+    public static final int ORDER = 100;
+
+    @Value("${coalescing.enabled:true}")
+    private boolean enabled;
+
+    private final SingleFlight<CallKey, Object> singleFlight;
+
+    public RequestCoalescingAspect(@Value("${coalescing.max-wait-ms:2000}") long maxWaitMillis) {
+        this.singleFlight = new SingleFlight<>(maxWaitMillis);
+    }
+
+    @Around("@annotation(com.productmanager.coalescing.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        CallKey key = new CallKey(method, Arrays.asList(joinPoint.getArgs()));
+        return singleFlight.execute(key, joinPoint::proceed);
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "coalescing";
+    }
+
+    @Override
+    public Map<String, Object> getMetricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("executions", singleFlight.getLeaderCount());
+        snapshot.put("coalescedCalls", singleFlight.getFollowerCount());
+        snapshot.put("waitTimeouts", singleFlight.getTimeoutCount());
+        snapshot.put("inFlight", singleFlight.getInFlightCount());
+        snapshot.put("coalescingRatio", singleFlight.getCoalescingRatio());
+        return snapshot;
+    }
+
+    private record CallKey(Method method, List<Object> args) {
+    }
+}
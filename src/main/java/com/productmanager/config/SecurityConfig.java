@@ -1,8 +1,15 @@
 package com.productmanager.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productmanager.idempotency.IdempotencyKeyFilter;
+import com.productmanager.security.AdaptiveConcurrencyLimitFilter;
+import com.productmanager.security.AdaptiveConcurrencyLimiter;
 import com.productmanager.security.JwtAuthenticationFilter;
 import com.productmanager.security.JwtAuthenticationEntryPoint;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -25,11 +32,68 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationEntryPoint jwtAuthenticationEntryPoint;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IdempotencyKeyFilter idempotencyKeyFilter;
+
+    @Value("${concurrency-limit.enabled:true}")
+    private boolean concurrencyLimitEnabled;
+
+    @Value("${concurrency-limit.initial-limit:20}")
+    private int concurrencyInitialLimit;
+
+    @Value("${concurrency-limit.min-limit:5}")
+    private int concurrencyMinLimit;
+
+    @Value("${concurrency-limit.max-limit:200}")
+    private int concurrencyMaxLimit;
+
+    @Value("${concurrency-limit.latency-tolerance:2.0}")
+    private double concurrencyLatencyTolerance;
+
+    @Value("${concurrency-limit.backoff-ratio:0.9}")
+    private double concurrencyBackoffRatio;
+
+    @Value("${concurrency-limit.window-size:100}")
+    private int concurrencyWindowSize;
+
     @Bean
     public JwtAuthenticationFilter jwtAuthenticationFilter() {
         return new JwtAuthenticationFilter();
     }
 
+    @Bean
+    public AdaptiveConcurrencyLimitFilter adaptiveConcurrencyLimitFilter() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                concurrencyInitialLimit, concurrencyMinLimit, concurrencyMaxLimit,
+                concurrencyLatencyTolerance, concurrencyBackoffRatio, concurrencyWindowSize);
+        return new AdaptiveConcurrencyLimitFilter(limiter, objectMapper, concurrencyLimitEnabled);
+    }
+
+    /**
+     * The limiter only runs inside the security filter chain; keep Boot from also registering it
+     * as a top-level servlet filter.
+     */
+    @Bean
+    public FilterRegistrationBean<AdaptiveConcurrencyLimitFilter> adaptiveConcurrencyLimitFilterRegistration(
+            AdaptiveConcurrencyLimitFilter filter) {
+        FilterRegistrationBean<AdaptiveConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    /**
+     * Same for the idempotency filter, which needs the authenticated user.
+     */
+    @Bean
+    public FilterRegistrationBean<IdempotencyKeyFilter> idempotencyKeyFilterRegistration(IdempotencyKeyFilter filter) {
+        FilterRegistrationBean<IdempotencyKeyFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -50,6 +114,8 @@ public class SecurityConfig {
                     session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(authz ->
                     authz
+                        // Async dispatches (SSE completion) re-enter the chain without the bearer token
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/").permitAll()
                         .requestMatchers("/api/v1/auth/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
@@ -60,6 +126,8 @@ public class SecurityConfig {
                         .anyRequest().authenticated());
 
         http.addFilterBefore(jwtAuthenticationFilter(), UsernamePasswordAuthenticationFilter.class);
+        http.addFilterBefore(adaptiveConcurrencyLimitFilter(), JwtAuthenticationFilter.class);
+        http.addFilterAfter(idempotencyKeyFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -1,7 +1,11 @@
 package com.productmanager.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productmanager.monitoring.JfrMappingJackson2HttpMessageConverter;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -33,4 +37,12 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowCredentials(allowCredentials)
                 .maxAge(maxAge);
     }
+
+    /**
+     * Replaces Spring Boot's default Jackson converter so response serialisation shows up in JFR recordings.
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new JfrMappingJackson2HttpMessageConverter(objectMapper);
+    }
 }
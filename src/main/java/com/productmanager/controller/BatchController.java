@@ -0,0 +1,55 @@
+package com.productmanager.controller;
+
+import com.productmanager.dto.BatchRequest;
+import com.productmanager.dto.BatchResponse;
+import com.productmanager.service.BatchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/batch")
+@Tag(name = "Batch", description = "Multi-operation batch endpoint")
+@SecurityRequirement(name = "bearerAuth")
+public class BatchController {
+
+    @Autowired
+    private BatchService batchService;
+
+    @PostMapping
+    @Operation(summary = "Execute a batch of operations", description = "Run product and item operations in order in one "
+            + "request. Later operations can use $n to refer to the ID produced by operation n")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch executed; see the per-operation results",
+                    content = @Content(schema = @Schema(implementation = BatchResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid batch, or an atomic batch failed validation"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "An atomic batch failed on a missing resource"),
+            @ApiResponse(responseCode = "409", description = "An atomic batch failed on a conflict")
+    })
+    public ResponseEntity<BatchResponse> executeBatch(@Valid @RequestBody BatchRequest request,
+                                                      Authentication authentication) {
+        log.info("Executing batch of {} operations", request.getOperations().size());
+        BatchResponse response = batchService.execute(request, authentication.getName());
+        if (response.isCommitted()) {
+            return ResponseEntity.ok(response);
+        }
+        // A rolled back atomic batch answers with the status of the operation that failed it
+        int status = response.getResults().get(response.getFailedIndex()).getStatus();
+        return ResponseEntity.status(status).body(response);
+    }
+}
@@ -0,0 +1,53 @@
+package com.productmanager.controller;
+
+import com.productmanager.changes.ChangeStreamBroker;
+import com.productmanager.exception.ResourceNotFoundException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/changes")
+@Tag(name = "Changes", description = "Push notifications of product and item changes")
+@SecurityRequirement(name = "bearerAuth")
+public class ChangeStreamController {
+
+    @Autowired
+    private ChangeStreamBroker changeStreamBroker;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream changes",
+            description = "Server-Sent Events stream of committed product and item changes. The event name is the "
+                    + "change type and the event id can be sent back as Last-Event-ID to resume. A 'reset' event "
+                    + "means changes were missed and the client should reload; an 'overflow' event reports changes "
+                    + "dropped because the client read too slowly.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream opened"),
+            @ApiResponse(responseCode = "404", description = "Change stream disabled"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public SseEmitter streamChanges(@Parameter(description = "Only changes of this product")
+                                    @RequestParam(required = false) Long productId,
+                                    @Parameter(description = "Only changes of products created by this user")
+                                    @RequestParam(required = false) String owner,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        if (!changeStreamBroker.isEnabled()) {
+            throw new ResourceNotFoundException("Change stream is disabled");
+        }
+        log.info("Opening change stream - productId: {}, owner: {}, lastEventId: {}", productId, owner, lastEventId);
+        return changeStreamBroker.subscribe(productId, owner, lastEventId);
+    }
+}
@@ -0,0 +1,50 @@
+package com.productmanager.controller;
+
+import com.productmanager.dto.DeltaSyncResponse;
+import com.productmanager.service.DeltaSyncService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/products/changes")
+@Tag(name = "Products", description = "Product management endpoints")
+@SecurityRequirement(name = "bearerAuth")
+public class DeltaSyncController {
+
+    @Autowired
+    private DeltaSyncService deltaSyncService;
+
+    @GetMapping
+    @Operation(summary = "Get changes since a token",
+            description = "Returns products and items created, modified or deleted since the token, plus the token "
+                    + "for the next call. Omit 'since' to obtain a starting token, then load the full catalog once. "
+                    + "If resetRequired is true, discard local state, reload and continue with nextToken.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = DeltaSyncResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid token or limit"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<DeltaSyncResponse> getChangesSince(@Parameter(description = "Token returned by the previous call")
+                                                             @RequestParam(required = false) String since,
+                                                             @Parameter(description = "Maximum changes read per shard")
+                                                             @RequestParam(defaultValue = "500") int limit) {
+        log.info("Fetching changes since token: {}, limit: {}", since, limit);
+        DeltaSyncResponse response = deltaSyncService.getChangesSince(since, limit);
+        return ResponseEntity.ok(response);
+    }
+}
@@ -0,0 +1,74 @@
+package com.productmanager.controller;
+
+import com.productmanager.dto.CursorPageResponse;
+import com.productmanager.dto.ItemHistoryDTO;
+import com.productmanager.dto.ProductHistoryDTO;
+import com.productmanager.exception.InvalidRequestException;
+import com.productmanager.service.HistoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/products/{productId}")
+@Tag(name = "History", description = "Product and item change history")
+@SecurityRequirement(name = "bearerAuth")
+public class HistoryController {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    @Autowired
+    private HistoryService historyService;
+
+    @GetMapping("/history")
+    @Operation(summary = "Get product history", description = "Name changes of a product, newest first, with keyset "
+            + "pagination. Pass nextCursor from the previous page as cursor. Entries appear shortly after the change commits.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "History retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or size"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<CursorPageResponse<ProductHistoryDTO>> getProductHistory(@PathVariable Long productId,
+                                                                                   @RequestParam(required = false) String cursor,
+                                                                                   @RequestParam(defaultValue = "50") int size) {
+        validateSize(size);
+        return ResponseEntity.ok(historyService.getProductHistory(productId, cursor, size));
+    }
+
+    @GetMapping("/items/{itemId}/history")
+    @Operation(summary = "Get item history", description = "Quantity changes of an item, newest first, with keyset "
+            + "pagination. Pass nextCursor from the previous page as cursor. Entries appear shortly after the change commits.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "History retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or size"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<CursorPageResponse<ItemHistoryDTO>> getItemHistory(@PathVariable Long productId,
+                                                                             @PathVariable Long itemId,
+                                                                             @RequestParam(required = false) String cursor,
+                                                                             @RequestParam(defaultValue = "50") int size) {
+        validateSize(size);
+        return ResponseEntity.ok(historyService.getItemHistory(productId, itemId, cursor, size));
+    }
+
+    private void validateSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+}
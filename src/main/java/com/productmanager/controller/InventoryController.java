@@ -0,0 +1,96 @@
+package com.productmanager.controller;
+
+import com.productmanager.dto.CursorPageResponse;
+import com.productmanager.dto.ItemDTO;
+import com.productmanager.dto.StockCrossingDTO;
+import com.productmanager.exception.InvalidRequestException;
+import com.productmanager.inventory.LowStockCrossingDetector;
+import com.productmanager.service.InventoryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/items")
+@Tag(name = "Inventory", description = "Cross-product item lookups")
+@SecurityRequirement(name = "bearerAuth")
+public class InventoryController {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private LowStockCrossingDetector lowStockCrossingDetector;
+
+    @Value("${stats.low-stock-threshold:10}")
+    private int defaultThreshold;
+
+    @GetMapping("/low-stock")
+    @Operation(summary = "Get low-stock items",
+            description = "Items with quantity at or below the threshold, lowest first, with keyset pagination. "
+                    + "Pass nextCursor from the previous page as cursor.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Items retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = CursorPageResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, size or filters"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<CursorPageResponse<ItemDTO>> getLowStockItems(@RequestParam(required = false) Integer threshold,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(defaultValue = "50") int size,
+                                                                        @Parameter(description = "Only items of this product")
+                                                                        @RequestParam(required = false) Long productId,
+                                                                        @Parameter(description = "Only items of products created by this user")
+                                                                        @RequestParam(required = false) String owner) {
+        validateSize(size);
+        int effectiveThreshold = threshold != null ? threshold : defaultThreshold;
+        return ResponseEntity.ok(inventoryService.getLowStockItems(effectiveThreshold, cursor, size, productId, owner));
+    }
+
+    @GetMapping("/low-stock/crossings")
+    @Operation(summary = "Get low-stock threshold crossings",
+            description = "Item changes that moved a quantity below or back above a configured threshold, oldest "
+                    + "first. Pass nextCursor from the previous page as after.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Crossings retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or size"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<CursorPageResponse<StockCrossingDTO>> getCrossings(@RequestParam(defaultValue = "0") long after,
+                                                                             @RequestParam(defaultValue = "100") int size) {
+        validateSize(size);
+        log.info("Fetching low-stock crossings after: {}", after);
+        List<StockCrossingDTO> crossings = lowStockCrossingDetector.getCrossingsAfter(after, size);
+        long next = crossings.isEmpty() ? after : crossings.get(crossings.size() - 1).getSequence();
+        return ResponseEntity.ok(CursorPageResponse.<StockCrossingDTO>builder()
+                .content(crossings)
+                .pageSize(size)
+                .nextCursor(Long.toString(next))
+                .hasMore(next < lowStockCrossingDetector.getLatestSequence())
+                .build());
+    }
+
+    private void validateSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new InvalidRequestException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+}
@@ -1,9 +1,18 @@
 package com.productmanager.controller;
 
+import com.productmanager.asyncwrite.AsyncWriteQueue;
 import com.productmanager.dto.ItemDTO;
+import com.productmanager.dto.OperationDTO;
 import com.productmanager.dto.PagedResponse;
+import com.productmanager.fields.FieldProjector;
+import com.productmanager.fields.FieldSelection;
+import com.productmanager.idempotency.IdempotencyKeyFilter;
+import com.productmanager.responsecache.SerializedResponseCache;
 import com.productmanager.service.ItemService;
+import com.productmanager.sorting.SortPlanner;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -16,8 +25,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 @Slf4j
@@ -31,19 +42,44 @@ public class ItemController {
     @Autowired
     private ItemService itemService;
 
+    @Autowired
+    private SerializedResponseCache responseCache;
+
+    @Autowired
+    private FieldProjector fieldProjector;
+
+    @Autowired
+    private SortPlanner sortPlanner;
+
+    @Autowired
+    private AsyncWriteQueue asyncWriteQueue;
+
     @PostMapping
     @Operation(summary = "Create a new item", description = "Create a new item for a product")
+    @Parameter(in = ParameterIn.HEADER, name = IdempotencyKeyFilter.IDEMPOTENCY_KEY_HEADER, schema = @Schema(type = "string"),
+            description = "Retries with the same key replay the first response instead of running again")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Item created successfully",
                     content = @Content(schema = @Schema(implementation = ItemDTO.class))),
+            @ApiResponse(responseCode = "202", description = "Queued for a grouped commit (Prefer: respond-async); "
+                    + "follow Location for the outcome",
+                    content = @Content(schema = @Schema(implementation = OperationDTO.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
             @ApiResponse(responseCode = "404", description = "Product not found"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<ItemDTO> createItem(@PathVariable Long productId,
-                                              @Valid @RequestBody ItemDTO itemDTO) {
+    public ResponseEntity<?> createItem(@PathVariable Long productId,
+                                        @Valid @RequestBody ItemDTO itemDTO,
+                                        @RequestHeader(value = AsyncWriteQueue.PREFER_HEADER, required = false) String prefer,
+                                        Authentication authentication) {
         log.info("Creating item for product id: {}", productId);
-        ItemDTO createdItem = itemService.createItem(productId, itemDTO);
+        if (AsyncWriteQueue.prefersAsync(prefer)) {
+            OperationDTO operation = asyncWriteQueue.submitItem(productId, itemDTO, authentication.getName());
+            if (operation != null) {
+                return OperationController.accepted(operation);
+            }
+        }
+        ItemDTO createdItem = itemService.createItem(productId, itemDTO, authentication.getName());
         return ResponseEntity.status(HttpStatus.CREATED).body(createdItem);
     }
 
@@ -55,11 +91,17 @@ public class ItemController {
             @ApiResponse(responseCode = "404", description = "Item or product not found"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<ItemDTO> getItemById(@PathVariable Long productId,
-                                               @PathVariable Long itemId) {
+    public ResponseEntity<?> getItemById(@PathVariable Long productId,
+                                         @PathVariable Long itemId,
+                                         @RequestParam(required = false) String fields,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.info("Fetching item with id: {} for product id: {}", itemId, productId);
-        ItemDTO item = itemService.getItemById(productId, itemId);
-        return ResponseEntity.ok(item);
+        FieldSelection selection = FieldSelection.parse(fields, ItemDTO.class);
+        if (!selection.isAll()) {
+            return ResponseEntity.ok(fieldProjector.project(itemService.getItemById(productId, itemId), selection));
+        }
+        return responseCache.respond(SerializedResponseCache.Kind.ITEM, itemId, productId, acceptEncoding,
+                () -> itemService.getItemById(productId, itemId), ItemDTO::getVersion);
     }
 
     @GetMapping
@@ -67,22 +109,27 @@ public class ItemController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Items retrieved successfully",
                     content = @Content(schema = @Schema(implementation = PagedResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Unsupported sort or unknown field"),
             @ApiResponse(responseCode = "404", description = "Product not found"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<PagedResponse<ItemDTO>> getItemsByProductId(@PathVariable Long productId,
-                                                                       @RequestParam(defaultValue = "0") int page,
-                                                                       @RequestParam(defaultValue = "10") int size,
-                                                                       @RequestParam(defaultValue = "id") String sortBy,
-                                                                       @RequestParam(defaultValue = "ASC") Sort.Direction direction) {
+    public ResponseEntity<PagedResponse<?>> getItemsByProductId(@PathVariable Long productId,
+                                                                @RequestParam(defaultValue = "0") int page,
+                                                                @RequestParam(defaultValue = "10") int size,
+                                                                @RequestParam(defaultValue = "id") String sortBy,
+                                                                @RequestParam(defaultValue = "ASC") Sort.Direction direction,
+                                                                @RequestParam(required = false) String fields) {
         log.info("Fetching items for product id: {} - page: {}, size: {}", productId, page, size);
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
+        FieldSelection selection = FieldSelection.parse(fields, ItemDTO.class);
+        Pageable pageable = PageRequest.of(page, size, sortPlanner.plan(SortPlanner.Listing.ITEMS, sortBy, direction));
         PagedResponse<ItemDTO> response = itemService.getItemsByProductId(productId, pageable);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(fieldProjector.project(response, selection));
     }
 
     @PutMapping("/{itemId}")
     @Operation(summary = "Update item", description = "Update an existing item")
+    @Parameter(in = ParameterIn.HEADER, name = IdempotencyKeyFilter.IDEMPOTENCY_KEY_HEADER, schema = @Schema(type = "string"),
+            description = "Retries with the same key replay the first response instead of running again")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Item updated successfully",
                     content = @Content(schema = @Schema(implementation = ItemDTO.class))),
@@ -92,9 +139,10 @@ public class ItemController {
     })
     public ResponseEntity<ItemDTO> updateItem(@PathVariable Long productId,
                                               @PathVariable Long itemId,
-                                              @Valid @RequestBody ItemDTO itemDTO) {
+                                              @Valid @RequestBody ItemDTO itemDTO,
+                                              Authentication authentication) {
         log.info("Updating item with id: {} for product id: {}", itemId, productId);
-        ItemDTO updatedItem = itemService.updateItem(productId, itemId, itemDTO);
+        ItemDTO updatedItem = itemService.updateItem(productId, itemId, itemDTO, authentication.getName());
         return ResponseEntity.ok(updatedItem);
     }
 
@@ -106,9 +154,10 @@ public class ItemController {
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
     public ResponseEntity<Void> deleteItem(@PathVariable Long productId,
-                                           @PathVariable Long itemId) {
+                                           @PathVariable Long itemId,
+                                           Authentication authentication) {
         log.info("Deleting item with id: {} for product id: {}", itemId, productId);
-        itemService.deleteItem(productId, itemId);
+        itemService.deleteItem(productId, itemId, authentication.getName());
         return ResponseEntity.noContent().build();
     }
 }
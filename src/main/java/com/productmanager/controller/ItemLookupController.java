@@ -0,0 +1,46 @@
+package com.productmanager.controller;
+
+import com.productmanager.dto.IdLookupRequest;
+import com.productmanager.dto.ItemDTO;
+import com.productmanager.dto.MultiGetResponse;
+import com.productmanager.service.LookupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Items", description = "Item management endpoints")
+@SecurityRequirement(name = "bearerAuth")
+public class ItemLookupController {
+
+    @Autowired
+    private LookupService lookupService;
+
+    @PostMapping("/items:lookup")
+    @Operation(summary = "Look up items by IDs", description = "Resolve a list of item IDs across products in one request; "
+            + "results follow the request order and mark IDs that were not found")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Items resolved",
+                    content = @Content(schema = @Schema(implementation = MultiGetResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Too many or invalid IDs"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<MultiGetResponse<ItemDTO>> lookupItems(@Valid @RequestBody IdLookupRequest request) {
+        log.info("Looking up {} items by id", request.getIds().size());
+        return ResponseEntity.ok(lookupService.getItemsByIds(request.getIds()));
+    }
+}
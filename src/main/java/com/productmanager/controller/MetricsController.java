@@ -0,0 +1,58 @@
+package com.productmanager.controller;
+
+import com.productmanager.exception.ResourceNotFoundException;
+import com.productmanager.monitoring.MetricsSource;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/metrics")
+@Tag(name = "Metrics", description = "Operational counters of the caching, coalescing and load-shedding layers")
+@SecurityRequirement(name = "bearerAuth")
+public class MetricsController {
+
+    @Autowired
+    private List<MetricsSource> metricsSources;
+
+    @GetMapping
+    @Operation(summary = "Get all metrics", description = "Retrieve a snapshot of every metrics source")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Metrics retrieved successfully"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<Map<String, Map<String, Object>>> getAllMetrics() {
+        Map<String, Map<String, Object>> metrics = new TreeMap<>();
+        metricsSources.forEach(source -> metrics.put(source.getMetricsName(), source.getMetricsSnapshot()));
+        return ResponseEntity.ok(metrics);
+    }
+
+    @GetMapping("/{name}")
+    @Operation(summary = "Get metrics by name", description = "Retrieve a snapshot of a single metrics source")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Metrics retrieved successfully"),
+            @ApiResponse(responseCode = "404", description = "Metrics source not found"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<Map<String, Object>> getMetrics(@PathVariable String name) {
+        return metricsSources.stream()
+                .filter(source -> source.getMetricsName().equals(name))
+                .findFirst()
+                .map(source -> ResponseEntity.ok(source.getMetricsSnapshot()))
+                .orElseThrow(() -> new ResourceNotFoundException("Metrics not found with name: " + name));
+    }
+}
@@ -0,0 +1,58 @@
+package com.productmanager.controller;
+
+import com.productmanager.asyncwrite.AsyncWriteQueue;
+import com.productmanager.dto.OperationDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/operations")
+@Tag(name = "Operations", description = "Status of asynchronously accepted writes")
+@SecurityRequirement(name = "bearerAuth")
+public class OperationController {
+
+    static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+
+    @Autowired
+    private AsyncWriteQueue asyncWriteQueue;
+
+    @GetMapping("/{operationId}")
+    @Operation(summary = "Get operation status", description = "Outcome of a create accepted with Prefer: respond-async; "
+            + "SUCCEEDED only once the write is committed")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Operation found",
+                    content = @Content(schema = @Schema(implementation = OperationDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Operation not found, not yours, or no longer retained")
+    })
+    public ResponseEntity<OperationDTO> getOperation(@PathVariable String operationId,
+                                                     Authentication authentication) {
+        return ResponseEntity.ok(asyncWriteQueue.getOperation(operationId, authentication.getName()));
+    }
+
+    /**
+     * The 202 answer for a queued write, pointing at its status resource.
+     */
+    static ResponseEntity<OperationDTO> accepted(OperationDTO operation) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, "/api/v1/operations/" + operation.getId())
+                .header(PREFERENCE_APPLIED_HEADER, AsyncWriteQueue.RESPOND_ASYNC)
+                .body(operation);
+    }
+}
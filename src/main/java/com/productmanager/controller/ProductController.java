@@ -1,9 +1,20 @@
 package com.productmanager.controller;
 
+import com.productmanager.asyncwrite.AsyncWriteQueue;
 import com.productmanager.dto.ProductDTO;
+import com.productmanager.dto.MultiGetResponse;
+import com.productmanager.dto.OperationDTO;
 import com.productmanager.dto.PagedResponse;
+import com.productmanager.fields.FieldProjector;
+import com.productmanager.fields.FieldSelection;
+import com.productmanager.idempotency.IdempotencyKeyFilter;
+import com.productmanager.responsecache.SerializedResponseCache;
+import com.productmanager.service.LookupService;
 import com.productmanager.service.ProductService;
+import com.productmanager.sorting.SortPlanner;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -16,11 +27,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Slf4j
 @RestController
 @RequestMapping("/api/v1/products")
@@ -32,18 +46,45 @@ public class ProductController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private LookupService lookupService;
+
+    @Autowired
+    private SerializedResponseCache responseCache;
+
+    @Autowired
+    private FieldProjector fieldProjector;
+
+    @Autowired
+    private SortPlanner sortPlanner;
+
+    @Autowired
+    private AsyncWriteQueue asyncWriteQueue;
+
     @PostMapping
     @Operation(summary = "Create a new product", description = "Create a new product with the provided details")
+    @Parameter(in = ParameterIn.HEADER, name = IdempotencyKeyFilter.IDEMPOTENCY_KEY_HEADER, schema = @Schema(type = "string"),
+            description = "Retries with the same key replay the first response instead of running again")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Product created successfully",
                     content = @Content(schema = @Schema(implementation = ProductDTO.class))),
+            @ApiResponse(responseCode = "202", description = "Queued for a grouped commit (Prefer: respond-async); "
+                    + "follow Location for the outcome",
+                    content = @Content(schema = @Schema(implementation = OperationDTO.class))),
             @ApiResponse(responseCode = "400", description = "Invalid input"),
             @ApiResponse(responseCode = "409", description = "Product already exists"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<ProductDTO> createProduct(@Valid @RequestBody ProductDTO productDTO,
-                                                     Authentication authentication) {
+    public ResponseEntity<?> createProduct(@Valid @RequestBody ProductDTO productDTO,
+                                           @RequestHeader(value = AsyncWriteQueue.PREFER_HEADER, required = false) String prefer,
+                                           Authentication authentication) {
         log.info("Creating product: {}", productDTO.getProductName());
+        if (AsyncWriteQueue.prefersAsync(prefer)) {
+            OperationDTO operation = asyncWriteQueue.submitProduct(productDTO, authentication.getName());
+            if (operation != null) {
+                return OperationController.accepted(operation);
+            }
+        }
         ProductDTO createdProduct = productService.createProduct(productDTO, authentication.getName());
         return ResponseEntity.status(HttpStatus.CREATED).body(createdProduct);
     }
@@ -56,10 +97,17 @@ public class ProductController {
             @ApiResponse(responseCode = "404", description = "Product not found"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<ProductDTO> getProductById(@PathVariable Long id) {
+    public ResponseEntity<?> getProductById(@PathVariable Long id,
+                                            @RequestParam(required = false) String fields,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
         log.info("Fetching product with id: {}", id);
-        ProductDTO product = productService.getProductById(id);
-        return ResponseEntity.ok(product);
+        FieldSelection selection = FieldSelection.parse(fields, ProductDTO.class);
+        if (!selection.isAll()) {
+            ProductDTO product = productService.getProductById(id, selection.includes("itemCount"));
+            return ResponseEntity.ok(fieldProjector.project(product, selection));
+        }
+        return responseCache.respond(SerializedResponseCache.Kind.PRODUCT, id, id, acceptEncoding,
+                () -> productService.getProductById(id), ProductDTO::getVersion);
     }
 
     @GetMapping
@@ -67,17 +115,36 @@ public class ProductController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Products retrieved successfully",
                     content = @Content(schema = @Schema(implementation = PagedResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Unsupported sort or unknown field"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<PagedResponse<ProductDTO>> getAllProducts(
+    public ResponseEntity<PagedResponse<?>> getAllProducts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdOn") String sortBy,
-            @RequestParam(defaultValue = "DESC") Sort.Direction direction) {
+            @RequestParam(defaultValue = "DESC") Sort.Direction direction,
+            @RequestParam(required = false) String fields) {
         log.info("Fetching all products - page: {}, size: {}", page, size);
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        PagedResponse<ProductDTO> response = productService.getAllProducts(pageable);
-        return ResponseEntity.ok(response);
+        FieldSelection selection = FieldSelection.parse(fields, ProductDTO.class);
+        Pageable pageable = PageRequest.of(page, size, sortPlanner.plan(SortPlanner.Listing.PRODUCTS, sortBy, direction));
+        PagedResponse<ProductDTO> response = selection.includes("itemCount")
+                ? productService.getAllProducts(pageable)
+                : productService.getAllProducts(pageable, false);
+        return ResponseEntity.ok(fieldProjector.project(response, selection));
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "Get products by IDs", description = "Resolve a comma-separated list of product IDs in one request; "
+            + "results follow the request order and mark IDs that were not found")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products resolved",
+                    content = @Content(schema = @Schema(implementation = MultiGetResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Too many or invalid IDs"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<MultiGetResponse<ProductDTO>> getProductsByIds(@RequestParam List<Long> ids) {
+        log.info("Fetching {} products by id", ids.size());
+        return ResponseEntity.ok(lookupService.getProductsByIds(ids));
     }
 
     @GetMapping("/search")
@@ -87,18 +154,24 @@ public class ProductController {
                     content = @Content(schema = @Schema(implementation = PagedResponse.class))),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<PagedResponse<ProductDTO>> searchProducts(
+    public ResponseEntity<PagedResponse<?>> searchProducts(
             @RequestParam String keyword,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String fields) {
         log.info("Searching products with keyword: {}", keyword);
+        FieldSelection selection = FieldSelection.parse(fields, ProductDTO.class);
         Pageable pageable = PageRequest.of(page, size);
-        PagedResponse<ProductDTO> response = productService.searchProducts(keyword, pageable);
-        return ResponseEntity.ok(response);
+        PagedResponse<ProductDTO> response = selection.includes("itemCount")
+                ? productService.searchProducts(keyword, pageable)
+                : productService.searchProducts(keyword, pageable, false);
+        return ResponseEntity.ok(fieldProjector.project(response, selection));
     }
 
     @PutMapping("/{id}")
     @Operation(summary = "Update product", description = "Update an existing product")
+    @Parameter(in = ParameterIn.HEADER, name = IdempotencyKeyFilter.IDEMPOTENCY_KEY_HEADER, schema = @Schema(type = "string"),
+            description = "Retries with the same key replay the first response instead of running again")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Product updated successfully",
                     content = @Content(schema = @Schema(implementation = ProductDTO.class))),
@@ -122,9 +195,10 @@ public class ProductController {
             @ApiResponse(responseCode = "404", description = "Product not found"),
             @ApiResponse(responseCode = "401", description = "Unauthorized")
     })
-    public ResponseEntity<Void> deleteProduct(@PathVariable Long id) {
+    public ResponseEntity<Void> deleteProduct(@PathVariable Long id,
+                                              Authentication authentication) {
         log.info("Deleting product with id: {}", id);
-        productService.deleteProduct(id);
+        productService.deleteProduct(id, authentication.getName());
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,48 @@
+package com.productmanager.controller;
+
+import com.productmanager.dto.ProductUpsertRequest;
+import com.productmanager.dto.ProductUpsertResponse;
+import com.productmanager.service.ProductUpsertService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Products", description = "Product management endpoints")
+@SecurityRequirement(name = "bearerAuth")
+public class ProductUpsertController {
+
+    @Autowired
+    private ProductUpsertService productUpsertService;
+
+    @PutMapping("/products:upsert")
+    @Operation(summary = "Create or update products by name", description = "Create products with new names and rename "
+            + "products whose name matches ignoring case; results follow the request order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Products upserted",
+                    content = @Content(schema = @Schema(implementation = ProductUpsertResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Too many or invalid products"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "409", description = "A name was created concurrently; repeat the upsert")
+    })
+    public ResponseEntity<ProductUpsertResponse> upsertProducts(@Valid @RequestBody ProductUpsertRequest request,
+                                                                Authentication authentication) {
+        log.info("Upserting {} products", request.getProducts().size());
+        return ResponseEntity.ok(productUpsertService.upsertProducts(request.getProducts(), authentication.getName()));
+    }
+}
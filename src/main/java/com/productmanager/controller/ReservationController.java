@@ -0,0 +1,121 @@
+package com.productmanager.controller;
+
+import com.productmanager.dto.ItemAvailabilityDTO;
+import com.productmanager.dto.ReservationDTO;
+import com.productmanager.dto.ReservationRequest;
+import com.productmanager.dto.ReservationStatus;
+import com.productmanager.inventory.ReservationLedger;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1")
+@Tag(name = "Inventory", description = "Cross-product item lookups")
+@SecurityRequirement(name = "bearerAuth")
+public class ReservationController {
+
+    @Autowired
+    private ReservationLedger reservationLedger;
+
+    @PostMapping("/products/{productId}/items/{itemId}/reservations")
+    @Operation(summary = "Reserve item quantity", description = "Hold quantity of an item until the reservation is "
+            + "confirmed, released or its TTL runs out")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Quantity held",
+                    content = @Content(schema = @Schema(implementation = ReservationDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid quantity or TTL"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Item or product not found"),
+            @ApiResponse(responseCode = "409", description = "Not enough unreserved quantity")
+    })
+    public ResponseEntity<ReservationDTO> reserve(@PathVariable Long productId,
+                                                  @PathVariable Long itemId,
+                                                  @Valid @RequestBody ReservationRequest request,
+                                                  Authentication authentication) {
+        log.info("Reserving {} of item {} for product id: {}", request.getQuantity(), itemId, productId);
+        ReservationDTO reservation = reservationLedger.reserve(productId, itemId, request.getQuantity(),
+                request.getTtlSeconds(), authentication.getName());
+        return ResponseEntity.status(HttpStatus.CREATED).body(reservation);
+    }
+
+    @GetMapping("/products/{productId}/items/{itemId}/availability")
+    @Operation(summary = "Get item availability", description = "Persisted quantity of an item minus the quantity "
+            + "held by live reservations")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Availability retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ItemAvailabilityDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Item or product not found")
+    })
+    public ResponseEntity<ItemAvailabilityDTO> getAvailability(@PathVariable Long productId,
+                                                               @PathVariable Long itemId) {
+        return ResponseEntity.ok(reservationLedger.getAvailability(productId, itemId));
+    }
+
+    @GetMapping("/reservations/{reservationId}")
+    @Operation(summary = "Get reservation", description = "Current status of a reservation")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reservation found",
+                    content = @Content(schema = @Schema(implementation = ReservationDTO.class))),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Reservation not found, not yours or no longer retained")
+    })
+    public ResponseEntity<ReservationDTO> getReservation(@PathVariable String reservationId,
+                                                         Authentication authentication) {
+        return ResponseEntity.ok(reservationLedger.getReservation(reservationId, authentication.getName()));
+    }
+
+    @PostMapping("/reservations/{reservationId}:confirm")
+    @Operation(summary = "Confirm reservation", description = "Deduct the held quantity from the item. Answers 202 "
+            + "while the deduction is still waiting for its batch; poll the reservation for the outcome")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Quantity deducted",
+                    content = @Content(schema = @Schema(implementation = ReservationDTO.class))),
+            @ApiResponse(responseCode = "202", description = "Confirmed; deduction pending",
+                    content = @Content(schema = @Schema(implementation = ReservationDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Reservation was released or expired"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Reservation not found or not yours"),
+            @ApiResponse(responseCode = "409", description = "The item no longer has the quantity")
+    })
+    public ResponseEntity<ReservationDTO> confirm(@PathVariable String reservationId,
+                                                  Authentication authentication) {
+        log.info("Confirming reservation: {}", reservationId);
+        ReservationDTO reservation = reservationLedger.confirm(reservationId, authentication.getName());
+        HttpStatus status = reservation.getStatus() == ReservationStatus.CONFIRMED ? HttpStatus.OK : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status).body(reservation);
+    }
+
+    @PostMapping("/reservations/{reservationId}:release")
+    @Operation(summary = "Release reservation", description = "Give the held quantity back")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Quantity released",
+                    content = @Content(schema = @Schema(implementation = ReservationDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Reservation was already confirmed or expired"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized"),
+            @ApiResponse(responseCode = "404", description = "Reservation not found or not yours")
+    })
+    public ResponseEntity<ReservationDTO> release(@PathVariable String reservationId,
+                                                  Authentication authentication) {
+        log.info("Releasing reservation: {}", reservationId);
+        return ResponseEntity.ok(reservationLedger.release(reservationId, authentication.getName()));
+    }
+}
@@ -0,0 +1,104 @@
+package com.productmanager.controller;
+
+import com.productmanager.dto.InventorySummaryDTO;
+import com.productmanager.dto.OwnerStockDTO;
+import com.productmanager.dto.ProductStockDTO;
+import com.productmanager.exception.InvalidRequestException;
+import com.productmanager.exception.ResourceNotFoundException;
+import com.productmanager.stats.InventoryAggregates;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/stats")
+@Tag(name = "Stats", description = "Inventory aggregates maintained in memory")
+@SecurityRequirement(name = "bearerAuth")
+public class StatsController {
+
+    private static final int MAX_TOP_LIMIT = 100;
+
+    @Autowired
+    private InventoryAggregates inventoryAggregates;
+
+    @GetMapping("/summary")
+    @Operation(summary = "Get inventory summary", description = "Total products, items and stock, and low-stock counts")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Summary retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = InventorySummaryDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Stats disabled"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<InventorySummaryDTO> getSummary() {
+        requireEnabled();
+        return ResponseEntity.ok(inventoryAggregates.getSummary());
+    }
+
+    @GetMapping("/products/top")
+    @Operation(summary = "Get top products by stock", description = "Products with the highest total item quantity")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Top products retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Invalid limit"),
+            @ApiResponse(responseCode = "404", description = "Stats disabled"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<List<ProductStockDTO>> getTopProducts(@RequestParam(defaultValue = "10") int limit) {
+        requireEnabled();
+        if (limit < 1 || limit > MAX_TOP_LIMIT) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_TOP_LIMIT);
+        }
+        log.info("Fetching top {} products by stock", limit);
+        return ResponseEntity.ok(inventoryAggregates.getTopProducts(limit));
+    }
+
+    @GetMapping("/products/{productId}")
+    @Operation(summary = "Get product stock", description = "Total quantity, item count and low-stock items of a product")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Product stock retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = ProductStockDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Product not found or stats disabled"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<ProductStockDTO> getProductStock(@PathVariable Long productId) {
+        requireEnabled();
+        return inventoryAggregates.getProductStock(productId)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> ResourceNotFoundException.productNotFound(productId));
+    }
+
+    @GetMapping("/owners/{owner}")
+    @Operation(summary = "Get owner stock", description = "Totals across all products created by a user")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Owner stock retrieved successfully",
+                    content = @Content(schema = @Schema(implementation = OwnerStockDTO.class))),
+            @ApiResponse(responseCode = "404", description = "Owner has no products or stats disabled"),
+            @ApiResponse(responseCode = "401", description = "Unauthorized")
+    })
+    public ResponseEntity<OwnerStockDTO> getOwnerStock(@PathVariable String owner) {
+        requireEnabled();
+        return inventoryAggregates.getOwnerStock(owner)
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new ResourceNotFoundException("No products found for owner: " + owner));
+    }
+
+    private void requireEnabled() {
+        if (!inventoryAggregates.isEnabled()) {
+            throw new ResourceNotFoundException("Inventory stats are disabled");
+        }
+    }
+}
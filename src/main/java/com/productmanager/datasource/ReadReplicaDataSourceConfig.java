@@ -0,0 +1,81 @@
+package com.productmanager.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replaces the single Boot-managed pool with a primary pool plus one Hikari pool per read replica.
+ * Enabled with {@code datasource.replicas.enabled=true}; the primary keeps using the regular
+ * {@code spring.datasource.*} properties.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    @Value("${datasource.replicas.urls}")
+    private List<String> replicaUrls;
+
+    @Value("${datasource.replicas.username:${spring.datasource.username}}")
+    private String replicaUsername;
+
+    @Value("${datasource.replicas.password:${spring.datasource.password}}")
+    private String replicaPassword;
+
+    @Value("${datasource.replicas.stickiness-ms:5000}")
+    private long stickinessMillis;
+
+    @Value("${datasource.replicas.health-check-timeout-seconds:2}")
+    private int healthCheckTimeoutSeconds;
+
+    @Value("${datasource.replicas.health-check-interval-ms:5000}")
+    private long healthCheckIntervalMillis;
+
+    @Bean(destroyMethod = "close")
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties properties, Environment environment) {
+        Binder binder = Binder.get(environment);
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setJdbcUrl(replicaUrls.get(i).trim());
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            // A dead replica should fail its reads and health checks fast, not after Hikari's 30s default
+            replica.setConnectionTimeout(TimeUnit.SECONDS.toMillis(healthCheckTimeoutSeconds));
+            binder.bind("datasource.replicas.hikari", Bindable.ofInstance(replica));
+            replica.setPoolName("replica-" + i);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+
+        ReplicaRoutingDataSource routingDataSource =
+                new ReplicaRoutingDataSource(primary, replicas, stickinessMillis, healthCheckTimeoutSeconds);
+        routingDataSource.startHealthChecks(healthCheckIntervalMillis);
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+}
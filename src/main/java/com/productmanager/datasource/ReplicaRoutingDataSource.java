@@ -0,0 +1,216 @@
+package com.productmanager.datasource;
+
+import com.productmanager.monitoring.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Routes read-only transactions to healthy replicas and everything else to the primary.
+ *
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the transaction's read-only flag is only published after the transaction manager has begun the
+ * transaction, so the physical connection has to be fetched lazily on the first statement.
+ *
+ * After a user's write transaction, that user's reads stay on the primary for the stickiness
+ * window so they never observe replication lag on their own changes. Replicas failing the periodic
+ * health check are taken out of rotation and put back once they pass again. The check runs on its
+ * own thread, so a replica that stops answering cannot hold up the application's scheduled jobs.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements MetricsSource {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long stickinessNanos;
+    private final int healthCheckTimeoutSeconds;
+
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final LongAdder primaryRoutes = new LongAdder();
+    private final LongAdder replicaRoutes = new LongAdder();
+    private final LongAdder stickyRoutes = new LongAdder();
+    private final LongAdder fallbackRoutes = new LongAdder();
+
+    private ScheduledExecutorService healthChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources,
+                                    long stickinessMillis, int healthCheckTimeoutSeconds) {
+        this.primary = primary;
+        this.stickinessNanos = TimeUnit.MILLISECONDS.toNanos(stickinessMillis);
+        this.healthCheckTimeoutSeconds = healthCheckTimeoutSeconds;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            Replica replica = new Replica("replica-" + i, replicaDataSources.get(i));
+            replicas.add(replica);
+            targets.put(replica.key, replica.dataSource);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                recordWrite();
+            }
+            primaryRoutes.increment();
+            return PRIMARY;
+        }
+
+        String user = currentUser();
+        if (user != null) {
+            Long lastWrite = lastWriteByUser.get(user);
+            if (lastWrite != null && System.nanoTime() - lastWrite < stickinessNanos) {
+                stickyRoutes.increment();
+                return PRIMARY;
+            }
+        }
+
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                replicaRoutes.increment();
+                return replica.key;
+            }
+        }
+
+        fallbackRoutes.increment();
+        return PRIMARY;
+    }
+
+    private void recordWrite() {
+        String user = currentUser();
+        if (user != null) {
+            lastWriteByUser.put(user, System.nanoTime());
+        }
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * Runs {@link #checkReplicaHealth} every {@code intervalMillis} on a dedicated daemon thread
+     * until {@link #close}.
+     */
+    public void startHealthChecks(long intervalMillis) {
+        healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        healthChecker.scheduleWithFixedDelay(() -> {
+            try {
+                checkReplicaHealth();
+            } catch (RuntimeException ex) {
+                log.error("Replica health check failed: {}", ex.getMessage(), ex);
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Probes every replica, taking failing ones out of rotation and restoring recovered ones, and
+     * drops expired stickiness entries.
+     */
+    public void checkReplicaHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(healthCheckTimeoutSeconds);
+            } catch (SQLException ex) {
+                healthy = false;
+            }
+
+            if (healthy != replica.healthy) {
+                if (healthy) {
+                    log.info("Replica {} passed health check, returning it to rotation", replica.key);
+                } else {
+                    log.warn("Replica {} failed health check, routing its reads elsewhere", replica.key);
+                }
+                replica.healthy = healthy;
+            }
+        }
+
+        long now = System.nanoTime();
+        lastWriteByUser.values().removeIf(lastWrite -> now - lastWrite >= stickinessNanos);
+    }
+
+    public void close() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        closeQuietly(primary);
+        replicas.forEach(replica -> closeQuietly(replica.dataSource));
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception ex) {
+                log.warn("Failed to close data source", ex);
+            }
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "read-replicas";
+    }
+
+    @Override
+    public Map<String, Object> getMetricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("replicas", replicas.size());
+        snapshot.put("healthyReplicas", replicas.stream().filter(replica -> replica.healthy).count());
+        snapshot.put("primaryRoutes", primaryRoutes.sum());
+        snapshot.put("replicaRoutes", replicaRoutes.sum());
+        snapshot.put("stickyRoutes", stickyRoutes.sum());
+        snapshot.put("fallbackRoutes", fallbackRoutes.sum());
+        snapshot.put("stickyUsers", lastWriteByUser.size());
+        return snapshot;
+    }
+
+    private static final class Replica {
+
+        private final String key;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        private Replica(String key, DataSource dataSource) {
+            this.key = key;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.productmanager.datasource;
+
+/**
+ * Holds the shard the current thread's database work is routed to. Unset means shard 0, which is
+ * also where the application runs its schema management and any unsharded queries.
+ */
+public final class ShardContext {
+
+    @FunctionalInterface
+    public interface ShardTask<T> {
+        T run() throws Throwable;
+    }
+
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs the task with the given shard selected, restoring the previous selection afterwards.
+     */
+    public static <T> T callOn(int shard, ShardTask<T> task) throws Throwable {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        try {
+            return task.run();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.productmanager.datasource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Maps products to shards.
+ *
+ * Every shard's identity columns start at {@code shard + 1} and step by the shard count, so ids
+ * are globally unique and a product's shard is recoverable from its id alone. New products are
+ * placed on their name's home shard, picked by the hash of the lower-cased name. A renamed product
+ * stays where it is; its new name is claimed on that name's home shard. Items always live on
+ * their product's shard.
+ *
+ * The shard count is part of the id layout and must not change once data has been written.
+ */
+@Component
+public class ShardResolver {
+
+    private final boolean enabled;
+    private final int shardCount;
+
+    public ShardResolver(@Value("${sharding.enabled:false}") boolean enabled,
+                         @Value("${sharding.urls:}") List<String> shardUrls) {
+        this.enabled = enabled;
+        this.shardCount = enabled ? Math.max(1, shardUrls.size()) : 1;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int shardForProductId(Long productId) {
+        return (int) Math.floorMod(productId - 1, (long) shardCount);
+    }
+
+    /**
+     * Items have their own identity column, interleaved the same way, and every item is created
+     * on its product's shard, so an item id also names its shard.
+     */
+    public int shardForItemId(Long itemId) {
+        return (int) Math.floorMod(itemId - 1, (long) shardCount);
+    }
+
+    public int shardForProductName(String productName) {
+        return Math.floorMod(productName.trim().toLowerCase(Locale.ROOT).hashCode(), shardCount);
+    }
+
+    /**
+     * Splits {@code values} by shard, in shard order, keeping their order within each shard.
+     */
+    public static <T> Map<Integer, List<T>> groupByShard(Collection<T> values, ToIntFunction<? super T> shardOf) {
+        Map<Integer, List<T>> byShard = new TreeMap<>();
+        for (T value : values) {
+            byShard.computeIfAbsent(shardOf.applyAsInt(value), shard -> new ArrayList<>()).add(value);
+        }
+        return byShard;
+    }
+
+    /**
+     * First identity value issued on the given shard.
+     */
+    public long identityStart(int shard) {
+        return shard + 1L;
+    }
+}
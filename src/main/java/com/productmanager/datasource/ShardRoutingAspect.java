@@ -0,0 +1,163 @@
+package com.productmanager.datasource;
+
+import com.productmanager.dto.PagedResponse;
+import com.productmanager.dto.ProductDTO;
+import com.productmanager.exception.InvalidRequestException;
+import com.productmanager.monitoring.MetricsSource;
+import jakarta.annotation.PreDestroy;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Selects the shard for every product and item service call.
+ *
+ * Runs outside the transaction interceptor so each transaction is opened on the right shard.
+ * Single-product and item operations are routed by product id, so a renamed product stays on its
+ * shard; product creation by name. {@link com.productmanager.naming.ProductNameRegistry} keeps
+ * names unique across shards.
+ * Paged product listings are scattered to every shard in parallel and merge-sorted. Every shard
+ * returns all rows up to the end of the requested page, so pages ending past
+ * {@code sharding.scatter-max-window} rows are rejected.
+ */
+@Aspect
+@Component
+@Order(ShardRoutingAspect.ORDER)
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+public class ShardRoutingAspect implements MetricsSource {
+
+    public static final int ORDER = 200;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Value("${sharding.scatter-max-window:10000}")
+    private int scatterMaxWindow;
+
+    private final ExecutorService scatterExecutor = Executors.newCachedThreadPool(new ScatterThreadFactory());
+
+    private final LongAdder routedCalls = new LongAdder();
+    private final LongAdder scatterCalls = new LongAdder();
+
+    @Around("execution(* com.productmanager.service.ItemService+.*(..)) && args(productId, ..)")
+    public Object routeItemOperation(ProceedingJoinPoint joinPoint, Long productId) throws Throwable {
+        return routeToShard(joinPoint, shardResolver.shardForProductId(productId));
+    }
+
+    @Around("(execution(* com.productmanager.service.ProductService+.getProductById(..)) || "
+            + "execution(* com.productmanager.service.ProductService+.updateProduct(..)) || "
+            + "execution(* com.productmanager.service.ProductService+.deleteProduct(..))) && args(id, ..)")
+    public Object routeProductOperation(ProceedingJoinPoint joinPoint, Long id) throws Throwable {
+        return routeToShard(joinPoint, shardResolver.shardForProductId(id));
+    }
+
+    @Around("execution(* com.productmanager.service.ProductService+.createProduct(..)) && args(productDTO, ..)")
+    public Object routeProductCreation(ProceedingJoinPoint joinPoint, ProductDTO productDTO) throws Throwable {
+        return routeToShard(joinPoint, shardResolver.shardForProductName(productDTO.getProductName()));
+    }
+
+    @Around("execution(* com.productmanager.service.ProductService+.getAllProducts(..)) || "
+            + "execution(* com.productmanager.service.ProductService+.searchProducts(..)) || "
+            + "execution(* com.productmanager.service.ProductService+.getProductsByCreatedBy(..))")
+    public Object scatterGather(ProceedingJoinPoint joinPoint) throws Throwable {
+        scatterCalls.increment();
+        Object[] args = joinPoint.getArgs();
+        int pageableIndex = 0;
+        while (!(args[pageableIndex] instanceof Pageable)) {
+            pageableIndex++;
+        }
+        Pageable pageable = (Pageable) args[pageableIndex];
+        long window = pageable.getOffset() + pageable.getPageSize();
+        if (window > scatterMaxWindow) {
+            throw new InvalidRequestException("Pages must end within the first " + scatterMaxWindow
+                    + " products; narrow the query or use a smaller page number");
+        }
+        Sort sort = ShardedPageMerger.totalOrder(pageable.getSort());
+
+        Object[] shardArgs = args.clone();
+        shardArgs[pageableIndex] = PageRequest.of(0, (int) window, sort);
+
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int shard = 0; shard < shardResolver.getShardCount(); shard++) {
+            int target = shard;
+            futures.add(scatterExecutor.submit(() -> callOnShard(target, () -> joinPoint.proceed(shardArgs))));
+        }
+
+        List<PagedResponse<ProductDTO>> pages = new ArrayList<>();
+        for (Future<Object> future : futures) {
+            try {
+                @SuppressWarnings("unchecked")
+                PagedResponse<ProductDTO> page = (PagedResponse<ProductDTO>) future.get();
+                pages.add(page);
+            } catch (ExecutionException ex) {
+                throw ex.getCause();
+            }
+        }
+        return ShardedPageMerger.merge(pages, pageable, sort);
+    }
+
+    private Object routeToShard(ProceedingJoinPoint joinPoint, int shard) throws Throwable {
+        routedCalls.increment();
+        return ShardContext.callOn(shard, joinPoint::proceed);
+    }
+
+    private static Object callOnShard(int shard, ShardContext.ShardTask<Object> task) throws Exception {
+        try {
+            return ShardContext.callOn(shard, task);
+        } catch (Exception | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scatterExecutor.shutdownNow();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "sharding";
+    }
+
+    @Override
+    public Map<String, Object> getMetricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("shards", shardResolver.getShardCount());
+        snapshot.put("routedCalls", routedCalls.sum());
+        snapshot.put("scatterGatherCalls", scatterCalls.sum());
+        return snapshot;
+    }
+
+    private static final class ScatterThreadFactory implements java.util.concurrent.ThreadFactory {
+
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "shard-scatter-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.productmanager.datasource;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Prepares freshly created shard databases for local runs and tests.
+ *
+ * Hibernate only manages the schema of shard 0. When {@code sharding.initialize-schema=true} the DDL
+ * it exported to {@code sharding.schema-script} is replayed on the other shards, and
+ * {@code sharding.identity-init-sql} is run per table on every shard to interleave identity values.
+ * Never enable this against existing databases: it restarts the identity sequences.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+public class ShardSchemaInitializer {
+
+    // Depend on the EntityManagerFactory so Hibernate has created shard 0 and exported its DDL first
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ShardRoutingDataSource shardRoutingDataSource;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Value("${sharding.initialize-schema:false}")
+    private boolean initializeSchema;
+
+    @Value("${sharding.schema-script:}")
+    private String schemaScript;
+
+    @Value("${sharding.identity-init-sql:}")
+    private String identityInitSql;
+
+    @Value("${sharding.identity-tables:product,item,change_log}")
+    private List<String> identityTables;
+
+    @PostConstruct
+    void initializeShards() {
+        if (!initializeSchema) {
+            return;
+        }
+
+        for (int shard = 0; shard < shardRoutingDataSource.getShardCount(); shard++) {
+            if (shard > 0 && !schemaScript.isBlank()) {
+                log.info("Creating schema on shard {} from {}", shard, schemaScript);
+                new ResourceDatabasePopulator(new FileSystemResource(schemaScript))
+                        .execute(shardRoutingDataSource.getShard(shard));
+            }
+
+            if (!identityInitSql.isBlank()) {
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(shardRoutingDataSource.getShard(shard));
+                for (String table : identityTables) {
+                    jdbcTemplate.execute(identityInitSql
+                            .replace("{table}", table.trim())
+                            .replace("{start}", String.valueOf(shardResolver.identityStart(shard)))
+                            .replace("{step}", String.valueOf(shardResolver.getShardCount())));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.productmanager.datasource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+/**
+ * Runs work in a transaction on an explicitly chosen shard, for code that is not routed by
+ * {@link ShardRoutingAspect}. With sharding disabled the shard argument is ignored.
+ *
+ * The work joins the caller's transaction only when that transaction is on the same shard. A
+ * transaction on another shard holds that shard's connection, so joining it would run the work on
+ * the wrong database; the work gets a transaction of its own instead.
+ */
+@Component
+public class ShardTransactions {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    public <T> T readOnShard(int shard, Supplier<T> work) {
+        TransactionTemplate transactionTemplate = templateFor(shard);
+        transactionTemplate.setReadOnly(true);
+        return execute(shard, transactionTemplate, status -> work.get());
+    }
+
+    public <T> T writeOnShard(int shard, Supplier<T> work) {
+        return execute(shard, templateFor(shard), status -> work.get());
+    }
+
+    /**
+     * Like {@link #writeOnShard}, for work that needs the transaction status, e.g. to roll back
+     * without throwing.
+     */
+    public <T> T executeOnShard(int shard, TransactionCallback<T> work) {
+        return execute(shard, templateFor(shard), work);
+    }
+
+    private TransactionTemplate templateFor(int shard) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Integer current = ShardContext.current();
+        if (TransactionSynchronizationManager.isActualTransactionActive() && (current == null ? 0 : current) != shard) {
+            transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        }
+        return transactionTemplate;
+    }
+
+    private static <T> T execute(int shard, TransactionTemplate transactionTemplate, TransactionCallback<T> work) {
+        try {
+            return ShardContext.callOn(shard, () -> transactionTemplate.execute(work));
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
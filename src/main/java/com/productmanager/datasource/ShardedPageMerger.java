@@ -0,0 +1,103 @@
+package com.productmanager.datasource;
+
+import com.productmanager.dto.PagedResponse;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Merges per-shard pages into one global page.
+ *
+ * Each shard is asked for the first {@code offset + size} rows in the requested order, so the
+ * global page is the slice {@code [offset, offset + size)} of their k-way merge. Deep pages cost
+ * every shard {@code offset + size} rows.
+ */
+public final class ShardedPageMerger {
+
+    private ShardedPageMerger() {
+    }
+
+    /**
+     * The requested sort with {@code id} appended as a tie-breaker, so every shard and the merge
+     * agree on a total order.
+     */
+    public static Sort totalOrder(Sort sort) {
+        if (sort.getOrderFor("id") != null) {
+            return sort;
+        }
+        return sort.and(Sort.by(Sort.Direction.ASC, "id"));
+    }
+
+    public static <T> PagedResponse<T> merge(List<PagedResponse<T>> shardPages, Pageable pageable, Sort sort) {
+        Comparator<T> comparator = comparatorFor(sort);
+        PriorityQueue<Cursor<T>> queue = new PriorityQueue<>((a, b) -> comparator.compare(a.current(), b.current()));
+        long totalElements = 0;
+        for (PagedResponse<T> page : shardPages) {
+            totalElements += page.getTotalElements();
+            if (page.getContent() != null && !page.getContent().isEmpty()) {
+                queue.add(new Cursor<>(page.getContent()));
+            }
+        }
+
+        long offset = pageable.getOffset();
+        int size = pageable.getPageSize();
+        List<T> content = new ArrayList<>(size);
+        long position = 0;
+        while (!queue.isEmpty() && content.size() < size) {
+            Cursor<T> cursor = queue.poll();
+            if (position++ >= offset) {
+                content.add(cursor.current());
+            }
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+        }
+
+        int totalPages = size == 0 ? 1 : (int) Math.ceil((double) totalElements / size);
+        return PagedResponse.<T>builder()
+                .content(content)
+                .pageNumber(pageable.getPageNumber())
+                .pageSize(size)
+                .totalElements(totalElements)
+                .totalPages(totalPages)
+                .isFirst(pageable.getPageNumber() == 0)
+                .isLast(offset + size >= totalElements)
+                .build();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static <T> Comparator<T> comparatorFor(Sort sort) {
+        Comparator<T> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            String property = order.getProperty();
+            Comparator<T> byProperty = Comparator.comparing(
+                    value -> (Comparable) new BeanWrapperImpl(value).getPropertyValue(property),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            comparator = comparator.thenComparing(order.isDescending() ? byProperty.reversed() : byProperty);
+        }
+        return comparator;
+    }
+
+    private static final class Cursor<T> {
+
+        private final List<T> values;
+        private int index;
+
+        private Cursor(List<T> values) {
+            this.values = values;
+        }
+
+        private T current() {
+            return values.get(index);
+        }
+
+        private boolean advance() {
+            return ++index < values.size();
+        }
+    }
+}
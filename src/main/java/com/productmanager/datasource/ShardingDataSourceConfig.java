@@ -0,0 +1,69 @@
+package com.productmanager.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One Hikari pool per shard behind a {@link ShardRoutingDataSource}. Enabled with
+ * {@code sharding.enabled=true}; shards are listed in {@code sharding.urls} and share the
+ * credentials, driver and {@code spring.datasource.hikari.*} settings of the main data source.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+public class ShardingDataSourceConfig {
+
+    @Value("${sharding.urls}")
+    private List<String> shardUrls;
+
+    @Value("${sharding.connection-init-sql:}")
+    private String connectionInitSql;
+
+    @Value("${datasource.replicas.enabled:false}")
+    private boolean replicasEnabled;
+
+    @Bean(destroyMethod = "close")
+    public ShardRoutingDataSource shardRoutingDataSource(DataSourceProperties properties, Environment environment,
+                                                         ShardResolver shardResolver) {
+        if (replicasEnabled) {
+            throw new IllegalStateException("sharding.enabled and datasource.replicas.enabled cannot be combined");
+        }
+
+        Binder binder = Binder.get(environment);
+        List<DataSource> shards = new ArrayList<>();
+        for (int i = 0; i < shardUrls.size(); i++) {
+            HikariDataSource shard = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(shardUrls.get(i).trim())
+                    .build();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(shard));
+            shard.setPoolName("shard-" + i);
+            if (!connectionInitSql.isBlank()) {
+                // e.g. MySQL: SET SESSION auto_increment_increment={step}, auto_increment_offset={start}
+                shard.setConnectionInitSql(connectionInitSql
+                        .replace("{start}", String.valueOf(shardResolver.identityStart(i)))
+                        .replace("{step}", String.valueOf(shardResolver.getShardCount())));
+            }
+            shards.add(shard);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+    }
+}
@@ -0,0 +1,111 @@
+package com.productmanager.datasource;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Drops indexes that the entities no longer declare because a wider index replaced them.
+ *
+ * {@code ddl-auto=update} creates the replacements but never drops anything, so a database
+ * created before the list sorts were indexed would otherwise maintain both on every write. An
+ * old index is only dropped on a shard where its replacement exists, which keeps every query it
+ * served covered by the replacement's leading columns. Disable with
+ * {@code schema.drop-superseded-indexes=false}.
+ */
+@Slf4j
+@Component
+public class SupersededIndexCleanup {
+
+    // Table -> superseded index -> the index that covers it
+    private static final Map<String, Map<String, String>> SUPERSEDED = Map.of(
+            "product", Map.of(
+                    "idx_product_name", "idx_product_name_id",
+                    "idx_created_by", "idx_product_owner_created",
+                    "idx_created_on", "idx_product_created_on"),
+            "item", Map.of(
+                    "idx_product_id", "idx_item_product_id",
+                    "idx_product_quantity", "idx_product_quantity_id"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Autowired
+    private ShardTransactions shardTransactions;
+
+    // Injected so the other shards have their tables before they are cleaned up
+    @Autowired(required = false)
+    private ShardSchemaInitializer shardSchemaInitializer;
+
+    @Value("${schema.drop-superseded-indexes:true}")
+    private boolean enabled;
+
+    @PostConstruct
+    void dropSupersededIndexes() {
+        if (!enabled) {
+            return;
+        }
+        for (int shard = 0; shard < shardResolver.getShardCount(); shard++) {
+            int current = shard;
+            try {
+                shardTransactions.writeOnShard(current, () -> jdbcTemplate.execute(
+                        (ConnectionCallback<Void>) connection -> {
+                            dropOn(current, connection);
+                            return null;
+                        }));
+            } catch (RuntimeException ex) {
+                log.error("Could not drop superseded indexes on shard {}: {}", current, ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private void dropOn(int shard, Connection connection) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        boolean mysql = metaData.getDatabaseProductName().toLowerCase(Locale.ROOT).matches(".*(mysql|mariadb).*");
+        for (Map.Entry<String, Map<String, String>> table : SUPERSEDED.entrySet()) {
+            Set<String> indexes = indexesOf(connection, metaData, table.getKey());
+            table.getValue().forEach((superseded, replacement) -> {
+                if (indexes.contains(superseded) && indexes.contains(replacement)) {
+                    log.info("Dropping index {} on {} of shard {}, superseded by {}",
+                            superseded, table.getKey(), shard, replacement);
+                    jdbcTemplate.execute(mysql
+                            ? "DROP INDEX " + superseded + " ON " + table.getKey()
+                            : "DROP INDEX " + superseded);
+                }
+            });
+        }
+    }
+
+    private static Set<String> indexesOf(Connection connection, DatabaseMetaData metaData, String table)
+            throws SQLException {
+        String name = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+        Set<String> indexes = new TreeSet<>();
+        // Only the connection's own database: another schema on the server may have a table of the same name
+        try (ResultSet rows = metaData.getIndexInfo(
+                connection.getCatalog(), connection.getSchema(), name, false, true)) {
+            while (rows.next()) {
+                String index = rows.getString("INDEX_NAME");
+                if (index != null) {
+                    indexes.add(index.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return indexes;
+    }
+}
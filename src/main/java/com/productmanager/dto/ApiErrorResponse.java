@@ -1,5 +1,6 @@
 package com.productmanager.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -29,4 +30,8 @@ public class ApiErrorResponse {
 
     @Schema(description = "API Path that caused the error")
     private String path;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @Schema(description = "Current version of the resource, for version conflicts", example = "3")
+    private Long currentVersion;
 }
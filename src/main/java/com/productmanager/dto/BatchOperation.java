@@ -0,0 +1,32 @@
+package com.productmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Batch Operation DTO")
+public class BatchOperation {
+
+    @NotNull(message = "Operation type cannot be null")
+    @Schema(description = "Operation to perform", example = "CREATE_ITEM", requiredMode = Schema.RequiredMode.REQUIRED)
+    private BatchOperationType type;
+
+    @Schema(description = "Product ID, or $n for the ID produced by operation n of this batch", example = "$0")
+    private String productId;
+
+    @Schema(description = "Item ID, or $n for the ID produced by operation n of this batch", example = "12")
+    private String itemId;
+
+    @Schema(description = "Product name, for product creates and updates", example = "Laptop")
+    private String productName;
+
+    @Schema(description = "Item quantity, for item creates and updates", example = "100")
+    private Integer quantity;
+}
@@ -0,0 +1,30 @@
+package com.productmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Batch Operation Result DTO")
+public class BatchOperationResult {
+
+    @Schema(description = "Position of the operation in the request", example = "0")
+    private int index;
+
+    @Schema(description = "HTTP status the operation would have had as a single request", example = "201")
+    private int status;
+
+    @Schema(description = "ID produced or affected by the operation", example = "1")
+    private Long id;
+
+    @Schema(description = "The resulting product or item; absent for deletes and failures")
+    private Object data;
+
+    @Schema(description = "Why the operation failed or was not applied")
+    private String error;
+}
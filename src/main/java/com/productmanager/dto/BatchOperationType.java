@@ -0,0 +1,13 @@
+package com.productmanager.dto;
+
+/**
+ * The product and item operations a batch request can contain.
+ */
+public enum BatchOperationType {
+    CREATE_PRODUCT,
+    UPDATE_PRODUCT,
+    DELETE_PRODUCT,
+    CREATE_ITEM,
+    UPDATE_ITEM,
+    DELETE_ITEM
+}
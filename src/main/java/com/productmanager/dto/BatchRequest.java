@@ -0,0 +1,28 @@
+package com.productmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Batch Request DTO")
+public class BatchRequest {
+
+    @NotEmpty(message = "Operations cannot be empty")
+    @Schema(description = "Operations, executed in order", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<@NotNull(message = "Operations cannot contain null") @Valid BatchOperation> operations;
+
+    @Builder.Default
+    @Schema(description = "Run all operations in one transaction (true) or each on its own (false)", example = "true")
+    private boolean atomic = true;
+}
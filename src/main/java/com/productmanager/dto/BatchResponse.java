@@ -0,0 +1,29 @@
+package com.productmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Batch Response DTO")
+public class BatchResponse {
+
+    @Schema(description = "Whether the operations ran in one transaction")
+    private boolean atomic;
+
+    @Schema(description = "Whether every applied operation was committed")
+    private boolean committed;
+
+    @Schema(description = "Index of the operation that rolled back an atomic batch", example = "2")
+    private Integer failedIndex;
+
+    @Schema(description = "One result per operation, in request order")
+    private List<BatchOperationResult> results;
+}
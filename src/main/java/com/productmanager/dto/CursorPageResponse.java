@@ -0,0 +1,29 @@
+package com.productmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Keyset-paginated Response DTO")
+public class CursorPageResponse<T> {
+
+    @Schema(description = "List of items")
+    private List<T> content;
+
+    @Schema(description = "Page size")
+    private int pageSize;
+
+    @Schema(description = "Cursor for the next page; absent on the last page")
+    private String nextCursor;
+
+    @Schema(description = "More results are available")
+    private boolean hasMore;
+}
@@ -0,0 +1,29 @@
+package com.productmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Deletion tombstone")
+public class DeletedEntityDTO {
+
+    @Schema(description = "Entity type", example = "ITEM")
+    private String entityType;
+
+    @Schema(description = "ID of the deleted product or item", example = "7")
+    private Long id;
+
+    @Schema(description = "Product ID (the product itself for product tombstones)", example = "1")
+    private Long productId;
+
+    @Schema(description = "When the deletion was recorded")
+    private LocalDateTime deletedOn;
+}
@@ -0,0 +1,35 @@
+package com.productmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Delta Sync Response DTO")
+public class DeltaSyncResponse {
+
+    @Schema(description = "Products created or modified since the token, in their current state")
+    private List<ProductDTO> products;
+
+    @Schema(description = "Items created or modified since the token, in their current state")
+    private List<ItemDTO> items;
+
+    @Schema(description = "Products and items deleted since the token. Deleting a product also deletes its items")
+    private List<DeletedEntityDTO> deleted;
+
+    @Schema(description = "Token to pass as 'since' on the next call", example = "42")
+    private String nextToken;
+
+    @Schema(description = "More changes are available; call again with nextToken")
+    private boolean hasMore;
+
+    @Schema(description = "The token is too old or does not match this server; discard local state and sync from scratch")
+    private boolean resetRequired;
+}
@@ -0,0 +1,23 @@
+package com.productmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "ID Lookup Request DTO")
+public class IdLookupRequest {
+
+    @NotEmpty(message = "IDs cannot be empty")
+    @Schema(description = "IDs to look up", example = "[1, 2, 3]", requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<@NotNull(message = "IDs cannot contain null") Long> ids;
+}
@@ -0,0 +1,38 @@
+package com.productmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Inventory Summary DTO")
+public class InventorySummaryDTO {
+
+    @Schema(description = "Number of products", example = "120")
+    private long productCount;
+
+    @Schema(description = "Number of items", example = "800")
+    private long itemCount;
+
+    @Schema(description = "Sum of all item quantities", example = "45000")
+    private long totalQuantity;
+
+    @Schema(description = "Quantity at or below which an item counts as low stock", example = "10")
+    private int lowStockThreshold;
+
+    @Schema(description = "Number of items at or below the low-stock threshold", example = "17")
+    private long lowStockItems;
+
+    @Schema(description = "Number of products with at least one low-stock item", example = "9")
+    private long productsWithLowStock;
+
+    @Schema(description = "When the figures were last rebuilt from the database")
+    private LocalDateTime rebuiltOn;
+}
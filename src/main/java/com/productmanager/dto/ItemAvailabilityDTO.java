@@ -0,0 +1,30 @@
+package com.productmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Item quantity net of reservations")
+public class ItemAvailabilityDTO {
+
+    @Schema(description = "Item ID", example = "7")
+    private Long itemId;
+
+    @Schema(description = "Product ID", example = "1")
+    private Long productId;
+
+    @Schema(description = "Persisted item quantity", example = "100")
+    private int quantity;
+
+    @Schema(description = "Quantity held by live or confirming reservations", example = "12")
+    private int reserved;
+
+    @Schema(description = "Quantity that can still be reserved", example = "88")
+    private int available;
+}
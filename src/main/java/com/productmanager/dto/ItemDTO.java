@@ -26,4 +26,7 @@ public class ItemDTO {
     @Min(value = 1, message = "Quantity must be at least 1")
     @Schema(description = "Item Quantity", example = "100", requiredMode = Schema.RequiredMode.REQUIRED)
     private Integer quantity;
+
+    @Schema(description = "Version, incremented on every change", example = "0")
+    private Long version;
 }
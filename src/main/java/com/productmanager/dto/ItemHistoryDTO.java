@@ -0,0 +1,42 @@
+package com.productmanager.dto;
+
+import com.productmanager.event.ChangeType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Item history entry")
+public class ItemHistoryDTO {
+
+    @Schema(description = "History entry ID", example = "340")
+    private Long id;
+
+    @Schema(description = "Item ID", example = "7")
+    private Long itemId;
+
+    @Schema(description = "Product ID", example = "1")
+    private Long productId;
+
+    @Schema(description = "Change type", example = "ITEM_UPDATED")
+    private ChangeType changeType;
+
+    @Schema(description = "Quantity before the change; absent for creations", example = "90")
+    private Integer previousQuantity;
+
+    @Schema(description = "Quantity after the change; absent for deletions", example = "100")
+    private Integer quantity;
+
+    @Schema(description = "User who made the change, when known", example = "admin")
+    private String actor;
+
+    @Schema(description = "When the change was made")
+    private LocalDateTime changedOn;
+}
@@ -0,0 +1,24 @@
+package com.productmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Lookup Result DTO")
+public class LookupResult<T> {
+
+    @Schema(description = "Requested ID", example = "1")
+    private Long id;
+
+    @Schema(description = "Whether the ID was found")
+    private boolean found;
+
+    @Schema(description = "The document; absent when not found")
+    private T data;
+}
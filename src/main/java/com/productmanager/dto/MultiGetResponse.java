@@ -0,0 +1,26 @@
+package com.productmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Multi-get Response DTO")
+public class MultiGetResponse<T> {
+
+    @Schema(description = "One result per requested ID, in request order")
+    private List<LookupResult<T>> results;
+
+    @Schema(description = "Number of IDs requested", example = "3")
+    private int requested;
+
+    @Schema(description = "Number of IDs found", example = "2")
+    private int found;
+}
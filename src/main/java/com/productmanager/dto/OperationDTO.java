@@ -0,0 +1,46 @@
+package com.productmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Schema(description = "Asynchronous write operation")
+public class OperationDTO {
+
+    @Schema(description = "Operation ID", example = "0b9a3c4e-5d6f-4a1b-8c2d-3e4f5a6b7c8d")
+    private String id;
+
+    @Schema(description = "What the operation does", example = "CREATE_ITEM")
+    private BatchOperationType type;
+
+    @Schema(description = "Operation status")
+    private OperationStatus status;
+
+    @Schema(description = "When the operation was accepted")
+    private LocalDateTime submittedOn;
+
+    @Schema(description = "When the operation was committed or failed")
+    private LocalDateTime completedOn;
+
+    @Schema(description = "ID of the created product or item", example = "42")
+    private Long resourceId;
+
+    @Schema(description = "The created product or item")
+    private Object result;
+
+    @Schema(description = "HTTP status the write would have had as a synchronous request", example = "404")
+    private Integer errorStatus;
+
+    @Schema(description = "Why the operation failed")
+    private String error;
+}
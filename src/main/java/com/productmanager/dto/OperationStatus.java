@@ -0,0 +1,19 @@
+package com.productmanager.dto;
+
+/**
+ * Progress of an asynchronously accepted write.
+ */
+public enum OperationStatus {
+
+    /**
+     * Queued or being written; nothing is committed yet.
+     */
+    PENDING,
+
+    /**
+     * Committed.
+     */
+    SUCCEEDED,
+
+    FAILED
+}
@@ -0,0 +1,30 @@
+package com.productmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Owner Stock DTO")
+public class OwnerStockDTO {
+
+    @Schema(description = "Owner (creator) of the products", example = "admin")
+    private String owner;
+
+    @Schema(description = "Number of products", example = "4")
+    private long productCount;
+
+    @Schema(description = "Number of items across all products", example = "12")
+    private long itemCount;
+
+    @Schema(description = "Sum of item quantities across all products", example = "900")
+    private long totalQuantity;
+
+    @Schema(description = "Number of items at or below the low-stock threshold", example = "2")
+    private long lowStockItems;
+}
@@ -39,4 +39,7 @@ public class ProductDTO {
     @Min(value = 0, message = "Number of items must be 0 or positive")
     @Schema(description = "Number of Items", example = "0")
     private Integer itemCount;
+
+    @Schema(description = "Version, incremented on every change", example = "0")
+    private Long version;
 }
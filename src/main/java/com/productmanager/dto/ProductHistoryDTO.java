@@ -0,0 +1,39 @@
+package com.productmanager.dto;
+
+import com.productmanager.event.ChangeType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Product history entry")
+public class ProductHistoryDTO {
+
+    @Schema(description = "History entry ID", example = "120")
+    private Long id;
+
+    @Schema(description = "Product ID", example = "1")
+    private Long productId;
+
+    @Schema(description = "Change type", example = "PRODUCT_UPDATED")
+    private ChangeType changeType;
+
+    @Schema(description = "Name before the change; absent for creations", example = "Notebook")
+    private String previousName;
+
+    @Schema(description = "Name after the change; absent for deletions", example = "Laptop")
+    private String productName;
+
+    @Schema(description = "User who made the change, when known", example = "admin")
+    private String actor;
+
+    @Schema(description = "When the change was made")
+    private LocalDateTime changedOn;
+}
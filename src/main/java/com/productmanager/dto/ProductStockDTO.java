@@ -0,0 +1,30 @@
+package com.productmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Product Stock DTO")
+public class ProductStockDTO {
+
+    @Schema(description = "Product ID", example = "1")
+    private Long productId;
+
+    @Schema(description = "Owner (creator) of the product", example = "admin")
+    private String owner;
+
+    @Schema(description = "Sum of item quantities", example = "250")
+    private long totalQuantity;
+
+    @Schema(description = "Number of items", example = "3")
+    private long itemCount;
+
+    @Schema(description = "Number of items at or below the low-stock threshold", example = "1")
+    private long lowStockItems;
+}
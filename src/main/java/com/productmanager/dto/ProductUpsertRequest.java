@@ -0,0 +1,25 @@
+package com.productmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Product Upsert Request DTO")
+public class ProductUpsertRequest {
+
+    @NotEmpty(message = "Products cannot be empty")
+    @Schema(description = "Products to create or update, matched by case-insensitive name",
+            requiredMode = Schema.RequiredMode.REQUIRED)
+    private List<@NotNull(message = "Products cannot contain null") @Valid ProductDTO> products;
+}
@@ -0,0 +1,32 @@
+package com.productmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Product Upsert Response DTO")
+public class ProductUpsertResponse {
+
+    @Schema(description = "One result per record, in request order")
+    private List<UpsertResult> results;
+
+    @Schema(description = "Number of products created", example = "10")
+    private int created;
+
+    @Schema(description = "Number of products updated", example = "2")
+    private int updated;
+
+    @Schema(description = "Number of records that matched an identical product", example = "988")
+    private int unchanged;
+
+    @Schema(description = "Number of records not applied because of duplicates or conflicts", example = "0")
+    private int rejected;
+}
@@ -0,0 +1,38 @@
+package com.productmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Stock reservation")
+public class ReservationDTO {
+
+    @Schema(description = "Reservation ID", example = "6f1c2a9e-3b4d-4f8a-9c1e-2d7b5a0e8f31")
+    private String id;
+
+    @Schema(description = "Product ID", example = "1")
+    private Long productId;
+
+    @Schema(description = "Item ID", example = "7")
+    private Long itemId;
+
+    @Schema(description = "Reserved quantity", example = "2")
+    private int quantity;
+
+    @Schema(description = "Reservation status")
+    private ReservationStatus status;
+
+    @Schema(description = "When an unconfirmed hold expires")
+    private Instant expiresAt;
+
+    @Schema(description = "User who made the reservation", example = "admin")
+    private String reservedBy;
+}
@@ -0,0 +1,27 @@
+package com.productmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Reservation Request DTO")
+public class ReservationRequest {
+
+    @NotNull(message = "Quantity cannot be null")
+    @Min(value = 1, message = "Quantity must be at least 1")
+    @Schema(description = "Quantity to hold", example = "2", requiredMode = Schema.RequiredMode.REQUIRED)
+    private Integer quantity;
+
+    @Min(value = 1, message = "TTL must be at least 1 second")
+    @Schema(description = "Seconds the hold lasts unless confirmed or released; the configured default when omitted",
+            example = "300")
+    private Integer ttlSeconds;
+}
@@ -0,0 +1,32 @@
+package com.productmanager.dto;
+
+/**
+ * Lifecycle of a stock reservation.
+ */
+public enum ReservationStatus {
+
+    /**
+     * The quantity is held and no longer available to others until the hold is confirmed,
+     * released or expires.
+     */
+    HELD,
+
+    /**
+     * Confirmed; the quantity is waiting to be deducted from the item with the next batch.
+     */
+    CONFIRMING,
+
+    /**
+     * The quantity was deducted from the item.
+     */
+    CONFIRMED,
+
+    RELEASED,
+
+    EXPIRED,
+
+    /**
+     * Confirmed, but the item no longer had the quantity when the deduction was applied.
+     */
+    REJECTED
+}
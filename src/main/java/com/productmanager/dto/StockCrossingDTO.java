@@ -0,0 +1,49 @@
+package com.productmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Low-stock threshold crossing")
+public class StockCrossingDTO {
+
+    public enum Direction {
+        BELOW,
+        ABOVE
+    }
+
+    @Schema(description = "Crossing sequence number", example = "12")
+    private long sequence;
+
+    @Schema(description = "Item ID", example = "7")
+    private Long itemId;
+
+    @Schema(description = "Product ID", example = "1")
+    private Long productId;
+
+    @Schema(description = "Owner (creator) of the product", example = "admin")
+    private String owner;
+
+    @Schema(description = "Threshold that was crossed", example = "10")
+    private int threshold;
+
+    @Schema(description = "BELOW when the quantity fell to or under the threshold, ABOVE when it recovered")
+    private Direction direction;
+
+    @Schema(description = "Quantity before the change", example = "12")
+    private Integer previousQuantity;
+
+    @Schema(description = "Quantity after the change", example = "8")
+    private Integer quantity;
+
+    @Schema(description = "When the change was made")
+    private LocalDateTime occurredOn;
+}
@@ -0,0 +1,29 @@
+package com.productmanager.dto;
+
+/**
+ * What a bulk upsert did with one record.
+ */
+public enum UpsertOutcome {
+
+    CREATED,
+
+    /**
+     * An existing product was renamed to the record's spelling of the name.
+     */
+    UPDATED,
+
+    /**
+     * An existing product already has exactly this name; nothing was written.
+     */
+    UNCHANGED,
+
+    /**
+     * An earlier record in the same request has the same name; this one was ignored.
+     */
+    DUPLICATE,
+
+    /**
+     * The product changed between the lookup and the update; nothing was written.
+     */
+    CONFLICT
+}
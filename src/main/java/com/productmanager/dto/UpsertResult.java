@@ -0,0 +1,24 @@
+package com.productmanager.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Upsert Result DTO")
+public class UpsertResult {
+
+    @Schema(description = "Product ID; absent for duplicates within the request", example = "1")
+    private Long id;
+
+    @Schema(description = "What was done with the record", example = "CREATED")
+    private UpsertOutcome outcome;
+
+    @Schema(description = "Version after the upsert", example = "0")
+    private Long version;
+}
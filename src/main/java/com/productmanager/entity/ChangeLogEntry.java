@@ -0,0 +1,56 @@
+package com.productmanager.entity;
+
+import com.productmanager.event.ChangeType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * One row per product or item change, written in the same transaction as the change. The
+ * identity column is the change sequence that delta-sync tokens point into.
+ */
+@Entity
+@Table(name = "change_log", indexes = {
+        @Index(name = "idx_change_log_recorded_on", columnList = "recorded_on")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Change Log Entry Entity")
+public class ChangeLogEntry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum EntityType {
+        PRODUCT,
+        ITEM
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Schema(description = "Change sequence", example = "42")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 10)
+    private EntityType entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 20)
+    private ChangeType changeType;
+
+    @CreationTimestamp
+    @Column(name = "recorded_on", nullable = false, updatable = false)
+    private LocalDateTime recordedOn;
+}
@@ -0,0 +1,48 @@
+package com.productmanager.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * A stored response to a write sent with an {@code Idempotency-Key}, used when
+ * {@code idempotency.store=table}. Rows live on the default shard.
+ */
+@Entity
+@Table(name = "idempotency_record", indexes = {
+        @Index(name = "idx_idempotency_record_expires_at", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Idempotency Record Entity")
+public class IdempotencyRecord implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "record_key", length = 64)
+    private String recordKey;
+
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "status", nullable = false)
+    private Integer status;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "headers", length = 1000)
+    private String headers;
+
+    @Lob
+    @Column(name = "body")
+    private byte[] body;
+
+    @Column(name = "expires_at", nullable = false)
+    private Long expiresAt;
+}
@@ -8,8 +8,9 @@ import java.io.Serializable;
 
 @Entity
 @Table(name = "item", indexes = {
-        @Index(name = "idx_product_id", columnList = "product_id"),
-        @Index(name = "idx_quantity", columnList = "quantity")
+        @Index(name = "idx_item_product_id", columnList = "product_id, id"),
+        @Index(name = "idx_quantity", columnList = "quantity"),
+        @Index(name = "idx_product_quantity_id", columnList = "product_id, quantity, id")
 })
 @Data
 @NoArgsConstructor
@@ -0,0 +1,53 @@
+package com.productmanager.entity;
+
+import com.productmanager.event.ChangeType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Before and after quantity of one item change. Append-only; rows are written in batches by
+ * {@code HistoryWriter} after the change has committed.
+ */
+@Entity
+@Table(name = "item_history", indexes = {
+        @Index(name = "idx_item_history_item_id", columnList = "item_id, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Item History Entity")
+public class ItemHistory implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 20)
+    private ChangeType changeType;
+
+    @Column(name = "previous_quantity")
+    private Integer previousQuantity;
+
+    @Column(name = "quantity")
+    private Integer quantity;
+
+    @Column(name = "actor", length = 100)
+    private String actor;
+
+    @Column(name = "changed_on", nullable = false)
+    private LocalDateTime changedOn;
+}
@@ -10,11 +10,15 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 @Entity
-@Table(name = "product", indexes = {
-        @Index(name = "idx_product_name", columnList = "product_name"),
-        @Index(name = "idx_created_by", columnList = "created_by")
+@Table(name = "product", uniqueConstraints = {
+        @UniqueConstraint(name = Product.NAME_KEY_CONSTRAINT, columnNames = "product_name_key")
+}, indexes = {
+        @Index(name = "idx_product_name_id", columnList = "product_name, id"),
+        @Index(name = "idx_product_created_on", columnList = "created_on, id"),
+        @Index(name = "idx_product_owner_created", columnList = "created_by, created_on, id")
 })
 @Data
 @NoArgsConstructor
@@ -25,6 +29,8 @@ public class Product implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    public static final String NAME_KEY_CONSTRAINT = "uk_product_name_key";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Schema(description = "Product ID", example = "1")
@@ -34,6 +40,10 @@ public class Product implements Serializable {
     @Schema(description = "Product Name", example = "Laptop")
     private String productName;
 
+    @Column(name = "product_name_key", length = 255)
+    @Schema(description = "Lower-cased product name, unique across products", example = "laptop")
+    private String productNameKey;
+
     @Column(name = "created_by", nullable = false, length = 100)
     @Schema(description = "Created By User", example = "admin")
     private String createdBy;
@@ -62,6 +72,19 @@ public class Product implements Serializable {
     @Column(name = "version")
     private Long version;
 
+    /**
+     * The case-insensitive form of a product name that uniqueness is enforced on.
+     */
+    public static String nameKey(String productName) {
+        return productName == null ? null : productName.toLowerCase(Locale.ROOT);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void syncNameKey() {
+        productNameKey = nameKey(productName);
+    }
+
     public void addItem(Item item) {
         item.setProduct(this);
         this.items.add(item);
@@ -0,0 +1,50 @@
+package com.productmanager.entity;
+
+import com.productmanager.event.ChangeType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Before and after name of one product change. Append-only; rows are written in batches by
+ * {@code HistoryWriter} after the change has committed.
+ */
+@Entity
+@Table(name = "product_history", indexes = {
+        @Index(name = "idx_product_history_product_id", columnList = "product_id, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Product History Entity")
+public class ProductHistory implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 20)
+    private ChangeType changeType;
+
+    @Column(name = "previous_name", length = 255)
+    private String previousName;
+
+    @Column(name = "product_name", length = 255)
+    private String productName;
+
+    @Column(name = "actor", length = 100)
+    private String actor;
+
+    @Column(name = "changed_on", nullable = false)
+    private LocalDateTime changedOn;
+}
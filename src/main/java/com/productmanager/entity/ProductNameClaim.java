@@ -0,0 +1,33 @@
+package com.productmanager.entity;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Reserves a product name key for one product when sharding is enabled. The row lives on the
+ * name's home shard, whichever shard the product itself is on, so a renamed product keeps
+ * the name taken against creates routed to that home shard.
+ */
+@Entity
+@Table(name = "product_name_claim")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Product Name Claim Entity")
+public class ProductNameClaim implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "name_key", length = 255)
+    @Schema(description = "Lower-cased product name", example = "laptop")
+    private String nameKey;
+
+    @Column(name = "product_id", nullable = false)
+    @Schema(description = "Product holding the name", example = "1")
+    private Long productId;
+}
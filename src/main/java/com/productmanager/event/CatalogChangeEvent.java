@@ -0,0 +1,55 @@
+package com.productmanager.event;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * A create, update or delete of a product or item.
+ *
+ * Published by the services inside their transaction; listeners that must only see committed
+ * changes use {@code @TransactionalEventListener(phase = AFTER_COMMIT)}.
+ */
+@Value
+@Builder
+@Schema(description = "Catalog change event")
+public class CatalogChangeEvent {
+
+    @Schema(description = "Change type", example = "ITEM_UPDATED")
+    ChangeType type;
+
+    @Schema(description = "Product ID", example = "1")
+    Long productId;
+
+    @Schema(description = "Item ID, for item changes", example = "1")
+    Long itemId;
+
+    @Schema(description = "Owner (creator) of the product", example = "admin")
+    String owner;
+
+    @Schema(description = "Product name after the change", example = "Laptop")
+    String productName;
+
+    @Schema(description = "Product name before the change, for renames", example = "Notebook")
+    String previousProductName;
+
+    @Schema(description = "Item quantity after the change", example = "100")
+    Integer quantity;
+
+    @Schema(description = "Item quantity before the change", example = "90")
+    Integer previousQuantity;
+
+    @Schema(description = "Version of the changed product or item after the change", example = "3")
+    Long version;
+
+    @Schema(description = "When the product was created")
+    LocalDateTime createdOn;
+
+    @Schema(description = "User who made the change, when known", example = "admin")
+    String actor;
+
+    @Schema(description = "When the change was made")
+    LocalDateTime occurredOn;
+}
@@ -0,0 +1,17 @@
+package com.productmanager.event;
+
+/**
+ * Kinds of catalog changes published by the product and item services.
+ */
+public enum ChangeType {
+    PRODUCT_CREATED,
+    PRODUCT_UPDATED,
+    PRODUCT_DELETED,
+    ITEM_CREATED,
+    ITEM_UPDATED,
+    ITEM_DELETED;
+
+    public boolean isItemChange() {
+        return this == ITEM_CREATED || this == ITEM_UPDATED || this == ITEM_DELETED;
+    }
+}
@@ -15,4 +15,8 @@ public class DuplicateResourceException extends RuntimeException {
     public static DuplicateResourceException productNameExists(String productName) {
         return new DuplicateResourceException("Product with name '" + productName + "' already exists");
     }
+
+    public static DuplicateResourceException productNameExists(String productName, Throwable cause) {
+        return new DuplicateResourceException("Product with name '" + productName + "' already exists", cause);
+    }
 }
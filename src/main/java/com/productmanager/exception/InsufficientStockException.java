@@ -0,0 +1,19 @@
+package com.productmanager.exception;
+
+public class InsufficientStockException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+
+    public InsufficientStockException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public static InsufficientStockException forItem(Long itemId, int requested, int available) {
+        return new InsufficientStockException("Cannot reserve " + requested + " of item " + itemId
+                + "; only " + available + " available");
+    }
+}
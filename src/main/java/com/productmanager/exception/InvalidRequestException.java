@@ -0,0 +1,18 @@
+package com.productmanager.exception;
+
+public class InvalidRequestException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public static InvalidRequestException invalidSyncToken(String token) {
+        return new InvalidRequestException("Invalid sync token: " + token);
+    }
+}
@@ -20,6 +20,14 @@ public class ResourceNotFoundException extends RuntimeException {
         return new ResourceNotFoundException("Item not found with id: " + id);
     }
 
+    public static ResourceNotFoundException reservationNotFound(String id) {
+        return new ResourceNotFoundException("Reservation not found or no longer active with id: " + id);
+    }
+
+    public static ResourceNotFoundException operationNotFound(String id) {
+        return new ResourceNotFoundException("Operation not found or no longer retained with id: " + id);
+    }
+
     public static ResourceNotFoundException productNotFoundByName(String name) {
         return new ResourceNotFoundException("Product not found with name: " + name);
     }
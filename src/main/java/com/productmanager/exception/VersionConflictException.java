@@ -0,0 +1,21 @@
+package com.productmanager.exception;
+
+public class VersionConflictException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long currentVersion;
+
+    public VersionConflictException(String message, Long currentVersion, Throwable cause) {
+        super(message, cause);
+        this.currentVersion = currentVersion;
+    }
+
+    public Long getCurrentVersion() {
+        return currentVersion;
+    }
+
+    public static VersionConflictException concurrentUpdate(String entity, Object id, Long currentVersion, Throwable cause) {
+        return new VersionConflictException(entity + " with id: " + id + " was modified concurrently", currentVersion, cause);
+    }
+}
@@ -0,0 +1,41 @@
+package com.productmanager.fields;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.productmanager.dto.PagedResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Narrows response documents to a {@link FieldSelection}. Uses the application's ObjectMapper so
+ * the remaining fields serialise exactly as they would in a full response.
+ */
+@Component
+public class FieldProjector {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public Object project(Object document, FieldSelection selection) {
+        if (selection.isAll() || document == null) {
+            return document;
+        }
+        ObjectNode node = objectMapper.valueToTree(document);
+        return node.retain(selection.getFields());
+    }
+
+    public PagedResponse<?> project(PagedResponse<?> page, FieldSelection selection) {
+        if (selection.isAll()) {
+            return page;
+        }
+        return PagedResponse.<Object>builder()
+                .content(page.getContent().stream().map(document -> project(document, selection)).toList())
+                .pageNumber(page.getPageNumber())
+                .pageSize(page.getPageSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .isFirst(page.isFirst())
+                .isLast(page.isLast())
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.productmanager.fields;
+
+import com.productmanager.exception.InvalidRequestException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The fields a client asked for with {@code ?fields=a,b,c}, validated against a DTO type.
+ * An absent or blank parameter selects every field.
+ */
+public final class FieldSelection {
+
+    public static final FieldSelection ALL = new FieldSelection(null);
+
+    private static final ConcurrentHashMap<Class<?>, Set<String>> KNOWN_FIELDS = new ConcurrentHashMap<>();
+
+    private final Set<String> fields;
+
+    private FieldSelection(Set<String> fields) {
+        this.fields = fields;
+    }
+
+    public static FieldSelection parse(String fields, Class<?> dtoType) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> known = KNOWN_FIELDS.computeIfAbsent(dtoType, FieldSelection::declaredFields);
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!known.contains(name)) {
+                throw new InvalidRequestException("Unknown field '" + name + "'; expected any of " + known);
+            }
+            selected.add(name);
+        }
+        return selected.isEmpty() ? ALL : new FieldSelection(Collections.unmodifiableSet(selected));
+    }
+
+    public boolean isAll() {
+        return fields == null;
+    }
+
+    public boolean includes(String field) {
+        return fields == null || fields.contains(field);
+    }
+
+    Set<String> getFields() {
+        return fields;
+    }
+
+    private static Set<String> declaredFields(Class<?> dtoType) {
+        Set<String> names = new LinkedHashSet<>();
+        Arrays.stream(dtoType.getDeclaredFields())
+                .filter(field -> !Modifier.isStatic(field.getModifiers()))
+                .map(Field::getName)
+                .forEach(names::add);
+        return Collections.unmodifiableSet(names);
+    }
+}
@@ -0,0 +1,226 @@
+package com.productmanager.history;
+
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.event.ChangeType;
+import com.productmanager.monitoring.MetricsSource;
+import com.productmanager.util.BatchingWorker;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Appends the before and after values of committed product and item changes to the
+ * {@code product_history} and {@code item_history} tables.
+ *
+ * Changes are captured after commit into a bounded buffer, so the write path pays for an
+ * enqueue rather than an extra insert. A single flusher thread writes the buffer out as JDBC
+ * batches, one transaction per shard, as soon as {@code history.batch-size} records are waiting
+ * or {@code history.flush-interval-ms} after the first of them arrived. When the buffer is full a
+ * change waits up to {@code history.offer-timeout-ms} for room and is then dropped; waits and
+ * drops are counted so a writer that cannot keep up shows in the metrics. A graceful shutdown
+ * flushes the buffer; a crash loses what was not flushed yet.
+ */
+@Slf4j
+@Component
+public class HistoryWriter implements SmartInitializingSingleton, MetricsSource {
+
+    private static final String PRODUCT_INSERT_SQL = "INSERT INTO product_history "
+            + "(product_id, change_type, previous_name, product_name, actor, changed_on) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String ITEM_INSERT_SQL = "INSERT INTO item_history "
+            + "(item_id, product_id, change_type, previous_quantity, quantity, actor, changed_on) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Autowired
+    private ShardTransactions shardTransactions;
+
+    @Value("${history.enabled:true}")
+    private boolean enabled;
+
+    @Value("${history.buffer-capacity:10000}")
+    private int bufferCapacity;
+
+    @Value("${history.batch-size:500}")
+    private int batchSize;
+
+    @Value("${history.flush-interval-ms:200}")
+    private long flushIntervalMillis;
+
+    @Value("${history.offer-timeout-ms:20}")
+    private long offerTimeoutMillis;
+
+    @Value("${history.shutdown-timeout-ms:10000}")
+    private long shutdownTimeoutMillis;
+
+    private BatchingWorker<HistoryRecord> buffer;
+
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder waited = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder sizeFlushes = new LongAdder();
+    private final LongAdder timeFlushes = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        buffer = new BatchingWorker<>("history-writer", bufferCapacity, batchSize, flushIntervalMillis, batch -> {
+            (batch.size() >= batchSize ? sizeFlushes : timeFlushes).increment();
+            flush(batch);
+        });
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        buffer.start(1);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        int left = buffer.stop(shutdownTimeoutMillis);
+        if (left > 0) {
+            log.warn("{} history records were not written before shutdown", left);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        HistoryRecord record = toRecord(event);
+        boolean offered = buffer.offer(record);
+        if (!offered && offerTimeoutMillis > 0) {
+            waited.increment();
+            try {
+                offered = buffer.offer(record, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (offered) {
+            enqueued.increment();
+        } else {
+            dropped.increment();
+            log.debug("History buffer full, dropped {} of product {}", event.getType(), event.getProductId());
+        }
+    }
+
+    int flushPending() {
+        return buffer.drain();
+    }
+
+    private void flush(List<HistoryRecord> batch) {
+        Map<Integer, List<HistoryRecord>> byShard =
+                ShardResolver.groupByShard(batch, record -> shardResolver.shardForProductId(record.productId()));
+        byShard.forEach((shard, records) -> {
+            List<HistoryRecord> productRecords = records.stream().filter(record -> record.itemId() == null).toList();
+            List<HistoryRecord> itemRecords = records.stream().filter(record -> record.itemId() != null).toList();
+            try {
+                shardTransactions.writeOnShard(shard, () -> {
+                    insertProductRecords(productRecords);
+                    insertItemRecords(itemRecords);
+                    return null;
+                });
+                written.add(records.size());
+            } catch (RuntimeException ex) {
+                failed.add(records.size());
+                log.error("Could not write {} history records on shard {}: {}", records.size(), shard, ex.getMessage());
+            }
+        });
+    }
+
+    private void insertProductRecords(List<HistoryRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(PRODUCT_INSERT_SQL, records, records.size(), (statement, record) -> {
+            statement.setLong(1, record.productId());
+            statement.setString(2, record.type().name());
+            statement.setString(3, record.previousName());
+            statement.setString(4, record.name());
+            statement.setString(5, record.actor());
+            statement.setTimestamp(6, Timestamp.valueOf(record.changedOn()));
+        });
+    }
+
+    private void insertItemRecords(List<HistoryRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(ITEM_INSERT_SQL, records, records.size(), (statement, record) -> {
+            statement.setLong(1, record.itemId());
+            statement.setLong(2, record.productId());
+            statement.setString(3, record.type().name());
+            statement.setObject(4, record.previousQuantity(), Types.INTEGER);
+            statement.setObject(5, record.quantity(), Types.INTEGER);
+            statement.setString(6, record.actor());
+            statement.setTimestamp(7, Timestamp.valueOf(record.changedOn()));
+        });
+    }
+
+    private static HistoryRecord toRecord(CatalogChangeEvent event) {
+        ChangeType type = event.getType();
+        LocalDateTime changedOn = event.getOccurredOn() != null ? event.getOccurredOn() : LocalDateTime.now();
+        if (type.isItemChange()) {
+            return new HistoryRecord(type, event.getProductId(), event.getItemId(), null, null,
+                    type == ChangeType.ITEM_CREATED ? null : event.getPreviousQuantity(), event.getQuantity(),
+                    event.getActor(), changedOn);
+        }
+        return new HistoryRecord(type, event.getProductId(), null,
+                type == ChangeType.PRODUCT_DELETED ? event.getProductName() : event.getPreviousProductName(),
+                type == ChangeType.PRODUCT_DELETED ? null : event.getProductName(),
+                null, null, event.getActor(), changedOn);
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "history-writer";
+    }
+
+    @Override
+    public Map<String, Object> getMetricsSnapshot() {
+        int queued = buffer == null ? 0 : buffer.size();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("capacity", bufferCapacity);
+        snapshot.put("queued", queued);
+        snapshot.put("bufferUtilization", bufferCapacity == 0 ? 0.0 : (double) queued / bufferCapacity);
+        snapshot.put("enqueued", enqueued.sum());
+        snapshot.put("waitedForRoom", waited.sum());
+        snapshot.put("dropped", dropped.sum());
+        snapshot.put("written", written.sum());
+        snapshot.put("failed", failed.sum());
+        snapshot.put("sizeFlushes", sizeFlushes.sum());
+        snapshot.put("timeFlushes", timeFlushes.sum());
+        return snapshot;
+    }
+
+    private record HistoryRecord(ChangeType type, Long productId, Long itemId, String previousName, String name,
+                                 Integer previousQuantity, Integer quantity, String actor, LocalDateTime changedOn) {
+    }
+}
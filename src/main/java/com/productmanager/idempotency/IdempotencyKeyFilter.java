@@ -0,0 +1,450 @@
+package com.productmanager.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productmanager.monitoring.MetricsSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Makes product and item creates and updates safe to retry with an {@code Idempotency-Key}
+ * header.
+ *
+ * The first request for a key (per user) runs normally and its response is kept in the
+ * {@link IdempotencyStore} for {@code idempotency.ttl-seconds}. A retry with the same key and the
+ * same method, path and body gets that response replayed, marked with
+ * {@code Idempotent-Replayed: true}, without reaching the controller; with a different request it
+ * is rejected with 422. A retry that arrives while the first request is still running waits up to
+ * {@code idempotency.wait-timeout-ms} for its response instead of running in parallel, and gets
+ * 409 if it is still not done.
+ *
+ * The first request claims its key in the store before running, so with a shared store this
+ * holds across instances too: a duplicate on the same instance waits on the first request
+ * directly, one on another instance polls the store every {@code idempotency.poll-interval-ms}.
+ * A claim whose instance died frees the key after {@code idempotency.claim-timeout-ms}.
+ *
+ * Only 2xx and 400 responses are kept: the others (conflicts, overload, server errors) can turn
+ * out differently on a retry, so a retry after one of them runs again.
+ *
+ * Runs after {@code JwtAuthenticationFilter} so keys can be scoped to the authenticated user;
+ * unauthenticated requests pass through untouched and are rejected further down the chain.
+ */
+@Slf4j
+@Component
+public class IdempotencyKeyFilter extends OncePerRequestFilter implements MetricsSource {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Pattern WRITE_PATH = Pattern.compile("/api/v1/products(/\\d+(/items(/\\d+)?)?)?/?");
+    private static final List<String> REPLAYED_HEADERS = List.of(HttpHeaders.LOCATION, "Preference-Applied");
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${idempotency.enabled:true}")
+    private boolean enabled;
+
+    @Value("${idempotency.ttl-seconds:86400}")
+    private long ttlSeconds;
+
+    @Value("${idempotency.wait-timeout-ms:10000}")
+    private long waitTimeoutMillis;
+
+    @Value("${idempotency.max-key-length:255}")
+    private int maxKeyLength;
+
+    @Value("${idempotency.claim-timeout-ms:60000}")
+    private long claimTimeoutMillis;
+
+    @Value("${idempotency.poll-interval-ms:100}")
+    private long pollIntervalMillis;
+
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder stored = new LongAdder();
+    private final LongAdder notStored = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder waited = new LongAdder();
+    private final LongAdder waitTimeouts = new LongAdder();
+    private final LongAdder mismatched = new LongAdder();
+    private final LongAdder storeFailures = new LongAdder();
+    private final LongAdder purged = new LongAdder();
+
+    @Override
+    protected boolean shouldNotFilter(@org.springframework.lang.NonNull HttpServletRequest request) {
+        if (!enabled || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        String method = request.getMethod();
+        return !("POST".equals(method) || "PUT".equals(method))
+                || !WRITE_PATH.matcher(pathOf(request)).matches();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @org.springframework.lang.NonNull HttpServletRequest request,
+            @org.springframework.lang.NonNull HttpServletResponse response,
+            @org.springframework.lang.NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (key.isEmpty() || key.length() > maxKeyLength) {
+            writeError(request, response, HttpServletResponse.SC_BAD_REQUEST,
+                    IDEMPOTENCY_KEY_HEADER + " must be 1 to " + maxKeyLength + " characters");
+            return;
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        byte[] body = StreamUtils.copyToByteArray(request.getInputStream());
+        HttpServletRequest bufferedRequest = new BufferedBodyRequest(request, body);
+        String storeKey = sha256(authentication.getName(), key);
+        String requestHash = sha256(request.getMethod(), pathOf(request), new String(body, StandardCharsets.UTF_8));
+
+        while (true) {
+            StoredResponse previous = idempotencyStore.find(storeKey, System.currentTimeMillis());
+            if (previous != null && !previous.isPending()) {
+                replay(request, response, previous, requestHash);
+                return;
+            }
+
+            CompletableFuture<StoredResponse> call = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(storeKey, call);
+            if (running == null) {
+                execute(bufferedRequest, response, filterChain, storeKey, requestHash, call);
+                return;
+            }
+
+            waited.increment();
+            StoredResponse outcome;
+            try {
+                outcome = running.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                waitTimeouts.increment();
+                writeError(request, response, HttpServletResponse.SC_CONFLICT,
+                        "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still being processed");
+                return;
+            } catch (ExecutionException ex) {
+                outcome = null;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for the request with the same "
+                        + IDEMPOTENCY_KEY_HEADER, ex);
+            }
+            if (outcome != null) {
+                replay(request, response, outcome, requestHash);
+                return;
+            }
+            // The first request left nothing to replay; take over as the one that runs
+        }
+    }
+
+    private void execute(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain,
+                         String storeKey, String requestHash, CompletableFuture<StoredResponse> call)
+            throws ServletException, IOException {
+        StoredResponse outcome = null;
+        try {
+            // Another instance, or the previous local owner of the key, may hold or have completed it
+            StoredResponse previous = awaitClaim(storeKey, requestHash);
+            if (previous != null) {
+                if (previous.isPending()) {
+                    waitTimeouts.increment();
+                    writeError(request, response, HttpServletResponse.SC_CONFLICT,
+                            "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still being processed");
+                } else {
+                    outcome = previous;
+                    replay(request, response, previous, requestHash);
+                }
+                return;
+            }
+
+            boolean kept = false;
+            try {
+                executed.increment();
+                ContentCachingResponseWrapper capturingResponse = new ContentCachingResponseWrapper(response);
+                filterChain.doFilter(request, capturingResponse);
+                outcome = capture(capturingResponse, requestHash);
+                capturingResponse.copyBodyToResponse();
+                if (outcome == null) {
+                    notStored.increment();
+                    return;
+                }
+                try {
+                    idempotencyStore.save(storeKey, outcome);
+                    stored.increment();
+                    kept = true;
+                } catch (RuntimeException ex) {
+                    storeFailures.increment();
+                    log.warn("Could not store the response for an {}: {}", IDEMPOTENCY_KEY_HEADER, ex.getMessage());
+                }
+            } finally {
+                if (!kept) {
+                    releaseClaim(storeKey);
+                }
+            }
+        } finally {
+            call.complete(outcome);
+            inFlight.remove(storeKey, call);
+        }
+    }
+
+    /**
+     * Claims {@code storeKey} in the store, polling while another instance holds it. Returns null
+     * once the key is ours, the completed response if the holder finished, or the holder's pending
+     * claim if it is still running at the wait timeout.
+     */
+    private StoredResponse awaitClaim(String storeKey, String requestHash) throws ServletException {
+        long deadline = System.currentTimeMillis() + waitTimeoutMillis;
+        boolean counted = false;
+        while (true) {
+            long now = System.currentTimeMillis();
+            StoredResponse holder = idempotencyStore.find(storeKey, now);
+            if (holder == null) {
+                if (idempotencyStore.claim(storeKey, StoredResponse.pending(requestHash, now + claimTimeoutMillis), now)) {
+                    return null;
+                }
+                // Another instance claimed it since the lookup
+                continue;
+            }
+            if (!holder.isPending() || System.currentTimeMillis() >= deadline) {
+                return holder;
+            }
+            if (!counted) {
+                waited.increment();
+                counted = true;
+            }
+            try {
+                Thread.sleep(pollIntervalMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for the request with the same "
+                        + IDEMPOTENCY_KEY_HEADER, ex);
+            }
+        }
+    }
+
+    private void releaseClaim(String storeKey) {
+        try {
+            idempotencyStore.release(storeKey);
+        } catch (RuntimeException ex) {
+            storeFailures.increment();
+            log.warn("Could not release the claim on an {}: {}", IDEMPOTENCY_KEY_HEADER, ex.getMessage());
+        }
+    }
+
+    private StoredResponse capture(ContentCachingResponseWrapper response, String requestHash) {
+        int status = response.getStatus();
+        boolean replayable = (status >= 200 && status < 300) || status == HttpServletResponse.SC_BAD_REQUEST;
+        if (!replayable) {
+            return null;
+        }
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : REPLAYED_HEADERS) {
+            String value = response.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        return new StoredResponse(requestHash, status, response.getContentType(), headers,
+                response.getContentAsByteArray(), System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(ttlSeconds));
+    }
+
+    private void replay(HttpServletRequest request, HttpServletResponse response, StoredResponse previous,
+                        String requestHash) throws IOException {
+        if (!previous.requestHash().equals(requestHash)) {
+            mismatched.increment();
+            writeError(request, response, 422,
+                    IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+            return;
+        }
+        replayed.increment();
+        response.setStatus(previous.status());
+        if (previous.contentType() != null) {
+            response.setContentType(previous.contentType());
+        }
+        previous.headers().forEach(response::setHeader);
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(previous.body().length);
+        response.getOutputStream().write(previous.body());
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response, int status, String message)
+            throws IOException {
+        response.setContentType("application/json;charset=UTF-8");
+        response.setStatus(status);
+
+        final Map<String, Object> body = new LinkedCaseInsensitiveMap<>();
+        body.put("status", status);
+        body.put("error", status == 422 ? "Unprocessable Entity"
+                : status == HttpServletResponse.SC_CONFLICT ? "Conflict" : "Bad Request");
+        body.put("message", message);
+        body.put("path", pathOf(request));
+
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:60000}")
+    public void purgeExpiredResponses() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            purged.add(idempotencyStore.purgeExpired(System.currentTimeMillis()));
+        } catch (RuntimeException ex) {
+            log.error("Failed to purge stored idempotent responses: {}", ex.getMessage());
+        }
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String sha256(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "idempotency";
+    }
+
+    @Override
+    public Map<String, Object> getMetricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("store", idempotencyStore.getType());
+        snapshot.put("storedResponses", idempotencyStore.size());
+        snapshot.put("inFlight", inFlight.size());
+        snapshot.put("executed", executed.sum());
+        snapshot.put("stored", stored.sum());
+        snapshot.put("notStored", notStored.sum());
+        snapshot.put("replayed", replayed.sum());
+        snapshot.put("waitedForFirst", waited.sum());
+        snapshot.put("waitTimeouts", waitTimeouts.sum());
+        snapshot.put("mismatched", mismatched.sum());
+        snapshot.put("storeFailures", storeFailures.sum());
+        snapshot.put("purged", purged.sum());
+        return snapshot;
+    }
+
+    /**
+     * Hands the already read body to the rest of the chain.
+     */
+    private static class BufferedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        BufferedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    // The whole body is already in memory, so it is all available at once
+                    try {
+                        if (!isFinished()) {
+                            readListener.onDataAvailable();
+                        }
+                        readListener.onAllDataRead();
+                    } catch (IOException ex) {
+                        readListener.onError(ex);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.productmanager.idempotency;
+
+/**
+ * Keeps {@link StoredResponse responses} by idempotency key until they expire.
+ *
+ * Implementations are bounded: {@link #purgeExpired(long)} runs periodically and also trims the
+ * oldest entries beyond the configured capacity. {@code idempotency.store} selects the
+ * implementation.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * The unexpired response or pending claim stored under {@code key}, or null.
+     */
+    StoredResponse find(String key, long nowMillis);
+
+    /**
+     * Stores {@code claim} under {@code key} unless an unexpired entry is already there; returns
+     * whether it did. Atomic across every instance sharing the store.
+     */
+    boolean claim(String key, StoredResponse claim, long nowMillis);
+
+    /**
+     * Replaces the caller's claim on {@code key} with its response.
+     */
+    void save(String key, StoredResponse response);
+
+    /**
+     * Drops the claim on {@code key} if it is still pending, so the next request for the key runs.
+     */
+    void release(String key);
+
+    /**
+     * Drops expired entries and any beyond capacity; returns how many were removed.
+     */
+    int purgeExpired(long nowMillis);
+
+    long size();
+
+    String getType();
+}
@@ -0,0 +1,86 @@
+package com.productmanager.idempotency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process-local {@link IdempotencyStore}. Retries routed to another instance are not recognized;
+ * use the table store when the gateway does not pin clients to an instance.
+ *
+ * Entries are kept in insertion order. The TTL is the same for every entry, so that is also
+ * expiry order and purging stops at the first live entry; saving beyond
+ * {@code idempotency.capacity} evicts the oldest entry right away.
+ */
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Map<String, StoredResponse> entries = new LinkedHashMap<>();
+
+    @Value("${idempotency.capacity:100000}")
+    private int capacity;
+
+    @Override
+    public synchronized StoredResponse find(String key, long nowMillis) {
+        StoredResponse response = entries.get(key);
+        if (response != null && response.isExpired(nowMillis)) {
+            entries.remove(key);
+            return null;
+        }
+        return response;
+    }
+
+    @Override
+    public synchronized boolean claim(String key, StoredResponse claim, long nowMillis) {
+        if (find(key, nowMillis) != null) {
+            return false;
+        }
+        save(key, claim);
+        return true;
+    }
+
+    @Override
+    public synchronized void save(String key, StoredResponse response) {
+        entries.remove(key);
+        entries.put(key, response);
+        Iterator<StoredResponse> oldest = entries.values().iterator();
+        while (entries.size() > capacity && oldest.hasNext()) {
+            oldest.next();
+            oldest.remove();
+        }
+    }
+
+    @Override
+    public synchronized void release(String key) {
+        StoredResponse response = entries.get(key);
+        if (response != null && response.isPending()) {
+            entries.remove(key);
+        }
+    }
+
+    @Override
+    public synchronized int purgeExpired(long nowMillis) {
+        int purged = 0;
+        Iterator<StoredResponse> oldest = entries.values().iterator();
+        while (oldest.hasNext() && oldest.next().isExpired(nowMillis)) {
+            oldest.remove();
+            purged++;
+        }
+        return purged;
+    }
+
+    @Override
+    public synchronized long size() {
+        return entries.size();
+    }
+
+    @Override
+    public String getType() {
+        return "memory";
+    }
+}
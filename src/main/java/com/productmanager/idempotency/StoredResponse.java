@@ -0,0 +1,32 @@
+package com.productmanager.idempotency;
+
+import java.util.Map;
+
+/**
+ * The outcome of a write sent with an {@code Idempotency-Key}, as replayed to retries of it, or
+ * a {@link #pending pending} claim on the key while the first request is still running.
+ *
+ * @param requestHash      hash of method, path and body of the request that produced it
+ * @param status           HTTP status, {@link #PENDING_STATUS} for a claim
+ * @param contentType      content type of the body, may be null
+ * @param headers          the response headers worth replaying (Location and the like)
+ * @param body             the serialized response body
+ * @param expiresAtMillis  when the store may forget it
+ */
+public record StoredResponse(String requestHash, int status, String contentType, Map<String, String> headers,
+                             byte[] body, long expiresAtMillis) {
+
+    public static final int PENDING_STATUS = 0;
+
+    public static StoredResponse pending(String requestHash, long expiresAtMillis) {
+        return new StoredResponse(requestHash, PENDING_STATUS, null, Map.of(), new byte[0], expiresAtMillis);
+    }
+
+    public boolean isPending() {
+        return status == PENDING_STATUS;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return expiresAtMillis <= nowMillis;
+    }
+}
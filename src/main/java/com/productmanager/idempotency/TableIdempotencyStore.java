@@ -0,0 +1,137 @@
+package com.productmanager.idempotency;
+
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.entity.IdempotencyRecord;
+import com.productmanager.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link IdempotencyStore} on the {@code idempotency_record} table, shared by every instance.
+ *
+ * All access goes to the default shard in read-write transactions, so a lookup never lands on a
+ * lagging read replica. Claims and responses are written with a plain INSERT, so the primary key
+ * decides which instance gets a key. The table is trimmed to {@code idempotency.capacity} rows by the
+ * periodic purge rather than on every save.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "idempotency.store", havingValue = "table")
+public class TableIdempotencyStore implements IdempotencyStore {
+
+    private static final int STORE_SHARD = 0;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ShardTransactions shardTransactions;
+
+    @Value("${idempotency.capacity:100000}")
+    private int capacity;
+
+    @Override
+    public StoredResponse find(String key, long nowMillis) {
+        IdempotencyRecord record = shardTransactions.writeOnShard(STORE_SHARD,
+                () -> idempotencyRecordRepository.findById(key).orElse(null));
+        if (record == null || record.getExpiresAt() <= nowMillis) {
+            return null;
+        }
+        return new StoredResponse(record.getRequestHash(), record.getStatus(), record.getContentType(),
+                decodeHeaders(record.getHeaders()), record.getBody(), record.getExpiresAt());
+    }
+
+    @Override
+    public boolean claim(String key, StoredResponse claim, long nowMillis) {
+        try {
+            shardTransactions.writeOnShard(STORE_SHARD, () -> {
+                idempotencyRecordRepository.deleteExpired(key, nowMillis);
+                return insert(key, claim);
+            });
+            return true;
+        } catch (DataIntegrityViolationException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public void save(String key, StoredResponse response) {
+        try {
+            shardTransactions.writeOnShard(STORE_SHARD, () -> {
+                int completed = idempotencyRecordRepository.completePending(key, StoredResponse.PENDING_STATUS,
+                        response.requestHash(), response.status(), response.contentType(),
+                        encodeHeaders(response.headers()), response.body(), response.expiresAtMillis());
+                return completed > 0 ? completed : insert(key, response);
+            });
+        } catch (DataIntegrityViolationException ex) {
+            // Our claim expired and another instance stored the key since; its response is as good as ours
+            log.debug("Idempotency record {} already stored", key);
+        }
+    }
+
+    @Override
+    public void release(String key) {
+        shardTransactions.writeOnShard(STORE_SHARD,
+                () -> idempotencyRecordRepository.deletePending(key, StoredResponse.PENDING_STATUS));
+    }
+
+    @Override
+    public int purgeExpired(long nowMillis) {
+        return shardTransactions.writeOnShard(STORE_SHARD, () -> {
+            int purged = idempotencyRecordRepository.deleteExpired(nowMillis);
+            long excess = idempotencyRecordRepository.count() - capacity;
+            if (excess > 0) {
+                List<String> oldest = idempotencyRecordRepository.findOldestKeys(
+                        PageRequest.of(0, (int) Math.min(excess, Integer.MAX_VALUE)));
+                idempotencyRecordRepository.deleteAllByIdInBatch(oldest);
+                purged += oldest.size();
+            }
+            return purged;
+        });
+    }
+
+    @Override
+    public long size() {
+        return shardTransactions.readOnShard(STORE_SHARD, () -> idempotencyRecordRepository.count());
+    }
+
+    @Override
+    public String getType() {
+        return "table";
+    }
+
+    private int insert(String key, StoredResponse response) {
+        return idempotencyRecordRepository.insert(key, response.requestHash(), response.status(),
+                response.contentType(), encodeHeaders(response.headers()), response.body(),
+                response.expiresAtMillis());
+    }
+
+    private static String encodeHeaders(Map<String, String> headers) {
+        StringBuilder encoded = new StringBuilder();
+        headers.forEach((name, value) -> encoded.append(name).append(": ").append(value).append('\n'));
+        return encoded.toString();
+    }
+
+    private static Map<String, String> decodeHeaders(String encoded) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        if (encoded == null) {
+            return headers;
+        }
+        for (String line : encoded.split("\n")) {
+            int separator = line.indexOf(": ");
+            if (separator > 0) {
+                headers.put(line.substring(0, separator), line.substring(separator + 2));
+            }
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,113 @@
+package com.productmanager.inventory;
+
+import com.productmanager.dto.StockCrossingDTO;
+import com.productmanager.dto.StockCrossingDTO.Direction;
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.event.ChangeType;
+import com.productmanager.monitoring.MetricsSource;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records when a committed item change moves its quantity across a low-stock threshold.
+ *
+ * The check is a couple of integer comparisons per configured threshold on the write path;
+ * crossings go into a fixed-size ring that consumers page through by sequence, so nobody has to
+ * rescan the item table to find out what ran low. A newly created item at or under a threshold
+ * counts as a BELOW crossing.
+ */
+@Slf4j
+@Component
+public class LowStockCrossingDetector implements MetricsSource {
+
+    @Value("${inventory.crossing.thresholds:${stats.low-stock-threshold:10}}")
+    private int[] thresholds;
+
+    @Value("${inventory.crossing.buffer-size:10000}")
+    private int bufferSize;
+
+    private StockCrossingDTO[] ring;
+    private long latestSequence;
+
+    private final LongAdder crossingsBelow = new LongAdder();
+    private final LongAdder crossingsAbove = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        ring = new StockCrossingDTO[bufferSize];
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (event.getType() != ChangeType.ITEM_CREATED && event.getType() != ChangeType.ITEM_UPDATED) {
+            return;
+        }
+        Integer previous = event.getType() == ChangeType.ITEM_CREATED ? null : event.getPreviousQuantity();
+        int current = event.getQuantity();
+        for (int threshold : thresholds) {
+            boolean wasLow = previous != null && previous <= threshold;
+            boolean isLow = current <= threshold;
+            if (wasLow != isLow) {
+                record(event, threshold, isLow ? Direction.BELOW : Direction.ABOVE);
+            }
+        }
+    }
+
+    private synchronized void record(CatalogChangeEvent event, int threshold, Direction direction) {
+        StockCrossingDTO crossing = StockCrossingDTO.builder()
+                .sequence(++latestSequence)
+                .itemId(event.getItemId())
+                .productId(event.getProductId())
+                .owner(event.getOwner())
+                .threshold(threshold)
+                .direction(direction)
+                .previousQuantity(event.getPreviousQuantity())
+                .quantity(event.getQuantity())
+                .occurredOn(event.getOccurredOn())
+                .build();
+        ring[(int) (crossing.getSequence() % ring.length)] = crossing;
+        (direction == Direction.BELOW ? crossingsBelow : crossingsAbove).increment();
+        log.debug("Item {} crossed low-stock threshold {} going {}", event.getItemId(), threshold, direction);
+    }
+
+    /**
+     * Crossings after {@code afterSequence}, oldest first. Crossings already overwritten in the
+     * ring are skipped silently.
+     */
+    public synchronized List<StockCrossingDTO> getCrossingsAfter(long afterSequence, int limit) {
+        long from = Math.max(afterSequence + 1, Math.max(1, latestSequence - ring.length + 1));
+        List<StockCrossingDTO> crossings = new ArrayList<>();
+        for (long sequence = from; sequence <= latestSequence && crossings.size() < limit; sequence++) {
+            crossings.add(ring[(int) (sequence % ring.length)]);
+        }
+        return crossings;
+    }
+
+    public synchronized long getLatestSequence() {
+        return latestSequence;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "low-stock-crossings";
+    }
+
+    @Override
+    public Map<String, Object> getMetricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("latestSequence", getLatestSequence());
+        snapshot.put("crossingsBelow", crossingsBelow.sum());
+        snapshot.put("crossingsAbove", crossingsAbove.sum());
+        return snapshot;
+    }
+}
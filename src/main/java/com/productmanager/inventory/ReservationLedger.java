@@ -0,0 +1,515 @@
+package com.productmanager.inventory;
+
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.dto.ItemAvailabilityDTO;
+import com.productmanager.dto.ReservationDTO;
+import com.productmanager.dto.ReservationStatus;
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.event.ChangeType;
+import com.productmanager.exception.InsufficientStockException;
+import com.productmanager.exception.InvalidRequestException;
+import com.productmanager.exception.ResourceNotFoundException;
+import com.productmanager.monitoring.MetricsSource;
+import com.productmanager.repository.ItemRepository;
+import com.productmanager.util.BatchingWorker;
+import com.productmanager.util.JdbcBatches;
+import com.productmanager.util.TimerWheel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Holds item quantity for checkouts without locking item rows.
+ *
+ * Each item with live reservations has an in-memory entry with its persisted quantity and the
+ * quantity held; the available quantity is the difference, and a reservation is only granted
+ * while it fits. Reservations on one item serialise on that item's entry only. Unconfirmed holds
+ * expire through a {@link TimerWheel}, so tens of thousands of holds cost one bucket visit per
+ * tick rather than a sweep over all of them.
+ *
+ * Confirmed holds keep counting against the item until a single confirmer thread has deducted
+ * them from the {@code item} table. It takes everything confirmed since its last round and applies
+ * it as one JDBC batch per shard, so under load the batches grow instead of the write rate. Each
+ * deduction is guarded by {@code quantity >= ?}: one that no longer fits, because the item was
+ * changed through the regular API, rejects that reservation. Committed deductions publish the
+ * usual item change events, which also refresh the persisted quantity here.
+ *
+ * Holds are per process; with several instances, reservations for an item have to be routed to
+ * one of them. Finished reservations stay readable for {@code reservations.finished-retention-seconds}.
+ */
+@Slf4j
+@Component
+public class ReservationLedger implements SmartInitializingSingleton, MetricsSource {
+
+    private static final String DEDUCT_SQL = "UPDATE item SET quantity = quantity - ?, version = version + 1 "
+            + "WHERE id = ? AND quantity >= ?";
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Autowired
+    private ShardTransactions shardTransactions;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${reservations.default-ttl-seconds:300}")
+    private int defaultTtlSeconds;
+
+    @Value("${reservations.max-ttl-seconds:3600}")
+    private int maxTtlSeconds;
+
+    @Value("${reservations.finished-retention-seconds:60}")
+    private int finishedRetentionSeconds;
+
+    @Value("${reservations.tick-ms:100}")
+    private long tickMillis;
+
+    @Value("${reservations.wheel-size:1024}")
+    private int wheelSize;
+
+    @Value("${reservations.confirm-batch-size:200}")
+    private int confirmBatchSize;
+
+    @Value("${reservations.confirm-wait-ms:2000}")
+    private long confirmWaitMillis;
+
+    private final ConcurrentHashMap<Long, ItemStock> stocks = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Hold> holds = new ConcurrentHashMap<>();
+    private BatchingWorker<Hold> confirmations;
+    private TimerWheel<Hold> timers;
+
+    private final LongAdder reserved = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder released = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder confirmed = new LongAdder();
+    private final LongAdder confirmRejected = new LongAdder();
+    private final LongAdder confirmBatches = new LongAdder();
+
+    @PostConstruct
+    void init() {
+        timers = new TimerWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+        confirmations = new BatchingWorker<>("reservation-confirmer", Integer.MAX_VALUE, confirmBatchSize, 0,
+                this::applyConfirmations);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        confirmations.start(1);
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        int left = confirmations.stop(confirmWaitMillis);
+        if (left > 0) {
+            log.warn("{} reservation confirmations were not applied before shutdown", left);
+        }
+    }
+
+    public ReservationDTO reserve(Long productId, Long itemId, int quantity, Integer ttlSeconds, String username) {
+        int ttl = ttlSeconds != null ? ttlSeconds : defaultTtlSeconds;
+        if (quantity < 1) {
+            throw new InvalidRequestException("Quantity must be at least 1");
+        }
+        if (ttl < 1 || ttl > maxTtlSeconds) {
+            throw new InvalidRequestException("TTL must be between 1 and " + maxTtlSeconds + " seconds");
+        }
+
+        while (true) {
+            ItemStock stock = stockFor(productId, itemId);
+            synchronized (stock) {
+                if (stock.retired) {
+                    // Dropped by a concurrent release of its last hold; load a fresh entry
+                    continue;
+                }
+                int available = stock.available();
+                if (quantity > available) {
+                    retireIfIdle(stock);
+                    rejected.increment();
+                    throw InsufficientStockException.forItem(itemId, quantity, available);
+                }
+                stock.held += quantity;
+                Hold hold = new Hold(UUID.randomUUID().toString(), stock, quantity,
+                        Instant.now().plusSeconds(ttl), username);
+                holds.put(hold.id, hold);
+                timers.schedule(hold, hold.expiresAt.toEpochMilli());
+                reserved.increment();
+                log.debug("Reserved {} of item {} as {}", quantity, itemId, hold.id);
+                return toDTO(hold);
+            }
+        }
+    }
+
+    /**
+     * Confirms a held reservation and waits up to {@code reservations.confirm-wait-ms} for it to
+     * be deducted; a reservation still waiting for its batch comes back as CONFIRMING.
+     * Confirming again is harmless.
+     */
+    public ReservationDTO confirm(String reservationId, String username) {
+        Hold hold = findHold(reservationId, username);
+        synchronized (hold.stock) {
+            switch (hold.status) {
+                case HELD -> {
+                    hold.stock.held -= hold.quantity;
+                    hold.stock.confirming += hold.quantity;
+                    hold.status = ReservationStatus.CONFIRMING;
+                    confirmations.offer(hold);
+                }
+                case CONFIRMING, CONFIRMED -> {
+                }
+                default -> throw new InvalidRequestException(
+                        "Reservation " + reservationId + " is " + hold.status + " and can no longer be confirmed");
+            }
+        }
+
+        try {
+            hold.deducted.get(confirmWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            log.debug("Reservation {} is still waiting for its confirmation batch", reservationId);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+        return toDTO(hold);
+    }
+
+    /**
+     * Gives a held reservation's quantity back. Releasing again is harmless.
+     */
+    public ReservationDTO release(String reservationId, String username) {
+        Hold hold = findHold(reservationId, username);
+        synchronized (hold.stock) {
+            switch (hold.status) {
+                case HELD -> {
+                    hold.stock.held -= hold.quantity;
+                    finish(hold, ReservationStatus.RELEASED, System.currentTimeMillis());
+                    released.increment();
+                }
+                case RELEASED -> {
+                }
+                default -> throw new InvalidRequestException(
+                        "Reservation " + reservationId + " is " + hold.status + " and can no longer be released");
+            }
+            return toDTO(hold);
+        }
+    }
+
+    public ReservationDTO getReservation(String reservationId, String username) {
+        return toDTO(findHold(reservationId, username));
+    }
+
+    public ItemAvailabilityDTO getAvailability(Long productId, Long itemId) {
+        ItemStock stock = stocks.get(itemId);
+        if (stock != null && stock.productId.equals(productId)) {
+            synchronized (stock) {
+                if (!stock.retired) {
+                    return availability(stock.itemId, stock.productId, stock.persisted, stock.held + stock.confirming);
+                }
+            }
+        }
+        return availability(itemId, productId, loadQuantity(productId, itemId), 0);
+    }
+
+    @Scheduled(fixedDelayString = "${reservations.tick-ms:100}")
+    public void expireHolds() {
+        expireHolds(System.currentTimeMillis());
+    }
+
+    void expireHolds(long nowMillis) {
+        timers.advance(nowMillis, hold -> onTimer(hold, nowMillis));
+    }
+
+    /**
+     * Keeps the persisted quantity of tracked items in step with committed item changes,
+     * including the ones the confirmer makes.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (event.getItemId() == null
+                || (event.getType() != ChangeType.ITEM_UPDATED && event.getType() != ChangeType.ITEM_DELETED)) {
+            return;
+        }
+        ItemStock stock = stocks.get(event.getItemId());
+        if (stock == null) {
+            return;
+        }
+        synchronized (stock) {
+            stock.persisted = event.getType() == ChangeType.ITEM_DELETED ? 0 : event.getQuantity();
+        }
+    }
+
+    int applyPendingConfirmations() {
+        return confirmations.drain();
+    }
+
+    private void applyConfirmations(List<Hold> batch) {
+        confirmBatches.increment();
+        Map<Integer, List<Hold>> byShard =
+                ShardResolver.groupByShard(batch, hold -> shardResolver.shardForProductId(hold.stock.productId));
+        byShard.forEach((shard, shardBatch) -> {
+            boolean[] applied;
+            try {
+                applied = shardTransactions.writeOnShard(shard, () -> deduct(shardBatch));
+            } catch (RuntimeException ex) {
+                log.error("Could not apply {} reservation confirmations on shard {}: {}",
+                        shardBatch.size(), shard, ex.getMessage());
+                shardBatch.forEach(hold -> complete(hold, false, ex));
+                return;
+            }
+            for (int i = 0; i < shardBatch.size(); i++) {
+                complete(shardBatch.get(i), applied[i], null);
+            }
+        });
+    }
+
+    private boolean[] deduct(List<Hold> batch) {
+        int[][] counts = jdbcTemplate.batchUpdate(DEDUCT_SQL, batch, batch.size(), (statement, hold) -> {
+            statement.setInt(1, hold.quantity);
+            statement.setLong(2, hold.stock.itemId);
+            statement.setInt(3, hold.quantity);
+        });
+
+        boolean[] applied = JdbcBatches.rowsMatched(counts);
+        // Deductions per item and reserving user, so each change names who made it
+        Map<Long, Map<String, Deduction>> deductedByItem = new LinkedHashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (applied[i]) {
+                Hold hold = batch.get(i);
+                deductedByItem.computeIfAbsent(hold.stock.itemId, itemId -> new LinkedHashMap<>())
+                        .merge(hold.reservedBy, new Deduction(hold.quantity, 1), Deduction::plus);
+            }
+        }
+        if (!deductedByItem.isEmpty()) {
+            for (Object[] row : itemRepository.findStockRowsByIds(deductedByItem.keySet())) {
+                Long itemId = (Long) row[0];
+                Map<String, Deduction> byActor = deductedByItem.get(itemId);
+                Deduction total = byActor.values().stream().reduce(new Deduction(0, 0), Deduction::plus);
+                // Every applied statement bumped the version once
+                int quantity = (Integer) row[2] + total.quantity();
+                Long currentVersion = (Long) row[5];
+                long version = currentVersion == null ? 0 : currentVersion - total.statements();
+                for (Map.Entry<String, Deduction> deduction : byActor.entrySet()) {
+                    int previousQuantity = quantity;
+                    quantity -= deduction.getValue().quantity();
+                    version += deduction.getValue().statements();
+                    eventPublisher.publishEvent(CatalogChangeEvent.builder()
+                            .type(ChangeType.ITEM_UPDATED)
+                            .productId((Long) row[1])
+                            .itemId(itemId)
+                            .owner((String) row[3])
+                            .productName((String) row[4])
+                            .quantity(quantity)
+                            .previousQuantity(previousQuantity)
+                            .version(currentVersion == null ? null : version)
+                            .actor(deduction.getKey())
+                            .occurredOn(LocalDateTime.now())
+                            .build());
+                }
+            }
+        }
+        return applied;
+    }
+
+    private void complete(Hold hold, boolean applied, RuntimeException error) {
+        synchronized (hold.stock) {
+            hold.stock.confirming -= hold.quantity;
+            finish(hold, applied ? ReservationStatus.CONFIRMED : ReservationStatus.REJECTED, System.currentTimeMillis());
+        }
+        if (applied) {
+            confirmed.increment();
+            hold.deducted.complete(null);
+        } else {
+            confirmRejected.increment();
+            hold.deducted.completeExceptionally(error != null ? error : new InsufficientStockException(
+                    "Item " + hold.stock.itemId + " no longer has " + hold.quantity + " in stock"));
+        }
+    }
+
+    private void onTimer(Hold hold, long nowMillis) {
+        synchronized (hold.stock) {
+            if (hold.status == ReservationStatus.HELD && nowMillis >= hold.expiresAt.toEpochMilli()) {
+                hold.stock.held -= hold.quantity;
+                finish(hold, ReservationStatus.EXPIRED, nowMillis);
+                expired.increment();
+            } else if (hold.removeAtMillis > 0 && nowMillis >= hold.removeAtMillis) {
+                holds.remove(hold.id, hold);
+            }
+        }
+    }
+
+    /**
+     * Must hold the stock's lock.
+     */
+    private void finish(Hold hold, ReservationStatus status, long nowMillis) {
+        hold.status = status;
+        hold.removeAtMillis = nowMillis + TimeUnit.SECONDS.toMillis(finishedRetentionSeconds);
+        timers.schedule(hold, hold.removeAtMillis);
+        retireIfIdle(hold.stock);
+    }
+
+    /**
+     * Must hold the stock's lock. An entry without holds is dropped so an idle item's quantity
+     * is never served from memory.
+     */
+    private void retireIfIdle(ItemStock stock) {
+        if (stock.held == 0 && stock.confirming == 0) {
+            stock.retired = true;
+            stocks.remove(stock.itemId, stock);
+        }
+    }
+
+    private ItemStock stockFor(Long productId, Long itemId) {
+        ItemStock stock = stocks.get(itemId);
+        if (stock == null) {
+            int quantity = loadQuantity(productId, itemId);
+            stock = stocks.computeIfAbsent(itemId, id -> new ItemStock(id, productId, quantity));
+        }
+        if (!stock.productId.equals(productId)) {
+            throw ResourceNotFoundException.itemNotFound(itemId);
+        }
+        return stock;
+    }
+
+    private int loadQuantity(Long productId, Long itemId) {
+        return shardTransactions.readOnShard(shardResolver.shardForProductId(productId),
+                        () -> itemRepository.findQuantityByIdAndProductId(itemId, productId))
+                .orElseThrow(() -> ResourceNotFoundException.itemNotFound(itemId));
+    }
+
+    private Hold findHold(String reservationId, String username) {
+        Hold hold = holds.get(reservationId);
+        // Reservations are only visible to whoever made them
+        if (hold == null || !hold.reservedBy.equals(username)) {
+            throw ResourceNotFoundException.reservationNotFound(reservationId);
+        }
+        return hold;
+    }
+
+    private static ReservationDTO toDTO(Hold hold) {
+        return ReservationDTO.builder()
+                .id(hold.id)
+                .productId(hold.stock.productId)
+                .itemId(hold.stock.itemId)
+                .quantity(hold.quantity)
+                .status(hold.status)
+                .expiresAt(hold.expiresAt)
+                .reservedBy(hold.reservedBy)
+                .build();
+    }
+
+    private static ItemAvailabilityDTO availability(Long itemId, Long productId, int quantity, int reservedQuantity) {
+        return ItemAvailabilityDTO.builder()
+                .itemId(itemId)
+                .productId(productId)
+                .quantity(quantity)
+                .reserved(reservedQuantity)
+                .available(Math.max(0, quantity - reservedQuantity))
+                .build();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "reservations";
+    }
+
+    @Override
+    public Map<String, Object> getMetricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("trackedItems", stocks.size());
+        snapshot.put("reservations", holds.size());
+        snapshot.put("timers", timers == null ? 0 : timers.size());
+        snapshot.put("pendingConfirmations", confirmations.size());
+        snapshot.put("reserved", reserved.sum());
+        snapshot.put("rejected", rejected.sum());
+        snapshot.put("released", released.sum());
+        snapshot.put("expired", expired.sum());
+        snapshot.put("confirmed", confirmed.sum());
+        snapshot.put("confirmRejected", confirmRejected.sum());
+        snapshot.put("confirmBatches", confirmBatches.sum());
+        return snapshot;
+    }
+
+    /**
+     * Quantities of one item, guarded by the entry's own monitor.
+     */
+    private static final class ItemStock {
+
+        private final Long itemId;
+        private final Long productId;
+        private int persisted;
+        private int held;
+        private int confirming;
+        private boolean retired;
+
+        private ItemStock(Long itemId, Long productId, int persisted) {
+            this.itemId = itemId;
+            this.productId = productId;
+            this.persisted = persisted;
+        }
+
+        private int available() {
+            return persisted - held - confirming;
+        }
+    }
+
+    private static final class Hold {
+
+        private final String id;
+        private final ItemStock stock;
+        private final int quantity;
+        private final Instant expiresAt;
+        private final String reservedBy;
+        private final CompletableFuture<Void> deducted = new CompletableFuture<>();
+        private volatile ReservationStatus status = ReservationStatus.HELD;
+        private volatile long removeAtMillis;
+
+        private Hold(String id, ItemStock stock, int quantity, Instant expiresAt, String reservedBy) {
+            this.id = id;
+            this.stock = stock;
+            this.quantity = quantity;
+            this.expiresAt = expiresAt;
+            this.reservedBy = reservedBy;
+        }
+    }
+
+    private record Deduction(int quantity, int statements) {
+
+        Deduction plus(Deduction other) {
+            return new Deduction(quantity + other.quantity, statements + other.statements);
+        }
+    }
+}
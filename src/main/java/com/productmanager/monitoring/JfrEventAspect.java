@@ -0,0 +1,118 @@
+package com.productmanager.monitoring;
+
+import com.productmanager.dto.PagedResponse;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Emits {@link ServiceOperationEvent} and {@link RepositoryCallEvent} around the service and
+ * repository layers. Events are created and committed only while a recording has them enabled,
+ * and carry no stack trace, so the aspect is cheap enough to leave on for continuous recording.
+ */
+@Aspect
+@Component
+public class JfrEventAspect {
+
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.productmanager.service.ProductService+.*(..)) || "
+            + "execution(public * com.productmanager.service.ItemService+.*(..))")
+    public Object recordServiceOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        ServiceOperationEvent event = new ServiceOperationEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        event.begin();
+        boolean success = false;
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+                event.operation = joinPoint.getSignature().getName();
+                event.entityId = firstId(joinPoint.getArgs());
+                event.resultSize = (int) sizeOf(result);
+                event.success = success;
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object recordRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        event.begin();
+        boolean success = false;
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.queryName = repositoryName(joinPoint.getTarget()) + "." + joinPoint.getSignature().getName();
+                event.entityId = firstId(joinPoint.getArgs());
+                event.rowCount = result instanceof Number number ? number.longValue() : sizeOf(result);
+                event.success = success;
+                event.commit();
+            }
+        }
+    }
+
+    private String repositoryName(Object target) {
+        return repositoryNames.computeIfAbsent(target.getClass(), type -> {
+            for (Class<?> candidate : type.getInterfaces()) {
+                if (candidate.getPackageName().startsWith("com.productmanager")) {
+                    return candidate.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        });
+    }
+
+    private static long firstId(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof Long id) {
+                return id;
+            }
+        }
+        return -1L;
+    }
+
+    private static long sizeOf(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof PagedResponse<?> paged) {
+            return paged.getContent() != null ? paged.getContent().size() : 0;
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,81 @@
+package com.productmanager.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.NonNull;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson converter that records a {@link ResponseSerializationEvent} with the type and size of
+ * every response body it writes.
+ */
+public class JfrMappingJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    public JfrMappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected void writeInternal(@NonNull Object object, Type type, @NonNull HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        ResponseSerializationEvent event = new ResponseSerializationEvent();
+        if (!event.isEnabled()) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        CountingOutputMessage countingMessage = new CountingOutputMessage(outputMessage);
+        event.begin();
+        try {
+            super.writeInternal(object, type, countingMessage);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.valueType = object.getClass().getSimpleName();
+                event.bytes = countingMessage.count;
+                event.commit();
+            }
+        }
+    }
+
+    private static final class CountingOutputMessage implements HttpOutputMessage {
+
+        private final HttpOutputMessage delegate;
+        private long count;
+
+        private CountingOutputMessage(HttpOutputMessage delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        @NonNull
+        public OutputStream getBody() throws IOException {
+            return new FilterOutputStream(delegate.getBody()) {
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    count++;
+                }
+
+                @Override
+                public void write(@NonNull byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    count += len;
+                }
+            };
+        }
+
+        @Override
+        @NonNull
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.productmanager.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted when a JWT is signed or verified.
+ */
+@Name("com.productmanager.JwtOperation")
+@Label("JWT Operation")
+@Category({"Product Manager", "Security"})
+@Description("Signing or verification of a JWT")
+@StackTrace(false)
+public class JwtOperationEvent extends Event {
+
+    public static final String SIGN_ACCESS = "sign-access";
+    public static final String SIGN_REFRESH = "sign-refresh";
+    public static final String VERIFY = "verify";
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Token Size")
+    @DataAmount
+    int tokenSize;
+
+    @Label("Success")
+    boolean success;
+
+    public static JwtOperationEvent start(String operation) {
+        JwtOperationEvent event = new JwtOperationEvent();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+
+    public void finish(String token, boolean success) {
+        end();
+        if (shouldCommit()) {
+            this.tokenSize = token != null ? token.length() : 0;
+            this.success = success;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.productmanager.monitoring;
+
+import java.util.Map;
+
+/**
+ * A component that exposes operational counters through {@code /api/v1/metrics}.
+ */
+public interface MetricsSource {
+
+    /**
+     * Name under which the snapshot is published, e.g. {@code coalescing}.
+     */
+    String getMetricsName();
+
+    /**
+     * Point-in-time view of the counters, keyed by metric name.
+     */
+    Map<String, Object> getMetricsSnapshot();
+}
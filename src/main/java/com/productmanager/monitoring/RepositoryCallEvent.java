@@ -0,0 +1,34 @@
+package com.productmanager.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted for every Spring Data repository call.
+ */
+@Name("com.productmanager.RepositoryCall")
+@Label("Repository Call")
+@Category({"Product Manager", "Repository"})
+@Description("Execution of a Spring Data repository query")
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+    @Label("Query Name")
+    @Description("Repository interface and method, e.g. ProductRepository.findByIdWithItems")
+    String queryName;
+
+    @Label("Entity ID")
+    @Description("First id argument of the query, -1 when the query has none")
+    long entityId;
+
+    @Label("Row Count")
+    @Description("Rows returned, or the numeric result of count queries")
+    long rowCount;
+
+    @Label("Success")
+    boolean success;
+}
@@ -0,0 +1,27 @@
+package com.productmanager.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted when a response body is serialised to JSON.
+ */
+@Name("com.productmanager.ResponseSerialization")
+@Label("Response Serialization")
+@Category({"Product Manager", "Web"})
+@Description("Jackson serialisation of a response body")
+@StackTrace(false)
+public class ResponseSerializationEvent extends Event {
+
+    @Label("Value Type")
+    String valueType;
+
+    @Label("Response Size")
+    @DataAmount
+    long bytes;
+}
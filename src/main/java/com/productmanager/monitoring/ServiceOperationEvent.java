@@ -0,0 +1,36 @@
+package com.productmanager.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event emitted for every {@code ProductService} and {@code ItemService} operation.
+ */
+@Name("com.productmanager.ServiceOperation")
+@Label("Service Operation")
+@Category({"Product Manager", "Service"})
+@Description("Execution of a product or item service operation")
+@StackTrace(false)
+public class ServiceOperationEvent extends Event {
+
+    @Label("Service")
+    String service;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Entity ID")
+    @Description("First id argument of the operation, -1 when the operation has none")
+    long entityId;
+
+    @Label("Result Size")
+    @Description("Number of DTOs returned by the operation")
+    int resultSize;
+
+    @Label("Success")
+    boolean success;
+}
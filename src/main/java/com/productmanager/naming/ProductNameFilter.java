@@ -0,0 +1,155 @@
+package com.productmanager.naming;
+
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.entity.Product;
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.monitoring.MetricsSource;
+import com.productmanager.repository.ProductRepository;
+import com.productmanager.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory Bloom filter over the normalised names of every product, so a create with an
+ * obviously new name goes straight to the insert without an existence query.
+ *
+ * The unique name key on the table stays the only authority. Names written on other instances
+ * never reach this filter, so a miss can be wrong and the insert then fails on the constraint as
+ * usual; a hit only costs the indexed lookup that would otherwise have been made anyway. Until
+ * the filter is loaded every name counts as possibly taken.
+ */
+@Slf4j
+@Component
+public class ProductNameFilter implements SmartInitializingSingleton, MetricsSource {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Autowired
+    private ShardTransactions shardTransactions;
+
+    @Value("${product-name-filter.enabled:false}")
+    private boolean enabled;
+
+    @Value("${product-name-filter.expected-names:1000000}")
+    private long expectedNames;
+
+    @Value("${product-name-filter.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${product-name-filter.load-batch-size:5000}")
+    private int loadBatchSize;
+
+    private volatile BloomFilter filter;
+
+    private final AtomicLong lookupsSkipped = new AtomicLong();
+    private final AtomicLong lookupsMade = new AtomicLong();
+    private final AtomicLong namesLoaded = new AtomicLong();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            load();
+        } catch (RuntimeException ex) {
+            log.error("Failed to load the product name filter; every create checks the name first", ex);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether a product with this name key may already exist. {@code false} is only returned
+     * when no product created through this instance, or present at load time, has the key.
+     */
+    public boolean mightContain(String nameKey) {
+        BloomFilter current = filter;
+        if (current != null && !current.mightContain(nameKey)) {
+            lookupsSkipped.incrementAndGet();
+            return false;
+        }
+        lookupsMade.incrementAndGet();
+        return true;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        BloomFilter current = filter;
+        if (current == null || event.getProductName() == null) {
+            return;
+        }
+        switch (event.getType()) {
+            // Deleted names stay in the filter; they cost one lookup until the next restart
+            case PRODUCT_CREATED, PRODUCT_UPDATED -> current.add(Product.nameKey(event.getProductName()));
+            default -> {
+            }
+        }
+    }
+
+    void load() {
+        long started = System.currentTimeMillis();
+        BloomFilter loaded = new BloomFilter(expectedNames, falsePositiveRate);
+        long count = 0;
+        for (int shard = 0; shard < shardResolver.getShardCount(); shard++) {
+            long afterId = 0;
+            List<Object[]> rows;
+            do {
+                long from = afterId;
+                rows = shardTransactions.readOnShard(shard,
+                        () -> productRepository.findNameKeysAfter(from, PageRequest.of(0, loadBatchSize)));
+                for (Object[] row : rows) {
+                    afterId = (Long) row[0];
+                    if (row[1] != null) {
+                        loaded.add((String) row[1]);
+                        count++;
+                    }
+                }
+            } while (rows.size() == loadBatchSize);
+        }
+        filter = loaded;
+        namesLoaded.set(count);
+        if (count > expectedNames) {
+            log.warn("Loaded {} product names into a filter sized for {}; raise product-name-filter.expected-names",
+                    count, expectedNames);
+        }
+        log.info("Loaded {} product names into the name filter in {} ms", count, System.currentTimeMillis() - started);
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "product-name-filter";
+    }
+
+    @Override
+    public Map<String, Object> getMetricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        BloomFilter current = filter;
+        snapshot.put("enabled", enabled);
+        snapshot.put("loaded", current != null);
+        snapshot.put("namesLoaded", namesLoaded.get());
+        snapshot.put("bits", current == null ? 0 : current.getBitCount());
+        snapshot.put("hashes", current == null ? 0 : current.getHashCount());
+        snapshot.put("lookupsSkipped", lookupsSkipped.get());
+        snapshot.put("lookupsMade", lookupsMade.get());
+        return snapshot;
+    }
+}
@@ -0,0 +1,78 @@
+package com.productmanager.naming;
+
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardSchemaInitializer;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.entity.Product;
+import com.productmanager.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Fills in the unique name key of products written before the column existed, on every shard,
+ * before the application takes requests. Until then a product with a {@code NULL} key would not
+ * block a duplicate of its name.
+ *
+ * Keys are computed with {@link Product#nameKey}, not SQL {@code LOWER}, so they match the keys
+ * written by the application. A product whose key already belongs to another product is logged
+ * and left without one; the other product holds the name.
+ */
+@Slf4j
+@Component
+public class ProductNameKeyBackfill {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Autowired
+    private ShardTransactions shardTransactions;
+
+    // Injected so the other shards have their tables before they are backfilled
+    @Autowired(required = false)
+    private ShardSchemaInitializer shardSchemaInitializer;
+
+    @Value("${product-name-key.backfill-batch-size:1000}")
+    private int batchSize;
+
+    @PostConstruct
+    void backfillNameKeys() {
+        for (int shard = 0; shard < shardResolver.getShardCount(); shard++) {
+            int current = shard;
+            long filled = 0;
+            long conflicts = 0;
+            long afterId = 0;
+            List<Object[]> rows;
+            do {
+                long from = afterId;
+                rows = shardTransactions.readOnShard(current,
+                        () -> productRepository.findMissingNameKeysAfter(from, PageRequest.of(0, batchSize)));
+                for (Object[] row : rows) {
+                    Long id = (Long) row[0];
+                    String nameKey = Product.nameKey((String) row[1]);
+                    afterId = id;
+                    try {
+                        filled += shardTransactions.writeOnShard(current, () -> productRepository.fillNameKey(id, nameKey));
+                    } catch (DataIntegrityViolationException ex) {
+                        conflicts++;
+                        log.warn("Product {} on shard {} duplicates the name key '{}' of another product; left without a key",
+                                id, current, nameKey);
+                    }
+                }
+            } while (rows.size() == batchSize);
+            if (filled > 0 || conflicts > 0) {
+                log.info("Filled {} missing product name keys on shard {}; {} duplicate(s) left without one",
+                        filled, current, conflicts);
+            }
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.productmanager.naming;
+
+import com.productmanager.datasource.ShardContext;
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.entity.Product;
+import com.productmanager.entity.ProductNameClaim;
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.exception.DuplicateResourceException;
+import com.productmanager.monitoring.MetricsSource;
+import com.productmanager.repository.ProductNameClaimRepository;
+import com.productmanager.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps product names unique across shards.
+ *
+ * Each shard's unique name key only sees that shard's products, and a renamed product stays on
+ * the shard it was created on. So every name is also claimed on its home shard, the shard that
+ * creates with the name are routed to, and a create or rename fails when another product holds
+ * the claim. Claims follow the product change events inside the writing transaction. On the
+ * writing shard they commit or roll back with the change. On another shard a new claim commits
+ * first and is released if the change rolls back, and an old name is released only once the
+ * change has committed; a release that fails is logged and leaves the name reserved.
+ *
+ * Products without a claim, e.g. from before the registry, are claimed at startup.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "sharding.enabled", havingValue = "true")
+public class ProductNameRegistry implements SmartInitializingSingleton, MetricsSource {
+
+    @Autowired
+    private ProductNameClaimRepository claimRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Autowired
+    private ShardTransactions shardTransactions;
+
+    @Value("${sharding.name-registry.backfill:true}")
+    private boolean backfill;
+
+    @Value("${sharding.name-registry.backfill-batch-size:5000}")
+    private int backfillBatchSize;
+
+    private final AtomicLong claimsMade = new AtomicLong();
+    private final AtomicLong claimsRefused = new AtomicLong();
+    private final AtomicLong claimsReleased = new AtomicLong();
+    private final AtomicLong releasesFailed = new AtomicLong();
+    private final AtomicLong claimsBackfilled = new AtomicLong();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!backfill) {
+            return;
+        }
+        try {
+            backfillClaims();
+        } catch (RuntimeException ex) {
+            log.error("Failed to claim the names of existing products", ex);
+        }
+    }
+
+    @EventListener
+    public void onCatalogChange(CatalogChangeEvent event) {
+        switch (event.getType()) {
+            case PRODUCT_CREATED -> claim(event.getProductName(), event.getProductId());
+            case PRODUCT_UPDATED -> {
+                String previousName = event.getPreviousProductName();
+                if (previousName != null && !Product.nameKey(previousName).equals(Product.nameKey(event.getProductName()))) {
+                    claim(event.getProductName(), event.getProductId());
+                    release(previousName, event.getProductId());
+                }
+            }
+            case PRODUCT_DELETED -> release(event.getProductName(), event.getProductId());
+            default -> {
+            }
+        }
+    }
+
+    private void claim(String productName, Long productId) {
+        int home = shardResolver.shardForProductName(productName);
+        String nameKey = Product.nameKey(productName);
+        boolean inserted = shardTransactions.writeOnShard(home, () -> {
+            ProductNameClaim existing = claimRepository.findById(nameKey).orElse(null);
+            if (existing != null) {
+                if (existing.getProductId().equals(productId)) {
+                    return false;
+                }
+                claimsRefused.incrementAndGet();
+                throw DuplicateResourceException.productNameExists(productName);
+            }
+            try {
+                claimRepository.insert(nameKey, productId);
+            } catch (DataIntegrityViolationException ex) {
+                claimsRefused.incrementAndGet();
+                throw DuplicateResourceException.productNameExists(productName, ex);
+            }
+            return true;
+        });
+        if (!inserted) {
+            return;
+        }
+        claimsMade.incrementAndGet();
+
+        if (home != currentShard() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        releaseQuietly(home, nameKey, productId);
+                    }
+                }
+            });
+        }
+    }
+
+    private void release(String productName, Long productId) {
+        int home = shardResolver.shardForProductName(productName);
+        String nameKey = Product.nameKey(productName);
+        if (home == currentShard() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            releaseOn(home, nameKey, productId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                releaseQuietly(home, nameKey, productId);
+            }
+        });
+    }
+
+    private void releaseOn(int shard, String nameKey, Long productId) {
+        int released = shardTransactions.writeOnShard(shard, () -> claimRepository.release(nameKey, productId));
+        claimsReleased.addAndGet(released);
+    }
+
+    private void releaseQuietly(int shard, String nameKey, Long productId) {
+        try {
+            releaseOn(shard, nameKey, productId);
+        } catch (RuntimeException ex) {
+            releasesFailed.incrementAndGet();
+            log.error("Failed to release the claim on product name '{}' for product {} on shard {}; the name stays reserved",
+                    nameKey, productId, shard, ex);
+        }
+    }
+
+    private static int currentShard() {
+        Integer current = ShardContext.current();
+        return current == null ? 0 : current;
+    }
+
+    void backfillClaims() {
+        long started = System.currentTimeMillis();
+        long claimed = 0;
+        for (int shard = 0; shard < shardResolver.getShardCount(); shard++) {
+            long afterId = 0;
+            List<Object[]> rows;
+            do {
+                long from = afterId;
+                rows = shardTransactions.readOnShard(shard,
+                        () -> productRepository.findNameKeysAfter(from, PageRequest.of(0, backfillBatchSize)));
+                Map<Integer, Map<String, Long>> byHome = new TreeMap<>();
+                for (Object[] row : rows) {
+                    afterId = (Long) row[0];
+                    if (row[1] != null) {
+                        String nameKey = (String) row[1];
+                        byHome.computeIfAbsent(shardResolver.shardForProductName(nameKey), home -> new LinkedHashMap<>())
+                                .put(nameKey, (Long) row[0]);
+                    }
+                }
+                for (Map.Entry<Integer, Map<String, Long>> home : byHome.entrySet()) {
+                    claimed += shardTransactions.writeOnShard(home.getKey(), () -> claimMissing(home.getValue()));
+                }
+            } while (rows.size() == backfillBatchSize);
+        }
+        claimsBackfilled.addAndGet(claimed);
+        log.info("Claimed {} unclaimed product names in {} ms", claimed, System.currentTimeMillis() - started);
+    }
+
+    private int claimMissing(Map<String, Long> productIdsByKey) {
+        Map<String, Long> missing = new LinkedHashMap<>(productIdsByKey);
+        for (ProductNameClaim claim : claimRepository.findAllById(productIdsByKey.keySet())) {
+            Long productId = missing.remove(claim.getNameKey());
+            if (!claim.getProductId().equals(productId)) {
+                log.warn("Product name '{}' is held by products {} and {} on different shards",
+                        claim.getNameKey(), claim.getProductId(), productId);
+            }
+        }
+        missing.forEach(claimRepository::insert);
+        return missing.size();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "product-name-registry";
+    }
+
+    @Override
+    public Map<String, Object> getMetricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("claimsMade", claimsMade.get());
+        snapshot.put("claimsRefused", claimsRefused.get());
+        snapshot.put("claimsReleased", claimsReleased.get());
+        snapshot.put("releasesFailed", releasesFailed.get());
+        snapshot.put("claimsBackfilled", claimsBackfilled.get());
+        return snapshot;
+    }
+}
@@ -0,0 +1,537 @@
+package com.productmanager.readmodel;
+
+import com.productmanager.dto.DeletedEntityDTO;
+import com.productmanager.dto.DeltaSyncResponse;
+import com.productmanager.dto.ItemDTO;
+import com.productmanager.dto.PagedResponse;
+import com.productmanager.dto.ProductDTO;
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.monitoring.MetricsSource;
+import com.productmanager.service.DeltaSyncService;
+import com.productmanager.snapshot.CatalogData;
+import com.productmanager.snapshot.CatalogSnapshotService;
+import com.productmanager.snapshot.ItemRecord;
+import com.productmanager.snapshot.ProductRecord;
+import com.productmanager.util.LongObjectHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * The whole product and item catalog held in memory, answering list, search and owner queries
+ * without touching the database.
+ *
+ * Products and items are kept in long-keyed hash maps, with sorted indexes on id, creation time
+ * and name and a per-owner index ordered by creation time. Writers hold the write lock of a
+ * read/write lock while they change the maps and indexes, so a reader always pages over one
+ * consistent state.
+ *
+ * Loaded once at startup from the warm snapshot or the database. Local writes are applied as
+ * soon as they commit; a poller then replays the delta-sync change log from the model's token,
+ * which corrects the few fields the write events cannot know (such as timestamps set at flush)
+ * and picks up writes made by other instances.
+ */
+@Slf4j
+@Component
+public class CatalogReadModel implements SmartInitializingSingleton, MetricsSource {
+
+    private static final Comparator<ProductRecord> BY_ID = Comparator.comparingLong(ProductRecord::getId);
+
+    private static final Comparator<ProductRecord> BY_CREATED_ON = Comparator
+            .comparing(ProductRecord::getCreatedOn, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparingLong(ProductRecord::getId);
+
+    private static final Comparator<ProductRecord> BY_NAME = Comparator
+            .comparing(ProductRecord::getProductName, Comparator.nullsFirst(String.CASE_INSENSITIVE_ORDER))
+            .thenComparingLong(ProductRecord::getId);
+
+    private static final Comparator<ItemRecord> ITEMS_BY_QUANTITY = Comparator
+            .comparingInt(ItemRecord::getQuantity)
+            .thenComparingLong(ItemRecord::getId);
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Autowired
+    private DeltaSyncService deltaSyncService;
+
+    @Value("${readmodel.enabled:false}")
+    private boolean enabled;
+
+    @Value("${readmodel.refresh-batch-size:500}")
+    private int refreshBatchSize;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private LongObjectHashMap<ProductRecord> products = new LongObjectHashMap<>();
+    private LongObjectHashMap<ItemRecord> items = new LongObjectHashMap<>();
+    private LongObjectHashMap<TreeMap<Long, ItemRecord>> itemsByProduct = new LongObjectHashMap<>();
+    private TreeSet<ProductRecord> byId = new TreeSet<>(BY_ID);
+    private TreeSet<ProductRecord> byCreatedOn = new TreeSet<>(BY_CREATED_ON);
+    private TreeSet<ProductRecord> byName = new TreeSet<>(BY_NAME);
+    private Map<String, TreeSet<ProductRecord>> byOwner = new HashMap<>();
+    private String token;
+    private volatile boolean ready;
+    private LocalDateTime loadedOn;
+    private LocalDateTime refreshedOn;
+
+    private final AtomicLong eventsApplied = new AtomicLong();
+    private final AtomicLong changesReplayed = new AtomicLong();
+    private final AtomicLong reloads = new AtomicLong();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            load();
+        } catch (RuntimeException ex) {
+            log.error("Failed to load the read model; reads are served by the database until the next refresh", ex);
+        }
+    }
+
+    /**
+     * Whether queries may be answered from memory.
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    /**
+     * Replaces the whole model with the warm snapshot, or with a fresh read of every shard.
+     */
+    void load() {
+        long started = System.currentTimeMillis();
+        CatalogData data = catalogSnapshotService.getWarmCatalog()
+                .orElseGet(catalogSnapshotService::readCatalogFromDatabase);
+
+        lock.writeLock().lock();
+        try {
+            products = new LongObjectHashMap<>(data.getProducts().size());
+            items = new LongObjectHashMap<>(data.getItems().size());
+            itemsByProduct = new LongObjectHashMap<>(data.getProducts().size());
+            byId = new TreeSet<>(BY_ID);
+            byCreatedOn = new TreeSet<>(BY_CREATED_ON);
+            byName = new TreeSet<>(BY_NAME);
+            byOwner = new HashMap<>();
+            data.getProducts().forEachValue(this::putProduct);
+            data.getItems().forEachValue(this::putItem);
+            token = data.getStamp();
+            loadedOn = LocalDateTime.now();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        reloads.incrementAndGet();
+        log.info("Loaded read model with {} products and {} items in {} ms",
+                data.getProducts().size(), data.getItems().size(), System.currentTimeMillis() - started);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (!isReady()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            switch (event.getType()) {
+                case PRODUCT_CREATED -> putProduct(ProductRecord.builder()
+                        .id(event.getProductId())
+                        .productName(event.getProductName())
+                        .createdBy(event.getOwner())
+                        .createdOn(event.getCreatedOn())
+                        .modifiedOn(event.getCreatedOn())
+                        .version(event.getVersion())
+                        .build());
+                case PRODUCT_UPDATED -> putProduct(ProductRecord.builder()
+                        .id(event.getProductId())
+                        .productName(event.getProductName())
+                        .createdBy(event.getOwner())
+                        .createdOn(event.getCreatedOn())
+                        .modifiedBy(event.getActor())
+                        .modifiedOn(event.getOccurredOn())
+                        .version(event.getVersion())
+                        .build());
+                case PRODUCT_DELETED -> removeProduct(event.getProductId());
+                case ITEM_CREATED, ITEM_UPDATED ->
+                        putItem(new ItemRecord(event.getItemId(), event.getProductId(), event.getQuantity(),
+                                event.getVersion()));
+                case ITEM_DELETED -> removeItem(event.getItemId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        eventsApplied.incrementAndGet();
+    }
+
+    /**
+     * Replays the change log from the model's token. Reloads everything when the log no longer
+     * reaches back that far.
+     */
+    @Scheduled(fixedDelayString = "${readmodel.refresh-ms:2000}")
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!ready) {
+                load();
+                return;
+            }
+            DeltaSyncResponse delta;
+            do {
+                delta = deltaSyncService.getChangesSince(token, refreshBatchSize);
+                if (delta.isResetRequired()) {
+                    log.warn("Read model token {} has expired; reloading", token);
+                    load();
+                    return;
+                }
+                apply(delta);
+            } while (delta.isHasMore());
+            refreshedOn = LocalDateTime.now();
+        } catch (RuntimeException ex) {
+            log.error("Failed to refresh the read model: {}", ex.getMessage());
+        }
+    }
+
+    void apply(DeltaSyncResponse delta) {
+        lock.writeLock().lock();
+        try {
+            for (ProductDTO product : delta.getProducts()) {
+                putProduct(ProductRecord.builder()
+                        .id(product.getId())
+                        .productName(product.getProductName())
+                        .createdBy(product.getCreatedBy())
+                        .createdOn(product.getCreatedOn())
+                        .modifiedBy(product.getModifiedBy())
+                        .modifiedOn(product.getModifiedOn())
+                        .version(product.getVersion())
+                        .build());
+            }
+            for (ItemDTO item : delta.getItems()) {
+                putItem(new ItemRecord(item.getId(), item.getProductId(), item.getQuantity(), item.getVersion()));
+            }
+            for (DeletedEntityDTO deleted : delta.getDeleted()) {
+                if ("PRODUCT".equals(deleted.getEntityType())) {
+                    removeProduct(deleted.getId());
+                } else {
+                    removeItem(deleted.getId());
+                }
+            }
+            token = delta.getNextToken();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        changesReplayed.addAndGet(delta.getProducts().size() + delta.getItems().size() + delta.getDeleted().size());
+    }
+
+    /**
+     * One page of all products, or {@code null} when the sort cannot be served from an index.
+     */
+    public PagedResponse<ProductDTO> getAllProducts(Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            NavigableSet<ProductRecord> ordered = ordered(byId, BY_ID, pageable);
+            return ordered == null ? null : page(ordered, null, pageable);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * One page of products whose name or owner contains the keyword, ignoring case.
+     */
+    public PagedResponse<ProductDTO> searchProducts(String keyword, Pageable pageable) {
+        String needle = keyword == null ? "" : keyword.toLowerCase(Locale.ROOT);
+        Predicate<ProductRecord> matches = product -> contains(product.getProductName(), needle)
+                || contains(product.getCreatedBy(), needle);
+        lock.readLock().lock();
+        try {
+            NavigableSet<ProductRecord> ordered = ordered(byId, BY_ID, pageable);
+            return ordered == null ? null : page(ordered, matches, pageable);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public PagedResponse<ProductDTO> getProductsByCreatedBy(String createdBy, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            TreeSet<ProductRecord> owned = byOwner.getOrDefault(createdBy, new TreeSet<>(BY_CREATED_ON));
+            NavigableSet<ProductRecord> ordered = ordered(owned, BY_CREATED_ON, pageable);
+            return ordered == null ? null : page(ordered, null, pageable);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * One page of a product's items, or {@code null} when the product is not in the model (the
+     * database then decides between a late replica and a 404) or the sort is not supported.
+     */
+    public PagedResponse<ItemDTO> getItemsByProductId(Long productId, Pageable pageable) {
+        lock.readLock().lock();
+        try {
+            if (!products.containsKey(productId)) {
+                return null;
+            }
+            TreeMap<Long, ItemRecord> productItems = itemsByProduct.get(productId);
+            Collection<ItemRecord> ordered = productItems == null ? List.of() : productItems.values();
+            Sort.Order order = singleOrder(pageable);
+            if (order != null && order.getProperty().equals("quantity")) {
+                List<ItemRecord> sorted = new ArrayList<>(ordered);
+                sorted.sort(order.isAscending() ? ITEMS_BY_QUANTITY : ITEMS_BY_QUANTITY.reversed());
+                ordered = sorted;
+            } else if (order != null && order.getProperty().equals("id")) {
+                if (order.isDescending() && productItems != null) {
+                    ordered = productItems.descendingMap().values();
+                }
+            } else if (pageable.getSort().isSorted()) {
+                return null;
+            }
+
+            List<ItemDTO> content = new ArrayList<>(pageable.getPageSize());
+            long index = 0;
+            for (ItemRecord item : ordered) {
+                if (content.size() == pageable.getPageSize()) {
+                    break;
+                }
+                if (index++ >= pageable.getOffset()) {
+                    content.add(ItemDTO.builder()
+                            .id(item.getId())
+                            .productId(item.getProductId())
+                            .quantity(item.getQuantity())
+                            .version(item.getVersion())
+                            .build());
+                }
+            }
+            return pagedResponse(content, pageable, ordered.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Picks the index matching the requested sort: the given default for an unsorted request,
+     * one of the global indexes, or a copy of a small subset re-sorted. {@code null} means the
+     * sort is not supported and the caller should fall back to the database.
+     */
+    private NavigableSet<ProductRecord> ordered(NavigableSet<ProductRecord> subset, Comparator<ProductRecord> subsetOrder,
+                                                Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return null;
+        }
+        if (pageable.getSort().isUnsorted()) {
+            return subset;
+        }
+        Sort.Order order = singleOrder(pageable);
+        if (order == null || order.isIgnoreCase()) {
+            return null;
+        }
+        Comparator<ProductRecord> comparator = switch (order.getProperty()) {
+            case "id" -> BY_ID;
+            case "createdOn" -> BY_CREATED_ON;
+            case "productName" -> BY_NAME;
+            default -> null;
+        };
+        if (comparator == null) {
+            return null;
+        }
+
+        NavigableSet<ProductRecord> sorted;
+        if (comparator == subsetOrder) {
+            sorted = subset;
+        } else if (subset == byId) {
+            sorted = comparator == BY_CREATED_ON ? byCreatedOn : byName;
+        } else {
+            sorted = new TreeSet<>(comparator);
+            sorted.addAll(subset);
+        }
+        return order.isAscending() ? sorted : sorted.descendingSet();
+    }
+
+    /**
+     * The one sort key of the request, ignoring a trailing {@code id} tie-breaker in the same
+     * direction, which every index here already applies.
+     */
+    private static Sort.Order singleOrder(Pageable pageable) {
+        List<Sort.Order> orders = pageable.getSort().toList();
+        if (orders.size() == 2) {
+            Sort.Order tieBreaker = orders.get(1);
+            if (tieBreaker.getProperty().equals("id") && tieBreaker.getDirection() == orders.get(0).getDirection()
+                    && !tieBreaker.isIgnoreCase()) {
+                return orders.get(0);
+            }
+        }
+        return orders.size() == 1 ? orders.get(0) : null;
+    }
+
+    private PagedResponse<ProductDTO> page(NavigableSet<ProductRecord> ordered, Predicate<ProductRecord> filter,
+                                           Pageable pageable) {
+        List<ProductDTO> content = new ArrayList<>(pageable.getPageSize());
+        long matched = 0;
+        for (ProductRecord product : ordered) {
+            if (filter != null && !filter.test(product)) {
+                continue;
+            }
+            if (matched++ >= pageable.getOffset() && content.size() < pageable.getPageSize()) {
+                content.add(toDTO(product));
+            }
+            if (filter == null && content.size() == pageable.getPageSize()) {
+                // Without a filter the total is the size of the index; no need to walk the rest
+                break;
+            }
+        }
+        return pagedResponse(content, pageable, filter == null ? ordered.size() : matched);
+    }
+
+    private static <T> PagedResponse<T> pagedResponse(List<T> content, Pageable pageable, long total) {
+        int size = pageable.getPageSize();
+        int totalPages = size == 0 ? 1 : (int) Math.ceil((double) total / size);
+        return PagedResponse.<T>builder()
+                .content(content)
+                .pageNumber(pageable.getPageNumber())
+                .pageSize(size)
+                .totalElements(total)
+                .totalPages(totalPages)
+                .isFirst(pageable.getPageNumber() == 0)
+                .isLast(pageable.getPageNumber() + 1 >= totalPages)
+                .build();
+    }
+
+    private ProductDTO toDTO(ProductRecord product) {
+        TreeMap<Long, ItemRecord> productItems = itemsByProduct.get(product.getId());
+        return ProductDTO.builder()
+                .id(product.getId())
+                .productName(product.getProductName())
+                .createdBy(product.getCreatedBy())
+                .createdOn(product.getCreatedOn())
+                .modifiedBy(product.getModifiedBy())
+                .modifiedOn(product.getModifiedOn())
+                .version(product.getVersion())
+                .itemCount(productItems != null ? productItems.size() : 0)
+                .build();
+    }
+
+    private static boolean contains(String value, String needle) {
+        return value != null && value.toLowerCase(Locale.ROOT).contains(needle);
+    }
+
+    // Callers hold the write lock
+
+    private void putProduct(ProductRecord product) {
+        ProductRecord previous = products.put(product.getId(), product);
+        if (previous != null) {
+            unindex(previous);
+        }
+        byId.add(product);
+        byCreatedOn.add(product);
+        byName.add(product);
+        byOwner.computeIfAbsent(product.getCreatedBy(), owner -> new TreeSet<>(BY_CREATED_ON)).add(product);
+    }
+
+    private void removeProduct(long productId) {
+        ProductRecord previous = products.remove(productId);
+        if (previous != null) {
+            unindex(previous);
+        }
+        // Items of a deleted product go with it and get no tombstones of their own
+        TreeMap<Long, ItemRecord> productItems = itemsByProduct.remove(productId);
+        if (productItems != null) {
+            productItems.keySet().forEach(items::remove);
+        }
+    }
+
+    private void unindex(ProductRecord product) {
+        byId.remove(product);
+        byCreatedOn.remove(product);
+        byName.remove(product);
+        TreeSet<ProductRecord> owned = byOwner.get(product.getCreatedBy());
+        if (owned != null) {
+            owned.remove(product);
+            if (owned.isEmpty()) {
+                byOwner.remove(product.getCreatedBy());
+            }
+        }
+    }
+
+    private void putItem(ItemRecord item) {
+        ItemRecord previous = items.put(item.getId(), item);
+        if (previous != null && previous.getProductId() != item.getProductId()) {
+            detach(previous);
+        }
+        TreeMap<Long, ItemRecord> productItems = itemsByProduct.get(item.getProductId());
+        if (productItems == null) {
+            productItems = new TreeMap<>();
+            itemsByProduct.put(item.getProductId(), productItems);
+        }
+        productItems.put(item.getId(), item);
+    }
+
+    private void removeItem(long itemId) {
+        ItemRecord previous = items.remove(itemId);
+        if (previous != null) {
+            detach(previous);
+        }
+    }
+
+    private void detach(ItemRecord item) {
+        TreeMap<Long, ItemRecord> productItems = itemsByProduct.get(item.getProductId());
+        if (productItems != null) {
+            productItems.remove(item.getId());
+            if (productItems.isEmpty()) {
+                itemsByProduct.remove(item.getProductId());
+            }
+        }
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "read-model";
+    }
+
+    @Override
+    public Map<String, Object> getMetricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("ready", ready);
+        lock.readLock().lock();
+        try {
+            snapshot.put("products", products.size());
+            snapshot.put("items", items.size());
+            snapshot.put("owners", byOwner.size());
+            snapshot.put("token", token);
+        } finally {
+            lock.readLock().unlock();
+        }
+        snapshot.put("eventsApplied", eventsApplied.get());
+        snapshot.put("changesReplayed", changesReplayed.get());
+        snapshot.put("reloads", reloads.get());
+        snapshot.put("loadedOn", loadedOn);
+        snapshot.put("refreshedOn", refreshedOn);
+        return snapshot;
+    }
+}
@@ -0,0 +1,84 @@
+package com.productmanager.readmodel;
+
+import com.productmanager.monitoring.MetricsSource;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Answers product list, search and owner queries and item listings from the
+ * {@link CatalogReadModel} once it is loaded.
+ *
+ * Ordered outside request coalescing and the transaction interceptor, so a served read never
+ * borrows a connection. Calls made inside an existing transaction, and queries the model cannot
+ * answer (an unsupported sort, an unknown product), fall through to the database.
+ */
+@Aspect
+@Component
+@Order(ReadModelAspect.ORDER)
+public class ReadModelAspect implements MetricsSource {
+
+    public static final int ORDER = 90;
+
+    @Autowired
+    private CatalogReadModel readModel;
+
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong fallbacks = new AtomicLong();
+
+    @Around("execution(* com.productmanager.service.ProductService+.getAllProducts(..)) && args(pageable, ..)")
+    public Object getAllProducts(ProceedingJoinPoint joinPoint, Pageable pageable) throws Throwable {
+        return serve(joinPoint, () -> readModel.getAllProducts(pageable));
+    }
+
+    @Around("execution(* com.productmanager.service.ProductService+.searchProducts(..)) && args(keyword, pageable, ..)")
+    public Object searchProducts(ProceedingJoinPoint joinPoint, String keyword, Pageable pageable) throws Throwable {
+        return serve(joinPoint, () -> readModel.searchProducts(keyword, pageable));
+    }
+
+    @Around("execution(* com.productmanager.service.ProductService+.getProductsByCreatedBy(..)) && args(createdBy, pageable, ..)")
+    public Object getProductsByCreatedBy(ProceedingJoinPoint joinPoint, String createdBy, Pageable pageable) throws Throwable {
+        return serve(joinPoint, () -> readModel.getProductsByCreatedBy(createdBy, pageable));
+    }
+
+    @Around("execution(* com.productmanager.service.ItemService+.getItemsByProductId(..)) && args(productId, pageable)")
+    public Object getItemsByProductId(ProceedingJoinPoint joinPoint, Long productId, Pageable pageable) throws Throwable {
+        return serve(joinPoint, () -> readModel.getItemsByProductId(productId, pageable));
+    }
+
+    private Object serve(ProceedingJoinPoint joinPoint, Supplier<Object> query) throws Throwable {
+        if (!readModel.isReady() || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        Object result = query.get();
+        if (result == null) {
+            fallbacks.incrementAndGet();
+            return joinPoint.proceed();
+        }
+        served.incrementAndGet();
+        return result;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "read-model-reads";
+    }
+
+    @Override
+    public Map<String, Object> getMetricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("served", served.get());
+        snapshot.put("fallbacks", fallbacks.get());
+        return snapshot;
+    }
+}
@@ -0,0 +1,29 @@
+package com.productmanager.repository;
+
+import com.productmanager.entity.ChangeLogEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntry, Long> {
+
+    List<ChangeLogEntry> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    Optional<ChangeLogEntry> findFirstByOrderByIdAsc();
+
+    Optional<ChangeLogEntry> findFirstByOrderByIdDesc();
+
+    Optional<ChangeLogEntry> findFirstByRecordedOnBeforeOrderByIdDesc(LocalDateTime recordedOn);
+
+    @Modifying
+    @Query("DELETE FROM ChangeLogEntry c WHERE c.recordedOn < :cutoff")
+    int deleteRecordedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
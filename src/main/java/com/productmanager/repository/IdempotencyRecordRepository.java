@@ -0,0 +1,52 @@
+package com.productmanager.repository;
+
+import com.productmanager.entity.IdempotencyRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    /**
+     * Plain INSERT, so an existing row for the key fails on the primary key instead of being
+     * merged over as {@code save} would.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_record "
+            + "(record_key, request_hash, status, content_type, headers, body, expires_at) "
+            + "VALUES (:key, :requestHash, :status, :contentType, :headers, :body, :expiresAt)",
+            nativeQuery = true)
+    int insert(@Param("key") String key, @Param("requestHash") String requestHash, @Param("status") int status,
+               @Param("contentType") String contentType, @Param("headers") String headers,
+               @Param("body") byte[] body, @Param("expiresAt") long expiresAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.requestHash = :requestHash, r.status = :status, "
+            + "r.contentType = :contentType, r.headers = :headers, r.body = :body, r.expiresAt = :expiresAt "
+            + "WHERE r.recordKey = :key AND r.status = :pendingStatus")
+    int completePending(@Param("key") String key, @Param("pendingStatus") int pendingStatus,
+                        @Param("requestHash") String requestHash, @Param("status") int status,
+                        @Param("contentType") String contentType, @Param("headers") String headers,
+                        @Param("body") byte[] body, @Param("expiresAt") long expiresAt);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.recordKey = :key AND r.status = :pendingStatus")
+    int deletePending(@Param("key") String key, @Param("pendingStatus") int pendingStatus);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.recordKey = :key AND r.expiresAt <= :now")
+    int deleteExpired(@Param("key") String key, @Param("now") long now);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") long now);
+
+    @Query("SELECT r.recordKey FROM IdempotencyRecord r ORDER BY r.expiresAt")
+    List<String> findOldestKeys(Pageable pageable);
+}
@@ -0,0 +1,15 @@
+package com.productmanager.repository;
+
+import com.productmanager.entity.ItemHistory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ItemHistoryRepository extends JpaRepository<ItemHistory, Long> {
+
+    List<ItemHistory> findByItemIdAndProductIdAndIdLessThanOrderByIdDesc(Long itemId, Long productId, Long beforeId,
+                                                                        Pageable pageable);
+}
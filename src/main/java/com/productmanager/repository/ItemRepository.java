@@ -4,8 +4,11 @@ import com.productmanager.entity.Item;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,4 +24,46 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
     long countByProductId(Long productId);
 
     void deleteByProductId(Long productId);
+
+    @Query("SELECT i FROM Item i JOIN FETCH i.product WHERE i.quantity <= :threshold "
+            + "AND (i.quantity > :afterQuantity OR (i.quantity = :afterQuantity AND i.id > :afterId)) "
+            + "ORDER BY i.quantity ASC, i.id ASC")
+    List<Item> findLowStock(@Param("threshold") int threshold,
+                            @Param("afterQuantity") int afterQuantity,
+                            @Param("afterId") long afterId,
+                            Pageable pageable);
+
+    @Query("SELECT i FROM Item i JOIN FETCH i.product WHERE i.product.id = :productId AND i.quantity <= :threshold "
+            + "AND (i.quantity > :afterQuantity OR (i.quantity = :afterQuantity AND i.id > :afterId)) "
+            + "ORDER BY i.quantity ASC, i.id ASC")
+    List<Item> findLowStockByProductId(@Param("productId") Long productId,
+                                       @Param("threshold") int threshold,
+                                       @Param("afterQuantity") int afterQuantity,
+                                       @Param("afterId") long afterId,
+                                       Pageable pageable);
+
+    @Query("SELECT i FROM Item i JOIN FETCH i.product p WHERE p.createdBy = :owner AND i.quantity <= :threshold "
+            + "AND (i.quantity > :afterQuantity OR (i.quantity = :afterQuantity AND i.id > :afterId)) "
+            + "ORDER BY i.quantity ASC, i.id ASC")
+    List<Item> findLowStockByOwner(@Param("owner") String owner,
+                                   @Param("threshold") int threshold,
+                                   @Param("afterQuantity") int afterQuantity,
+                                   @Param("afterId") long afterId,
+                                   Pageable pageable);
+
+    @Query("SELECT i.id, i.product.id, i.quantity, i.version FROM Item i")
+    List<Object[]> findAllSnapshotRows();
+
+    @Query("SELECT i.product.id, COUNT(i) FROM Item i WHERE i.product.id IN :productIds GROUP BY i.product.id")
+    List<Object[]> countByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    @Query("SELECT i.version FROM Item i WHERE i.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT i.quantity FROM Item i WHERE i.id = :itemId AND i.product.id = :productId")
+    Optional<Integer> findQuantityByIdAndProductId(@Param("itemId") Long itemId, @Param("productId") Long productId);
+
+    @Query("SELECT i.id, p.id, i.quantity, p.createdBy, p.productName, i.version FROM Item i JOIN i.product p "
+            + "WHERE i.id IN :ids")
+    List<Object[]> findStockRowsByIds(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,14 @@
+package com.productmanager.repository;
+
+import com.productmanager.entity.ProductHistory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductHistoryRepository extends JpaRepository<ProductHistory, Long> {
+
+    List<ProductHistory> findByProductIdAndIdLessThanOrderByIdDesc(Long productId, Long beforeId, Pageable pageable);
+}
@@ -0,0 +1,22 @@
+package com.productmanager.repository;
+
+import com.productmanager.entity.ProductNameClaim;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductNameClaimRepository extends JpaRepository<ProductNameClaim, String> {
+
+    // A plain INSERT: save() would merge onto an existing claim instead of failing on the key
+    @Modifying
+    @Query(value = "INSERT INTO product_name_claim (name_key, product_id) VALUES (:nameKey, :productId)",
+            nativeQuery = true)
+    int insert(@Param("nameKey") String nameKey, @Param("productId") Long productId);
+
+    @Modifying
+    @Query("DELETE FROM ProductNameClaim c WHERE c.nameKey = :nameKey AND c.productId = :productId")
+    int release(@Param("nameKey") String nameKey, @Param("productId") Long productId);
+}
@@ -4,10 +4,12 @@ import com.productmanager.entity.Product;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,11 +25,50 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT p FROM Product p WHERE p.productName LIKE CONCAT('%', :keyword, '%') OR p.createdBy LIKE CONCAT('%', :keyword, '%')")
     Page<Product> searchProducts(@Param("keyword") String keyword, Pageable pageable);
 
-    @Query("SELECT COUNT(p) FROM Product p WHERE LOWER(p.productName) = LOWER(:productName)")
-    long countByProductNameIgnoreCase(@Param("productName") String productName);
+    @Query(value = "SELECT p.id, p.productName, p.createdBy, p.createdOn, p.modifiedBy, p.modifiedOn, p.version FROM Product p",
+            countQuery = "SELECT COUNT(p) FROM Product p")
+    Page<Object[]> findAllSummaryRows(Pageable pageable);
+
+    @Query(value = "SELECT p.id, p.productName, p.createdBy, p.createdOn, p.modifiedBy, p.modifiedOn, p.version FROM Product p "
+            + "WHERE p.productName LIKE CONCAT('%', :keyword, '%') OR p.createdBy LIKE CONCAT('%', :keyword, '%')",
+            countQuery = "SELECT COUNT(p) FROM Product p "
+                    + "WHERE p.productName LIKE CONCAT('%', :keyword, '%') OR p.createdBy LIKE CONCAT('%', :keyword, '%')")
+    Page<Object[]> searchSummaryRows(@Param("keyword") String keyword, Pageable pageable);
+
+    boolean existsByProductNameKey(String productNameKey);
+
+    @Query("SELECT p.id, p.productName, p.productNameKey, p.version, p.createdBy, p.createdOn FROM Product p "
+            + "WHERE p.productNameKey IN :nameKeys")
+    List<Object[]> findUpsertRowsByNameKeys(@Param("nameKeys") Collection<String> nameKeys);
+
+    @Query("SELECT p.id, p.productNameKey FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<Object[]> findNameKeysAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT p.id, p.productName FROM Product p WHERE p.productNameKey IS NULL AND p.id > :afterId ORDER BY p.id")
+    List<Object[]> findMissingNameKeysAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.productNameKey = :nameKey WHERE p.id = :id AND p.productNameKey IS NULL")
+    int fillNameKey(@Param("id") Long id, @Param("nameKey") String nameKey);
+
+    @Query("SELECT p.version FROM Product p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 
     @Query("SELECT p FROM Product p LEFT JOIN FETCH p.items WHERE p.id = :id")
     Optional<Product> findByIdWithItems(@Param("id") Long id);
 
     List<Product> findByCreatedByOrderByCreatedOnDesc(String createdBy);
+
+    @Query("SELECT p.id, p.productName, p.createdBy, p.createdOn, p.modifiedBy, p.modifiedOn, p.version FROM Product p")
+    List<Object[]> findAllSnapshotRows();
+
+    @Query("SELECT MIN(p.id), MAX(p.id) FROM Product p")
+    List<Object[]> findIdRange();
+
+    @Query("SELECT p.id, p.createdBy, COUNT(i), COALESCE(SUM(i.quantity), 0), "
+            + "COALESCE(SUM(CASE WHEN i.quantity <= :threshold THEN 1 ELSE 0 END), 0) "
+            + "FROM Product p LEFT JOIN p.items i WHERE p.id BETWEEN :fromId AND :toId GROUP BY p.id, p.createdBy")
+    List<Object[]> aggregateStockByIdRange(@Param("fromId") Long fromId,
+                                           @Param("toId") Long toId,
+                                           @Param("threshold") int threshold);
 }
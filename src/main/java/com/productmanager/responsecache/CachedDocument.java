@@ -0,0 +1,26 @@
+package com.productmanager.responsecache;
+
+/**
+ * One serialised response body, with its gzip-compressed form when it was worth compressing.
+ */
+final class CachedDocument {
+
+    final long parentId;
+    final long version;
+    final byte[] json;
+    final byte[] gzip;
+    final long cpuNanos;
+    final long expiresAtNanos;
+
+    // Second-chance bit for the clock eviction sweep
+    volatile boolean referenced = true;
+
+    CachedDocument(long parentId, long version, byte[] json, byte[] gzip, long cpuNanos, long expiresAtNanos) {
+        this.parentId = parentId;
+        this.version = version;
+        this.json = json;
+        this.gzip = gzip;
+        this.cpuNanos = cpuNanos;
+        this.expiresAtNanos = expiresAtNanos;
+    }
+}
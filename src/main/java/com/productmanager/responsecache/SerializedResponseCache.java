@@ -0,0 +1,308 @@
+package com.productmanager.responsecache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.monitoring.MetricsSource;
+import com.productmanager.swr.StaleContent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Already-serialised JSON bodies of single product and item documents, optionally pre-gzipped,
+ * handed to the servlet output stream as raw bytes on a hit.
+ *
+ * Entries carry the entity version they were serialised from and are evicted when a change to
+ * the document commits. A load that raced with such a change is not stored: every invalidation
+ * bumps a striped counter, and a document is only cached when the counter for its key is
+ * unchanged since the load started. Writes on other instances produce no local events, so
+ * entries also expire after a short TTL. The size is bounded by a clock (second-chance) sweep,
+ * which keeps the hot head of the catalog resident without locking on reads. Opt in with
+ * {@code response-cache.enabled=true}.
+ */
+@Slf4j
+@Component
+public class SerializedResponseCache implements MetricsSource {
+
+    public enum Kind {
+        PRODUCT,
+        ITEM
+    }
+
+    private static final int STRIPES = 1024;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${response-cache.enabled:false}")
+    private boolean enabled;
+
+    @Value("${response-cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${response-cache.gzip-min-bytes:512}")
+    private int gzipMinBytes;
+
+    @Value("${response-cache.ttl-ms:30000}")
+    private long ttlMillis;
+
+    private final Map<Kind, ConcurrentHashMap<Long, CachedDocument>> documents = new EnumMap<>(Kind.class);
+    private final AtomicLongArray invalidations = new AtomicLongArray(STRIPES);
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong gzipHits = new AtomicLong();
+    private final AtomicLong serializedBytesSaved = new AtomicLong();
+    private final AtomicLong wireBytesSaved = new AtomicLong();
+    private final AtomicLong cpuNanosAvoided = new AtomicLong();
+    private final AtomicLong invalidated = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public SerializedResponseCache() {
+        for (Kind kind : Kind.values()) {
+            documents.put(kind, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Builds the response for one document, from cached bytes when possible.
+     *
+     * @param parentId   the owning product for items, the id itself for products; a cached item
+     *                   requested under another product is treated as a miss
+     * @param loader     loads the DTO on a miss; its exceptions propagate unchanged
+     * @param versionOf  reads the entity version from the DTO; documents without one, and stale
+     *                   documents served by the stale-while-revalidate layer, are not cached
+     *
+     * Callers inside a transaction bypass the cache: they may see their own uncommitted writes,
+     * and the invalidations for those only run after commit.
+     */
+    public <T> ResponseEntity<?> respond(Kind kind, long id, long parentId, String acceptEncoding,
+                                         Supplier<T> loader, Function<T, Long> versionOf) {
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return ResponseEntity.ok(loader.get());
+        }
+        boolean gzipAccepted = acceptsGzip(acceptEncoding);
+        ConcurrentHashMap<Long, CachedDocument> cache = documents.get(kind);
+
+        CachedDocument document = cache.get(id);
+        if (document != null && document.parentId == parentId && System.nanoTime() - document.expiresAtNanos < 0) {
+            document.referenced = true;
+            hits.incrementAndGet();
+            serializedBytesSaved.addAndGet(document.json.length);
+            cpuNanosAvoided.addAndGet(document.cpuNanos);
+            if (gzipAccepted && document.gzip != null) {
+                gzipHits.incrementAndGet();
+                wireBytesSaved.addAndGet(document.json.length - document.gzip.length);
+            }
+            return toResponse(document, gzipAccepted);
+        }
+
+        misses.incrementAndGet();
+        int stripe = stripe(kind, id);
+        long stamp = invalidations.get(stripe);
+        T body = loader.get();
+        Long version = versionOf.apply(body);
+        if (version == null || StaleContent.isMarked()) {
+            return ResponseEntity.ok(body);
+        }
+
+        CachedDocument loaded = serialize(body, parentId, version);
+        cache.compute(id, (key, existing) -> {
+            // Checked under the bin lock, so an invalidation either sees this entry and removes
+            // it or has already bumped the stripe and keeps it out
+            if (invalidations.get(stripe) != stamp) {
+                return existing;
+            }
+            return existing != null && existing.version > loaded.version ? existing : loaded;
+        });
+        if (cache.size() > maxEntries) {
+            sweep(cache);
+        }
+        return toResponse(loaded, gzipAccepted);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        switch (event.getType()) {
+            case PRODUCT_UPDATED -> invalidate(Kind.PRODUCT, event.getProductId());
+            case PRODUCT_DELETED -> {
+                // Items go with their product; stop every in-flight load from caching them
+                for (int stripe = 0; stripe < STRIPES; stripe++) {
+                    invalidations.incrementAndGet(stripe);
+                }
+                invalidate(Kind.PRODUCT, event.getProductId());
+                documents.get(Kind.ITEM).values().removeIf(item -> item.parentId == event.getProductId());
+            }
+            // The product document carries the item count
+            case ITEM_CREATED -> invalidate(Kind.PRODUCT, event.getProductId());
+            case ITEM_UPDATED -> invalidate(Kind.ITEM, event.getItemId());
+            case ITEM_DELETED -> {
+                invalidate(Kind.ITEM, event.getItemId());
+                invalidate(Kind.PRODUCT, event.getProductId());
+            }
+            default -> {
+            }
+        }
+    }
+
+    void invalidate(Kind kind, Long id) {
+        if (id == null) {
+            return;
+        }
+        invalidations.incrementAndGet(stripe(kind, id));
+        if (documents.get(kind).remove(id) != null) {
+            invalidated.incrementAndGet();
+        }
+    }
+
+    private CachedDocument serialize(Object body, long parentId, long version) {
+        long started = cpuTime();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        byte[] gzip = json.length >= gzipMinBytes ? gzip(json) : null;
+        long cpuNanos = cpuTime() - started;
+        return new CachedDocument(parentId, version, json, gzip, cpuNanos,
+                System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttlMillis));
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(json);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        byte[] compressed = buffer.toByteArray();
+        return compressed.length < json.length ? compressed : null;
+    }
+
+    private static ResponseEntity<byte[]> toResponse(CachedDocument document, boolean gzipAccepted) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (document.gzip == null) {
+            return response.body(document.json);
+        }
+        response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzipAccepted) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(document.gzip);
+        }
+        return response.body(document.json);
+    }
+
+    /**
+     * Whether the request's {@code Accept-Encoding} admits gzip, honouring {@code q=0}.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException ex) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Evicts entries not read since the previous sweep until the cache is back under its limit.
+     */
+    private void sweep(ConcurrentHashMap<Long, CachedDocument> cache) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            for (int pass = 0; pass < 2 && cache.size() > maxEntries; pass++) {
+                Iterator<CachedDocument> iterator = cache.values().iterator();
+                while (iterator.hasNext() && cache.size() > maxEntries) {
+                    CachedDocument document = iterator.next();
+                    if (document.referenced) {
+                        document.referenced = false;
+                    } else {
+                        iterator.remove();
+                        evictions.incrementAndGet();
+                    }
+                }
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    private static int stripe(Kind kind, long id) {
+        long hash = (id * 0x9E3779B97F4A7C15L) ^ kind.ordinal();
+        return (int) ((hash ^ (hash >>> 32)) & (STRIPES - 1));
+    }
+
+    private long cpuTime() {
+        return threadMXBean.isCurrentThreadCpuTimeSupported()
+                ? threadMXBean.getCurrentThreadCpuTime()
+                : System.nanoTime();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "response-cache";
+    }
+
+    @Override
+    public Map<String, Object> getMetricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("productEntries", documents.get(Kind.PRODUCT).size());
+        snapshot.put("itemEntries", documents.get(Kind.ITEM).size());
+        snapshot.put("hits", hits.get());
+        snapshot.put("misses", misses.get());
+        snapshot.put("gzipHits", gzipHits.get());
+        snapshot.put("serializedBytesSaved", serializedBytesSaved.get());
+        snapshot.put("wireBytesSaved", wireBytesSaved.get());
+        snapshot.put("cpuMillisAvoided", TimeUnit.NANOSECONDS.toMillis(cpuNanosAvoided.get()));
+        snapshot.put("invalidated", invalidated.get());
+        snapshot.put("evictions", evictions.get());
+        return snapshot;
+    }
+}
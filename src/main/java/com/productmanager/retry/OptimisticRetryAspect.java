@@ -0,0 +1,206 @@
+package com.productmanager.retry;
+
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.entity.Item;
+import com.productmanager.entity.Product;
+import com.productmanager.exception.VersionConflictException;
+import com.productmanager.monitoring.MetricsSource;
+import com.productmanager.repository.ItemRepository;
+import com.productmanager.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Re-runs {@link RetryOnConflict} methods that lost an optimistic locking race.
+ *
+ * Ordered outside the transaction interceptor, so every attempt is a fresh transaction that
+ * re-reads the current state, and outside shard routing, which routes each attempt again.
+ * Attempts are separated by a full-jitter exponential backoff. Retries also draw on a shared
+ * budget that starts full and every call tops up by a fraction of a token, so a conflict storm
+ * cannot multiply the write load. A conflict that is
+ * out of attempts or budget becomes a {@link VersionConflictException} carrying the entity's
+ * current version. Calls joining an existing transaction are not retried: only the owner of
+ * that transaction can start over.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(OptimisticRetryAspect.ORDER)
+public class OptimisticRetryAspect implements MetricsSource {
+
+    public static final int ORDER = 150;
+
+    private static final long MILLI_TOKENS = 1000;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Autowired
+    private ShardTransactions shardTransactions;
+
+    @Value("${retry.optimistic.enabled:true}")
+    private boolean enabled;
+
+    @Value("${retry.optimistic.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${retry.optimistic.initial-backoff-ms:10}")
+    private long initialBackoffMillis;
+
+    @Value("${retry.optimistic.max-backoff-ms:200}")
+    private long maxBackoffMillis;
+
+    @Value("${retry.optimistic.budget-ratio:0.2}")
+    private double budgetRatio;
+
+    @Value("${retry.optimistic.budget-max-tokens:50}")
+    private long budgetMaxTokens;
+
+    private final AtomicLong budgetMilliTokens = new AtomicLong();
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong conflicts = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong recovered = new AtomicLong();
+    private final AtomicLong exhausted = new AtomicLong();
+    private final AtomicLong budgetDenied = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        budgetMilliTokens.set(budgetMaxTokens * MILLI_TOKENS);
+    }
+
+    @Around("@annotation(com.productmanager.retry.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        calls.incrementAndGet();
+        deposit();
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Object result = joinPoint.proceed();
+                if (attempt > 1) {
+                    recovered.incrementAndGet();
+                }
+                return result;
+            } catch (OptimisticLockingFailureException ex) {
+                conflicts.incrementAndGet();
+                if (attempt >= maxAttempts) {
+                    exhausted.incrementAndGet();
+                    throw conflict(ex);
+                }
+                if (!withdraw()) {
+                    budgetDenied.incrementAndGet();
+                    throw conflict(ex);
+                }
+                retries.incrementAndGet();
+                log.debug("Optimistic lock conflict, retrying (attempt {}): {}", attempt + 1, ex.getMessage());
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void deposit() {
+        long cap = budgetMaxTokens * MILLI_TOKENS;
+        long credit = (long) (budgetRatio * MILLI_TOKENS);
+        budgetMilliTokens.getAndUpdate(tokens -> Math.min(cap, tokens + credit));
+    }
+
+    private boolean withdraw() {
+        while (true) {
+            long tokens = budgetMilliTokens.get();
+            if (tokens < MILLI_TOKENS) {
+                return false;
+            }
+            if (budgetMilliTokens.compareAndSet(tokens, tokens - MILLI_TOKENS)) {
+                return true;
+            }
+        }
+    }
+
+    private void backoff(int attempt) throws InterruptedException {
+        long ceiling = Math.min(maxBackoffMillis, initialBackoffMillis << Math.min(attempt - 1, 20));
+        if (ceiling > 0) {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        }
+    }
+
+    private VersionConflictException conflict(OptimisticLockingFailureException ex) {
+        if (!(ex instanceof ObjectOptimisticLockingFailureException objectFailure)
+                || objectFailure.getPersistentClassName() == null) {
+            return new VersionConflictException("The resource was modified concurrently", null, ex);
+        }
+        String entityClass = objectFailure.getPersistentClassName();
+        Object id = objectFailure.getIdentifier();
+        return VersionConflictException.concurrentUpdate(entityClass.substring(entityClass.lastIndexOf('.') + 1), id,
+                currentVersion(entityClass, id), ex);
+    }
+
+    /**
+     * The version the client has to base its next attempt on, or {@code null} when the entity
+     * is gone or cannot be read.
+     */
+    private Long currentVersion(String entityClass, Object id) {
+        if (!(id instanceof Long entityId)) {
+            return null;
+        }
+        try {
+            int shard = shardResolver.shardForProductId(entityId);
+            if (Product.class.getName().equals(entityClass)) {
+                return shardTransactions.readOnShard(shard, () -> productRepository.findVersionById(entityId).orElse(null));
+            }
+            if (Item.class.getName().equals(entityClass)) {
+                return shardTransactions.readOnShard(shard, () -> itemRepository.findVersionById(entityId).orElse(null));
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not read the current version of {} {}: {}", entityClass, id, ex.getMessage());
+        }
+        return null;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "optimistic-retry";
+    }
+
+    @Override
+    public Map<String, Object> getMetricsSnapshot() {
+        long callCount = calls.get();
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("calls", callCount);
+        snapshot.put("conflicts", conflicts.get());
+        snapshot.put("retries", retries.get());
+        snapshot.put("recovered", recovered.get());
+        snapshot.put("exhausted", exhausted.get());
+        snapshot.put("budgetDenied", budgetDenied.get());
+        snapshot.put("budgetTokens", budgetMilliTokens.get() / MILLI_TOKENS);
+        snapshot.put("conflictRate", callCount == 0 ? 0.0 : (double) conflicts.get() / callCount);
+        snapshot.put("retryRate", callCount == 0 ? 0.0 : (double) retries.get() / callCount);
+        return snapshot;
+    }
+}
@@ -0,0 +1,114 @@
+package com.productmanager.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productmanager.monitoring.MetricsSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load-shedding filter in front of {@link JwtAuthenticationFilter}.
+ *
+ * Requests over the {@link AdaptiveConcurrencyLimiter adaptive limit} for their
+ * {@link RequestPriority} are rejected immediately with 503 instead of queueing for a database
+ * connection until they time out.
+ */
+@Slf4j
+public class AdaptiveConcurrencyLimitFilter extends OncePerRequestFilter implements MetricsSource {
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+
+    private final Map<RequestPriority, LongAdder> accepted = new EnumMap<>(RequestPriority.class);
+    private final Map<RequestPriority, LongAdder> shed = new EnumMap<>(RequestPriority.class);
+
+    public AdaptiveConcurrencyLimitFilter(AdaptiveConcurrencyLimiter limiter, ObjectMapper objectMapper, boolean enabled) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        for (RequestPriority priority : RequestPriority.values()) {
+            accepted.put(priority, new LongAdder());
+            shed.put(priority, new LongAdder());
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @org.springframework.lang.NonNull HttpServletRequest request,
+            @org.springframework.lang.NonNull HttpServletResponse response,
+            @org.springframework.lang.NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestPriority priority = RequestPriority.of(request);
+        int inFlightAtStart = limiter.tryAcquire(priority);
+        if (inFlightAtStart < 0) {
+            shed.get(priority).increment();
+            log.warn("Shedding {} {} ({} priority), concurrency limit {} reached",
+                    request.getMethod(), request.getServletPath(), priority, limiter.getLimit());
+            writeServiceUnavailable(request, response);
+            return;
+        }
+
+        accepted.get(priority).increment();
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            // Async requests (SSE) and failures do not say anything useful about queueing latency
+            boolean sample = !failed && !request.isAsyncStarted();
+            limiter.release(sample ? System.nanoTime() - start : -1, inFlightAtStart);
+        }
+    }
+
+    private void writeServiceUnavailable(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType("application/json;charset=UTF-8");
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+
+        final Map<String, Object> body = new LinkedCaseInsensitiveMap<>();
+        body.put("status", HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        body.put("error", "Service Unavailable");
+        body.put("message", "Server is overloaded, please retry later");
+        body.put("path", request.getServletPath());
+
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "concurrency-limit";
+    }
+
+    @Override
+    public Map<String, Object> getMetricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("limit", limiter.getLimit());
+        snapshot.put("inFlight", limiter.getInFlight());
+        snapshot.put("baselineRttMillis", limiter.getBaselineRttMillis());
+        for (RequestPriority priority : RequestPriority.values()) {
+            String name = priority.name().toLowerCase();
+            snapshot.put("accepted." + name, accepted.get(priority).sum());
+            snapshot.put("shed." + name, shed.get(priority).sum());
+        }
+        return snapshot;
+    }
+}
@@ -0,0 +1,116 @@
+package com.productmanager.security;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency using additive-increase/multiplicative-decrease.
+ *
+ * Completed requests are grouped into windows of {@code windowSize} samples. The lowest latency
+ * seen so far is the no-queueing baseline; it drifts up slowly so a permanently slower backend
+ * does not pin the limit at its minimum. When a window's average latency exceeds
+ * {@code tolerance} times the baseline, requests are queueing somewhere (typically for a pooled
+ * connection) and the limit is cut by {@code backoffRatio}. When latency is healthy and the window
+ * actually used most of the limit, the limit grows by one.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BASELINE_DRIFT = 1.05;
+    private static final double USED_LIMIT_RATIO = 0.8;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final int windowSize;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Window state, guarded by this
+    private long baselineRttNanos = Long.MAX_VALUE;
+    private long windowRttSumNanos;
+    private long windowMinRttNanos = Long.MAX_VALUE;
+    private int windowSamples;
+    private int windowMaxInFlight;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double tolerance, double backoffRatio, int windowSize) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.windowSize = windowSize;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Claims a slot for a request of the given priority.
+     *
+     * @return the number of requests in flight including this one, or -1 if the request must be shed
+     */
+    public int tryAcquire(RequestPriority priority) {
+        int allowed = Math.max(1, (int) (limit * priority.getLimitShare()));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot claimed by {@link #tryAcquire}.
+     *
+     * @param rttNanos         latency of the request, or a negative value to skip sampling
+     * @param inFlightAtStart  value returned by {@link #tryAcquire}
+     */
+    public void release(long rttNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        if (rttNanos >= 0) {
+            onSample(rttNanos, inFlightAtStart);
+        }
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtStart) {
+        windowRttSumNanos += rttNanos;
+        windowMinRttNanos = Math.min(windowMinRttNanos, rttNanos);
+        windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtStart);
+        if (++windowSamples < windowSize) {
+            return;
+        }
+
+        long averageRtt = windowRttSumNanos / windowSamples;
+        baselineRttNanos = baselineRttNanos == Long.MAX_VALUE
+                ? windowMinRttNanos
+                : Math.min((long) (baselineRttNanos * BASELINE_DRIFT), windowMinRttNanos);
+
+        double current = limit;
+        if (averageRtt > baselineRttNanos * tolerance) {
+            current = current * backoffRatio;
+        } else if (windowMaxInFlight >= current * USED_LIMIT_RATIO) {
+            current = current + 1;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, current));
+
+        windowRttSumNanos = 0;
+        windowMinRttNanos = Long.MAX_VALUE;
+        windowSamples = 0;
+        windowMaxInFlight = 0;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public synchronized double getBaselineRttMillis() {
+        return baselineRttNanos == Long.MAX_VALUE ? 0.0 : baselineRttNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -1,7 +1,9 @@
 package com.productmanager.security;
 
+import com.productmanager.monitoring.JwtOperationEvent;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
@@ -24,58 +26,66 @@ public class JwtTokenProvider {
     @Value("${jwt.refresh-token-expiration}")
     private long refreshTokenExpirationMs;
 
+    // Built once: deriving the key and parser per call showed up as per-request heap churn
+    private SecretKey signingKey;
+
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+    }
+
     public String generateAccessToken(Authentication authentication) {
         String username = authentication.getName();
         return generateAccessToken(username);
     }
 
     public String generateAccessToken(String username) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.builder()
+        JwtOperationEvent event = JwtOperationEvent.start(JwtOperationEvent.SIGN_ACCESS);
+        String token = Jwts.builder()
                 .subject(username)
                 .issuedAt(new Date())
                 .expiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key)
+                .signWith(signingKey)
                 .compact();
+        event.finish(token, true);
+        return token;
     }
 
     public String generateRefreshToken(String username) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.builder()
+        JwtOperationEvent event = JwtOperationEvent.start(JwtOperationEvent.SIGN_REFRESH);
+        String token = Jwts.builder()
                 .subject(username)
                 .claim("type", "refresh")
                 .issuedAt(new Date())
                 .expiration(new Date((new Date()).getTime() + refreshTokenExpirationMs))
-                .signWith(key)
+                .signWith(signingKey)
                 .compact();
+        event.finish(token, true);
+        return token;
     }
 
     public String getUsernameFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
+        return jwtParser.parseSignedClaims(token)
                 .getPayload()
                 .getSubject();
     }
 
     public Claims getClaimsFromToken(String token) {
-        SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-        return Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
+        return jwtParser.parseSignedClaims(token)
                 .getPayload();
     }
 
     public boolean validateToken(String token) {
+        JwtOperationEvent event = JwtOperationEvent.start(JwtOperationEvent.VERIFY);
+        boolean valid = false;
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token);
+            jwtParser.parseSignedClaims(token);
+            valid = true;
             return true;
         } catch (MalformedJwtException ex) {
             log.error("Invalid JWT token: {}", ex.getMessage());
@@ -85,17 +95,15 @@ public class JwtTokenProvider {
             log.error("Unsupported JWT token: {}", ex.getMessage());
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty: {}", ex.getMessage());
+        } finally {
+            event.finish(token, valid);
         }
         return false;
     }
 
     public boolean isTokenExpired(String token) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
-            Jwts.parser()
-                    .verifyWith(key)
-                    .build()
-                    .parseSignedClaims(token)
+            jwtParser.parseSignedClaims(token)
                     .getPayload();
             return false;
         } catch (ExpiredJwtException ex) {
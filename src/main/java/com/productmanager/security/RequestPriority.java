@@ -0,0 +1,40 @@
+package com.productmanager.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Shedding priority of a request. Each class may only use its share of the adaptive concurrency
+ * limit, so under overload lower classes are rejected first while auth and cheap reads keep flowing.
+ */
+public enum RequestPriority {
+
+    /** Authentication and health checks. */
+    CRITICAL(1.0),
+
+    /** Single-entity and paged GETs. */
+    HIGH(0.9),
+
+    /** Writes, search and everything else. */
+    NORMAL(0.75);
+
+    private final double limitShare;
+
+    RequestPriority(double limitShare) {
+        this.limitShare = limitShare;
+    }
+
+    public double getLimitShare() {
+        return limitShare;
+    }
+
+    public static RequestPriority of(HttpServletRequest request) {
+        String path = request.getServletPath();
+        if (path.startsWith("/api/v1/auth/") || path.equals("/") || path.equals("/health")) {
+            return CRITICAL;
+        }
+        if ("GET".equals(request.getMethod()) && !path.endsWith("/search")) {
+            return HIGH;
+        }
+        return NORMAL;
+    }
+}
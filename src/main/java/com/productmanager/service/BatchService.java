@@ -0,0 +1,14 @@
+package com.productmanager.service;
+
+import com.productmanager.dto.BatchRequest;
+import com.productmanager.dto.BatchResponse;
+
+public interface BatchService {
+
+    /**
+     * Runs the request's operations in order, in one transaction when the request is atomic.
+     * An atomic batch stops at the first failing operation and rolls everything back; otherwise
+     * every operation is attempted and committed on its own.
+     */
+    BatchResponse execute(BatchRequest request, String username);
+}
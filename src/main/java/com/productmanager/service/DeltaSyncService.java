@@ -0,0 +1,8 @@
+package com.productmanager.service;
+
+import com.productmanager.dto.DeltaSyncResponse;
+
+public interface DeltaSyncService {
+
+    DeltaSyncResponse getChangesSince(String token, int limit);
+}
@@ -0,0 +1,12 @@
+package com.productmanager.service;
+
+import com.productmanager.dto.CursorPageResponse;
+import com.productmanager.dto.ItemHistoryDTO;
+import com.productmanager.dto.ProductHistoryDTO;
+
+public interface HistoryService {
+
+    CursorPageResponse<ProductHistoryDTO> getProductHistory(Long productId, String cursor, int size);
+
+    CursorPageResponse<ItemHistoryDTO> getItemHistory(Long productId, Long itemId, String cursor, int size);
+}
@@ -0,0 +1,9 @@
+package com.productmanager.service;
+
+import com.productmanager.dto.CursorPageResponse;
+import com.productmanager.dto.ItemDTO;
+
+public interface InventoryService {
+
+    CursorPageResponse<ItemDTO> getLowStockItems(int threshold, String cursor, int size, Long productId, String owner);
+}
@@ -6,15 +6,15 @@ import org.springframework.data.domain.Pageable;
 
 public interface ItemService {
 
-    ItemDTO createItem(Long productId, ItemDTO itemDTO);
+    ItemDTO createItem(Long productId, ItemDTO itemDTO, String username);
 
     ItemDTO getItemById(Long productId, Long itemId);
 
     PagedResponse<ItemDTO> getItemsByProductId(Long productId, Pageable pageable);
 
-    ItemDTO updateItem(Long productId, Long itemId, ItemDTO itemDTO);
+    ItemDTO updateItem(Long productId, Long itemId, ItemDTO itemDTO, String username);
 
-    void deleteItem(Long productId, Long itemId);
+    void deleteItem(Long productId, Long itemId, String username);
 
-    void deleteAllItemsByProductId(Long productId);
+    void deleteAllItemsByProductId(Long productId, String username);
 }
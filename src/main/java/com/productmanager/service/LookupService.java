@@ -0,0 +1,14 @@
+package com.productmanager.service;
+
+import com.productmanager.dto.ItemDTO;
+import com.productmanager.dto.MultiGetResponse;
+import com.productmanager.dto.ProductDTO;
+
+import java.util.List;
+
+public interface LookupService {
+
+    MultiGetResponse<ProductDTO> getProductsByIds(List<Long> ids);
+
+    MultiGetResponse<ItemDTO> getItemsByIds(List<Long> ids);
+}
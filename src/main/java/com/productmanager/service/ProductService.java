@@ -10,13 +10,27 @@ public interface ProductService {
 
     ProductDTO getProductById(Long id);
 
+    /**
+     * Like {@link #getProductById(Long)}; without the item count the product's items are not loaded
+     * and {@code itemCount} is left empty.
+     */
+    ProductDTO getProductById(Long id, boolean withItemCount);
+
     PagedResponse<ProductDTO> getAllProducts(Pageable pageable);
 
+    /**
+     * Like {@link #getAllProducts(Pageable)}; without the item count only product columns are
+     * queried and {@code itemCount} is left empty.
+     */
+    PagedResponse<ProductDTO> getAllProducts(Pageable pageable, boolean withItemCount);
+
     PagedResponse<ProductDTO> searchProducts(String keyword, Pageable pageable);
 
+    PagedResponse<ProductDTO> searchProducts(String keyword, Pageable pageable, boolean withItemCount);
+
     ProductDTO updateProduct(Long id, ProductDTO productDTO, String username);
 
-    void deleteProduct(Long id);
+    void deleteProduct(Long id, String username);
 
     PagedResponse<ProductDTO> getProductsByCreatedBy(String createdBy, Pageable pageable);
 }
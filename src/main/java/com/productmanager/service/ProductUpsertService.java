@@ -0,0 +1,15 @@
+package com.productmanager.service;
+
+import com.productmanager.dto.ProductDTO;
+import com.productmanager.dto.ProductUpsertResponse;
+
+import java.util.List;
+
+public interface ProductUpsertService {
+
+    /**
+     * Creates products whose name is new and renames products whose name matches ignoring case.
+     * Results follow the order of {@code products}.
+     */
+    ProductUpsertResponse upsertProducts(List<ProductDTO> products, String username);
+}
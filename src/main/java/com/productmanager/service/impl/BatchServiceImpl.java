@@ -0,0 +1,310 @@
+package com.productmanager.service.impl;
+
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.dto.BatchOperation;
+import com.productmanager.dto.BatchOperationResult;
+import com.productmanager.dto.BatchOperationType;
+import com.productmanager.dto.BatchRequest;
+import com.productmanager.dto.BatchResponse;
+import com.productmanager.dto.ItemDTO;
+import com.productmanager.dto.ProductDTO;
+import com.productmanager.exception.DuplicateResourceException;
+import com.productmanager.exception.InvalidRequestException;
+import com.productmanager.exception.ResourceNotFoundException;
+import com.productmanager.exception.VersionConflictException;
+import com.productmanager.service.BatchService;
+import com.productmanager.service.ItemService;
+import com.productmanager.service.ProductService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Executes a batch of product and item operations by calling {@link ProductService} and
+ * {@link ItemService}, so every operation behaves exactly like its single request.
+ *
+ * An atomic batch runs inside one transaction that the service calls join; change events and
+ * cache invalidation then happen once, after that transaction commits. With sharding a
+ * transaction cannot span shards, so every operation of an atomic batch must resolve to the
+ * same shard. A non-atomic batch runs each operation in its own transaction and keeps going
+ * after failures; operations that reference a failed one fail too.
+ */
+@Slf4j
+@Service
+@SuppressWarnings("null")
+public class BatchServiceImpl implements BatchService {
+
+    private static final String REFERENCE_PREFIX = "$";
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Autowired
+    private ShardTransactions shardTransactions;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${batch.max-operations:100}")
+    private int maxOperations;
+
+    @Override
+    public BatchResponse execute(BatchRequest request, String username) {
+        List<BatchOperation> operations = request.getOperations();
+        if (operations == null || operations.isEmpty()) {
+            throw new InvalidRequestException("At least one operation is required");
+        }
+        if (operations.size() > maxOperations) {
+            throw new InvalidRequestException("At most " + maxOperations + " operations can be batched at once");
+        }
+        log.info("Executing {} batch of {} operations", request.isAtomic() ? "atomic" : "independent", operations.size());
+
+        List<BatchOperationResult> results = new ArrayList<>(operations.size());
+        if (!request.isAtomic()) {
+            for (int index = 0; index < operations.size(); index++) {
+                results.add(executeCapturingFailure(operations, index, results, username));
+            }
+            return BatchResponse.builder()
+                    .atomic(false)
+                    .committed(true)
+                    .results(results)
+                    .build();
+        }
+
+        int shard = commonShard(operations);
+        shardTransactions.executeOnShard(shard, status -> {
+            for (int index = 0; index < operations.size(); index++) {
+                BatchOperationResult result = executeCapturingFailure(operations, index, results, username);
+                results.add(result);
+                if (result.getError() != null) {
+                    status.setRollbackOnly();
+                    return null;
+                }
+            }
+            return null;
+        });
+
+        int last = results.size() - 1;
+        boolean committed = results.get(last).getError() == null;
+        if (!committed) {
+            markRolledBack(operations, results);
+        }
+        return BatchResponse.builder()
+                .atomic(true)
+                .committed(committed)
+                .failedIndex(committed ? null : last)
+                .results(results)
+                .build();
+    }
+
+    private BatchOperationResult executeCapturingFailure(List<BatchOperation> operations, int index,
+                                                         List<BatchOperationResult> previous, String username) {
+        try {
+            return executeOne(operations.get(index), index, previous, username);
+        } catch (ResourceNotFoundException ex) {
+            return failure(index, HttpStatus.NOT_FOUND, ex.getMessage());
+        } catch (DuplicateResourceException ex) {
+            return failure(index, HttpStatus.CONFLICT, ex.getMessage());
+        } catch (InvalidRequestException ex) {
+            return failure(index, HttpStatus.BAD_REQUEST, ex.getMessage());
+        } catch (VersionConflictException | OptimisticLockingFailureException ex) {
+            return failure(index, HttpStatus.CONFLICT, ex.getMessage());
+        } catch (RuntimeException ex) {
+            log.error("Batch operation {} failed", index, ex);
+            return failure(index, HttpStatus.INTERNAL_SERVER_ERROR, "An unexpected error occurred");
+        }
+    }
+
+    private BatchOperationResult executeOne(BatchOperation operation, int index, List<BatchOperationResult> previous,
+                                            String username) {
+        BatchOperationType type = operation.getType();
+        switch (type) {
+            case CREATE_PRODUCT -> {
+                ProductDTO created = productService.createProduct(validated(productOf(operation)), username);
+                return success(index, HttpStatus.CREATED, created.getId(), created);
+            }
+            case UPDATE_PRODUCT -> {
+                Long productId = resolve(operation.getProductId(), "productId", index, previous);
+                ProductDTO updated = productService.updateProduct(productId, validated(productOf(operation)), username);
+                return success(index, HttpStatus.OK, productId, updated);
+            }
+            case DELETE_PRODUCT -> {
+                Long productId = resolve(operation.getProductId(), "productId", index, previous);
+                productService.deleteProduct(productId, username);
+                return success(index, HttpStatus.NO_CONTENT, productId, null);
+            }
+            case CREATE_ITEM -> {
+                Long productId = resolve(operation.getProductId(), "productId", index, previous);
+                ItemDTO created = itemService.createItem(productId, validated(itemOf(operation, productId)), username);
+                return success(index, HttpStatus.CREATED, created.getId(), created);
+            }
+            case UPDATE_ITEM -> {
+                Long productId = resolve(operation.getProductId(), "productId", index, previous);
+                Long itemId = resolve(operation.getItemId(), "itemId", index, previous);
+                ItemDTO updated = itemService.updateItem(productId, itemId, validated(itemOf(operation, productId)), username);
+                return success(index, HttpStatus.OK, itemId, updated);
+            }
+            case DELETE_ITEM -> {
+                Long productId = resolve(operation.getProductId(), "productId", index, previous);
+                Long itemId = resolve(operation.getItemId(), "itemId", index, previous);
+                itemService.deleteItem(productId, itemId, username);
+                return success(index, HttpStatus.NO_CONTENT, itemId, null);
+            }
+            default -> throw new InvalidRequestException("Operation type is required");
+        }
+    }
+
+    /**
+     * A literal ID, or {@code $n} for the ID produced by the earlier operation {@code n}.
+     */
+    private static Long resolve(String value, String field, int index, List<BatchOperationResult> previous) {
+        if (value == null || value.isBlank()) {
+            throw new InvalidRequestException(field + " is required");
+        }
+        String trimmed = value.trim();
+        if (!trimmed.startsWith(REFERENCE_PREFIX)) {
+            try {
+                return Long.valueOf(trimmed);
+            } catch (NumberFormatException ex) {
+                throw new InvalidRequestException(field + " must be an ID or a $n reference");
+            }
+        }
+        int referenced = referencedIndex(trimmed, field);
+        if (referenced >= index) {
+            throw new InvalidRequestException(field + " can only reference an earlier operation");
+        }
+        BatchOperationResult result = previous.get(referenced);
+        if (result.getError() != null || result.getId() == null) {
+            throw new InvalidRequestException(field + " references operation " + referenced + ", which failed");
+        }
+        return result.getId();
+    }
+
+    private static int referencedIndex(String reference, String field) {
+        try {
+            int referenced = Integer.parseInt(reference.substring(REFERENCE_PREFIX.length()));
+            if (referenced < 0) {
+                throw new InvalidRequestException(field + " must be an ID or a $n reference");
+            }
+            return referenced;
+        } catch (NumberFormatException ex) {
+            throw new InvalidRequestException(field + " must be an ID or a $n reference");
+        }
+    }
+
+    /**
+     * The shard every operation of an atomic batch runs on: a created product's name decides
+     * its shard, everything else follows its product ID or the operation it references.
+     */
+    private int commonShard(List<BatchOperation> operations) {
+        if (!shardResolver.isEnabled()) {
+            return 0;
+        }
+        int[] shards = new int[operations.size()];
+        Integer common = null;
+        for (int index = 0; index < operations.size(); index++) {
+            BatchOperation operation = operations.get(index);
+            if (operation.getType() == BatchOperationType.CREATE_PRODUCT) {
+                String productName = operation.getProductName();
+                if (productName == null || productName.isBlank()) {
+                    continue;
+                }
+                shards[index] = shardResolver.shardForProductName(productName);
+            } else {
+                String productId = operation.getProductId();
+                if (productId == null || productId.isBlank()) {
+                    continue;
+                }
+                String trimmed = productId.trim();
+                if (trimmed.startsWith(REFERENCE_PREFIX)) {
+                    int referenced = referencedIndex(trimmed, "productId");
+                    if (referenced >= index) {
+                        continue;
+                    }
+                    shards[index] = shards[referenced];
+                } else {
+                    try {
+                        shards[index] = shardResolver.shardForProductId(Long.valueOf(trimmed));
+                    } catch (NumberFormatException ex) {
+                        continue;
+                    }
+                }
+            }
+            if (common == null) {
+                common = shards[index];
+            } else if (common != shards[index]) {
+                throw new InvalidRequestException("An atomic batch can only touch products on one shard; "
+                        + "send it with atomic=false or split it");
+            }
+        }
+        return common == null ? 0 : common;
+    }
+
+    private <T> T validated(T dto) {
+        Set<ConstraintViolation<T>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            throw new InvalidRequestException(violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return dto;
+    }
+
+    private static ProductDTO productOf(BatchOperation operation) {
+        return ProductDTO.builder()
+                .productName(operation.getProductName())
+                .build();
+    }
+
+    private static ItemDTO itemOf(BatchOperation operation, Long productId) {
+        return ItemDTO.builder()
+                .productId(productId)
+                .quantity(operation.getQuantity())
+                .build();
+    }
+
+    private static void markRolledBack(List<BatchOperation> operations, List<BatchOperationResult> results) {
+        int failed = results.size() - 1;
+        for (int index = 0; index < failed; index++) {
+            results.set(index, failure(index, HttpStatus.CONFLICT, "Rolled back because operation " + failed + " failed"));
+        }
+        for (int index = failed + 1; index < operations.size(); index++) {
+            results.add(failure(index, HttpStatus.CONFLICT, "Not executed because operation " + failed + " failed"));
+        }
+    }
+
+    private static BatchOperationResult success(int index, HttpStatus status, Long id, Object data) {
+        return BatchOperationResult.builder()
+                .index(index)
+                .status(status.value())
+                .id(id)
+                .data(data)
+                .build();
+    }
+
+    private static BatchOperationResult failure(int index, HttpStatus status, String error) {
+        return BatchOperationResult.builder()
+                .index(index)
+                .status(status.value())
+                .error(error)
+                .build();
+    }
+}
@@ -0,0 +1,313 @@
+package com.productmanager.service.impl;
+
+import com.productmanager.changes.ChangeLogRecorder;
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.dto.DeletedEntityDTO;
+import com.productmanager.dto.DeltaSyncResponse;
+import com.productmanager.dto.ItemDTO;
+import com.productmanager.dto.ProductDTO;
+import com.productmanager.entity.ChangeLogEntry;
+import com.productmanager.entity.ChangeLogEntry.EntityType;
+import com.productmanager.entity.Item;
+import com.productmanager.entity.Product;
+import com.productmanager.event.ChangeType;
+import com.productmanager.exception.InvalidRequestException;
+import com.productmanager.repository.ChangeLogRepository;
+import com.productmanager.repository.ItemRepository;
+import com.productmanager.repository.ProductRepository;
+import com.productmanager.service.DeltaSyncService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Answers "what changed since token" from the {@code change_log} table.
+ *
+ * A token is the last change sequence a client has seen on every shard, dot-separated. Reads walk
+ * the primary key from there, so cost depends on the number of changes, not the catalog size.
+ * Because identity values are assigned at insert but become visible at commit, a hole in the
+ * sequence stops the read: the missing change may still commit, and moving the token past it
+ * would lose it. Holes are remembered from the first read that meets them and are passed once
+ * they have stayed open for {@code changes.sync.settle-ms}, as left by a rollback; a change held
+ * back longer than that by its transaction is missed. Each instance keeps its own record, so an
+ * instance that has not met a hole yet waits for it again.
+ */
+@Slf4j
+@Service
+@SuppressWarnings("null")
+public class DeltaSyncServiceImpl implements DeltaSyncService {
+
+    private static final String TOKEN_SEPARATOR = ".";
+
+    private static final int MAX_TRACKED_HOLES = 10_000;
+
+    @Autowired
+    private ChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ChangeLogRecorder changeLogRecorder;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Autowired
+    private ShardTransactions shardTransactions;
+
+    @Value("${changes.sync.settle-ms:5000}")
+    private long settleMs;
+
+    @Value("${changes.sync.max-limit:1000}")
+    private int maxLimit;
+
+    // When each hole, keyed by shard and first missing sequence, was first met
+    private final Map<Hole, Long> holesFirstSeen = new ConcurrentHashMap<>();
+
+    @Override
+    public DeltaSyncResponse getChangesSince(String token, int limit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new InvalidRequestException("limit must be between 1 and " + maxLimit);
+        }
+        int shardCount = shardResolver.getShardCount();
+        LocalDateTime settledBefore = LocalDateTime.now().minusNanos(settleMs * 1_000_000);
+
+        if (token == null || token.isBlank()) {
+            log.info("Issuing initial sync token");
+            return emptyResponse(headToken(shardCount, settledBefore), false);
+        }
+
+        long[] since = parseToken(token);
+        if (since.length != shardCount) {
+            log.info("Sync token {} does not match {} shard(s); reset required", token, shardCount);
+            return emptyResponse(headToken(shardCount, settledBefore), true);
+        }
+
+        DeltaSyncResponse response = emptyResponse(null, false);
+        long[] cursors = new long[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            ShardDelta delta = shardTransactions.readOnShard(shard, () -> readShard(target, since[target], limit));
+            if (delta.resetRequired) {
+                log.info("Sync token {} is outside the retained change log on shard {}; reset required", token, shard);
+                return emptyResponse(headToken(shardCount, settledBefore), true);
+            }
+            response.getProducts().addAll(delta.products);
+            response.getItems().addAll(delta.items);
+            response.getDeleted().addAll(delta.deleted);
+            response.setHasMore(response.isHasMore() || delta.hasMore);
+            cursors[shard] = delta.cursor;
+        }
+        response.setNextToken(formatToken(cursors));
+        log.info("Delta sync since {}: {} product(s), {} item(s), {} deletion(s)", token,
+                response.getProducts().size(), response.getItems().size(), response.getDeleted().size());
+        return response;
+    }
+
+    private ShardDelta readShard(int shard, long since, int limit) {
+        long step = shardResolver.getShardCount();
+        ShardDelta delta = new ShardDelta();
+        delta.cursor = since;
+
+        if (since > 0 && isOutsideRetainedLog(since, step)) {
+            delta.resetRequired = true;
+            return delta;
+        }
+
+        List<ChangeLogEntry> entries = changeLogRepository.findByIdGreaterThanOrderByIdAsc(since, PageRequest.of(0, limit + 1));
+        delta.hasMore = entries.size() > limit;
+
+        // Latest change per entity, in sequence order. Holes after the first open one are still
+        // noted, so they settle together rather than one per read
+        Map<String, ChangeLogEntry> latest = new LinkedHashMap<>();
+        long expected = since == 0 ? shardResolver.identityStart(shard) : since + step;
+        long now = System.currentTimeMillis();
+        boolean blocked = false;
+        for (ChangeLogEntry entry : entries.subList(0, Math.min(limit, entries.size()))) {
+            if (entry.getId() != expected && !holeSettled(shard, expected, now)) {
+                blocked = true;
+                delta.hasMore = true;
+            }
+            expected = entry.getId() + step;
+            if (blocked) {
+                continue;
+            }
+            latest.remove(entry.getEntityType() + ":" + entry.getEntityId());
+            latest.put(entry.getEntityType() + ":" + entry.getEntityId(), entry);
+            delta.cursor = entry.getId();
+        }
+
+        List<Long> productIds = new ArrayList<>();
+        List<Long> itemIds = new ArrayList<>();
+        for (ChangeLogEntry entry : latest.values()) {
+            if (entry.getChangeType() == ChangeType.PRODUCT_DELETED || entry.getChangeType() == ChangeType.ITEM_DELETED) {
+                delta.deleted.add(tombstone(entry));
+            } else if (entry.getEntityType() == EntityType.PRODUCT) {
+                productIds.add(entry.getEntityId());
+            } else {
+                itemIds.add(entry.getEntityId());
+            }
+        }
+
+        Map<Long, Product> products = productRepository.findAllById(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<Long, Long> itemCounts = new HashMap<>();
+        if (!products.isEmpty()) {
+            for (Object[] row : itemRepository.countByProductIds(products.keySet())) {
+                itemCounts.put((Long) row[0], (Long) row[1]);
+            }
+        }
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        for (ChangeLogEntry entry : latest.values()) {
+            if (entry.getChangeType() == ChangeType.PRODUCT_DELETED || entry.getChangeType() == ChangeType.ITEM_DELETED) {
+                continue;
+            }
+            if (entry.getEntityType() == EntityType.PRODUCT) {
+                Product product = products.get(entry.getEntityId());
+                if (product != null) {
+                    delta.products.add(mapToDTO(product, itemCounts.getOrDefault(product.getId(), 0L)));
+                } else {
+                    // Deleted after the change was logged, or along with its product
+                    delta.deleted.add(tombstone(entry));
+                }
+            } else {
+                Item item = items.get(entry.getEntityId());
+                if (item != null) {
+                    delta.items.add(mapToDTO(item));
+                } else {
+                    delta.deleted.add(tombstone(entry));
+                }
+            }
+        }
+        return delta;
+    }
+
+    private boolean holeSettled(int shard, long firstMissing, long now) {
+        if (holesFirstSeen.size() >= MAX_TRACKED_HOLES) {
+            // Forgetting a passed hole only makes a reader that is still behind it wait once more
+            holesFirstSeen.values().removeIf(firstSeen -> now - firstSeen >= settleMs);
+        }
+        long firstSeen = holesFirstSeen.computeIfAbsent(new Hole(shard, firstMissing), hole -> now);
+        return now - firstSeen >= settleMs;
+    }
+
+    private boolean isOutsideRetainedLog(long since, long step) {
+        ChangeLogEntry newest = changeLogRepository.findFirstByOrderByIdDesc().orElse(null);
+        if (newest == null || since > newest.getId()) {
+            // Issued by a different database, e.g. before an in-memory database was recreated
+            return true;
+        }
+        if (!changeLogRecorder.isRetentionEnabled()) {
+            return false;
+        }
+        ChangeLogEntry oldest = changeLogRepository.findFirstByOrderByIdAsc().orElse(null);
+        return oldest != null && since < oldest.getId() - step;
+    }
+
+    private String headToken(int shardCount, LocalDateTime settledBefore) {
+        long[] heads = new long[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            heads[shard] = shardTransactions.readOnShard(shard, () -> changeLogRepository.findFirstByRecordedOnBeforeOrderByIdDesc(settledBefore)
+                    .map(ChangeLogEntry::getId)
+                    .orElse(0L));
+        }
+        return formatToken(heads);
+    }
+
+    private long[] parseToken(String token) {
+        String[] parts = token.split("\\" + TOKEN_SEPARATOR, -1);
+        long[] sequences = new long[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                sequences[i] = Long.parseLong(parts[i]);
+                if (sequences[i] < 0) {
+                    throw InvalidRequestException.invalidSyncToken(token);
+                }
+            }
+        } catch (NumberFormatException ex) {
+            throw InvalidRequestException.invalidSyncToken(token);
+        }
+        return sequences;
+    }
+
+    private String formatToken(long[] sequences) {
+        StringJoiner joiner = new StringJoiner(TOKEN_SEPARATOR);
+        for (long sequence : sequences) {
+            joiner.add(Long.toString(sequence));
+        }
+        return joiner.toString();
+    }
+
+    private DeltaSyncResponse emptyResponse(String nextToken, boolean resetRequired) {
+        return DeltaSyncResponse.builder()
+                .products(new ArrayList<>())
+                .items(new ArrayList<>())
+                .deleted(new ArrayList<>())
+                .nextToken(nextToken)
+                .resetRequired(resetRequired)
+                .build();
+    }
+
+    private DeletedEntityDTO tombstone(ChangeLogEntry entry) {
+        return DeletedEntityDTO.builder()
+                .entityType(entry.getEntityType().name())
+                .id(entry.getEntityId())
+                .productId(entry.getProductId())
+                .deletedOn(entry.getRecordedOn())
+                .build();
+    }
+
+    private ProductDTO mapToDTO(Product product, long itemCount) {
+        return ProductDTO.builder()
+                .id(product.getId())
+                .productName(product.getProductName())
+                .createdBy(product.getCreatedBy())
+                .createdOn(product.getCreatedOn())
+                .modifiedBy(product.getModifiedBy())
+                .modifiedOn(product.getModifiedOn())
+                .itemCount((int) itemCount)
+                .version(product.getVersion())
+                .build();
+    }
+
+    private ItemDTO mapToDTO(Item item) {
+        return ItemDTO.builder()
+                .id(item.getId())
+                .productId(item.getProduct().getId())
+                .quantity(item.getQuantity())
+                .version(item.getVersion())
+                .build();
+    }
+
+    private record Hole(int shard, long firstMissing) {
+    }
+
+    private static final class ShardDelta {
+        private final List<ProductDTO> products = new ArrayList<>();
+        private final List<ItemDTO> items = new ArrayList<>();
+        private final List<DeletedEntityDTO> deleted = new ArrayList<>();
+        private long cursor;
+        private boolean hasMore;
+        private boolean resetRequired;
+    }
+}
@@ -0,0 +1,115 @@
+package com.productmanager.service.impl;
+
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.dto.CursorPageResponse;
+import com.productmanager.dto.ItemHistoryDTO;
+import com.productmanager.dto.ProductHistoryDTO;
+import com.productmanager.entity.ItemHistory;
+import com.productmanager.entity.ProductHistory;
+import com.productmanager.exception.InvalidRequestException;
+import com.productmanager.repository.ItemHistoryRepository;
+import com.productmanager.repository.ProductHistoryRepository;
+import com.productmanager.service.HistoryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Change history, newest first, as range scans over {@code (entity id, id)}.
+ *
+ * The cursor is the id of the last entry returned. History rows live on the shard of the
+ * product they belong to, and stay readable after the product or item is deleted.
+ */
+@Slf4j
+@Service
+@SuppressWarnings("null")
+public class HistoryServiceImpl implements HistoryService {
+
+    @Autowired
+    private ProductHistoryRepository productHistoryRepository;
+
+    @Autowired
+    private ItemHistoryRepository itemHistoryRepository;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Autowired
+    private ShardTransactions shardTransactions;
+
+    @Override
+    public CursorPageResponse<ProductHistoryDTO> getProductHistory(Long productId, String cursor, int size) {
+        log.info("Fetching history for product id: {}", productId);
+        long beforeId = decodeCursor(cursor);
+        // One extra row tells whether another page exists
+        Pageable window = PageRequest.of(0, size + 1);
+        List<ProductHistoryDTO> rows = shardTransactions.readOnShard(shardResolver.shardForProductId(productId),
+                () -> productHistoryRepository.findByProductIdAndIdLessThanOrderByIdDesc(productId, beforeId, window)
+                        .stream().map(this::mapToDTO).toList());
+        return toPage(rows, size, ProductHistoryDTO::getId);
+    }
+
+    @Override
+    public CursorPageResponse<ItemHistoryDTO> getItemHistory(Long productId, Long itemId, String cursor, int size) {
+        log.info("Fetching history for item id: {} of product id: {}", itemId, productId);
+        long beforeId = decodeCursor(cursor);
+        Pageable window = PageRequest.of(0, size + 1);
+        List<ItemHistoryDTO> rows = shardTransactions.readOnShard(shardResolver.shardForProductId(productId),
+                () -> itemHistoryRepository.findByItemIdAndProductIdAndIdLessThanOrderByIdDesc(itemId, productId, beforeId, window)
+                        .stream().map(this::mapToDTO).toList());
+        return toPage(rows, size, ItemHistoryDTO::getId);
+    }
+
+    private static <T> CursorPageResponse<T> toPage(List<T> rows, int size, Function<T, Long> idOf) {
+        boolean hasMore = rows.size() > size;
+        List<T> page = hasMore ? rows.subList(0, size) : rows;
+        return CursorPageResponse.<T>builder()
+                .content(page)
+                .pageSize(size)
+                .nextCursor(hasMore ? Long.toString(idOf.apply(page.get(page.size() - 1))) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    static long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            return Long.parseLong(cursor.trim());
+        } catch (NumberFormatException ex) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private ProductHistoryDTO mapToDTO(ProductHistory entry) {
+        return ProductHistoryDTO.builder()
+                .id(entry.getId())
+                .productId(entry.getProductId())
+                .changeType(entry.getChangeType())
+                .previousName(entry.getPreviousName())
+                .productName(entry.getProductName())
+                .actor(entry.getActor())
+                .changedOn(entry.getChangedOn())
+                .build();
+    }
+
+    private ItemHistoryDTO mapToDTO(ItemHistory entry) {
+        return ItemHistoryDTO.builder()
+                .id(entry.getId())
+                .itemId(entry.getItemId())
+                .productId(entry.getProductId())
+                .changeType(entry.getChangeType())
+                .previousQuantity(entry.getPreviousQuantity())
+                .quantity(entry.getQuantity())
+                .actor(entry.getActor())
+                .changedOn(entry.getChangedOn())
+                .build();
+    }
+}
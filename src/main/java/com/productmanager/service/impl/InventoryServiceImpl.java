@@ -0,0 +1,119 @@
+package com.productmanager.service.impl;
+
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.dto.CursorPageResponse;
+import com.productmanager.dto.ItemDTO;
+import com.productmanager.entity.Item;
+import com.productmanager.exception.InvalidRequestException;
+import com.productmanager.repository.ItemRepository;
+import com.productmanager.service.InventoryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Low-stock lookups as index range scans over {@code (quantity, id)}.
+ *
+ * Pages are keyset-based: the cursor is the {@code (quantity, id)} of the last row returned, so
+ * every page costs the same regardless of depth and rows changing between calls never shift the
+ * window. With sharding enabled, unscoped and owner-scoped lookups read the next page from every
+ * shard and merge; product-scoped lookups go to the product's shard only.
+ */
+@Slf4j
+@Service
+@SuppressWarnings("null")
+public class InventoryServiceImpl implements InventoryService {
+
+    private static final Comparator<ItemDTO> BY_QUANTITY_THEN_ID = Comparator
+            .comparing(ItemDTO::getQuantity)
+            .thenComparing(ItemDTO::getId);
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Autowired
+    private ShardTransactions shardTransactions;
+
+    @Override
+    public CursorPageResponse<ItemDTO> getLowStockItems(int threshold, String cursor, int size, Long productId, String owner) {
+        log.info("Fetching low-stock items - threshold: {}, productId: {}, owner: {}, size: {}", threshold, productId, owner, size);
+        if (productId != null && owner != null) {
+            throw new InvalidRequestException("productId and owner cannot be combined");
+        }
+        int afterQuantity = Integer.MIN_VALUE;
+        long afterId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            long[] position = decodeCursor(cursor);
+            afterQuantity = (int) position[0];
+            afterId = position[1];
+        }
+
+        // One extra row tells whether another page exists
+        Pageable window = PageRequest.of(0, size + 1);
+        int fromQuantity = afterQuantity;
+        long fromId = afterId;
+        List<ItemDTO> rows;
+        if (productId != null) {
+            rows = shardTransactions.readOnShard(shardResolver.shardForProductId(productId), () -> mapToDTOs(
+                    itemRepository.findLowStockByProductId(productId, threshold, fromQuantity, fromId, window)));
+        } else {
+            rows = new ArrayList<>();
+            for (int shard = 0; shard < shardResolver.getShardCount(); shard++) {
+                rows.addAll(shardTransactions.readOnShard(shard, () -> mapToDTOs(owner != null
+                        ? itemRepository.findLowStockByOwner(owner, threshold, fromQuantity, fromId, window)
+                        : itemRepository.findLowStock(threshold, fromQuantity, fromId, window))));
+            }
+            rows.sort(BY_QUANTITY_THEN_ID);
+        }
+
+        boolean hasMore = rows.size() > size;
+        List<ItemDTO> page = hasMore ? rows.subList(0, size) : rows;
+        ItemDTO last = page.isEmpty() ? null : page.get(page.size() - 1);
+        return CursorPageResponse.<ItemDTO>builder()
+                .content(page)
+                .pageSize(size)
+                .nextCursor(hasMore ? encodeCursor(last.getQuantity(), last.getId()) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    private List<ItemDTO> mapToDTOs(List<Item> items) {
+        return new ArrayList<>(items.stream().map(this::mapToDTO).toList());
+    }
+
+    private ItemDTO mapToDTO(Item item) {
+        return ItemDTO.builder()
+                .id(item.getId())
+                .productId(item.getProduct().getId())
+                .quantity(item.getQuantity())
+                .version(item.getVersion())
+                .build();
+    }
+
+    static String encodeCursor(int quantity, long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((quantity + ":" + id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    static long[] decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII);
+            int separator = decoded.indexOf(':');
+            return new long[]{Integer.parseInt(decoded.substring(0, separator)), Long.parseLong(decoded.substring(separator + 1))};
+        } catch (IllegalArgumentException | IndexOutOfBoundsException ex) {
+            throw new InvalidRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
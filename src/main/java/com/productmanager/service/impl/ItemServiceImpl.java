@@ -1,20 +1,29 @@
 package com.productmanager.service.impl;
 
+import com.productmanager.coalescing.Coalesced;
 import com.productmanager.dto.ItemDTO;
 import com.productmanager.dto.PagedResponse;
 import com.productmanager.entity.Item;
 import com.productmanager.entity.Product;
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.event.ChangeType;
 import com.productmanager.exception.ResourceNotFoundException;
 import com.productmanager.repository.ItemRepository;
 import com.productmanager.repository.ProductRepository;
+import com.productmanager.retry.RetryOnConflict;
 import com.productmanager.service.ItemService;
+import com.productmanager.swr.StaleWhileRevalidate;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Slf4j
 @Service
 @Transactional
@@ -27,8 +36,11 @@ public class ItemServiceImpl implements ItemService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
-    public ItemDTO createItem(Long productId, ItemDTO itemDTO) {
+    public ItemDTO createItem(Long productId, ItemDTO itemDTO, String username) {
         log.info("Creating item for product id: {}", productId);
 
         Product product = productRepository.findById(productId)
@@ -41,12 +53,14 @@ public class ItemServiceImpl implements ItemService {
 
         Item savedItem = itemRepository.save(item);
         log.info("Item created successfully with id: {}", savedItem.getId());
+        publishChange(ChangeType.ITEM_CREATED, product, savedItem, null, username);
 
         return mapToDTO(savedItem);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @StaleWhileRevalidate
     public ItemDTO getItemById(Long productId, Long itemId) {
         log.info("Fetching item with id: {} for product id: {}", itemId, productId);
 
@@ -62,6 +76,8 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     @Transactional(readOnly = true)
+    @Coalesced
+    @StaleWhileRevalidate
     public PagedResponse<ItemDTO> getItemsByProductId(Long productId, Pageable pageable) {
         log.info("Fetching items for product id: {}", productId);
 
@@ -74,30 +90,35 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public ItemDTO updateItem(Long productId, Long itemId, ItemDTO itemDTO) {
+    @RetryOnConflict
+    public ItemDTO updateItem(Long productId, Long itemId, ItemDTO itemDTO, String username) {
         log.info("Updating item with id: {} for product id: {}", itemId, productId);
 
         // Verify product exists
-        productRepository.findById(productId)
+        Product product = productRepository.findById(productId)
                 .orElseThrow(() -> ResourceNotFoundException.productNotFound(productId));
 
         Item item = itemRepository.findByIdAndProductId(itemId, productId)
                 .orElseThrow(() -> ResourceNotFoundException.itemNotFound(itemId));
 
+        Integer previousQuantity = item.getQuantity();
         item.setQuantity(itemDTO.getQuantity());
 
-        Item updatedItem = itemRepository.save(item);
+        // Flush so the returned version is the one the update wrote
+        Item updatedItem = itemRepository.saveAndFlush(item);
         log.info("Item updated successfully with id: {}", itemId);
+        publishChange(ChangeType.ITEM_UPDATED, product, updatedItem, previousQuantity, username);
 
         return mapToDTO(updatedItem);
     }
 
     @Override
-    public void deleteItem(Long productId, Long itemId) {
+    @RetryOnConflict
+    public void deleteItem(Long productId, Long itemId, String username) {
         log.info("Deleting item with id: {} for product id: {}", itemId, productId);
 
         // Verify product exists
-        productRepository.findById(productId)
+        Product product = productRepository.findById(productId)
                 .orElseThrow(() -> ResourceNotFoundException.productNotFound(productId));
 
         Item item = itemRepository.findByIdAndProductId(itemId, productId)
@@ -105,18 +126,36 @@ public class ItemServiceImpl implements ItemService {
 
         itemRepository.delete(item);
         log.info("Item deleted successfully with id: {}", itemId);
+        publishChange(ChangeType.ITEM_DELETED, product, item, item.getQuantity(), username);
     }
 
     @Override
-    public void deleteAllItemsByProductId(Long productId) {
+    public void deleteAllItemsByProductId(Long productId, String username) {
         log.info("Deleting all items for product id: {}", productId);
 
         // Verify product exists
-        productRepository.findById(productId)
+        Product product = productRepository.findById(productId)
                 .orElseThrow(() -> ResourceNotFoundException.productNotFound(productId));
 
+        List<Item> items = itemRepository.findByProductId(productId);
         itemRepository.deleteByProductId(productId);
         log.info("All items deleted for product id: {}", productId);
+        items.forEach(item -> publishChange(ChangeType.ITEM_DELETED, product, item, item.getQuantity(), username));
+    }
+
+    private void publishChange(ChangeType type, Product product, Item item, Integer previousQuantity, String username) {
+        eventPublisher.publishEvent(CatalogChangeEvent.builder()
+                .type(type)
+                .productId(product.getId())
+                .itemId(item.getId())
+                .owner(product.getCreatedBy())
+                .productName(product.getProductName())
+                .quantity(type == ChangeType.ITEM_DELETED ? null : item.getQuantity())
+                .previousQuantity(previousQuantity)
+                .version(type == ChangeType.ITEM_DELETED ? null : item.getVersion())
+                .actor(username)
+                .occurredOn(LocalDateTime.now())
+                .build());
     }
 
     private ItemDTO mapToDTO(Item item) {
@@ -124,6 +163,7 @@ public class ItemServiceImpl implements ItemService {
                 .id(item.getId())
                 .productId(item.getProduct().getId())
                 .quantity(item.getQuantity())
+                .version(item.getVersion())
                 .build();
     }
 
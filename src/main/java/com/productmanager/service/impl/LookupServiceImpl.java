@@ -0,0 +1,163 @@
+package com.productmanager.service.impl;
+
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.dto.ItemDTO;
+import com.productmanager.dto.LookupResult;
+import com.productmanager.dto.MultiGetResponse;
+import com.productmanager.dto.ProductDTO;
+import com.productmanager.entity.Item;
+import com.productmanager.entity.Product;
+import com.productmanager.exception.InvalidRequestException;
+import com.productmanager.repository.ItemRepository;
+import com.productmanager.repository.ProductRepository;
+import com.productmanager.service.LookupService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Resolves lists of product or item ids with one {@code IN} query per batch instead of one
+ * request per id.
+ *
+ * Ids are de-duplicated, grouped by shard and split into batches; each batch runs in its own
+ * read-only transaction on its shard. Product batches fetch their item counts with a single
+ * grouped query in the same transaction. Items have their own identity sequence, interleaved
+ * across shards the same way as product ids, so an item id also names its shard.
+ */
+@Slf4j
+@Service
+@SuppressWarnings("null")
+public class LookupServiceImpl implements LookupService {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Autowired
+    private ShardTransactions shardTransactions;
+
+    @Value("${lookup.max-ids:500}")
+    private int maxIds;
+
+    @Value("${lookup.batch-size:100}")
+    private int batchSize;
+
+    @Override
+    public MultiGetResponse<ProductDTO> getProductsByIds(List<Long> ids) {
+        log.info("Looking up {} products", ids.size());
+        Map<Long, ProductDTO> found = new HashMap<>();
+        for (Map.Entry<Integer, List<Long>> batch : batches(ids, shardResolver::shardForProductId)) {
+            found.putAll(shardTransactions.readOnShard(batch.getKey(), () -> loadProducts(batch.getValue())));
+        }
+        return assemble(ids, found);
+    }
+
+    @Override
+    public MultiGetResponse<ItemDTO> getItemsByIds(List<Long> ids) {
+        log.info("Looking up {} items", ids.size());
+        Map<Long, ItemDTO> found = new HashMap<>();
+        for (Map.Entry<Integer, List<Long>> batch : batches(ids, shardResolver::shardForItemId)) {
+            found.putAll(shardTransactions.readOnShard(batch.getKey(), () -> loadItems(batch.getValue())));
+        }
+        return assemble(ids, found);
+    }
+
+    private Map<Long, ProductDTO> loadProducts(List<Long> ids) {
+        List<Product> products = productRepository.findAllById(ids);
+        Map<Long, Long> itemCounts = new HashMap<>();
+        if (!products.isEmpty()) {
+            for (Object[] row : itemRepository.countByProductIds(ids)) {
+                itemCounts.put((Long) row[0], (Long) row[1]);
+            }
+        }
+        Map<Long, ProductDTO> dtos = new HashMap<>();
+        for (Product product : products) {
+            dtos.put(product.getId(), ProductDTO.builder()
+                    .id(product.getId())
+                    .productName(product.getProductName())
+                    .createdBy(product.getCreatedBy())
+                    .createdOn(product.getCreatedOn())
+                    .modifiedBy(product.getModifiedBy())
+                    .modifiedOn(product.getModifiedOn())
+                    .itemCount(itemCounts.getOrDefault(product.getId(), 0L).intValue())
+                    .version(product.getVersion())
+                    .build());
+        }
+        return dtos;
+    }
+
+    private Map<Long, ItemDTO> loadItems(List<Long> ids) {
+        Map<Long, ItemDTO> dtos = new HashMap<>();
+        for (Item item : itemRepository.findAllById(ids)) {
+            dtos.put(item.getId(), ItemDTO.builder()
+                    .id(item.getId())
+                    .productId(item.getProduct().getId())
+                    .quantity(item.getQuantity())
+                    .version(item.getVersion())
+                    .build());
+        }
+        return dtos;
+    }
+
+    /**
+     * Distinct ids grouped by shard and cut into batches of at most {@code lookup.batch-size}.
+     */
+    private List<Map.Entry<Integer, List<Long>>> batches(List<Long> ids, ToIntFunction<Long> shardOf) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidRequestException("At least one ID is required");
+        }
+        if (ids.size() > maxIds) {
+            throw new InvalidRequestException("At most " + maxIds + " IDs can be looked up at once");
+        }
+        Map<Integer, List<Long>> byShard = new TreeMap<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            if (id == null) {
+                throw new InvalidRequestException("IDs cannot contain null");
+            }
+            byShard.computeIfAbsent(shardOf.applyAsInt(id), shard -> new ArrayList<>()).add(id);
+        }
+        List<Map.Entry<Integer, List<Long>>> batches = new ArrayList<>();
+        byShard.forEach((shard, shardIds) -> {
+            for (int from = 0; from < shardIds.size(); from += batchSize) {
+                batches.add(Map.entry(shard, shardIds.subList(from, Math.min(shardIds.size(), from + batchSize))));
+            }
+        });
+        return batches;
+    }
+
+    private static <T> MultiGetResponse<T> assemble(List<Long> ids, Map<Long, T> found) {
+        List<LookupResult<T>> results = new ArrayList<>(ids.size());
+        int foundCount = 0;
+        for (Long id : ids) {
+            T data = found.get(id);
+            if (data != null) {
+                foundCount++;
+            }
+            results.add(LookupResult.<T>builder()
+                    .id(id)
+                    .found(data != null)
+                    .data(data)
+                    .build());
+        }
+        return MultiGetResponse.<T>builder()
+                .results(results)
+                .requested(ids.size())
+                .found(foundCount)
+                .build();
+    }
+}
@@ -1,19 +1,31 @@
 package com.productmanager.service.impl;
 
+import com.productmanager.coalescing.Coalesced;
 import com.productmanager.dto.ProductDTO;
 import com.productmanager.dto.PagedResponse;
 import com.productmanager.entity.Product;
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.event.ChangeType;
 import com.productmanager.exception.DuplicateResourceException;
 import com.productmanager.exception.ResourceNotFoundException;
+import com.productmanager.naming.ProductNameFilter;
 import com.productmanager.repository.ProductRepository;
+import com.productmanager.retry.RetryOnConflict;
 import com.productmanager.service.ProductService;
+import com.productmanager.swr.StaleWhileRevalidate;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Locale;
+
 @Slf4j
 @Service
 @Transactional
@@ -23,12 +35,20 @@ public class ProductServiceImpl implements ProductService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ProductNameFilter productNameFilter;
+
     @Override
     public ProductDTO createProduct(ProductDTO productDTO, String username) {
         log.info("Creating product with name: {}", productDTO.getProductName());
 
-        // Check if product name already exists
-        if (productRepository.countByProductNameIgnoreCase(productDTO.getProductName()) > 0) {
+        // The unique name key decides; the filter only spares obviously new names the lookup
+        String nameKey = Product.nameKey(productDTO.getProductName());
+        if (productNameFilter.isEnabled() && productNameFilter.mightContain(nameKey)
+                && productRepository.existsByProductNameKey(nameKey)) {
             throw DuplicateResourceException.productNameExists(productDTO.getProductName());
         }
 
@@ -37,14 +57,17 @@ public class ProductServiceImpl implements ProductService {
                 .createdBy(username)
                 .build();
 
-        Product savedProduct = productRepository.save(product);
+        Product savedProduct = saveWithUniqueName(product);
         log.info("Product created successfully with id: {}", savedProduct.getId());
+        publishChange(ChangeType.PRODUCT_CREATED, savedProduct, null, username);
 
         return mapToDTO(savedProduct);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @Coalesced
+    @StaleWhileRevalidate
     public ProductDTO getProductById(Long id) {
         log.info("Fetching product with id: {}", id);
         Product product = productRepository.findByIdWithItems(id)
@@ -55,6 +78,22 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     @Transactional(readOnly = true)
+    @Coalesced
+    @StaleWhileRevalidate
+    public ProductDTO getProductById(Long id, boolean withItemCount) {
+        if (withItemCount) {
+            return getProductById(id);
+        }
+        log.info("Fetching product with id: {} without item count", id);
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> ResourceNotFoundException.productNotFound(id));
+
+        return mapToDTOWithoutItemCount(product);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @StaleWhileRevalidate
     public PagedResponse<ProductDTO> getAllProducts(Pageable pageable) {
         log.info("Fetching all products with pagination: page={}, size={}", pageable.getPageNumber(), pageable.getPageSize());
         Page<Product> page = productRepository.findAll(pageable);
@@ -63,6 +102,19 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     @Transactional(readOnly = true)
+    @StaleWhileRevalidate
+    public PagedResponse<ProductDTO> getAllProducts(Pageable pageable, boolean withItemCount) {
+        if (withItemCount) {
+            return getAllProducts(pageable);
+        }
+        log.info("Fetching product summaries with pagination: page={}, size={}", pageable.getPageNumber(), pageable.getPageSize());
+        return toPagedResponse(productRepository.findAllSummaryRows(pageable).map(this::mapSummaryRowToDTO));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Coalesced
+    @StaleWhileRevalidate
     public PagedResponse<ProductDTO> searchProducts(String keyword, Pageable pageable) {
         log.info("Searching products with keyword: {}", keyword);
         Page<Product> page = productRepository.searchProducts(keyword, pageable);
@@ -70,30 +122,40 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Coalesced
+    @StaleWhileRevalidate
+    public PagedResponse<ProductDTO> searchProducts(String keyword, Pageable pageable, boolean withItemCount) {
+        if (withItemCount) {
+            return searchProducts(keyword, pageable);
+        }
+        log.info("Searching product summaries with keyword: {}", keyword);
+        return toPagedResponse(productRepository.searchSummaryRows(keyword, pageable).map(this::mapSummaryRowToDTO));
+    }
+
+    @Override
+    @RetryOnConflict
     public ProductDTO updateProduct(Long id, ProductDTO productDTO, String username) {
         log.info("Updating product with id: {}", id);
 
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> ResourceNotFoundException.productNotFound(id));
 
-        // Check if new product name is already taken by another product
-        if (!product.getProductName().equalsIgnoreCase(productDTO.getProductName())) {
-            if (productRepository.countByProductNameIgnoreCase(productDTO.getProductName()) > 0) {
-                throw DuplicateResourceException.productNameExists(productDTO.getProductName());
-            }
-        }
-
+        String previousName = product.getProductName();
         product.setProductName(productDTO.getProductName());
         product.setModifiedBy(username);
 
-        Product updatedProduct = productRepository.save(product);
+        // A rename onto a name another product holds fails on the unique name key
+        Product updatedProduct = saveWithUniqueName(product);
         log.info("Product updated successfully with id: {}", id);
+        publishChange(ChangeType.PRODUCT_UPDATED, updatedProduct, previousName, username);
 
         return mapToDTO(updatedProduct);
     }
 
     @Override
-    public void deleteProduct(Long id) {
+    @RetryOnConflict
+    public void deleteProduct(Long id, String username) {
         log.info("Deleting product with id: {}", id);
 
         Product product = productRepository.findById(id)
@@ -101,16 +163,59 @@ public class ProductServiceImpl implements ProductService {
 
         productRepository.delete(product);
         log.info("Product deleted successfully with id: {}", id);
+        publishChange(ChangeType.PRODUCT_DELETED, product, null, username);
     }
 
     @Override
     @Transactional(readOnly = true)
+    @StaleWhileRevalidate
     public PagedResponse<ProductDTO> getProductsByCreatedBy(String createdBy, Pageable pageable) {
         log.info("Fetching products created by: {}", createdBy);
         Page<Product> page = productRepository.findByCreatedBy(createdBy, pageable);
         return mapPageToResponse(page);
     }
 
+    /**
+     * Saves and flushes, so a clash on the unique name key surfaces here as a duplicate rather
+     * than as a generic integrity error at commit.
+     */
+    private Product saveWithUniqueName(Product product) {
+        try {
+            return productRepository.saveAndFlush(product);
+        } catch (DataIntegrityViolationException ex) {
+            if (violatesNameKey(ex)) {
+                throw DuplicateResourceException.productNameExists(product.getProductName(), ex);
+            }
+            throw ex;
+        }
+    }
+
+    private static boolean violatesNameKey(DataIntegrityViolationException ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            String detail = cause instanceof ConstraintViolationException violation
+                    ? violation.getConstraintName()
+                    : cause.getMessage();
+            if (detail != null && detail.toLowerCase(Locale.ROOT).contains(Product.NAME_KEY_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void publishChange(ChangeType type, Product product, String previousName, String username) {
+        eventPublisher.publishEvent(CatalogChangeEvent.builder()
+                .type(type)
+                .productId(product.getId())
+                .owner(product.getCreatedBy())
+                .productName(product.getProductName())
+                .previousProductName(previousName)
+                .createdOn(product.getCreatedOn())
+                .version(product.getVersion())
+                .actor(username)
+                .occurredOn(LocalDateTime.now())
+                .build());
+    }
+
     private ProductDTO mapToDTO(Product product) {
         return ProductDTO.builder()
                 .id(product.getId())
@@ -120,12 +225,41 @@ public class ProductServiceImpl implements ProductService {
                 .modifiedBy(product.getModifiedBy())
                 .modifiedOn(product.getModifiedOn())
                 .itemCount(product.getItems() != null ? product.getItems().size() : 0)
+                .version(product.getVersion())
+                .build();
+    }
+
+    private ProductDTO mapToDTOWithoutItemCount(Product product) {
+        return ProductDTO.builder()
+                .id(product.getId())
+                .productName(product.getProductName())
+                .createdBy(product.getCreatedBy())
+                .createdOn(product.getCreatedOn())
+                .modifiedBy(product.getModifiedBy())
+                .modifiedOn(product.getModifiedOn())
+                .version(product.getVersion())
+                .build();
+    }
+
+    private ProductDTO mapSummaryRowToDTO(Object[] row) {
+        return ProductDTO.builder()
+                .id((Long) row[0])
+                .productName((String) row[1])
+                .createdBy((String) row[2])
+                .createdOn((LocalDateTime) row[3])
+                .modifiedBy((String) row[4])
+                .modifiedOn((LocalDateTime) row[5])
+                .version((Long) row[6])
                 .build();
     }
 
     private PagedResponse<ProductDTO> mapPageToResponse(Page<Product> page) {
+        return toPagedResponse(page.map(this::mapToDTO));
+    }
+
+    private PagedResponse<ProductDTO> toPagedResponse(Page<ProductDTO> page) {
         return PagedResponse.<ProductDTO>builder()
-                .content(page.getContent().stream().map(this::mapToDTO).toList())
+                .content(page.getContent())
                 .pageNumber(page.getNumber())
                 .pageSize(page.getSize())
                 .totalElements(page.getTotalElements())
@@ -0,0 +1,278 @@
+package com.productmanager.service.impl;
+
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.dto.ProductDTO;
+import com.productmanager.dto.ProductUpsertResponse;
+import com.productmanager.dto.UpsertOutcome;
+import com.productmanager.dto.UpsertResult;
+import com.productmanager.entity.Product;
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.event.ChangeType;
+import com.productmanager.exception.DuplicateResourceException;
+import com.productmanager.exception.InvalidRequestException;
+import com.productmanager.repository.ProductRepository;
+import com.productmanager.service.ProductUpsertService;
+import com.productmanager.util.JdbcBatches;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Creates or renames many products per call, matching records to products by normalised name.
+ *
+ * Existing products are resolved with one {@code IN} query on the unique name key per shard and
+ * batch. Inserts go to each new name's home shard and updates to the shard the product lives on;
+ * each shard's writes run as JDBC batches in one transaction. Updates bump the version and only
+ * apply when it is unchanged since the lookup, like a JPA optimistic lock; a product changed in
+ * between is reported as a conflict. A name created concurrently by someone else fails its
+ * shard's insert batch on the unique key, and the request can be repeated: records that were
+ * applied come back unchanged.
+ */
+@Slf4j
+@Service
+@SuppressWarnings("null")
+public class ProductUpsertServiceImpl implements ProductUpsertService {
+
+    private static final String INSERT_SQL = "INSERT INTO product "
+            + "(product_name, product_name_key, created_by, created_on, modified_on, version) VALUES (?, ?, ?, ?, ?, 0)";
+
+    private static final String UPDATE_SQL = "UPDATE product SET product_name = ?, product_name_key = ?, "
+            + "modified_by = ?, modified_on = ?, version = version + 1 WHERE id = ? AND version = ?";
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Autowired
+    private ShardTransactions shardTransactions;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${upsert.max-records:5000}")
+    private int maxRecords;
+
+    @Value("${upsert.batch-size:500}")
+    private int batchSize;
+
+    @Override
+    public ProductUpsertResponse upsertProducts(List<ProductDTO> products, String username) {
+        if (products == null || products.isEmpty()) {
+            throw new InvalidRequestException("At least one product is required");
+        }
+        if (products.size() > maxRecords) {
+            throw new InvalidRequestException("At most " + maxRecords + " products can be upserted at once");
+        }
+        log.info("Upserting {} products", products.size());
+
+        UpsertResult[] results = new UpsertResult[products.size()];
+        Map<String, Integer> firstByKey = new LinkedHashMap<>();
+        for (int index = 0; index < products.size(); index++) {
+            String nameKey = Product.nameKey(products.get(index).getProductName());
+            if (firstByKey.putIfAbsent(nameKey, index) != null) {
+                results[index] = result(null, UpsertOutcome.DUPLICATE, null);
+            }
+        }
+
+        Map<String, ExistingProduct> existing = findExisting(new ArrayList<>(firstByKey.keySet()));
+
+        Map<Integer, List<Integer>> insertsByShard = new TreeMap<>();
+        Map<Integer, List<ExistingProduct>> updatesByShard = new TreeMap<>();
+        Map<Long, Integer> indexById = new HashMap<>();
+        firstByKey.forEach((nameKey, index) -> {
+            String productName = products.get(index).getProductName();
+            ExistingProduct current = existing.get(nameKey);
+            if (current == null) {
+                insertsByShard.computeIfAbsent(shardResolver.shardForProductName(productName), shard -> new ArrayList<>())
+                        .add(index);
+            } else if (current.productName().equals(productName)) {
+                results[index] = result(current.id(), UpsertOutcome.UNCHANGED, current.version());
+            } else {
+                updatesByShard.computeIfAbsent(current.shard(), shard -> new ArrayList<>()).add(current);
+                indexById.put(current.id(), index);
+            }
+        });
+
+        Set<Integer> shards = new TreeSet<>(insertsByShard.keySet());
+        shards.addAll(updatesByShard.keySet());
+        for (int shard : shards) {
+            List<Integer> inserts = insertsByShard.getOrDefault(shard, List.of());
+            List<ExistingProduct> updates = updatesByShard.getOrDefault(shard, List.of());
+            shardTransactions.writeOnShard(shard, () -> {
+                insert(products, inserts, username, results);
+                update(products, updates, indexById, username, results);
+                return null;
+            });
+        }
+        return assemble(results);
+    }
+
+    /**
+     * Looks every name key up on every shard: a renamed product stays on the shard it was created
+     * on, so its current name is not necessarily on that name's home shard.
+     */
+    private Map<String, ExistingProduct> findExisting(List<String> nameKeys) {
+        Map<String, ExistingProduct> existing = new HashMap<>();
+        for (int shard = 0; shard < shardResolver.getShardCount(); shard++) {
+            int current = shard;
+            for (List<String> batch : partition(nameKeys)) {
+                List<Object[]> rows = shardTransactions.readOnShard(current,
+                        () -> productRepository.findUpsertRowsByNameKeys(batch));
+                for (Object[] row : rows) {
+                    existing.put((String) row[2], new ExistingProduct(current, (Long) row[0], (String) row[1],
+                            row[3] == null ? 0L : (Long) row[3], (String) row[4], (LocalDateTime) row[5]));
+                }
+            }
+        }
+        return existing;
+    }
+
+    private void insert(List<ProductDTO> products, List<Integer> indexes, String username, UpsertResult[] results) {
+        if (indexes.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp timestamp = Timestamp.valueOf(now);
+        for (List<Integer> batch : partition(indexes)) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (statement, index) -> {
+                    String productName = products.get(index).getProductName();
+                    statement.setString(1, productName);
+                    statement.setString(2, Product.nameKey(productName));
+                    statement.setString(3, username);
+                    statement.setTimestamp(4, timestamp);
+                    statement.setTimestamp(5, timestamp);
+                });
+            } catch (DataIntegrityViolationException ex) {
+                throw new DuplicateResourceException(
+                        "A product in this upsert was created concurrently; repeat the upsert", ex);
+            }
+
+            // Identity values are not returned by batched inserts; read them back by name key
+            List<String> nameKeys = batch.stream()
+                    .map(index -> Product.nameKey(products.get(index).getProductName()))
+                    .toList();
+            Map<String, Long> ids = new HashMap<>();
+            for (Object[] row : productRepository.findUpsertRowsByNameKeys(nameKeys)) {
+                ids.put((String) row[2], (Long) row[0]);
+            }
+            for (Integer index : batch) {
+                String productName = products.get(index).getProductName();
+                Long id = ids.get(Product.nameKey(productName));
+                results[index] = result(id, UpsertOutcome.CREATED, 0L);
+                publishChange(ChangeType.PRODUCT_CREATED, id, productName, null, username, now, 0L, username);
+            }
+        }
+    }
+
+    private void update(List<ProductDTO> products, List<ExistingProduct> targets, Map<Long, Integer> indexById,
+                        String username, UpsertResult[] results) {
+        if (targets.isEmpty()) {
+            return;
+        }
+        Timestamp timestamp = Timestamp.valueOf(LocalDateTime.now());
+        for (List<ExistingProduct> batch : partition(targets)) {
+            int[][] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (statement, target) -> {
+                String productName = products.get(indexById.get(target.id())).getProductName();
+                statement.setString(1, productName);
+                statement.setString(2, Product.nameKey(productName));
+                statement.setString(3, username);
+                statement.setTimestamp(4, timestamp);
+                statement.setLong(5, target.id());
+                statement.setLong(6, target.version());
+            });
+            boolean[] matched = JdbcBatches.rowsMatched(counts);
+            for (int i = 0; i < batch.size(); i++) {
+                ExistingProduct target = batch.get(i);
+                int index = indexById.get(target.id());
+                if (!matched[i]) {
+                    results[index] = result(target.id(), UpsertOutcome.CONFLICT, null);
+                    continue;
+                }
+                String productName = products.get(index).getProductName();
+                results[index] = result(target.id(), UpsertOutcome.UPDATED, target.version() + 1);
+                publishChange(ChangeType.PRODUCT_UPDATED, target.id(), productName, target.productName(),
+                        target.createdBy(), target.createdOn(), target.version() + 1, username);
+            }
+        }
+    }
+
+    private void publishChange(ChangeType type, Long productId, String productName, String previousName,
+                               String owner, LocalDateTime createdOn, Long version, String username) {
+        eventPublisher.publishEvent(CatalogChangeEvent.builder()
+                .type(type)
+                .productId(productId)
+                .owner(owner)
+                .productName(productName)
+                .previousProductName(previousName)
+                .createdOn(createdOn)
+                .version(version)
+                .actor(username)
+                .occurredOn(LocalDateTime.now())
+                .build());
+    }
+
+    private <T> List<List<T>> partition(List<T> values) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += batchSize) {
+            batches.add(values.subList(from, Math.min(values.size(), from + batchSize)));
+        }
+        return batches;
+    }
+
+    private static UpsertResult result(Long id, UpsertOutcome outcome, Long version) {
+        return UpsertResult.builder()
+                .id(id)
+                .outcome(outcome)
+                .version(version)
+                .build();
+    }
+
+    private static ProductUpsertResponse assemble(UpsertResult[] results) {
+        int created = 0;
+        int updated = 0;
+        int unchanged = 0;
+        int rejected = 0;
+        for (UpsertResult result : results) {
+            switch (result.getOutcome()) {
+                case CREATED -> created++;
+                case UPDATED -> updated++;
+                case UNCHANGED -> unchanged++;
+                case DUPLICATE, CONFLICT -> rejected++;
+            }
+        }
+        return ProductUpsertResponse.builder()
+                .results(Arrays.asList(results))
+                .created(created)
+                .updated(updated)
+                .unchanged(unchanged)
+                .rejected(rejected)
+                .build();
+    }
+
+    private record ExistingProduct(int shard, Long id, String productName, long version, String createdBy,
+                                   LocalDateTime createdOn) {
+    }
+}
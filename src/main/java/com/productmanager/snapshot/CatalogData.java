@@ -0,0 +1,91 @@
+package com.productmanager.snapshot;
+
+import com.productmanager.dto.DeletedEntityDTO;
+import com.productmanager.dto.DeltaSyncResponse;
+import com.productmanager.dto.ItemDTO;
+import com.productmanager.dto.ProductDTO;
+import com.productmanager.util.LongObjectHashMap;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The whole catalog as plain records keyed by id, together with the delta-sync token it is
+ * current as of. Not thread-safe; used while loading, catching up and writing snapshots.
+ */
+public class CatalogData {
+
+    private final LongObjectHashMap<ProductRecord> products;
+    private final LongObjectHashMap<ItemRecord> items;
+    private String stamp;
+
+    public CatalogData(int expectedProducts, int expectedItems, String stamp) {
+        this.products = new LongObjectHashMap<>(expectedProducts);
+        this.items = new LongObjectHashMap<>(expectedItems);
+        this.stamp = stamp;
+    }
+
+    public LongObjectHashMap<ProductRecord> getProducts() {
+        return products;
+    }
+
+    public LongObjectHashMap<ItemRecord> getItems() {
+        return items;
+    }
+
+    public String getStamp() {
+        return stamp;
+    }
+
+    public void putProduct(ProductRecord product) {
+        products.put(product.getId(), product);
+    }
+
+    public void putItem(ItemRecord item) {
+        items.put(item.getId(), item);
+    }
+
+    /**
+     * Applies one page of delta-sync changes and advances the stamp. Changes are full current
+     * states, so applying a change the data already contains is harmless.
+     */
+    public void apply(DeltaSyncResponse delta) {
+        for (ProductDTO product : delta.getProducts()) {
+            putProduct(ProductRecord.builder()
+                    .id(product.getId())
+                    .productName(product.getProductName())
+                    .createdBy(product.getCreatedBy())
+                    .createdOn(product.getCreatedOn())
+                    .modifiedBy(product.getModifiedBy())
+                    .modifiedOn(product.getModifiedOn())
+                    .version(product.getVersion())
+                    .build());
+        }
+        for (ItemDTO item : delta.getItems()) {
+            putItem(new ItemRecord(item.getId(), item.getProductId(), item.getQuantity(), item.getVersion()));
+        }
+
+        Set<Long> deletedProducts = new HashSet<>();
+        for (DeletedEntityDTO deleted : delta.getDeleted()) {
+            if ("PRODUCT".equals(deleted.getEntityType())) {
+                products.remove(deleted.getId());
+                deletedProducts.add(deleted.getId());
+            } else {
+                items.remove(deleted.getId());
+            }
+        }
+        if (!deletedProducts.isEmpty()) {
+            // Items of a deleted product are removed with it and get no tombstones of their own
+            List<Long> orphans = new ArrayList<>();
+            items.forEachValue(item -> {
+                if (deletedProducts.contains(item.getProductId())) {
+                    orphans.add(item.getId());
+                }
+            });
+            orphans.forEach(items::remove);
+        }
+        stamp = delta.getNextToken();
+    }
+}
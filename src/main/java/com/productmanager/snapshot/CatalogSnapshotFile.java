@@ -0,0 +1,294 @@
+package com.productmanager.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Binary, memory-mapped catalog snapshot.
+ *
+ * Layout, little-endian:
+ * <pre>
+ * header    64 bytes   magic, format version, creation time, counts, section offsets, CRC-32 of the body
+ * stamp     n bytes    delta-sync token the snapshot is current as of (UTF-8)
+ * strings   (count + 1) end offsets, then the UTF-8 bytes of every distinct string once
+ * products  56 bytes each, sorted by id
+ * items     32 bytes each, sorted by product id then id
+ * </pre>
+ * Records are fixed-width and refer to strings by index, so a product is read with a handful of
+ * absolute loads. Each product record holds the index and count of its items, which are stored
+ * contiguously. A snapshot is written to a temporary file and atomically moved into place.
+ */
+public final class CatalogSnapshotFile {
+
+    static final int MAGIC = 0x4E534D50;
+    static final int FORMAT_VERSION = 2;
+
+    private static final int HEADER_SIZE = 64;
+    private static final int PRODUCT_RECORD_SIZE = 56;
+    private static final int ITEM_RECORD_SIZE = 32;
+    private static final int NO_STRING = -1;
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+    private static final long NO_VERSION = Long.MIN_VALUE;
+
+    private CatalogSnapshotFile() {
+    }
+
+    public static void write(Path path, CatalogData data) throws IOException {
+        List<ProductRecord> products = new ArrayList<>(data.getProducts().size());
+        data.getProducts().forEachValue(products::add);
+        products.sort(Comparator.comparingLong(ProductRecord::getId));
+        List<ItemRecord> items = new ArrayList<>(data.getItems().size());
+        data.getItems().forEachValue(items::add);
+        items.sort(Comparator.comparingLong(ItemRecord::getProductId).thenComparingLong(ItemRecord::getId));
+
+        StringTable strings = new StringTable();
+        int[][] productStrings = new int[products.size()][];
+        for (int i = 0; i < products.size(); i++) {
+            ProductRecord product = products.get(i);
+            productStrings[i] = new int[]{
+                    strings.intern(product.getProductName()),
+                    strings.intern(product.getCreatedBy()),
+                    strings.intern(product.getModifiedBy())};
+        }
+
+        byte[] stamp = data.getStamp().getBytes(StandardCharsets.UTF_8);
+        long stringTableOffset = HEADER_SIZE + stamp.length;
+        long productsOffset = align(stringTableOffset + 4L * (strings.size() + 1) + strings.byteLength());
+        long itemsOffset = productsOffset + (long) PRODUCT_RECORD_SIZE * products.size();
+        long fileSize = itemsOffset + (long) ITEM_RECORD_SIZE * items.size();
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException("Catalog too large for a single mapped snapshot: " + fileSize + " bytes");
+        }
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+            buffer.position(HEADER_SIZE);
+            buffer.put(stamp);
+            strings.writeTo(buffer);
+
+            buffer.position((int) productsOffset);
+            int itemIndex = 0;
+            for (int i = 0; i < products.size(); i++) {
+                ProductRecord product = products.get(i);
+                // Skip items whose product is not in the snapshot
+                while (itemIndex < items.size() && items.get(itemIndex).getProductId() < product.getId()) {
+                    itemIndex++;
+                }
+                int firstItem = itemIndex;
+                while (itemIndex < items.size() && items.get(itemIndex).getProductId() == product.getId()) {
+                    itemIndex++;
+                }
+                buffer.putLong(product.getId());
+                buffer.putLong(toMicros(product.getCreatedOn()));
+                buffer.putLong(toMicros(product.getModifiedOn()));
+                buffer.putLong(toStored(product.getVersion()));
+                buffer.putInt(productStrings[i][0]);
+                buffer.putInt(productStrings[i][1]);
+                buffer.putInt(productStrings[i][2]);
+                buffer.putInt(firstItem);
+                buffer.putInt(itemIndex - firstItem);
+                buffer.putInt(0);
+            }
+            for (ItemRecord item : items) {
+                buffer.putLong(item.getId());
+                buffer.putLong(item.getProductId());
+                buffer.putLong(toStored(item.getVersion()));
+                buffer.putInt(item.getQuantity());
+                buffer.putInt(0);
+            }
+
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, FORMAT_VERSION);
+            buffer.putLong(8, System.currentTimeMillis());
+            buffer.putInt(16, products.size());
+            buffer.putInt(20, items.size());
+            buffer.putInt(24, strings.size());
+            buffer.putInt(28, stamp.length);
+            buffer.putLong(32, stringTableOffset);
+            buffer.putLong(40, productsOffset);
+            buffer.putLong(48, itemsOffset);
+            buffer.putLong(56, checksum(buffer, (int) fileSize));
+            buffer.force();
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(temp);
+            throw ex;
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps and decodes a snapshot. Items whose product is missing from the snapshot are dropped.
+     *
+     * @throws IOException if the file is unreadable, from another format version or corrupt
+     */
+    public static CatalogData read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE || fileSize > Integer.MAX_VALUE) {
+                throw new IOException("Not a catalog snapshot: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a catalog snapshot: " + path);
+            }
+            if (buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Unsupported catalog snapshot version " + buffer.getInt(4));
+            }
+            if (buffer.getLong(56) != checksum(buffer, (int) fileSize)) {
+                throw new IOException("Catalog snapshot checksum mismatch: " + path);
+            }
+
+            int productCount = buffer.getInt(16);
+            int itemCount = buffer.getInt(20);
+            int stringCount = buffer.getInt(24);
+            int stampLength = buffer.getInt(28);
+            int stringTableOffset = (int) buffer.getLong(32);
+            int productsOffset = (int) buffer.getLong(40);
+            int itemsOffset = (int) buffer.getLong(48);
+
+            byte[] stamp = new byte[stampLength];
+            buffer.get(HEADER_SIZE, stamp);
+            String[] strings = readStrings(buffer, stringTableOffset, stringCount);
+
+            CatalogData data = new CatalogData(productCount, itemCount, new String(stamp, StandardCharsets.UTF_8));
+            for (int i = 0; i < productCount; i++) {
+                int offset = productsOffset + i * PRODUCT_RECORD_SIZE;
+                long productId = buffer.getLong(offset);
+                data.putProduct(ProductRecord.builder()
+                        .id(productId)
+                        .createdOn(fromMicros(buffer.getLong(offset + 8)))
+                        .modifiedOn(fromMicros(buffer.getLong(offset + 16)))
+                        .version(fromStored(buffer.getLong(offset + 24)))
+                        .productName(string(strings, buffer.getInt(offset + 32)))
+                        .createdBy(string(strings, buffer.getInt(offset + 36)))
+                        .modifiedBy(string(strings, buffer.getInt(offset + 40)))
+                        .build());
+                int firstItem = buffer.getInt(offset + 44);
+                int productItems = buffer.getInt(offset + 48);
+                for (int j = firstItem; j < firstItem + productItems; j++) {
+                    int itemOffset = itemsOffset + j * ITEM_RECORD_SIZE;
+                    data.putItem(new ItemRecord(buffer.getLong(itemOffset), productId, buffer.getInt(itemOffset + 24),
+                            fromStored(buffer.getLong(itemOffset + 16))));
+                }
+            }
+            return data;
+        }
+    }
+
+    private static String[] readStrings(MappedByteBuffer buffer, int offset, int count) {
+        String[] strings = new String[count];
+        int blobOffset = offset + 4 * (count + 1);
+        for (int i = 0; i < count; i++) {
+            int start = buffer.getInt(offset + 4 * i);
+            int end = buffer.getInt(offset + 4 * (i + 1));
+            byte[] bytes = new byte[end - start];
+            buffer.get(blobOffset + start, bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return strings;
+    }
+
+    private static String string(String[] strings, int index) {
+        return index == NO_STRING ? null : strings[index];
+    }
+
+    private static long checksum(MappedByteBuffer buffer, int fileSize) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(HEADER_SIZE, fileSize - HEADER_SIZE));
+        return crc.getValue();
+    }
+
+    private static long align(long offset) {
+        return (offset + 7) & ~7L;
+    }
+
+    private static long toStored(Long version) {
+        return version == null ? NO_VERSION : version;
+    }
+
+    private static Long fromStored(long version) {
+        return version == NO_VERSION ? null : version;
+    }
+
+    private static long toMicros(LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return NO_TIMESTAMP;
+        }
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + timestamp.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        if (micros == NO_TIMESTAMP) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000), (int) Math.floorMod(micros, 1_000_000) * 1_000,
+                ZoneOffset.UTC);
+    }
+
+    /**
+     * Assigns each distinct string an index and stores its bytes once.
+     */
+    private static final class StringTable {
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<byte[]> values = new ArrayList<>();
+        private int byteLength;
+
+        int intern(String value) {
+            if (value == null) {
+                return NO_STRING;
+            }
+            Integer index = indexes.get(value);
+            if (index == null) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                index = values.size();
+                indexes.put(value, index);
+                values.add(bytes);
+                byteLength += bytes.length;
+            }
+            return index;
+        }
+
+        int size() {
+            return values.size();
+        }
+
+        int byteLength() {
+            return byteLength;
+        }
+
+        void writeTo(MappedByteBuffer buffer) {
+            int end = 0;
+            buffer.putInt(end);
+            for (byte[] value : values) {
+                end += value.length;
+                buffer.putInt(end);
+            }
+            for (byte[] value : values) {
+                buffer.put(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.productmanager.snapshot;
+
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.dto.DeltaSyncResponse;
+import com.productmanager.monitoring.MetricsSource;
+import com.productmanager.repository.ItemRepository;
+import com.productmanager.repository.ProductRepository;
+import com.productmanager.service.DeltaSyncService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Writes the catalog to a memory-mapped snapshot and uses it for warm restarts.
+ *
+ * At startup the snapshot is mapped and brought up to date by replaying the delta-sync changes
+ * after its stamp; in-memory structures such as the inventory aggregates are then built from it
+ * instead of scanning the tables. The loaded catalog is released once the application is ready.
+ * Snapshots are written on a schedule and at shutdown.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshotService implements MetricsSource {
+
+    @Autowired
+    private DeltaSyncService deltaSyncService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Autowired
+    private ShardTransactions shardTransactions;
+
+    @Value("${snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Value("${snapshot.path:data/catalog.snapshot}")
+    private Path path;
+
+    @Value("${snapshot.write-on-shutdown:true}")
+    private boolean writeOnShutdown;
+
+    @Value("${snapshot.catch-up-timeout-ms:30000}")
+    private long catchUpTimeoutMs;
+
+    @Value("${changes.sync.max-limit:1000}")
+    private int catchUpBatchSize;
+
+    private boolean warmCatalogLoaded;
+    private CatalogData warmCatalog;
+    private volatile long lastLoadMillis = -1;
+    private volatile long lastWriteMillis = -1;
+    private volatile LocalDateTime lastWrittenOn;
+
+    /**
+     * The snapshot brought up to date with the database, or empty if snapshots are disabled or the
+     * snapshot is missing, unreadable or too old to catch up. Loaded on first call; callers must
+     * not modify it.
+     */
+    public synchronized Optional<CatalogData> getWarmCatalog() {
+        if (!warmCatalogLoaded) {
+            warmCatalogLoaded = true;
+            warmCatalog = enabled ? loadAndCatchUp() : null;
+        }
+        return Optional.ofNullable(warmCatalog);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void releaseWarmCatalog() {
+        warmCatalog = null;
+    }
+
+    private CatalogData loadAndCatchUp() {
+        if (!Files.isRegularFile(path)) {
+            log.info("No catalog snapshot at {}; starting cold", path);
+            return null;
+        }
+        long started = System.currentTimeMillis();
+        try {
+            CatalogData data = CatalogSnapshotFile.read(path);
+            long deadline = started + catchUpTimeoutMs;
+            int replayed = 0;
+            while (true) {
+                String token = data.getStamp();
+                DeltaSyncResponse delta = deltaSyncService.getChangesSince(token, catchUpBatchSize);
+                if (delta.isResetRequired()) {
+                    log.warn("Catalog snapshot {} is older than the retained change log; starting cold", path);
+                    return null;
+                }
+                data.apply(delta);
+                replayed += delta.getProducts().size() + delta.getItems().size() + delta.getDeleted().size();
+                if (!delta.isHasMore()) {
+                    break;
+                }
+                if (System.currentTimeMillis() > deadline) {
+                    log.warn("Catalog snapshot catch-up did not finish within {} ms; starting cold", catchUpTimeoutMs);
+                    return null;
+                }
+                if (token.equals(data.getStamp())) {
+                    // Waiting for an in-flight transaction to commit or settle
+                    Thread.sleep(100);
+                }
+            }
+            lastLoadMillis = System.currentTimeMillis() - started;
+            log.info("Loaded catalog snapshot with {} products and {} items, replayed {} changes in {} ms",
+                    data.getProducts().size(), data.getItems().size(), replayed, lastLoadMillis);
+            return data;
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not use catalog snapshot {}; starting cold: {}", path, ex.getMessage());
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    @Scheduled(cron = "${snapshot.write-cron:0 */15 * * * *}")
+    public void writeScheduledSnapshot() {
+        if (enabled) {
+            writeSnapshot();
+        }
+    }
+
+    @PreDestroy
+    void writeShutdownSnapshot() {
+        if (enabled && writeOnShutdown) {
+            writeSnapshot();
+        }
+    }
+
+    /**
+     * Reads the catalog from every shard and writes it to the snapshot file.
+     */
+    public void writeSnapshot() {
+        long started = System.currentTimeMillis();
+        try {
+            CatalogData data = readCatalogFromDatabase();
+            CatalogSnapshotFile.write(path, data);
+            lastWriteMillis = System.currentTimeMillis() - started;
+            lastWrittenOn = LocalDateTime.now();
+            log.info("Wrote catalog snapshot with {} products and {} items to {} in {} ms",
+                    data.getProducts().size(), data.getItems().size(), path, lastWriteMillis);
+        } catch (IOException | RuntimeException ex) {
+            log.error("Failed to write catalog snapshot to {}: {}", path, ex.getMessage());
+        }
+    }
+
+    /**
+     * Reads every product and item from every shard. The stamp is taken first, so changes racing
+     * with the read are replayed again by whoever catches up from it rather than lost.
+     */
+    public CatalogData readCatalogFromDatabase() {
+        String stamp = deltaSyncService.getChangesSince(null, 1).getNextToken();
+        CatalogData data = new CatalogData(16, 16, stamp);
+        for (int shard = 0; shard < shardResolver.getShardCount(); shard++) {
+            List<Object[]> products = shardTransactions.readOnShard(shard, productRepository::findAllSnapshotRows);
+            for (Object[] row : products) {
+                data.putProduct(ProductRecord.builder()
+                        .id((Long) row[0])
+                        .productName((String) row[1])
+                        .createdBy((String) row[2])
+                        .createdOn((LocalDateTime) row[3])
+                        .modifiedBy((String) row[4])
+                        .modifiedOn((LocalDateTime) row[5])
+                        .version((Long) row[6])
+                        .build());
+            }
+            List<Object[]> items = shardTransactions.readOnShard(shard, itemRepository::findAllSnapshotRows);
+            for (Object[] row : items) {
+                data.putItem(new ItemRecord((Long) row[0], (Long) row[1], (Integer) row[2], (Long) row[3]));
+            }
+        }
+        return data;
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "catalog-snapshot";
+    }
+
+    @Override
+    public Map<String, Object> getMetricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("path", path.toString());
+        snapshot.put("lastLoadMillis", lastLoadMillis);
+        snapshot.put("lastWriteMillis", lastWriteMillis);
+        snapshot.put("lastWrittenOn", lastWrittenOn);
+        return snapshot;
+    }
+}
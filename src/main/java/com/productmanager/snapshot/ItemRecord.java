@@ -0,0 +1,15 @@
+package com.productmanager.snapshot;
+
+import lombok.Value;
+
+@Value
+public class ItemRecord {
+
+    long id;
+
+    long productId;
+
+    int quantity;
+
+    Long version;
+}
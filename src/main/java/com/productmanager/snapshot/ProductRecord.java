@@ -0,0 +1,25 @@
+package com.productmanager.snapshot;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+public class ProductRecord {
+
+    long id;
+
+    String productName;
+
+    String createdBy;
+
+    LocalDateTime createdOn;
+
+    String modifiedBy;
+
+    LocalDateTime modifiedOn;
+
+    Long version;
+}
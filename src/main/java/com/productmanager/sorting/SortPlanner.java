@@ -0,0 +1,114 @@
+package com.productmanager.sorting;
+
+import com.productmanager.exception.InvalidRequestException;
+import com.productmanager.monitoring.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Turns a client's {@code sortBy} into a sort the database can read straight off an index.
+ *
+ * Every listing has a fixed set of sort keys, each backed by a composite index that ends in
+ * {@code id}. The planned sort appends {@code id} in the same direction as the key, so ties
+ * break deterministically and the whole order is a single forward or backward index scan.
+ * Keys without a backing index are rejected or replaced by the listing's default order,
+ * depending on {@code sorting.unindexed-policy}.
+ */
+@Slf4j
+@Component
+public class SortPlanner implements MetricsSource {
+
+    /**
+     * The sortable list endpoints, with their sort keys and the index each one reads.
+     */
+    public enum Listing {
+
+        PRODUCTS("createdOn", Sort.Direction.DESC, indexes(
+                "createdOn", "idx_product_created_on",
+                "id", "PRIMARY",
+                "productName", "idx_product_name_id")),
+
+        // Items are always listed within one product, so their indexes lead with product_id
+        ITEMS("id", Sort.Direction.ASC, indexes(
+                "id", "idx_item_product_id",
+                "quantity", "idx_product_quantity_id"));
+
+        private final String defaultKey;
+        private final Sort.Direction defaultDirection;
+        private final Map<String, String> indexByKey;
+
+        Listing(String defaultKey, Sort.Direction defaultDirection, Map<String, String> indexByKey) {
+            this.defaultKey = defaultKey;
+            this.defaultDirection = defaultDirection;
+            this.indexByKey = indexByKey;
+        }
+
+        public Set<String> getSortKeys() {
+            return indexByKey.keySet();
+        }
+
+        public String indexFor(String sortKey) {
+            return indexByKey.get(sortKey);
+        }
+
+        private static Map<String, String> indexes(String... keyIndexPairs) {
+            Map<String, String> indexes = new LinkedHashMap<>();
+            for (int i = 0; i < keyIndexPairs.length; i += 2) {
+                indexes.put(keyIndexPairs[i], keyIndexPairs[i + 1]);
+            }
+            return Collections.unmodifiableMap(indexes);
+        }
+    }
+
+    @Value("${sorting.unindexed-policy:REJECT}")
+    private UnindexedSortPolicy unindexedPolicy;
+
+    private final AtomicLong planned = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong downgraded = new AtomicLong();
+
+    public Sort plan(Listing listing, String sortBy, Sort.Direction direction) {
+        String key = sortBy == null || sortBy.isBlank() ? listing.defaultKey : sortBy.trim();
+        Sort.Direction planDirection = direction == null ? listing.defaultDirection : direction;
+
+        if (listing.indexFor(key) == null) {
+            if (unindexedPolicy == UnindexedSortPolicy.REJECT) {
+                rejected.incrementAndGet();
+                throw new InvalidRequestException("Cannot sort by '" + key + "'; sortable fields are "
+                        + listing.getSortKeys());
+            }
+            downgraded.incrementAndGet();
+            log.debug("No index serves sort by '{}' on {}; using {} {}", key, listing, listing.defaultKey,
+                    listing.defaultDirection);
+            key = listing.defaultKey;
+            planDirection = listing.defaultDirection;
+        }
+
+        planned.incrementAndGet();
+        Sort sort = Sort.by(planDirection, key);
+        return key.equals("id") ? sort : sort.and(Sort.by(planDirection, "id"));
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "sort-planner";
+    }
+
+    @Override
+    public Map<String, Object> getMetricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("unindexedPolicy", unindexedPolicy.name());
+        snapshot.put("planned", planned.get());
+        snapshot.put("rejected", rejected.get());
+        snapshot.put("downgraded", downgraded.get());
+        return snapshot;
+    }
+}
@@ -0,0 +1,17 @@
+package com.productmanager.sorting;
+
+/**
+ * What happens when a list request asks for a sort no index can serve.
+ */
+public enum UnindexedSortPolicy {
+
+    /**
+     * Answer 400 and list the sortable fields.
+     */
+    REJECT,
+
+    /**
+     * Serve the listing's default order instead.
+     */
+    DOWNGRADE
+}
@@ -0,0 +1,416 @@
+package com.productmanager.stats;
+
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.dto.InventorySummaryDTO;
+import com.productmanager.dto.OwnerStockDTO;
+import com.productmanager.dto.ProductStockDTO;
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.monitoring.MetricsSource;
+import com.productmanager.repository.ProductRepository;
+import com.productmanager.snapshot.CatalogData;
+import com.productmanager.snapshot.CatalogSnapshotService;
+import com.productmanager.util.LongObjectHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory stock figures per product, per owner and overall.
+ *
+ * Rebuilt once at startup, before the web server accepts requests: from the catalog snapshot when
+ * one is available, otherwise by running grouped queries over product id ranges of every shard in
+ * parallel. From then on every committed item or product change adjusts the totals in O(log n):
+ * product totals live in a long-keyed hash map and a quantity-ordered tree serves top-N queries
+ * without sorting.
+ *
+ * Those change events are local to the instance, so with more than one instance the figures miss
+ * the other instances' writes. They are therefore rebuilt from the database every
+ * {@code stats.rebuild-interval-ms}, which bounds that drift; a single instance can turn this off
+ * with {@code stats.periodic-rebuild=false}.
+ */
+@Slf4j
+@Component
+public class InventoryAggregates implements SmartInitializingSingleton, MetricsSource {
+
+    private static final Comparator<ProductStock> BY_QUANTITY_DESC = Comparator
+            .comparingLong((ProductStock stock) -> stock.quantity).reversed()
+            .thenComparingLong(stock -> stock.productId);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Autowired
+    private ShardTransactions shardTransactions;
+
+    @Autowired
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Value("${stats.enabled:true}")
+    private boolean enabled;
+
+    @Value("${stats.low-stock-threshold:10}")
+    private int lowStockThreshold;
+
+    @Value("${stats.rebuild-parallelism:4}")
+    private int rebuildParallelism;
+
+    @Value("${stats.periodic-rebuild:true}")
+    private boolean periodicRebuild;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private LongObjectHashMap<ProductStock> products = new LongObjectHashMap<>();
+    private Map<String, OwnerStock> owners = new HashMap<>();
+    private TreeSet<ProductStock> byQuantity = new TreeSet<>(BY_QUANTITY_DESC);
+    private long totalQuantity;
+    private long totalItems;
+    private long lowStockItems;
+    private long productsWithLowStock;
+    private LocalDateTime rebuiltOn;
+    private long lastRebuildMillis;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Optional<CatalogData> warmCatalog = catalogSnapshotService.getWarmCatalog();
+            if (warmCatalog.isPresent()) {
+                rebuildFrom(warmCatalog.get());
+            } else {
+                rebuild();
+            }
+        } catch (RuntimeException ex) {
+            log.error("Failed to rebuild inventory aggregates; figures cover only changes made from now on", ex);
+        }
+    }
+
+    /**
+     * Picks up writes made by other instances, which never reach {@link #onCatalogChange}.
+     */
+    @Scheduled(fixedDelayString = "${stats.rebuild-interval-ms:300000}",
+            initialDelayString = "${stats.rebuild-interval-ms:300000}")
+    public void rebuildPeriodically() {
+        if (!enabled || !periodicRebuild) {
+            return;
+        }
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            log.error("Failed to rebuild inventory aggregates: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Replaces all figures with totals computed by the database. A change committed while the
+     * rebuild runs may be missed if the query read its shard first; the next rebuild corrects it.
+     */
+    void rebuild() {
+        long started = System.currentTimeMillis();
+        AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(rebuildParallelism, runnable -> {
+            Thread thread = new Thread(runnable, "stats-rebuild-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<List<Object[]>>> partitions = new ArrayList<>();
+            for (int shard = 0; shard < shardResolver.getShardCount(); shard++) {
+                int target = shard;
+                Object[] range = shardTransactions.readOnShard(shard, () -> productRepository.findIdRange().get(0));
+                if (range[0] == null) {
+                    continue;
+                }
+                long minId = ((Number) range[0]).longValue();
+                long maxId = ((Number) range[1]).longValue();
+                long width = Math.max(1, (maxId - minId + rebuildParallelism) / rebuildParallelism);
+                for (long fromId = minId; fromId <= maxId; fromId += width) {
+                    long from = fromId;
+                    long to = Math.min(maxId, fromId + width - 1);
+                    partitions.add(executor.submit(() -> shardTransactions.readOnShard(target,
+                            () -> productRepository.aggregateStockByIdRange(from, to, lowStockThreshold))));
+                }
+            }
+
+            LongObjectHashMap<ProductStock> rebuiltProducts = new LongObjectHashMap<>();
+            for (Future<List<Object[]>> partition : partitions) {
+                for (Object[] row : partition.get()) {
+                    ProductStock stock = new ProductStock(((Number) row[0]).longValue(), (String) row[1]);
+                    stock.itemCount = ((Number) row[2]).longValue();
+                    stock.quantity = ((Number) row[3]).longValue();
+                    stock.lowStockItems = ((Number) row[4]).longValue();
+                    rebuiltProducts.put(stock.productId, stock);
+                }
+            }
+            replaceAll(rebuiltProducts);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while rebuilding inventory aggregates", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Failed to rebuild inventory aggregates", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        lastRebuildMillis = System.currentTimeMillis() - started;
+        log.info("Rebuilt inventory aggregates for {} products in {} ms", productCount(), lastRebuildMillis);
+    }
+
+    /**
+     * Replaces all figures with totals computed from a catalog snapshot that has been brought up
+     * to date, avoiding the grouped queries over the whole item table.
+     */
+    void rebuildFrom(CatalogData catalog) {
+        long started = System.currentTimeMillis();
+        LongObjectHashMap<ProductStock> rebuiltProducts = new LongObjectHashMap<>(catalog.getProducts().size());
+        catalog.getProducts().forEachValue(product ->
+                rebuiltProducts.put(product.getId(), new ProductStock(product.getId(), product.getCreatedBy())));
+        catalog.getItems().forEachValue(item -> {
+            ProductStock stock = rebuiltProducts.get(item.getProductId());
+            if (stock != null) {
+                stock.quantity += item.getQuantity();
+                stock.itemCount++;
+                stock.lowStockItems += isLow(item.getQuantity());
+            }
+        });
+        replaceAll(rebuiltProducts);
+        lastRebuildMillis = System.currentTimeMillis() - started;
+        log.info("Rebuilt inventory aggregates for {} products from catalog snapshot in {} ms", productCount(), lastRebuildMillis);
+    }
+
+    private void replaceAll(LongObjectHashMap<ProductStock> rebuiltProducts) {
+        Map<String, OwnerStock> rebuiltOwners = new HashMap<>();
+        TreeSet<ProductStock> rebuiltOrder = new TreeSet<>(BY_QUANTITY_DESC);
+        long[] totals = new long[4];
+        rebuiltProducts.forEachValue(stock -> {
+            rebuiltOrder.add(stock);
+            OwnerStock owner = rebuiltOwners.computeIfAbsent(stock.owner, key -> new OwnerStock());
+            owner.productCount++;
+            owner.itemCount += stock.itemCount;
+            owner.quantity += stock.quantity;
+            owner.lowStockItems += stock.lowStockItems;
+            totals[0] += stock.quantity;
+            totals[1] += stock.itemCount;
+            totals[2] += stock.lowStockItems;
+            totals[3] += stock.lowStockItems > 0 ? 1 : 0;
+        });
+
+        lock.writeLock().lock();
+        try {
+            products = rebuiltProducts;
+            owners = rebuiltOwners;
+            byQuantity = rebuiltOrder;
+            totalQuantity = totals[0];
+            totalItems = totals[1];
+            lowStockItems = totals[2];
+            productsWithLowStock = totals[3];
+            rebuiltOn = LocalDateTime.now();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            switch (event.getType()) {
+                case PRODUCT_CREATED, PRODUCT_UPDATED -> stockFor(event);
+                case PRODUCT_DELETED -> removeProduct(event.getProductId());
+                case ITEM_CREATED -> adjust(stockFor(event), event.getQuantity(), 1, isLow(event.getQuantity()));
+                case ITEM_UPDATED -> adjust(stockFor(event), event.getQuantity() - event.getPreviousQuantity(), 0,
+                        isLow(event.getQuantity()) - isLow(event.getPreviousQuantity()));
+                case ITEM_DELETED -> {
+                    ProductStock stock = products.get(event.getProductId());
+                    if (stock != null) {
+                        adjust(stock, -event.getPreviousQuantity(), -1, -isLow(event.getPreviousQuantity()));
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private ProductStock stockFor(CatalogChangeEvent event) {
+        ProductStock stock = products.get(event.getProductId());
+        if (stock == null) {
+            stock = new ProductStock(event.getProductId(), event.getOwner());
+            products.put(stock.productId, stock);
+            byQuantity.add(stock);
+            owners.computeIfAbsent(stock.owner, key -> new OwnerStock()).productCount++;
+        }
+        return stock;
+    }
+
+    private void adjust(ProductStock stock, long quantityDelta, long itemDelta, long lowStockDelta) {
+        boolean wasLow = stock.lowStockItems > 0;
+        byQuantity.remove(stock);
+        stock.quantity += quantityDelta;
+        stock.itemCount += itemDelta;
+        stock.lowStockItems += lowStockDelta;
+        byQuantity.add(stock);
+
+        OwnerStock owner = owners.computeIfAbsent(stock.owner, key -> new OwnerStock());
+        owner.quantity += quantityDelta;
+        owner.itemCount += itemDelta;
+        owner.lowStockItems += lowStockDelta;
+
+        totalQuantity += quantityDelta;
+        totalItems += itemDelta;
+        lowStockItems += lowStockDelta;
+        productsWithLowStock += (stock.lowStockItems > 0 ? 1 : 0) - (wasLow ? 1 : 0);
+    }
+
+    private void removeProduct(Long productId) {
+        ProductStock stock = products.remove(productId);
+        if (stock == null) {
+            return;
+        }
+        byQuantity.remove(stock);
+        OwnerStock owner = owners.get(stock.owner);
+        if (owner != null) {
+            owner.quantity -= stock.quantity;
+            owner.itemCount -= stock.itemCount;
+            owner.lowStockItems -= stock.lowStockItems;
+            if (--owner.productCount <= 0) {
+                owners.remove(stock.owner);
+            }
+        }
+        totalQuantity -= stock.quantity;
+        totalItems -= stock.itemCount;
+        lowStockItems -= stock.lowStockItems;
+        productsWithLowStock -= stock.lowStockItems > 0 ? 1 : 0;
+    }
+
+    private int isLow(Integer quantity) {
+        return quantity != null && quantity <= lowStockThreshold ? 1 : 0;
+    }
+
+    public Optional<ProductStockDTO> getProductStock(Long productId) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(products.get(productId)).map(this::toDTO);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<OwnerStockDTO> getOwnerStock(String ownerName) {
+        lock.readLock().lock();
+        try {
+            OwnerStock owner = owners.get(ownerName);
+            return Optional.ofNullable(owner).map(stock -> OwnerStockDTO.builder()
+                    .owner(ownerName)
+                    .productCount(stock.productCount)
+                    .itemCount(stock.itemCount)
+                    .totalQuantity(stock.quantity)
+                    .lowStockItems(stock.lowStockItems)
+                    .build());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<ProductStockDTO> getTopProducts(int limit) {
+        lock.readLock().lock();
+        try {
+            List<ProductStockDTO> top = new ArrayList<>(Math.min(limit, products.size()));
+            Iterator<ProductStock> iterator = byQuantity.iterator();
+            while (iterator.hasNext() && top.size() < limit) {
+                top.add(toDTO(iterator.next()));
+            }
+            return top;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public InventorySummaryDTO getSummary() {
+        lock.readLock().lock();
+        try {
+            return InventorySummaryDTO.builder()
+                    .productCount(products.size())
+                    .itemCount(totalItems)
+                    .totalQuantity(totalQuantity)
+                    .lowStockThreshold(lowStockThreshold)
+                    .lowStockItems(lowStockItems)
+                    .productsWithLowStock(productsWithLowStock)
+                    .rebuiltOn(rebuiltOn)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private int productCount() {
+        lock.readLock().lock();
+        try {
+            return products.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private ProductStockDTO toDTO(ProductStock stock) {
+        return ProductStockDTO.builder()
+                .productId(stock.productId)
+                .owner(stock.owner)
+                .totalQuantity(stock.quantity)
+                .itemCount(stock.itemCount)
+                .lowStockItems(stock.lowStockItems)
+                .build();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "inventory-aggregates";
+    }
+
+    @Override
+    public Map<String, Object> getMetricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            snapshot.put("products", products.size());
+            snapshot.put("owners", owners.size());
+            snapshot.put("rebuiltOn", rebuiltOn);
+        } finally {
+            lock.readLock().unlock();
+        }
+        snapshot.put("lastRebuildMillis", lastRebuildMillis);
+        return snapshot;
+    }
+}
@@ -0,0 +1,12 @@
+package com.productmanager.stats;
+
+/**
+ * Mutable running totals for one owner. Only touched under the {@link InventoryAggregates} lock.
+ */
+final class OwnerStock {
+
+    long quantity;
+    long itemCount;
+    long productCount;
+    long lowStockItems;
+}
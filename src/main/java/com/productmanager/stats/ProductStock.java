@@ -0,0 +1,18 @@
+package com.productmanager.stats;
+
+/**
+ * Mutable running totals for one product. Only touched under the {@link InventoryAggregates} lock.
+ */
+final class ProductStock {
+
+    final long productId;
+    final String owner;
+    long quantity;
+    long itemCount;
+    long lowStockItems;
+
+    ProductStock(long productId, String owner) {
+        this.productId = productId;
+        this.owner = owner;
+    }
+}
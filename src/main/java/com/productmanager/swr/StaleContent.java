@@ -0,0 +1,40 @@
+package com.productmanager.swr;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Flags the current HTTP response as carrying stale content, both with a response header for the
+ * client and with a request attribute for response caches further out.
+ */
+public final class StaleContent {
+
+    public static final String HEADER = "X-Cache-Status";
+    public static final String STALE = "STALE";
+    public static final String STALE_IF_ERROR = "STALE-IF-ERROR";
+
+    private static final String ATTRIBUTE = StaleContent.class.getName();
+
+    private StaleContent() {
+    }
+
+    static void mark(String status) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        attributes.setAttribute(ATTRIBUTE, status, RequestAttributes.SCOPE_REQUEST);
+        if (attributes instanceof ServletRequestAttributes servletAttributes && servletAttributes.getResponse() != null) {
+            servletAttributes.getResponse().setHeader(HEADER, status);
+        }
+    }
+
+    /**
+     * Whether stale content was served while handling the current request.
+     */
+    public static boolean isMarked() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+}
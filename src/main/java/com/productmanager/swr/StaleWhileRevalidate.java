@@ -0,0 +1,18 @@
+package com.productmanager.swr;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read-only service method whose results may be served past their soft TTL while a
+ * background refresh runs, and up to their hard TTL while the database is failing. See
+ * {@link StaleWhileRevalidateAspect}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface StaleWhileRevalidate {
+}
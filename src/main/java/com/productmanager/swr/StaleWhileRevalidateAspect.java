@@ -0,0 +1,261 @@
+package com.productmanager.swr;
+
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.exception.ResourceNotFoundException;
+import com.productmanager.monitoring.MetricsSource;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Stale-while-revalidate and stale-if-error caching for {@link StaleWhileRevalidate} methods.
+ *
+ * A result younger than the soft TTL is returned as is. Past the soft TTL it is still returned
+ * immediately, flagged as stale, while a single background refresh per entry reloads it. Up to
+ * the hard TTL it also stands in for the database when the reload fails with a data access or
+ * transaction error.
+ *
+ * Committed catalog changes do not delete entries; they bump a generation (one per product
+ * stripe, one shared by the product lists) so the next read reloads synchronously and sees the
+ * write, yet the old result remains available as a fallback if that reload fails. Ordered
+ * outside every other read aspect, so a hit skips coalescing, routing and the transaction.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(StaleWhileRevalidateAspect.ORDER)
+public class StaleWhileRevalidateAspect implements MetricsSource, DisposableBean {
+
+    public static final int ORDER = 50;
+
+    private static final int STRIPES = 1024;
+
+    @Value("${swr.enabled:false}")
+    private boolean enabled;
+
+    @Value("${swr.soft-ttl-ms:5000}")
+    private long softTtlMillis;
+
+    @Value("${swr.hard-ttl-ms:300000}")
+    private long hardTtlMillis;
+
+    @Value("${swr.max-entries:10000}")
+    private int maxEntries;
+
+    private final ConcurrentHashMap<CallKey, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLongArray productGenerations = new AtomicLongArray(STRIPES);
+    private final AtomicLong listGeneration = new AtomicLong();
+    private final ThreadPoolExecutor refresher;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong staleServed = new AtomicLong();
+    private final AtomicLong staleOnError = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong refreshFailures = new AtomicLong();
+
+    public StaleWhileRevalidateAspect(@Value("${swr.refresh-threads:2}") int refreshThreads,
+                                      @Value("${swr.refresh-queue-size:256}") int refreshQueueSize) {
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.refresher = new ThreadPoolExecutor(refreshThreads, refreshThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(refreshQueueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "swr-refresh-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    @Around("@annotation(com.productmanager.swr.StaleWhileRevalidate)")
+    public Object serve(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Object[] args = joinPoint.getArgs();
+        CallKey key = new CallKey(method, Arrays.asList(args));
+        Long productId = args.length > 0 && args[0] instanceof Long id ? id : null;
+
+        long now = System.nanoTime();
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.hardExpiresAt < 0 && entry.generation == generation(productId)) {
+            if (now - entry.softExpiresAt < 0) {
+                hits.incrementAndGet();
+                return entry.value;
+            }
+            staleServed.incrementAndGet();
+            refreshInBackground(key, entry, joinPoint, productId);
+            StaleContent.mark(StaleContent.STALE);
+            return entry.value;
+        }
+
+        misses.incrementAndGet();
+        long generation = generation(productId);
+        try {
+            Object value = joinPoint.proceed();
+            store(key, value, generation);
+            return value;
+        } catch (Throwable ex) {
+            if (entry != null && now - entry.hardExpiresAt < 0 && isDatabaseFailure(ex)) {
+                staleOnError.incrementAndGet();
+                log.warn("Serving stale {} result after database error: {}", method.getName(), ex.getMessage());
+                StaleContent.mark(StaleContent.STALE_IF_ERROR);
+                return entry.value;
+            }
+            if (ex instanceof ResourceNotFoundException) {
+                entries.remove(key);
+            }
+            errors.incrementAndGet();
+            throw ex;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCatalogChange(CatalogChangeEvent event) {
+        // Every change can move a product in or out of a list page or alter its item count
+        listGeneration.incrementAndGet();
+        if (event.getProductId() != null) {
+            productGenerations.incrementAndGet(stripe(event.getProductId()));
+        }
+    }
+
+    private void refreshInBackground(CallKey key, Entry entry, ProceedingJoinPoint joinPoint, Long productId) {
+        if (!entry.refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refresher.execute(() -> {
+                long generation = generation(productId);
+                try {
+                    store(key, joinPoint.proceed(), generation);
+                    refreshes.incrementAndGet();
+                } catch (Throwable ex) {
+                    refreshFailures.incrementAndGet();
+                    if (ex instanceof ResourceNotFoundException) {
+                        entries.remove(key, entry);
+                    }
+                    log.debug("Background refresh of {} failed: {}", key.method().getName(), ex.getMessage());
+                } finally {
+                    entry.refreshing.set(false);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            entry.refreshing.set(false);
+        }
+    }
+
+    private void store(CallKey key, Object value, long generation) {
+        long now = System.nanoTime();
+        entries.put(key, new Entry(value, generation,
+                now + TimeUnit.MILLISECONDS.toNanos(softTtlMillis),
+                now + TimeUnit.MILLISECONDS.toNanos(hardTtlMillis)));
+        if (entries.size() > maxEntries) {
+            evict(now);
+        }
+    }
+
+    /**
+     * Drops entries past their hard TTL, then arbitrary entries until the cache fits again.
+     */
+    private void evict(long now) {
+        entries.values().removeIf(entry -> now - entry.hardExpiresAt >= 0);
+        Iterator<CallKey> iterator = entries.keySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private long generation(Long productId) {
+        return productId == null ? listGeneration.get() : productGenerations.get(stripe(productId));
+    }
+
+    private static int stripe(long productId) {
+        long hash = productId * 0x9E3779B97F4A7C15L;
+        return (int) ((hash ^ (hash >>> 32)) & (STRIPES - 1));
+    }
+
+    private static boolean isDatabaseFailure(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataAccessException || cause instanceof TransactionException
+                    || cause instanceof SQLException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+
+    @Override
+    public String getMetricsName() {
+        return "swr";
+    }
+
+    @Override
+    public Map<String, Object> getMetricsSnapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("entries", entries.size());
+        snapshot.put("hits", hits.get());
+        snapshot.put("misses", misses.get());
+        snapshot.put("staleServed", staleServed.get());
+        snapshot.put("staleOnError", staleOnError.get());
+        snapshot.put("errors", errors.get());
+        snapshot.put("refreshes", refreshes.get());
+        snapshot.put("refreshFailures", refreshFailures.get());
+        snapshot.put("refreshQueue", refresher.getQueue().size());
+        return snapshot;
+    }
+
+    private record CallKey(Method method, List<Object> args) {
+    }
+
+    private static final class Entry {
+
+        private final Object value;
+        private final long generation;
+        private final long softExpiresAt;
+        private final long hardExpiresAt;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+
+        private Entry(Object value, long generation, long softExpiresAt, long hardExpiresAt) {
+            this.value = value;
+            this.generation = generation;
+            this.softExpiresAt = softExpiresAt;
+            this.hardExpiresAt = hardExpiresAt;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.productmanager.util;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hands queued work to a handler in batches on background threads.
+ *
+ * A worker thread waits for the first element, then keeps collecting until the batch has
+ * {@code batchSize} elements or {@code lingerMillis} have passed since the first one arrived, so
+ * a busy queue yields full batches and a quiet one is not held back for long. A linger of zero
+ * takes only what is already queued. A handler that throws loses that batch; the thread logs it
+ * and carries on.
+ *
+ * The queue accepts elements from construction until {@link #stop}; they are handled once
+ * {@link #start} has started the threads, which are daemons. Stopping lets the threads empty the
+ * queue for up to the given timeout and then interrupts them.
+ */
+@Slf4j
+public class BatchingWorker<T> {
+
+    private static final long IDLE_POLL_MILLIS = 200;
+
+    private final String name;
+    private final LinkedBlockingQueue<T> queue;
+    private final int batchSize;
+    private final long lingerMillis;
+    private final Consumer<List<T>> handler;
+    private ExecutorService threads;
+    private volatile boolean stopped;
+
+    public BatchingWorker(String name, int capacity, int batchSize, long lingerMillis, Consumer<List<T>> handler) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.name = name;
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.lingerMillis = lingerMillis;
+        this.handler = handler;
+    }
+
+    public void start(int threadCount) {
+        AtomicInteger threadCounter = new AtomicInteger();
+        threads = Executors.newFixedThreadPool(threadCount, runnable -> {
+            Thread thread = new Thread(runnable, threadCount == 1 ? name : name + "-" + threadCounter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < threadCount; i++) {
+            threads.execute(this::run);
+        }
+    }
+
+    /**
+     * Stops the threads, giving them up to {@code timeoutMillis} to empty the queue; returns how
+     * many elements were left unhandled.
+     */
+    public int stop(long timeoutMillis) throws InterruptedException {
+        stopped = true;
+        if (threads == null) {
+            return queue.size();
+        }
+        threads.shutdown();
+        if (!threads.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+            threads.shutdownNow();
+        }
+        return queue.size();
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    public boolean offer(T element) {
+        return queue.offer(element);
+    }
+
+    public boolean offer(T element, long timeout, TimeUnit unit) throws InterruptedException {
+        return queue.offer(element, timeout, unit);
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Hands what is queued, up to one batch, to the handler on the calling thread; returns how
+     * many elements it took.
+     */
+    public int drain() {
+        List<T> batch = new ArrayList<>();
+        queue.drainTo(batch, batchSize);
+        if (!batch.isEmpty()) {
+            handler.accept(batch);
+        }
+        return batch.size();
+    }
+
+    private void run() {
+        while (!stopped || !queue.isEmpty()) {
+            try {
+                T first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<T> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                fill(batch);
+                handler.accept(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("{} failed: {}", name, ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private void fill(List<T> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMillis);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            T next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+}
@@ -28,6 +28,7 @@ public class EntityDtoMapper {
                 .modifiedBy(product.getModifiedBy())
                 .modifiedOn(product.getModifiedOn())
                 .itemCount(product.getItems() != null ? product.getItems().size() : 0)
+                .version(product.getVersion())
                 .build();
     }
 
@@ -61,6 +62,7 @@ public class EntityDtoMapper {
                 .id(item.getId())
                 .productId(item.getProduct() != null ? item.getProduct().getId() : null)
                 .quantity(item.getQuantity())
+                .version(item.getVersion())
                 .build();
     }
 
@@ -0,0 +1,29 @@
+package com.productmanager.util;
+
+/**
+ * Helpers for reading the results of JDBC batch updates.
+ */
+public final class JdbcBatches {
+
+    private JdbcBatches() {
+    }
+
+    /**
+     * Whether each statement of a batch update, in order, matched a row. Drivers that cannot report
+     * per-statement counts answer {@code SUCCESS_NO_INFO}, which counts as a match, rather than 0.
+     */
+    public static boolean[] rowsMatched(int[][] counts) {
+        int size = 0;
+        for (int[] chunk : counts) {
+            size += chunk.length;
+        }
+        boolean[] matched = new boolean[size];
+        int index = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                matched[index++] = count != 0;
+            }
+        }
+        return matched;
+    }
+}
@@ -0,0 +1,92 @@
+package com.productmanager.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collapses concurrent calls for the same key into a single execution.
+ *
+ * The first caller for a key (the leader) runs the loader; callers arriving while it is in flight
+ * (followers) wait for and share its result or exception. A follower waits at most
+ * {@code maxWaitMillis}; after that it stops waiting and runs the loader itself, so a stuck
+ * leader cannot hold every other request hostage.
+ */
+public class SingleFlight<K, V> {
+
+    @FunctionalInterface
+    public interface Loader<V> {
+        V load() throws Throwable;
+    }
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long maxWaitMillis;
+
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public SingleFlight(long maxWaitMillis) {
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    public V execute(K key, Loader<V> loader) throws Throwable {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, call);
+
+        if (existing == null) {
+            leaders.increment();
+            try {
+                V value = loader.load();
+                call.complete(value);
+                return value;
+            } catch (Throwable ex) {
+                call.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                inFlight.remove(key, call);
+            }
+        }
+
+        followers.increment();
+        try {
+            return existing.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            timeouts.increment();
+            return loader.load();
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw ex;
+        }
+    }
+
+    public long getLeaderCount() {
+        return leaders.sum();
+    }
+
+    public long getFollowerCount() {
+        return followers.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Fraction of calls that were served by another caller's execution.
+     */
+    public double getCoalescingRatio() {
+        long followerCount = followers.sum();
+        long total = leaders.sum() + followerCount;
+        return total == 0 ? 0.0 : (double) followerCount / total;
+    }
+}
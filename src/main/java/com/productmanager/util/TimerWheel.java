@@ -0,0 +1,78 @@
+package com.productmanager.util;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Hashed timer wheel for large numbers of short-lived deadlines.
+ *
+ * Time is cut into ticks of {@code tickMillis}; a deadline goes into the bucket of its tick modulo
+ * the wheel size, so scheduling is O(1) no matter how many timers are pending. Each
+ * {@link #advance} visits only the buckets of the ticks that passed and fires the entries that are
+ * due; entries more than one revolution out stay in their bucket until a later pass. Timers are
+ * not cancelled: callers ignore firings for work that already finished. Deadlines fire at most one
+ * tick late. Scheduling is thread-safe; advancing is meant for a single thread.
+ */
+public class TimerWheel<T> {
+
+    private final long tickMillis;
+    private final ConcurrentLinkedQueue<Timer<T>>[] buckets;
+    private volatile long lastTick;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("Tick and wheel size must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.buckets = new ConcurrentLinkedQueue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.lastTick = startMillis / tickMillis;
+    }
+
+    public void schedule(T value, long deadlineMillis) {
+        // Round up so a timer never fires before its deadline; one already due fires on the next pass
+        long tick = Math.max(lastTick + 1, (deadlineMillis + tickMillis - 1) / tickMillis);
+        buckets[(int) (tick % buckets.length)].add(new Timer<>(tick, value));
+    }
+
+    /**
+     * Fires every timer whose deadline is at or before {@code nowMillis}; returns how many fired.
+     */
+    public int advance(long nowMillis, Consumer<T> onExpired) {
+        long nowTick = nowMillis / tickMillis;
+        if (nowTick <= lastTick) {
+            return 0;
+        }
+        // After a long pause every bucket is visited once rather than once per missed tick
+        long from = Math.max(lastTick + 1, nowTick - buckets.length + 1);
+        int fired = 0;
+        for (long tick = from; tick <= nowTick; tick++) {
+            Iterator<Timer<T>> timers = buckets[(int) (tick % buckets.length)].iterator();
+            while (timers.hasNext()) {
+                Timer<T> timer = timers.next();
+                if (timer.tick() <= nowTick) {
+                    timers.remove();
+                    onExpired.accept(timer.value());
+                    fired++;
+                }
+            }
+        }
+        lastTick = nowTick;
+        return fired;
+    }
+
+    public int size() {
+        int size = 0;
+        for (ConcurrentLinkedQueue<Timer<T>> bucket : buckets) {
+            size += bucket.size();
+        }
+        return size;
+    }
+
+    private record Timer<T>(long tick, T value) {
+    }
+}
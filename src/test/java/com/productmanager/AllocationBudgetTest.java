@@ -0,0 +1,197 @@
+package com.productmanager;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productmanager.dto.JwtTokenResponse;
+import com.productmanager.dto.LoginRequest;
+import com.productmanager.entity.Product;
+import com.productmanager.repository.ProductRepository;
+import com.productmanager.security.JwtTokenProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Per-request allocation budgets for the main endpoints.
+ *
+ * MockMvc executes the whole filter chain, controller, service and serialisation on the calling
+ * thread, so the per-thread allocation counter of {@link com.sun.management.ThreadMXBean} captures
+ * everything a request allocates. Each budget is the measured allocation plus about 50%, enough
+ * to absorb JDK and library updates while a new ObjectMapper per call (some 200 KB) still blows
+ * through it; re-measure and lower them when a change makes a path cheaper. Debug logging is
+ * turned off so it does not dominate the numbers. Scale the budgets with
+ * {@code -Dallocation.budget.scale=2} when running with a profiler attached.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        // Debug logging allocates more per request than the request itself; measure the request path
+        "logging.level.com.productmanager=WARN",
+        "logging.level.org.springframework.security=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class AllocationBudgetTest {
+
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 200;
+
+    private static final long KB = 1024;
+
+    private static com.sun.management.ThreadMXBean threadMXBean;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private String bearerToken;
+    private Product product;
+
+    @BeforeAll
+    static void enableAllocationCounters() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "HotSpot ThreadMXBean not available");
+        threadMXBean = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported(), "Thread allocation counters not supported");
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        productRepository.deleteAll();
+        product = productRepository.save(Product.builder()
+                .productName("Allocation Budget Product")
+                .createdBy("budget")
+                .build());
+
+        LoginRequest loginRequest = LoginRequest.builder()
+                .username("budget")
+                .password("budget")
+                .build();
+        String loginResponse = mockMvc.perform(post("/api/v1/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        bearerToken = "Bearer " + objectMapper.readValue(loginResponse, JwtTokenResponse.class).getAccessToken();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void healthCheck_StaysWithinBudget() throws Exception {
+        assertWithinBudget("health", 96 * KB, 200, get("/"));
+    }
+
+    @Test
+    void unauthorizedRequest_StaysWithinBudget() throws Exception {
+        assertWithinBudget("unauthorized", 96 * KB, 401, get("/api/v1/products"));
+    }
+
+    @Test
+    void login_StaysWithinBudget() throws Exception {
+        String body = objectMapper.writeValueAsString(LoginRequest.builder()
+                .username("budget")
+                .password("budget")
+                .build());
+
+        assertWithinBudget("login", 224 * KB, 200, post("/api/v1/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+
+    @Test
+    void getProductById_StaysWithinBudget() throws Exception {
+        assertWithinBudget("getProductById", 304 * KB, 200, get("/api/v1/products/" + product.getId())
+                .header("Authorization", bearerToken));
+    }
+
+    @Test
+    void getAllProducts_StaysWithinBudget() throws Exception {
+        assertWithinBudget("getAllProducts", 304 * KB, 200, get("/api/v1/products")
+                .header("Authorization", bearerToken));
+    }
+
+    @Test
+    void searchProducts_StaysWithinBudget() throws Exception {
+        assertWithinBudget("searchProducts", 336 * KB, 200, get("/api/v1/products/search")
+                .param("keyword", "Budget")
+                .header("Authorization", bearerToken));
+    }
+
+    @Test
+    void getItemsByProductId_StaysWithinBudget() throws Exception {
+        assertWithinBudget("getItemsByProductId", 320 * KB, 200, get("/api/v1/products/" + product.getId() + "/items")
+                .header("Authorization", bearerToken));
+    }
+
+    /**
+     * Token validation and parsing run on every authenticated request, so they get their own
+     * budget: a regression there would otherwise be hidden in the larger request budgets.
+     */
+    @Test
+    void tokenAuthentication_StaysWithinBudget() throws Exception {
+        String token = bearerToken.substring("Bearer ".length());
+
+        assertWithinBudget("token authentication", 120 * KB, () -> {
+            assertThat(jwtTokenProvider.validateToken(token)).isTrue();
+            jwtTokenProvider.getUsernameFromToken(token);
+        });
+    }
+
+    private void assertWithinBudget(String endpoint, long budgetBytes, int expectedStatus,
+                                    RequestBuilder request) throws Exception {
+        assertWithinBudget(endpoint + " request", budgetBytes, () -> mockMvc.perform(request)
+                .andExpect(status().is(expectedStatus)));
+    }
+
+    private void assertWithinBudget(String operation, long budgetBytes, Operation call) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            call.run();
+        }
+
+        long before = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            call.run();
+        }
+        long perCall = (threadMXBean.getCurrentThreadAllocatedBytes() - before) / MEASURED_ITERATIONS;
+
+        long scaledBudget = (long) (budgetBytes * Double.parseDouble(System.getProperty("allocation.budget.scale", "1")));
+        assertThat(perCall)
+                .as("bytes allocated per %s", operation)
+                .isLessThanOrEqualTo(scaledBudget);
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run() throws Exception;
+    }
+}
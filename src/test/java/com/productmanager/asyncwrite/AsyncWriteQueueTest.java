@@ -0,0 +1,135 @@
+package com.productmanager.asyncwrite;
+
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.dto.ItemDTO;
+import com.productmanager.dto.OperationDTO;
+import com.productmanager.dto.OperationStatus;
+import com.productmanager.exception.ResourceNotFoundException;
+import com.productmanager.service.ItemService;
+import com.productmanager.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("all")
+class AsyncWriteQueueTest {
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private ItemService itemService;
+
+    @Mock
+    private ShardResolver shardResolver;
+
+    @Mock
+    private ShardTransactions shardTransactions;
+
+    @InjectMocks
+    private AsyncWriteQueue asyncWriteQueue;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(asyncWriteQueue, "enabled", true);
+        ReflectionTestUtils.setField(asyncWriteQueue, "queueCapacity", 2);
+        ReflectionTestUtils.setField(asyncWriteQueue, "groupSize", 100);
+        ReflectionTestUtils.setField(asyncWriteQueue, "retentionSeconds", 600);
+        asyncWriteQueue.init();
+        lenient().when(shardResolver.shardForProductId(any())).thenReturn(0);
+        lenient().when(shardTransactions.writeOnShard(anyInt(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+    }
+
+    @Test
+    void writePending_CommitsQueuedCreatesInOneTransaction() {
+        // Arrange
+        when(itemService.createItem(eq(1L), any(ItemDTO.class), eq("admin")))
+                .thenReturn(ItemDTO.builder().id(10L).productId(1L).quantity(5).build())
+                .thenReturn(ItemDTO.builder().id(11L).productId(1L).quantity(6).build());
+        OperationDTO first = asyncWriteQueue.submitItem(1L, item(5), "admin");
+        OperationDTO second = asyncWriteQueue.submitItem(1L, item(6), "admin");
+
+        // Act
+        int written = asyncWriteQueue.writePending();
+
+        // Assert
+        assertThat(first.getStatus()).isEqualTo(OperationStatus.PENDING);
+        assertThat(written).isEqualTo(2);
+        verify(shardTransactions, times(1)).writeOnShard(anyInt(), any());
+        OperationDTO done = asyncWriteQueue.getOperation(second.getId(), "admin");
+        assertThat(done.getStatus()).isEqualTo(OperationStatus.SUCCEEDED);
+        assertThat(done.getResourceId()).isEqualTo(11L);
+        assertThat(asyncWriteQueue.getMetricsSnapshot()).containsEntry("groups", 1L);
+    }
+
+    @Test
+    void writePending_ReplaysRolledBackGroupOneByOne() {
+        // Arrange
+        when(itemService.createItem(eq(1L), any(ItemDTO.class), eq("admin")))
+                .thenReturn(ItemDTO.builder().id(10L).productId(1L).quantity(5).build());
+        when(itemService.createItem(eq(2L), any(ItemDTO.class), eq("admin")))
+                .thenThrow(ResourceNotFoundException.productNotFound(2L));
+        OperationDTO good = asyncWriteQueue.submitItem(1L, item(5), "admin");
+        OperationDTO bad = asyncWriteQueue.submitItem(2L, item(6), "admin");
+
+        // Act
+        asyncWriteQueue.writePending();
+
+        // Assert
+        assertThat(asyncWriteQueue.getOperation(good.getId(), "admin").getStatus()).isEqualTo(OperationStatus.SUCCEEDED);
+        OperationDTO failed = asyncWriteQueue.getOperation(bad.getId(), "admin");
+        assertThat(failed.getStatus()).isEqualTo(OperationStatus.FAILED);
+        assertThat(failed.getErrorStatus()).isEqualTo(404);
+        verify(shardTransactions, times(3)).writeOnShard(anyInt(), any());
+    }
+
+    @Test
+    void submit_FullQueue_LeavesWriteToCaller() {
+        // Arrange
+        asyncWriteQueue.submitItem(1L, item(1), "admin");
+        asyncWriteQueue.submitItem(1L, item(2), "admin");
+
+        // Act
+        OperationDTO overflow = asyncWriteQueue.submitItem(1L, item(3), "admin");
+
+        // Assert
+        assertThat(overflow).isNull();
+        assertThat(asyncWriteQueue.getMetricsSnapshot()).containsEntry("overflowed", 1L);
+    }
+
+    @Test
+    void getOperation_HidesOtherUsersOperations() {
+        // Arrange
+        OperationDTO operation = asyncWriteQueue.submitItem(1L, item(1), "admin");
+
+        // Act & Assert
+        assertThatThrownBy(() -> asyncWriteQueue.getOperation(operation.getId(), "someone-else"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void prefersAsync_ParsesPreferHeader() {
+        // Assert
+        assertThat(AsyncWriteQueue.prefersAsync("respond-async, wait=10")).isTrue();
+        assertThat(AsyncWriteQueue.prefersAsync("return=minimal")).isFalse();
+        assertThat(AsyncWriteQueue.prefersAsync(null)).isFalse();
+    }
+
+    private static ItemDTO item(int quantity) {
+        return ItemDTO.builder().quantity(quantity).build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.productmanager.changes;
+
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.event.ChangeType;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SuppressWarnings("all")
+class ChangeReplayBufferTest {
+
+    @Test
+    void after_ReturnsChangesFollowingLastEventId() {
+        // Arrange
+        ChangeReplayBuffer buffer = new ChangeReplayBuffer(8);
+        for (long productId = 1; productId <= 5; productId++) {
+            buffer.append(event(productId, "admin"));
+        }
+
+        // Act & Assert
+        assertThat(buffer.canResumeAfter(3)).isTrue();
+        assertThat(buffer.after(3)).extracting(ChangeEnvelope::getSequence).containsExactly(4L, 5L);
+    }
+
+    @Test
+    void canResumeAfter_FalseWhenChangesWereOverwrittenOrUnknown() {
+        // Arrange
+        ChangeReplayBuffer buffer = new ChangeReplayBuffer(4);
+        for (long productId = 1; productId <= 10; productId++) {
+            buffer.append(event(productId, "admin"));
+        }
+
+        // Act & Assert
+        assertThat(buffer.getOldestSequence()).isEqualTo(7);
+        assertThat(buffer.canResumeAfter(6)).isTrue();
+        assertThat(buffer.canResumeAfter(5)).isFalse();
+        assertThat(buffer.canResumeAfter(11)).isFalse();
+    }
+
+    @Test
+    void subscription_FiltersByProductAndOwner() {
+        // Arrange
+        ChangeSubscription subscription = new ChangeSubscription(new SseEmitter(), 1L, "alice", 4);
+
+        // Act & Assert
+        assertThat(subscription.matches(event(1L, "alice"))).isTrue();
+        assertThat(subscription.matches(event(2L, "alice"))).isFalse();
+        assertThat(subscription.matches(event(1L, "bob"))).isFalse();
+    }
+
+    @Test
+    void subscription_DropOldestKeepsNewestChanges() {
+        // Arrange
+        ChangeReplayBuffer buffer = new ChangeReplayBuffer(16);
+        ChangeSubscription subscription = new ChangeSubscription(new SseEmitter(), null, null, 2);
+
+        // Act
+        for (long productId = 1; productId <= 5; productId++) {
+            assertThat(subscription.offer(buffer.append(event(productId, "admin")), OverflowPolicy.DROP_OLDEST)).isTrue();
+        }
+
+        // Assert
+        assertThat(subscription.takeDroppedCount()).isEqualTo(3);
+        assertThat(subscription.poll().getSequence()).isEqualTo(4);
+        assertThat(subscription.poll().getSequence()).isEqualTo(5);
+        assertThat(subscription.hasPending()).isFalse();
+    }
+
+    @Test
+    void subscription_DisconnectPolicyRejectsWhenFull() {
+        // Arrange
+        ChangeReplayBuffer buffer = new ChangeReplayBuffer(16);
+        ChangeSubscription subscription = new ChangeSubscription(new SseEmitter(), null, null, 1);
+        subscription.offer(buffer.append(event(1L, "admin")), OverflowPolicy.DISCONNECT);
+
+        // Act & Assert
+        assertThat(subscription.offer(buffer.append(event(2L, "admin")), OverflowPolicy.DISCONNECT)).isFalse();
+    }
+
+    private CatalogChangeEvent event(Long productId, String owner) {
+        return CatalogChangeEvent.builder()
+                .type(ChangeType.PRODUCT_UPDATED)
+                .productId(productId)
+                .owner(owner)
+                .build();
+    }
+}
@@ -60,7 +60,7 @@ class ItemControllerTest {
                 .quantity(100)
                 .build();
 
-        when(itemService.createItem(eq(1L), any(ItemDTO.class)))
+        when(itemService.createItem(eq(1L), any(ItemDTO.class), eq("admin")))
                 .thenReturn(itemDTO);
 
         // Act & Assert
@@ -125,7 +125,7 @@ class ItemControllerTest {
                 .quantity(200)
                 .build();
 
-        when(itemService.updateItem(eq(1L), eq(1L), any(ItemDTO.class)))
+        when(itemService.updateItem(eq(1L), eq(1L), any(ItemDTO.class), eq("admin")))
                 .thenReturn(updatedDTO);
 
         // Act & Assert
@@ -0,0 +1,93 @@
+package com.productmanager.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Uses two in-memory H2 databases standing in for the primary and a replica.
+ */
+@SuppressWarnings("all")
+class ReplicaRoutingDataSourceTest {
+
+    private ReplicaRoutingDataSource routingDataSource;
+    private DriverManagerDataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource primary = new DriverManagerDataSource("jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1", "sa", "");
+        replica = new DriverManagerDataSource("jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1", "sa", "");
+        routingDataSource = new ReplicaRoutingDataSource(primary, List.of(replica), 60_000, 1);
+        routingDataSource.afterPropertiesSet();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransaction_RoutesToReplica() throws Exception {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Act & Assert
+        assertThat(connectedUrl()).contains("routing_replica");
+    }
+
+    @Test
+    void readWriteTransaction_RoutesToPrimary() throws Exception {
+        // Act & Assert
+        assertThat(connectedUrl()).contains("routing_primary");
+    }
+
+    @Test
+    void readAfterOwnWrite_StaysOnPrimary() throws Exception {
+        // Arrange
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("writer", null, null));
+        connectedUrl();
+
+        // Act
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // Assert
+        assertThat(connectedUrl()).contains("routing_primary");
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken("reader", null, null));
+        assertThat(connectedUrl()).contains("routing_replica");
+    }
+
+    @Test
+    void unhealthyReplica_FailsBackToPrimaryUntilRecovered() throws Exception {
+        // Arrange
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        replica.setUrl("jdbc:h2:mem:routing_missing;IFEXISTS=TRUE");
+
+        // Act
+        routingDataSource.checkReplicaHealth();
+
+        // Assert
+        assertThat(connectedUrl()).contains("routing_primary");
+
+        replica.setUrl("jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1");
+        routingDataSource.checkReplicaHealth();
+        assertThat(connectedUrl()).contains("routing_replica");
+    }
+
+    private String connectedUrl() throws Exception {
+        try (Connection connection = routingDataSource.getConnection()) {
+            return connection.getMetaData().getURL();
+        }
+    }
+}
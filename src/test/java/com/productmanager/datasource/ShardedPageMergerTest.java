@@ -0,0 +1,92 @@
+package com.productmanager.datasource;
+
+import com.productmanager.dto.PagedResponse;
+import com.productmanager.dto.ProductDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SuppressWarnings("all")
+class ShardedPageMergerTest {
+
+    private final ShardResolver shardResolver = new ShardResolver(true, List.of("jdbc:a", "jdbc:b", "jdbc:c"));
+
+    @Test
+    void totalOrder_AppendsIdTieBreaker() {
+        // Act
+        Sort sort = ShardedPageMerger.totalOrder(Sort.by(Sort.Direction.DESC, "productName"));
+
+        // Assert
+        assertThat(sort.getOrderFor("productName").getDirection()).isEqualTo(Sort.Direction.DESC);
+        assertThat(sort.getOrderFor("id").getDirection()).isEqualTo(Sort.Direction.ASC);
+    }
+
+    @Test
+    void merge_ReturnsRequestedSliceOfGlobalOrder() {
+        // Arrange
+        Sort sort = ShardedPageMerger.totalOrder(Sort.by("productName"));
+        PagedResponse<ProductDTO> shard0 = page(product(1L, "Apple"), product(4L, "Delta"), product(7L, "Golf"));
+        PagedResponse<ProductDTO> shard1 = page(product(2L, "Bravo"), product(5L, "Echo"));
+        PagedResponse<ProductDTO> shard2 = page(product(3L, "Charlie"), product(6L, "Foxtrot"));
+
+        // Act
+        PagedResponse<ProductDTO> result = ShardedPageMerger.merge(
+                List.of(shard0, shard1, shard2), PageRequest.of(1, 3, sort), sort);
+
+        // Assert
+        assertThat(result.getContent()).extracting(ProductDTO::getProductName)
+                .containsExactly("Delta", "Echo", "Foxtrot");
+        assertThat(result.getTotalElements()).isEqualTo(7);
+        assertThat(result.getTotalPages()).isEqualTo(3);
+        assertThat(result.isFirst()).isFalse();
+        assertThat(result.isLast()).isFalse();
+    }
+
+    @Test
+    void merge_BreaksTiesById() {
+        // Arrange
+        Sort sort = ShardedPageMerger.totalOrder(Sort.by("productName"));
+        PagedResponse<ProductDTO> shard0 = page(product(4L, "Same"));
+        PagedResponse<ProductDTO> shard1 = page(product(2L, "Same"));
+
+        // Act
+        PagedResponse<ProductDTO> result = ShardedPageMerger.merge(
+                List.of(shard0, shard1), PageRequest.of(0, 10, sort), sort);
+
+        // Assert
+        assertThat(result.getContent()).extracting(ProductDTO::getId).containsExactly(2L, 4L);
+        assertThat(result.isLast()).isTrue();
+    }
+
+    @Test
+    void shardForProductId_MatchesInterleavedIdentity() {
+        // Act & Assert
+        for (int shard = 0; shard < 3; shard++) {
+            long start = shardResolver.identityStart(shard);
+            assertThat(shardResolver.shardForProductId(start)).isEqualTo(shard);
+            assertThat(shardResolver.shardForProductId(start + 3L * 17)).isEqualTo(shard);
+        }
+    }
+
+    @Test
+    void shardForProductName_IgnoresCaseAndWhitespace() {
+        // Act & Assert
+        assertThat(shardResolver.shardForProductName(" Widget "))
+                .isEqualTo(shardResolver.shardForProductName("widget"));
+    }
+
+    private PagedResponse<ProductDTO> page(ProductDTO... products) {
+        return PagedResponse.<ProductDTO>builder()
+                .content(List.of(products))
+                .totalElements(products.length)
+                .build();
+    }
+
+    private ProductDTO product(Long id, String name) {
+        return ProductDTO.builder().id(id).productName(name).build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.productmanager.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties")
+@SuppressWarnings("all")
+class SupersededIndexCleanupTest {
+
+    @Autowired
+    private SupersededIndexCleanup supersededIndexCleanup;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_product_name");
+        jdbcTemplate.execute("DROP INDEX IF EXISTS idx_product_id");
+    }
+
+    @Test
+    void dropSupersededIndexes_DropsOldIndexesAndKeepsReplacements() {
+        // Arrange
+        jdbcTemplate.execute("CREATE INDEX idx_product_name ON product(product_name)");
+        jdbcTemplate.execute("CREATE INDEX idx_product_id ON item(product_id)");
+
+        // Act
+        supersededIndexCleanup.dropSupersededIndexes();
+
+        // Assert
+        assertThat(indexNames()).doesNotContain("IDX_PRODUCT_NAME", "IDX_PRODUCT_ID")
+                .contains("IDX_PRODUCT_NAME_ID", "IDX_ITEM_PRODUCT_ID");
+    }
+
+    @Test
+    void dropSupersededIndexes_KeepsOldIndexWithoutReplacement() {
+        // Arrange
+        jdbcTemplate.execute("DROP INDEX idx_product_name_id");
+        jdbcTemplate.execute("CREATE INDEX idx_product_name ON product(product_name)");
+
+        // Act
+        supersededIndexCleanup.dropSupersededIndexes();
+
+        // Assert
+        assertThat(indexNames()).contains("IDX_PRODUCT_NAME");
+        jdbcTemplate.execute("CREATE INDEX idx_product_name_id ON product(product_name, id)");
+    }
+
+    private List<String> indexNames() {
+        return jdbcTemplate.queryForList(
+                "SELECT index_name FROM information_schema.indexes WHERE table_schema = 'PUBLIC'", String.class);
+    }
+}
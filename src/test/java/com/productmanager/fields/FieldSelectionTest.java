@@ -0,0 +1,71 @@
+package com.productmanager.fields;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.productmanager.dto.PagedResponse;
+import com.productmanager.dto.ProductDTO;
+import com.productmanager.exception.InvalidRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SuppressWarnings("all")
+class FieldSelectionTest {
+
+    private FieldProjector projector;
+
+    @BeforeEach
+    void setUp() {
+        projector = new FieldProjector();
+        ReflectionTestUtils.setField(projector, "objectMapper", new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    void parse_BlankSelectsEverything() {
+        // Act
+        FieldSelection selection = FieldSelection.parse(" ", ProductDTO.class);
+
+        // Assert
+        assertThat(selection.isAll()).isTrue();
+        assertThat(selection.includes("itemCount")).isTrue();
+    }
+
+    @Test
+    void parse_RejectsUnknownField() {
+        // Act & Assert
+        assertThatThrownBy(() -> FieldSelection.parse("id,price", ProductDTO.class))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("Unknown field 'price'");
+    }
+
+    @Test
+    void project_KeepsOnlySelectedFieldsOfEveryPageEntry() {
+        // Arrange
+        FieldSelection selection = FieldSelection.parse("id, productName", ProductDTO.class);
+        PagedResponse<ProductDTO> page = PagedResponse.<ProductDTO>builder()
+                .content(List.of(ProductDTO.builder().id(1L).productName("Widget").createdBy("admin").itemCount(3).build()))
+                .pageNumber(0)
+                .pageSize(10)
+                .totalElements(1)
+                .totalPages(1)
+                .isFirst(true)
+                .isLast(true)
+                .build();
+
+        // Act
+        PagedResponse<?> projected = projector.project(page, selection);
+
+        // Assert
+        assertThat(selection.includes("itemCount")).isFalse();
+        assertThat(projected.getTotalElements()).isEqualTo(1);
+        JsonNode document = (JsonNode) projected.getContent().get(0);
+        assertThat(document.size()).isEqualTo(2);
+        assertThat(document.get("id").asLong()).isEqualTo(1L);
+        assertThat(document.get("productName").asText()).isEqualTo("Widget");
+    }
+}
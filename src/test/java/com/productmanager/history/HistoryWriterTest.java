@@ -0,0 +1,132 @@
+package com.productmanager.history;
+
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.event.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("all")
+class HistoryWriterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ShardResolver shardResolver;
+
+    @Mock
+    private ShardTransactions shardTransactions;
+
+    @InjectMocks
+    private HistoryWriter historyWriter;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(historyWriter, "enabled", true);
+        ReflectionTestUtils.setField(historyWriter, "bufferCapacity", 2);
+        ReflectionTestUtils.setField(historyWriter, "batchSize", 100);
+        ReflectionTestUtils.setField(historyWriter, "offerTimeoutMillis", 0L);
+        historyWriter.init();
+        lenient().when(shardResolver.shardForProductId(any())).thenReturn(0);
+        lenient().when(shardTransactions.writeOnShard(anyInt(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+    }
+
+    @Test
+    void flushPending_WritesProductAndItemChangesAsBatches() {
+        // Arrange
+        historyWriter.onCatalogChange(CatalogChangeEvent.builder()
+                .type(ChangeType.PRODUCT_UPDATED)
+                .productId(1L)
+                .productName("Laptop")
+                .previousProductName("Notebook")
+                .actor("admin")
+                .occurredOn(LocalDateTime.now())
+                .build());
+        historyWriter.onCatalogChange(CatalogChangeEvent.builder()
+                .type(ChangeType.ITEM_UPDATED)
+                .productId(1L)
+                .itemId(7L)
+                .previousQuantity(10)
+                .quantity(8)
+                .occurredOn(LocalDateTime.now())
+                .build());
+
+        // Act
+        int flushed = historyWriter.flushPending();
+
+        // Assert
+        assertThat(flushed).isEqualTo(2);
+        verify(shardTransactions, times(1)).writeOnShard(anyInt(), any());
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO product_history"),
+                anyList(), eq(1),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO item_history"),
+                anyList(), eq(1),
+                any(ParameterizedPreparedStatementSetter.class));
+        assertThat(historyWriter.getMetricsSnapshot()).containsEntry("written", 2L);
+    }
+
+    @Test
+    void onCatalogChange_FullBuffer_DropsAndCounts() {
+        // Arrange
+        CatalogChangeEvent event = CatalogChangeEvent.builder()
+                .type(ChangeType.ITEM_CREATED)
+                .productId(1L)
+                .itemId(7L)
+                .quantity(5)
+                .build();
+        historyWriter.onCatalogChange(event);
+        historyWriter.onCatalogChange(event);
+
+        // Act
+        historyWriter.onCatalogChange(event);
+
+        // Assert
+        assertThat(historyWriter.getMetricsSnapshot())
+                .containsEntry("enqueued", 2L)
+                .containsEntry("dropped", 1L)
+                .containsEntry("queued", 2)
+                .containsEntry("bufferUtilization", 1.0);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void flushPending_FailedBatchIsCounted() {
+        // Arrange
+        doThrow(new IllegalStateException("down")).when(shardTransactions).writeOnShard(anyInt(), any());
+        historyWriter.onCatalogChange(CatalogChangeEvent.builder()
+                .type(ChangeType.PRODUCT_CREATED)
+                .productId(1L)
+                .productName("Laptop")
+                .build());
+
+        // Act
+        historyWriter.flushPending();
+
+        // Assert
+        assertThat(historyWriter.getMetricsSnapshot())
+                .containsEntry("failed", 1L)
+                .containsEntry("written", 0L);
+    }
+}
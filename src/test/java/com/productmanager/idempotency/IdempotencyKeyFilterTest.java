@@ -0,0 +1,306 @@
+package com.productmanager.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SuppressWarnings("all")
+class IdempotencyKeyFilterTest {
+
+    private IdempotencyKeyFilter filter;
+    private InMemoryIdempotencyStore store;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        store = new InMemoryIdempotencyStore();
+        ReflectionTestUtils.setField(store, "capacity", 100);
+        filter = filter(store);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_RetryReplaysStoredResponseWithoutRunningAgain() throws Exception {
+        // Arrange
+        FilterChain chain = created();
+        call(request("key-1", "{\"productName\":\"Laptop\"}"), chain);
+
+        // Act
+        MockHttpServletResponse retry = call(request("key-1", "{\"productName\":\"Laptop\"}"), chain);
+
+        // Assert
+        assertThat(executions).hasValue(1);
+        assertThat(retry.getStatus()).isEqualTo(201);
+        assertThat(retry.getHeader(HttpHeaders.LOCATION)).isEqualTo("/api/v1/products/1");
+        assertThat(retry.getHeader(IdempotencyKeyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(retry.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(filter.getMetricsSnapshot()).containsEntry("replayed", 1L).containsEntry("stored", 1L);
+    }
+
+    @Test
+    void doFilter_SameKeyDifferentBody_Returns422() throws Exception {
+        // Arrange
+        FilterChain chain = created();
+        call(request("key-1", "{\"productName\":\"Laptop\"}"), chain);
+
+        // Act
+        MockHttpServletResponse retry = call(request("key-1", "{\"productName\":\"Phone\"}"), chain);
+
+        // Assert
+        assertThat(retry.getStatus()).isEqualTo(422);
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void doFilter_KeysAreScopedPerUser() throws Exception {
+        // Arrange
+        FilterChain chain = created();
+        call(request("key-1", "{}"), chain);
+
+        // Act
+        MockHttpServletResponse other = call(request("key-1", "{}"), chain, "someone-else");
+
+        // Assert
+        assertThat(executions).hasValue(2);
+        assertThat(other.getHeader(IdempotencyKeyFilter.REPLAYED_HEADER)).isNull();
+    }
+
+    @Test
+    void doFilter_ConflictIsNotStored() throws Exception {
+        // Arrange
+        FilterChain chain = (request, response) -> {
+            executions.incrementAndGet();
+            ((jakarta.servlet.http.HttpServletResponse) response).setStatus(409);
+        };
+        call(request("key-1", "{}"), chain);
+
+        // Act
+        MockHttpServletResponse retry = call(request("key-1", "{}"), chain);
+
+        // Assert
+        assertThat(executions).hasValue(2);
+        assertThat(retry.getStatus()).isEqualTo(409);
+        assertThat(filter.getMetricsSnapshot()).containsEntry("notStored", 2L);
+    }
+
+    @Test
+    void doFilter_ConcurrentDuplicateWaitsForFirstRequest() throws Exception {
+        // Arrange
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain chain = (request, response) -> {
+            firstStarted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            created().doFilter(request, response);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act
+        Future<MockHttpServletResponse> first = executor.submit(() -> call(request("key-1", "{}"), chain));
+        firstStarted.await();
+        Future<MockHttpServletResponse> duplicate = executor.submit(() -> call(request("key-1", "{}"), chain));
+        while ((Long) filter.getMetricsSnapshot().get("waitedForFirst") < 1) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        // Assert
+        assertThat(first.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+        MockHttpServletResponse replayed = duplicate.get(5, TimeUnit.SECONDS);
+        assertThat(replayed.getStatus()).isEqualTo(201);
+        assertThat(replayed.getHeader(IdempotencyKeyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(executions).hasValue(1);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void doFilter_DuplicateOnAnotherInstancePollsSharedStore() throws Exception {
+        // Arrange
+        IdempotencyKeyFilter otherInstance = filter(store);
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain chain = (request, response) -> {
+            firstStarted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            created().doFilter(request, response);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act
+        Future<MockHttpServletResponse> first = executor.submit(() -> call(request("key-1", "{}"), chain));
+        firstStarted.await();
+        Future<MockHttpServletResponse> duplicate = executor.submit(
+                () -> call(otherInstance, request("key-1", "{}"), chain, "admin"));
+        while ((Long) otherInstance.getMetricsSnapshot().get("waitedForFirst") < 1) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        // Assert
+        assertThat(first.get(5, TimeUnit.SECONDS).getStatus()).isEqualTo(201);
+        MockHttpServletResponse replayed = duplicate.get(5, TimeUnit.SECONDS);
+        assertThat(replayed.getStatus()).isEqualTo(201);
+        assertThat(replayed.getHeader(IdempotencyKeyFilter.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(executions).hasValue(1);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void doFilter_UnstoredResponseReleasesClaim() throws Exception {
+        // Arrange
+        FilterChain chain = (request, response) -> {
+            executions.incrementAndGet();
+            ((jakarta.servlet.http.HttpServletResponse) response).setStatus(503);
+        };
+
+        // Act
+        call(request("key-1", "{}"), chain);
+
+        // Assert
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void doFilter_BufferedBodySupportsReadListener() throws Exception {
+        // Arrange
+        ByteArrayOutputStream received = new ByteArrayOutputStream();
+        AtomicInteger allDataRead = new AtomicInteger();
+        FilterChain chain = (request, response) -> {
+            ServletInputStream input = request.getInputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (input.isReady() && !input.isFinished()) {
+                        received.write(input.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    allDataRead.incrementAndGet();
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                }
+            });
+            created().doFilter(request, response);
+        };
+
+        // Act
+        call(request("key-1", "{\"productName\":\"Laptop\"}"), chain);
+
+        // Assert
+        assertThat(received.toString(StandardCharsets.UTF_8)).isEqualTo("{\"productName\":\"Laptop\"}");
+        assertThat(allDataRead).hasValue(1);
+    }
+
+    @Test
+    void inMemoryStore_EvictsOldestBeyondCapacityAndPurgesExpired() {
+        // Arrange
+        ReflectionTestUtils.setField(store, "capacity", 2);
+        store.save("a", response(100));
+        store.save("b", response(200));
+        store.save("c", response(300));
+
+        // Act
+        int purged = store.purgeExpired(250);
+
+        // Assert
+        assertThat(purged).isEqualTo(1);
+        assertThat(store.find("a", 0)).isNull();
+        assertThat(store.find("b", 0)).isNull();
+        assertThat(store.find("c", 250)).isNotNull();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    private FilterChain created() {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            jakarta.servlet.http.HttpServletResponse httpResponse = (jakarta.servlet.http.HttpServletResponse) response;
+            httpResponse.setStatus(201);
+            httpResponse.setContentType("application/json");
+            httpResponse.setHeader(HttpHeaders.LOCATION, "/api/v1/products/1");
+            httpResponse.getOutputStream().write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private MockHttpServletResponse call(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        return call(request, chain, "admin");
+    }
+
+    private MockHttpServletResponse call(MockHttpServletRequest request, FilterChain chain, String username)
+            throws Exception {
+        return call(filter, request, chain, username);
+    }
+
+    private static MockHttpServletResponse call(IdempotencyKeyFilter filter, MockHttpServletRequest request,
+                                                FilterChain chain, String username) throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private static IdempotencyKeyFilter filter(IdempotencyStore store) {
+        IdempotencyKeyFilter filter = new IdempotencyKeyFilter();
+        ReflectionTestUtils.setField(filter, "idempotencyStore", store);
+        ReflectionTestUtils.setField(filter, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "ttlSeconds", 60L);
+        ReflectionTestUtils.setField(filter, "waitTimeoutMillis", 5000L);
+        ReflectionTestUtils.setField(filter, "maxKeyLength", 255);
+        ReflectionTestUtils.setField(filter, "claimTimeoutMillis", 60000L);
+        ReflectionTestUtils.setField(filter, "pollIntervalMillis", 5L);
+        return filter;
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/products");
+        request.addHeader(IdempotencyKeyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    private static StoredResponse response(long expiresAtMillis) {
+        return new StoredResponse("hash", 201, null, Map.of(), new byte[0], expiresAtMillis);
+    }
+}
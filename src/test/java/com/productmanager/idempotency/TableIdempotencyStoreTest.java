@@ -0,0 +1,91 @@
+package com.productmanager.idempotency;
+
+import com.productmanager.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = "idempotency.store=table")
+@SuppressWarnings("all")
+class TableIdempotencyStoreTest {
+
+    @Autowired
+    private IdempotencyStore idempotencyStore;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @AfterEach
+    void tearDown() {
+        idempotencyRecordRepository.deleteAll();
+    }
+
+    @Test
+    void claim_SecondClaimOnLiveKeyFails() {
+        // Act
+        boolean first = idempotencyStore.claim("key-1", StoredResponse.pending("hash", 2_000), 1_000);
+        boolean second = idempotencyStore.claim("key-1", StoredResponse.pending("other", 2_000), 1_000);
+
+        // Assert
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        StoredResponse holder = idempotencyStore.find("key-1", 1_000);
+        assertThat(holder.isPending()).isTrue();
+        assertThat(holder.requestHash()).isEqualTo("hash");
+    }
+
+    @Test
+    void claim_TakesOverExpiredClaim() {
+        // Arrange
+        idempotencyStore.claim("key-1", StoredResponse.pending("hash", 2_000), 1_000);
+
+        // Act
+        boolean claimed = idempotencyStore.claim("key-1", StoredResponse.pending("other", 4_000), 3_000);
+
+        // Assert
+        assertThat(claimed).isTrue();
+        assertThat(idempotencyStore.find("key-1", 3_000).requestHash()).isEqualTo("other");
+    }
+
+    @Test
+    void save_CompletesClaimAndDoesNotOverwriteStoredResponse() {
+        // Arrange
+        idempotencyStore.claim("key-1", StoredResponse.pending("hash", 2_000), 1_000);
+        idempotencyStore.save("key-1", response("hash", 201));
+
+        // Act
+        idempotencyStore.save("key-1", response("hash", 400));
+        idempotencyStore.release("key-1");
+
+        // Assert
+        StoredResponse stored = idempotencyStore.find("key-1", 1_000);
+        assertThat(stored.status()).isEqualTo(201);
+        assertThat(stored.headers()).containsEntry("Location", "/api/v1/products/1");
+        assertThat(stored.body()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void release_DropsPendingClaim() {
+        // Arrange
+        idempotencyStore.claim("key-1", StoredResponse.pending("hash", 2_000), 1_000);
+
+        // Act
+        idempotencyStore.release("key-1");
+
+        // Assert
+        assertThat(idempotencyStore.find("key-1", 1_000)).isNull();
+        assertThat(idempotencyStore.claim("key-1", StoredResponse.pending("hash", 2_000), 1_000)).isTrue();
+    }
+
+    private static StoredResponse response(String requestHash, int status) {
+        return new StoredResponse(requestHash, status, "application/json",
+                Map.of("Location", "/api/v1/products/1"), new byte[] {1, 2, 3}, 10_000);
+    }
+}
@@ -0,0 +1,86 @@
+package com.productmanager.inventory;
+
+import com.productmanager.dto.StockCrossingDTO;
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.event.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SuppressWarnings("all")
+class LowStockCrossingDetectorTest {
+
+    private LowStockCrossingDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        detector = new LowStockCrossingDetector();
+        ReflectionTestUtils.setField(detector, "thresholds", new int[]{5, 10});
+        ReflectionTestUtils.setField(detector, "bufferSize", 4);
+        detector.init();
+    }
+
+    @Test
+    void update_RecordsEachThresholdCrossed() {
+        // Act
+        detector.onCatalogChange(update(12, 4));
+
+        // Assert
+        List<StockCrossingDTO> crossings = detector.getCrossingsAfter(0, 10);
+        assertThat(crossings).extracting(StockCrossingDTO::getThreshold).containsExactly(5, 10);
+        assertThat(crossings).extracting(StockCrossingDTO::getDirection)
+                .containsOnly(StockCrossingDTO.Direction.BELOW);
+    }
+
+    @Test
+    void update_WithinSameBand_RecordsNothing() {
+        // Act
+        detector.onCatalogChange(update(20, 11));
+        detector.onCatalogChange(update(9, 6));
+
+        // Assert
+        assertThat(detector.getLatestSequence()).isZero();
+    }
+
+    @Test
+    void recovery_RecordsAboveCrossing() {
+        // Act
+        detector.onCatalogChange(update(8, 30));
+
+        // Assert
+        assertThat(detector.getCrossingsAfter(0, 10)).singleElement()
+                .satisfies(crossing -> {
+                    assertThat(crossing.getThreshold()).isEqualTo(10);
+                    assertThat(crossing.getDirection()).isEqualTo(StockCrossingDTO.Direction.ABOVE);
+                });
+    }
+
+    @Test
+    void getCrossingsAfter_SkipsOverwrittenEntries() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            detector.onCatalogChange(update(12, 4));
+        }
+
+        // Act
+        List<StockCrossingDTO> crossings = detector.getCrossingsAfter(0, 10);
+
+        // Assert
+        assertThat(crossings).extracting(StockCrossingDTO::getSequence).containsExactly(3L, 4L, 5L, 6L);
+    }
+
+    private CatalogChangeEvent update(int previousQuantity, int quantity) {
+        return CatalogChangeEvent.builder()
+                .type(ChangeType.ITEM_UPDATED)
+                .productId(1L)
+                .itemId(7L)
+                .owner("admin")
+                .previousQuantity(previousQuantity)
+                .quantity(quantity)
+                .build();
+    }
+}
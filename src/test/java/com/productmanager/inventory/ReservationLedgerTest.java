@@ -0,0 +1,196 @@
+package com.productmanager.inventory;
+
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.dto.ItemAvailabilityDTO;
+import com.productmanager.dto.ReservationDTO;
+import com.productmanager.dto.ReservationStatus;
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.event.ChangeType;
+import com.productmanager.exception.InsufficientStockException;
+import com.productmanager.exception.ResourceNotFoundException;
+import com.productmanager.repository.ItemRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("all")
+class ReservationLedgerTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ShardResolver shardResolver;
+
+    @Mock
+    private ShardTransactions shardTransactions;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ReservationLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(ledger, "defaultTtlSeconds", 300);
+        ReflectionTestUtils.setField(ledger, "maxTtlSeconds", 3600);
+        ReflectionTestUtils.setField(ledger, "finishedRetentionSeconds", 60);
+        ReflectionTestUtils.setField(ledger, "confirmBatchSize", 100);
+        ReflectionTestUtils.setField(ledger, "confirmWaitMillis", 0L);
+        ReflectionTestUtils.setField(ledger, "tickMillis", 100L);
+        ReflectionTestUtils.setField(ledger, "wheelSize", 64);
+        ledger.init();
+        lenient().when(shardResolver.shardForProductId(any())).thenReturn(0);
+        lenient().when(shardTransactions.readOnShard(anyInt(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+        lenient().when(shardTransactions.writeOnShard(anyInt(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+    }
+
+    @Test
+    void reserve_HoldsQuantityUntilNoneIsLeft() {
+        // Arrange
+        when(itemRepository.findQuantityByIdAndProductId(7L, 1L)).thenReturn(Optional.of(5));
+        ledger.reserve(1L, 7L, 3, null, "admin");
+
+        // Act
+        ItemAvailabilityDTO availability = ledger.getAvailability(1L, 7L);
+
+        // Assert
+        assertThat(availability.getReserved()).isEqualTo(3);
+        assertThat(availability.getAvailable()).isEqualTo(2);
+        assertThatThrownBy(() -> ledger.reserve(1L, 7L, 3, null, "admin"))
+                .isInstanceOf(InsufficientStockException.class)
+                .hasMessageContaining("only 2 available");
+        verify(itemRepository, times(1)).findQuantityByIdAndProductId(7L, 1L);
+    }
+
+    @Test
+    void release_GivesQuantityBack() {
+        // Arrange
+        when(itemRepository.findQuantityByIdAndProductId(7L, 1L)).thenReturn(Optional.of(5));
+        ReservationDTO reservation = ledger.reserve(1L, 7L, 5, null, "admin");
+
+        // Act
+        ReservationDTO released = ledger.release(reservation.getId(), "admin");
+
+        // Assert
+        assertThat(released.getStatus()).isEqualTo(ReservationStatus.RELEASED);
+        assertThat(ledger.getAvailability(1L, 7L).getAvailable()).isEqualTo(5);
+    }
+
+    @Test
+    void reservationOfAnotherUser_IsNotFound() {
+        // Arrange
+        when(itemRepository.findQuantityByIdAndProductId(7L, 1L)).thenReturn(Optional.of(5));
+        ReservationDTO reservation = ledger.reserve(1L, 7L, 2, null, "admin");
+
+        // Act & Assert
+        assertThatThrownBy(() -> ledger.getReservation(reservation.getId(), "clerk"))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> ledger.release(reservation.getId(), "clerk"))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> ledger.confirm(reservation.getId(), "clerk"))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThat(ledger.getReservation(reservation.getId(), "admin").getStatus()).isEqualTo(ReservationStatus.HELD);
+    }
+
+    @Test
+    void expireHolds_ExpiresHoldsPastTheirTtl() {
+        // Arrange
+        when(itemRepository.findQuantityByIdAndProductId(7L, 1L)).thenReturn(Optional.of(5));
+        ReservationDTO shortHold = ledger.reserve(1L, 7L, 2, 1, "admin");
+        ReservationDTO longHold = ledger.reserve(1L, 7L, 1, 600, "admin");
+
+        // Act
+        ledger.expireHolds(System.currentTimeMillis() + 2_000);
+
+        // Assert
+        assertThat(ledger.getReservation(shortHold.getId(), "admin").getStatus()).isEqualTo(ReservationStatus.EXPIRED);
+        assertThat(ledger.getReservation(longHold.getId(), "admin").getStatus()).isEqualTo(ReservationStatus.HELD);
+        assertThat(ledger.getAvailability(1L, 7L).getAvailable()).isEqualTo(4);
+        assertThat(ledger.getMetricsSnapshot()).containsEntry("expired", 1L);
+    }
+
+    @Test
+    void confirm_DeductsQuantityInBatchAndPublishesChangePerReservingUser() {
+        // Arrange
+        when(itemRepository.findQuantityByIdAndProductId(7L, 1L)).thenReturn(Optional.of(10));
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE"), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{{1, 1}});
+        when(itemRepository.findStockRowsByIds(any())).thenReturn(rows(new Object[]{7L, 1L, 7, "admin", "Widget", 5L}));
+        ReservationDTO first = ledger.reserve(1L, 7L, 2, null, "admin");
+        ReservationDTO second = ledger.reserve(1L, 7L, 1, null, "clerk");
+
+        // Act
+        ReservationDTO pending = ledger.confirm(first.getId(), "admin");
+        ledger.confirm(second.getId(), "clerk");
+        int applied = ledger.applyPendingConfirmations();
+
+        // Assert
+        assertThat(pending.getStatus()).isEqualTo(ReservationStatus.CONFIRMING);
+        assertThat(applied).isEqualTo(2);
+        assertThat(ledger.getReservation(first.getId(), "admin").getStatus()).isEqualTo(ReservationStatus.CONFIRMED);
+        verify(jdbcTemplate, times(1)).batchUpdate(startsWith("UPDATE"), anyList(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof CatalogChangeEvent
+                && ((CatalogChangeEvent) event).getType() == ChangeType.ITEM_UPDATED
+                && ((CatalogChangeEvent) event).getQuantity() == 8
+                && ((CatalogChangeEvent) event).getPreviousQuantity() == 10
+                && ((CatalogChangeEvent) event).getVersion() == 4L
+                && "admin".equals(((CatalogChangeEvent) event).getActor())));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof CatalogChangeEvent
+                && ((CatalogChangeEvent) event).getQuantity() == 7
+                && ((CatalogChangeEvent) event).getPreviousQuantity() == 8
+                && ((CatalogChangeEvent) event).getVersion() == 5L
+                && "clerk".equals(((CatalogChangeEvent) event).getActor())));
+    }
+
+    @Test
+    void confirm_RejectsReservationWhenItemRanOut() {
+        // Arrange
+        when(itemRepository.findQuantityByIdAndProductId(7L, 1L)).thenReturn(Optional.of(10));
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE"), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{{0}});
+        ReservationDTO reservation = ledger.reserve(1L, 7L, 2, null, "admin");
+        ledger.confirm(reservation.getId(), "admin");
+
+        // Act
+        ledger.applyPendingConfirmations();
+
+        // Assert
+        assertThat(ledger.getReservation(reservation.getId(), "admin").getStatus()).isEqualTo(ReservationStatus.REJECTED);
+        assertThat(ledger.getMetricsSnapshot()).containsEntry("confirmRejected", 1L);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+}
@@ -0,0 +1,137 @@
+package com.productmanager.monitoring;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productmanager.dto.JwtTokenResponse;
+import com.productmanager.dto.LoginRequest;
+import com.productmanager.entity.Product;
+import com.productmanager.repository.ProductRepository;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties")
+@SuppressWarnings("all")
+class JfrEventsTest {
+
+    private static final String SERVICE_OPERATION = "com.productmanager.ServiceOperation";
+    private static final String REPOSITORY_CALL = "com.productmanager.RepositoryCall";
+    private static final String RESPONSE_SERIALIZATION = "com.productmanager.ResponseSerialization";
+    private static final String JWT_OPERATION = "com.productmanager.JwtOperation";
+
+    private static final long EVENT_WAIT_MILLIS = 10_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void authenticatedRequest_EmitsServiceRepositorySerializationAndJwtEvents() throws Exception {
+        List<RecordedEvent> events = new CopyOnWriteArrayList<>();
+        try (RecordingStream stream = new RecordingStream()) {
+            // Arrange
+            for (String name : List.of(SERVICE_OPERATION, REPOSITORY_CALL, RESPONSE_SERIALIZATION, JWT_OPERATION)) {
+                stream.enable(name).withoutThreshold();
+                stream.onEvent(name, events::add);
+            }
+            stream.startAsync();
+            productRepository.save(Product.builder()
+                    .productName("JFR Product")
+                    .createdBy("jfr")
+                    .build());
+
+            // Act
+            String loginResponse = mockMvc.perform(post("/api/v1/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(LoginRequest.builder()
+                                    .username("jfr")
+                                    .password("jfr")
+                                    .build())))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+            String token = objectMapper.readValue(loginResponse, JwtTokenResponse.class).getAccessToken();
+            mockMvc.perform(get("/api/v1/products")
+                            .header("Authorization", "Bearer " + token))
+                    .andExpect(status().isOk());
+            awaitEvents(events);
+        }
+
+        // Assert
+        assertThat(events(events, SERVICE_OPERATION)).anySatisfy(event -> {
+            assertThat(event.getString("service")).contains("ProductService");
+            assertThat(event.getString("operation")).isEqualTo("getAllProducts");
+            assertThat(event.getInt("resultSize")).isEqualTo(1);
+            assertThat(event.getBoolean("success")).isTrue();
+        });
+        assertThat(events(events, REPOSITORY_CALL)).anySatisfy(event -> {
+            assertThat(event.getString("queryName")).startsWith("ProductRepository.");
+            assertThat(event.getLong("rowCount")).isPositive();
+            assertThat(event.getBoolean("success")).isTrue();
+        });
+        assertThat(events(events, RESPONSE_SERIALIZATION)).anySatisfy(event -> {
+            assertThat(event.getString("valueType")).isNotBlank();
+            assertThat(event.getLong("bytes")).isPositive();
+        });
+        assertThat(events(events, JWT_OPERATION))
+                .anySatisfy(event -> {
+                    assertThat(event.getString("operation")).isEqualTo(JwtOperationEvent.SIGN_ACCESS);
+                    assertThat(event.getInt("tokenSize")).isPositive();
+                    assertThat(event.getBoolean("success")).isTrue();
+                })
+                .anySatisfy(event -> {
+                    assertThat(event.getString("operation")).isEqualTo(JwtOperationEvent.VERIFY);
+                    assertThat(event.getInt("tokenSize")).isPositive();
+                    assertThat(event.getBoolean("success")).isTrue();
+                });
+    }
+
+    /**
+     * The stream delivers events in chunks about once a second; wait until the last request's
+     * service event has arrived.
+     */
+    private static void awaitEvents(List<RecordedEvent> events) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + EVENT_WAIT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            boolean serviceSeen = events(events, SERVICE_OPERATION).stream()
+                    .anyMatch(event -> "getAllProducts".equals(event.getString("operation")));
+            if (serviceSeen && !events(events, RESPONSE_SERIALIZATION).isEmpty()) {
+                return;
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private static List<RecordedEvent> events(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .toList();
+    }
+}
@@ -0,0 +1,57 @@
+package com.productmanager.naming;
+
+import com.productmanager.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "classpath:application-test.properties")
+@SuppressWarnings("all")
+class ProductNameKeyBackfillTest {
+
+    @Autowired
+    private ProductNameKeyBackfill productNameKeyBackfill;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll();
+    }
+
+    @Test
+    void backfillNameKeys_FillsMissingKeysAndLeavesDuplicatesWithout() {
+        // Arrange
+        insertWithoutKey("Legacy Laptop");
+        insertWithoutKey("LEGACY LAPTOP");
+        insertWithoutKey("Legacy Phone");
+
+        // Act
+        productNameKeyBackfill.backfillNameKeys();
+
+        // Assert
+        List<String> keys = jdbcTemplate.queryForList(
+                "SELECT product_name_key FROM product ORDER BY id", String.class);
+        assertThat(keys).containsExactly("legacy laptop", null, "legacy phone");
+        assertThat(productRepository.existsByProductNameKey("legacy laptop")).isTrue();
+    }
+
+    private void insertWithoutKey(String productName) {
+        jdbcTemplate.update("INSERT INTO product (product_name, created_by, created_on, modified_on, version) "
+                + "VALUES (?, 'admin', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0)", productName);
+    }
+}
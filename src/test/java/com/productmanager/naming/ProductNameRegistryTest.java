@@ -0,0 +1,130 @@
+package com.productmanager.naming;
+
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.dto.ProductDTO;
+import com.productmanager.exception.DuplicateResourceException;
+import com.productmanager.exception.InvalidRequestException;
+import com.productmanager.service.ProductService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Runs the product service against two in-memory H2 shards, so creates and renames are routed
+ * the way they are in production.
+ */
+@SpringBootTest
+@TestPropertySource(locations = "classpath:application-test.properties", properties = {
+        "sharding.enabled=true",
+        "sharding.urls=jdbc:h2:mem:name_registry_shard0;DB_CLOSE_DELAY=-1,jdbc:h2:mem:name_registry_shard1;DB_CLOSE_DELAY=-1",
+        "sharding.initialize-schema=true",
+        "sharding.schema-script=${java.io.tmpdir}/product-manager-name-registry-test-schema.sql",
+        "sharding.identity-init-sql=ALTER TABLE {table} ALTER COLUMN id RESTART WITH {start} SET INCREMENT BY {step}",
+        "spring.jpa.properties.jakarta.persistence.schema-generation.database.action=drop-and-create",
+        "spring.jpa.properties.jakarta.persistence.schema-generation.scripts.action=create",
+        "spring.jpa.properties.jakarta.persistence.schema-generation.scripts.create-target=${sharding.schema-script}",
+        "spring.jpa.properties.hibernate.hbm2ddl.delimiter=;",
+        "spring.jpa.properties.hibernate.hbm2ddl.schema-generation.script.append=false"
+})
+@SuppressWarnings("all")
+class ProductNameRegistryTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ShardResolver shardResolver;
+
+    @Test
+    void renameOntoNameHomedOnAnotherShard_KeepsNameTakenForCreates() {
+        // Arrange
+        String original = nameOnShard(0, "Rename source");
+        String renamed = nameOnShard(1, "Rename target");
+        ProductDTO product = productService.createProduct(product(original), "admin");
+
+        // Act
+        productService.updateProduct(product.getId(), product(renamed), "admin");
+
+        // Assert
+        assertThat(shardResolver.shardForProductId(product.getId())).isZero();
+        assertThatThrownBy(() -> productService.createProduct(product(renamed.toUpperCase(Locale.ROOT)), "admin"))
+                .isInstanceOf(DuplicateResourceException.class);
+        assertThat(productService.createProduct(product(original), "admin").getId()).isNotNull();
+    }
+
+    @Test
+    void renameOntoNameHeldOnAnotherShard_IsRejected() {
+        // Arrange
+        String taken = nameOnShard(1, "Held name");
+        String original = nameOnShard(0, "Held rename source");
+        productService.createProduct(product(taken), "admin");
+        ProductDTO product = productService.createProduct(product(original), "admin");
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.updateProduct(product.getId(), product(taken), "admin"))
+                .isInstanceOf(DuplicateResourceException.class);
+        assertThat(productService.getProductById(product.getId(), false).getProductName()).isEqualTo(original);
+    }
+
+    @Test
+    void renamedProductAgain_ReleasesNameOnItsHomeShard() {
+        // Arrange
+        String first = nameOnShard(0, "Released source");
+        String second = nameOnShard(1, "Released middle");
+        String third = nameOnShard(0, "Released target");
+        ProductDTO product = productService.createProduct(product(first), "admin");
+        productService.updateProduct(product.getId(), product(second), "admin");
+
+        // Act
+        productService.updateProduct(product.getId(), product(third), "admin");
+
+        // Assert
+        assertThat(productService.createProduct(product(second), "admin").getId()).isNotNull();
+        assertThatThrownBy(() -> productService.createProduct(product(third), "admin"))
+                .isInstanceOf(DuplicateResourceException.class);
+    }
+
+    @Test
+    void deleteProduct_ReleasesNameOnItsHomeShard() {
+        // Arrange
+        String original = nameOnShard(0, "Deleted source");
+        String renamed = nameOnShard(1, "Deleted target");
+        ProductDTO product = productService.createProduct(product(original), "admin");
+        productService.updateProduct(product.getId(), product(renamed), "admin");
+
+        // Act
+        productService.deleteProduct(product.getId(), "admin");
+
+        // Assert
+        assertThat(productService.createProduct(product(renamed), "admin").getId()).isNotNull();
+    }
+
+    @Test
+    void listingPastScatterWindow_IsRejected() {
+        // Act & Assert
+        assertThatThrownBy(() -> productService.getAllProducts(PageRequest.of(Integer.MAX_VALUE / 10, 20)))
+                .isInstanceOf(InvalidRequestException.class);
+        assertThat(productService.getAllProducts(PageRequest.of(0, 20))).isNotNull();
+    }
+
+    private String nameOnShard(int shard, String prefix) {
+        for (int suffix = 0; ; suffix++) {
+            String name = prefix + " " + suffix;
+            if (shardResolver.shardForProductName(name) == shard) {
+                return name;
+            }
+        }
+    }
+
+    private static ProductDTO product(String name) {
+        return ProductDTO.builder()
+                .productName(name)
+                .build();
+    }
+}
@@ -0,0 +1,235 @@
+package com.productmanager.readmodel;
+
+import com.productmanager.dto.DeletedEntityDTO;
+import com.productmanager.dto.DeltaSyncResponse;
+import com.productmanager.dto.ItemDTO;
+import com.productmanager.dto.PagedResponse;
+import com.productmanager.dto.ProductDTO;
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.event.ChangeType;
+import com.productmanager.service.DeltaSyncService;
+import com.productmanager.snapshot.CatalogData;
+import com.productmanager.snapshot.CatalogSnapshotService;
+import com.productmanager.snapshot.ItemRecord;
+import com.productmanager.snapshot.ProductRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("all")
+class CatalogReadModelTest {
+
+    @Mock
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Mock
+    private DeltaSyncService deltaSyncService;
+
+    @InjectMocks
+    private CatalogReadModel readModel;
+
+    private final LocalDateTime baseTime = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(readModel, "enabled", true);
+        ReflectionTestUtils.setField(readModel, "refreshBatchSize", 500);
+
+        CatalogData data = new CatalogData(4, 4, "10");
+        data.putProduct(product(1L, "Laptop", "alice", 3));
+        data.putProduct(product(2L, "Mouse", "bob", 1));
+        data.putProduct(product(3L, "Keyboard", "alice", 2));
+        data.putItem(new ItemRecord(11L, 1L, 50, 2L));
+        data.putItem(new ItemRecord(12L, 1L, 5, 0L));
+        data.putItem(new ItemRecord(21L, 2L, 20, 1L));
+        when(catalogSnapshotService.getWarmCatalog()).thenReturn(Optional.of(data));
+
+        readModel.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void getAllProducts_PagesByRequestedIndex() {
+        // Act
+        PagedResponse<ProductDTO> byId = readModel.getAllProducts(PageRequest.of(0, 2));
+        PagedResponse<ProductDTO> byName = readModel.getAllProducts(PageRequest.of(0, 10, Sort.by("productName")));
+        PagedResponse<ProductDTO> byCreatedOnDesc = readModel.getAllProducts(
+                PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "createdOn")));
+
+        // Assert
+        assertThat(readModel.isReady()).isTrue();
+        assertThat(byId.getContent()).extracting(ProductDTO::getId).containsExactly(1L, 2L);
+        assertThat(byId.getContent().get(0).getItemCount()).isEqualTo(2);
+        assertThat(byId.getContent()).extracting(ProductDTO::getVersion).containsExactly(3L, 1L);
+        assertThat(byId.getTotalElements()).isEqualTo(3);
+        assertThat(byId.getTotalPages()).isEqualTo(2);
+        assertThat(byId.isFirst()).isTrue();
+        assertThat(byId.isLast()).isFalse();
+        assertThat(byName.getContent()).extracting(ProductDTO::getProductName)
+                .containsExactly("Keyboard", "Laptop", "Mouse");
+        assertThat(byCreatedOnDesc.getContent()).extracting(ProductDTO::getId).containsExactly(2L);
+        assertThat(byCreatedOnDesc.isLast()).isTrue();
+    }
+
+    @Test
+    void getAllProducts_ReturnsNullForUnsupportedSort() {
+        // Act & Assert
+        assertThat(readModel.getAllProducts(PageRequest.of(0, 10, Sort.by("modifiedBy")))).isNull();
+        assertThat(readModel.getAllProducts(PageRequest.of(0, 10, Sort.by("productName", "createdOn")))).isNull();
+        assertThat(readModel.getAllProducts(PageRequest.of(0, 10,
+                Sort.by(Sort.Direction.ASC, "productName").and(Sort.by(Sort.Direction.DESC, "id"))))).isNull();
+    }
+
+    @Test
+    void getAllProducts_ServesPlannedSortWithIdTieBreaker() {
+        // Act
+        PagedResponse<ProductDTO> byName = readModel.getAllProducts(PageRequest.of(0, 10, Sort.by("productName", "id")));
+
+        // Assert
+        assertThat(byName.getContent()).extracting(ProductDTO::getProductName)
+                .containsExactly("Keyboard", "Laptop", "Mouse");
+    }
+
+    @Test
+    void searchAndOwnerQueries_FilterProducts() {
+        // Act
+        PagedResponse<ProductDTO> search = readModel.searchProducts("KEY", PageRequest.of(0, 10));
+        PagedResponse<ProductDTO> owned = readModel.getProductsByCreatedBy("alice", PageRequest.of(0, 10, Sort.by("id")));
+        PagedResponse<ProductDTO> unknownOwner = readModel.getProductsByCreatedBy("carol", PageRequest.of(0, 10));
+
+        // Assert
+        assertThat(search.getContent()).extracting(ProductDTO::getId).containsExactly(3L);
+        assertThat(search.getTotalElements()).isEqualTo(1);
+        assertThat(owned.getContent()).extracting(ProductDTO::getId).containsExactly(1L, 3L);
+        assertThat(unknownOwner.getContent()).isEmpty();
+        assertThat(unknownOwner.getTotalElements()).isZero();
+    }
+
+    @Test
+    void getItemsByProductId_SortsItemsAndFallsBackForUnknownProduct() {
+        // Act
+        PagedResponse<ItemDTO> byQuantity = readModel.getItemsByProductId(1L,
+                PageRequest.of(0, 10, Sort.by("quantity")));
+
+        // Assert
+        assertThat(byQuantity.getContent()).extracting(ItemDTO::getId).containsExactly(12L, 11L);
+        assertThat(byQuantity.getContent()).extracting(ItemDTO::getVersion).containsExactly(0L, 2L);
+        assertThat(readModel.getItemsByProductId(3L, PageRequest.of(0, 10)).getContent()).isEmpty();
+        assertThat(readModel.getItemsByProductId(99L, PageRequest.of(0, 10))).isNull();
+    }
+
+    @Test
+    void onCatalogChange_AppliesCommittedWrites() {
+        // Act
+        readModel.onCatalogChange(CatalogChangeEvent.builder()
+                .type(ChangeType.PRODUCT_UPDATED)
+                .productId(2L)
+                .owner("alice")
+                .productName("Trackball")
+                .createdOn(baseTime.plusHours(1))
+                .version(2L)
+                .actor("alice")
+                .occurredOn(baseTime.plusDays(1))
+                .build());
+        readModel.onCatalogChange(CatalogChangeEvent.builder()
+                .type(ChangeType.ITEM_DELETED)
+                .productId(1L)
+                .itemId(12L)
+                .quantity(5)
+                .occurredOn(baseTime.plusDays(1))
+                .build());
+        readModel.onCatalogChange(CatalogChangeEvent.builder()
+                .type(ChangeType.PRODUCT_DELETED)
+                .productId(3L)
+                .owner("alice")
+                .productName("Keyboard")
+                .occurredOn(baseTime.plusDays(1))
+                .build());
+
+        // Assert
+        assertThat(readModel.getProductsByCreatedBy("bob", PageRequest.of(0, 10)).getContent()).isEmpty();
+        List<ProductDTO> alice = readModel.getProductsByCreatedBy("alice", PageRequest.of(0, 10)).getContent();
+        assertThat(alice).extracting(ProductDTO::getProductName).containsExactly("Trackball", "Laptop");
+        assertThat(alice.get(0).getModifiedBy()).isEqualTo("alice");
+        assertThat(alice.get(0).getVersion()).isEqualTo(2L);
+        assertThat(alice.get(1).getItemCount()).isEqualTo(1);
+        assertThat(readModel.searchProducts("keyboard", PageRequest.of(0, 10)).getContent()).isEmpty();
+    }
+
+    @Test
+    void refresh_ReplaysChangeLogFromToken() {
+        // Arrange
+        when(deltaSyncService.getChangesSince("10", 500)).thenReturn(DeltaSyncResponse.builder()
+                .products(List.of(ProductDTO.builder()
+                        .id(4L)
+                        .productName("Monitor")
+                        .createdBy("bob")
+                        .createdOn(baseTime.plusHours(4))
+                        .version(0L)
+                        .build()))
+                .items(List.of(ItemDTO.builder().id(41L).productId(4L).quantity(7).version(0L).build()))
+                .deleted(List.of(DeletedEntityDTO.builder().entityType("ITEM").id(21L).build()))
+                .nextToken("12")
+                .hasMore(false)
+                .build());
+
+        // Act
+        readModel.refresh();
+
+        // Assert
+        List<ProductDTO> bob = readModel.getProductsByCreatedBy("bob", PageRequest.of(0, 10)).getContent();
+        assertThat(bob).extracting(ProductDTO::getId).containsExactly(2L, 4L);
+        assertThat(bob).extracting(ProductDTO::getItemCount).containsExactly(0, 1);
+        assertThat(bob).extracting(ProductDTO::getVersion).containsExactly(1L, 0L);
+        assertThat(readModel.getItemsByProductId(4L, PageRequest.of(0, 10)).getContent())
+                .extracting(ItemDTO::getVersion).containsExactly(0L);
+        assertThat(readModel.getMetricsSnapshot()).containsEntry("token", "12");
+    }
+
+    @Test
+    void refresh_ReloadsWhenTokenHasExpired() {
+        // Arrange
+        when(deltaSyncService.getChangesSince("10", 500)).thenReturn(DeltaSyncResponse.builder()
+                .products(List.of())
+                .items(List.of())
+                .deleted(List.of())
+                .resetRequired(true)
+                .build());
+        CatalogData fresh = new CatalogData(1, 1, "20");
+        fresh.putProduct(product(5L, "Desk", "carol", 5));
+        when(catalogSnapshotService.getWarmCatalog()).thenReturn(Optional.empty());
+        when(catalogSnapshotService.readCatalogFromDatabase()).thenReturn(fresh);
+
+        // Act
+        readModel.refresh();
+
+        // Assert
+        assertThat(readModel.getAllProducts(PageRequest.of(0, 10)).getContent())
+                .extracting(ProductDTO::getId).containsExactly(5L);
+        assertThat(readModel.getMetricsSnapshot()).containsEntry("token", "20");
+    }
+
+    private ProductRecord product(Long id, String name, String owner, int hoursAfterBase) {
+        return ProductRecord.builder()
+                .id(id)
+                .productName(name)
+                .createdBy(owner)
+                .createdOn(baseTime.plusHours(hoursAfterBase))
+                .modifiedOn(baseTime.plusHours(hoursAfterBase))
+                .version((long) hoursAfterBase)
+                .build();
+    }
+}
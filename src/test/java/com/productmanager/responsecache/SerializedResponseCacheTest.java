@@ -0,0 +1,121 @@
+package com.productmanager.responsecache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.productmanager.dto.ProductDTO;
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.event.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SuppressWarnings("all")
+class SerializedResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    private SerializedResponseCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new SerializedResponseCache();
+        ReflectionTestUtils.setField(cache, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "maxEntries", 100);
+        ReflectionTestUtils.setField(cache, "gzipMinBytes", 512);
+        ReflectionTestUtils.setField(cache, "ttlMillis", 60_000L);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void respond_ServesCachedBytesOnSecondRequest() throws Exception {
+        // Act
+        ResponseEntity<?> first = respond(1L, "Laptop", 3L, null);
+        ResponseEntity<?> second = respond(1L, "Laptop", 3L, null);
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat((byte[]) second.getBody()).isEqualTo((byte[]) first.getBody());
+        assertThat(objectMapper.readValue((byte[]) second.getBody(), ProductDTO.class).getVersion()).isEqualTo(3L);
+        assertThat(cache.getMetricsSnapshot()).containsEntry("hits", 1L).containsEntry("misses", 1L);
+    }
+
+    @Test
+    void onCatalogChange_EvictsChangedDocument() throws Exception {
+        // Arrange
+        respond(1L, "Laptop", 3L, null);
+
+        // Act
+        cache.onCatalogChange(CatalogChangeEvent.builder()
+                .type(ChangeType.PRODUCT_UPDATED)
+                .productId(1L)
+                .productName("Notebook")
+                .build());
+        ResponseEntity<?> afterUpdate = respond(1L, "Notebook", 4L, null);
+
+        // Assert
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(objectMapper.readValue((byte[]) afterUpdate.getBody(), ProductDTO.class).getProductName())
+                .isEqualTo("Notebook");
+    }
+
+    @Test
+    void respond_ServesGzipWhenAcceptedAndWorthwhile() throws Exception {
+        // Arrange
+        String longName = "Laptop ".repeat(200);
+
+        // Act
+        ResponseEntity<?> plain = respond(1L, longName, 1L, null);
+        ResponseEntity<?> compressed = respond(1L, longName, 1L, "br, gzip;q=0.8");
+
+        // Assert
+        assertThat(plain.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)).isFalse();
+        assertThat(compressed.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(compressed.getHeaders().getFirst(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        byte[] inflated = new GZIPInputStream(new ByteArrayInputStream((byte[]) compressed.getBody())).readAllBytes();
+        assertThat(inflated).isEqualTo((byte[]) plain.getBody());
+        assertThat((Long) cache.getMetricsSnapshot().get("wireBytesSaved")).isPositive();
+    }
+
+    @Test
+    void respond_DoesNotCacheUnversionedDocuments() {
+        // Act
+        ResponseEntity<?> response = respond(1L, "Laptop", null, null);
+        respond(1L, "Laptop", null, null);
+
+        // Assert
+        assertThat(response.getBody()).isInstanceOf(ProductDTO.class);
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void acceptsGzip_HonoursQualityValues() {
+        // Act & Assert
+        assertThat(SerializedResponseCache.acceptsGzip("gzip, deflate")).isTrue();
+        assertThat(SerializedResponseCache.acceptsGzip("*")).isTrue();
+        assertThat(SerializedResponseCache.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(SerializedResponseCache.acceptsGzip("deflate")).isFalse();
+        assertThat(SerializedResponseCache.acceptsGzip(null)).isFalse();
+    }
+
+    private ResponseEntity<?> respond(Long id, String name, Long version, String acceptEncoding) {
+        return cache.respond(SerializedResponseCache.Kind.PRODUCT, id, id, acceptEncoding, () -> {
+            loads.incrementAndGet();
+            return ProductDTO.builder()
+                    .id(id)
+                    .productName(name)
+                    .createdBy("admin")
+                    .itemCount(0)
+                    .version(version)
+                    .build();
+        }, ProductDTO::getVersion);
+    }
+}
@@ -0,0 +1,127 @@
+package com.productmanager.retry;
+
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.entity.Product;
+import com.productmanager.exception.VersionConflictException;
+import com.productmanager.repository.ItemRepository;
+import com.productmanager.repository.ProductRepository;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("all")
+class OptimisticRetryAspectTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ShardResolver shardResolver;
+
+    @Mock
+    private ShardTransactions shardTransactions;
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @InjectMocks
+    private OptimisticRetryAspect aspect;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(aspect, "enabled", true);
+        ReflectionTestUtils.setField(aspect, "maxAttempts", 3);
+        ReflectionTestUtils.setField(aspect, "initialBackoffMillis", 0L);
+        ReflectionTestUtils.setField(aspect, "maxBackoffMillis", 0L);
+        ReflectionTestUtils.setField(aspect, "budgetRatio", 0.2);
+        ReflectionTestUtils.setField(aspect, "budgetMaxTokens", 50L);
+        aspect.init();
+    }
+
+    @Test
+    void retry_RerunsConflictingCallUntilItSucceeds() throws Throwable {
+        // Arrange
+        when(joinPoint.proceed())
+                .thenThrow(conflict(1L))
+                .thenReturn("updated");
+
+        // Act
+        Object result = aspect.retry(joinPoint);
+
+        // Assert
+        assertThat(result).isEqualTo("updated");
+        verify(joinPoint, times(2)).proceed();
+        assertThat(aspect.getMetricsSnapshot())
+                .containsEntry("conflicts", 1L)
+                .containsEntry("retries", 1L)
+                .containsEntry("recovered", 1L);
+    }
+
+    @Test
+    void retry_ReportsCurrentVersionWhenAttemptsRunOut() throws Throwable {
+        // Arrange
+        when(joinPoint.proceed()).thenThrow(conflict(7L));
+        when(shardResolver.shardForProductId(7L)).thenReturn(0);
+        when(shardTransactions.readOnShard(anyInt(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+        when(productRepository.findVersionById(7L)).thenReturn(Optional.of(5L));
+
+        // Act & Assert
+        assertThatThrownBy(() -> aspect.retry(joinPoint))
+                .isInstanceOfSatisfying(VersionConflictException.class,
+                        ex -> assertThat(ex.getCurrentVersion()).isEqualTo(5L));
+        verify(joinPoint, times(3)).proceed();
+        assertThat(aspect.getMetricsSnapshot()).containsEntry("exhausted", 1L);
+    }
+
+    @Test
+    void retry_FailsFastWhenBudgetIsSpent() throws Throwable {
+        // Arrange
+        ReflectionTestUtils.setField(aspect, "budgetMaxTokens", 1L);
+        aspect.init();
+        when(joinPoint.proceed()).thenThrow(conflict(7L));
+
+        // Act & Assert
+        assertThatThrownBy(() -> aspect.retry(joinPoint))
+                .isInstanceOf(VersionConflictException.class);
+        verify(joinPoint, times(2)).proceed();
+        assertThat(aspect.getMetricsSnapshot())
+                .containsEntry("budgetDenied", 1L)
+                .containsEntry("retries", 1L);
+    }
+
+    @Test
+    void retry_PassesThroughWhenDisabled() throws Throwable {
+        // Arrange
+        ReflectionTestUtils.setField(aspect, "enabled", false);
+        when(joinPoint.proceed()).thenThrow(conflict(7L));
+
+        // Act & Assert
+        assertThatThrownBy(() -> aspect.retry(joinPoint))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        verifyNoInteractions(shardTransactions);
+    }
+
+    private static ObjectOptimisticLockingFailureException conflict(Long id) {
+        return new ObjectOptimisticLockingFailureException(Product.class, id);
+    }
+}
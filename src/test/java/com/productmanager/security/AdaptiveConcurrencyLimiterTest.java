@@ -0,0 +1,74 @@
+package com.productmanager.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SuppressWarnings("all")
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    void tryAcquire_LowerPrioritiesAreShedFirst() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, 2.0, 0.5, 10);
+
+        // Act & Assert: NORMAL may use 75% of the limit, CRITICAL all of it
+        assertThat(limiter.tryAcquire(RequestPriority.NORMAL)).isEqualTo(1);
+        assertThat(limiter.tryAcquire(RequestPriority.NORMAL)).isEqualTo(2);
+        assertThat(limiter.tryAcquire(RequestPriority.NORMAL)).isEqualTo(3);
+        assertThat(limiter.tryAcquire(RequestPriority.NORMAL)).isEqualTo(-1);
+        assertThat(limiter.tryAcquire(RequestPriority.CRITICAL)).isEqualTo(4);
+        assertThat(limiter.tryAcquire(RequestPriority.CRITICAL)).isEqualTo(-1);
+        assertThat(limiter.getInFlight()).isEqualTo(4);
+    }
+
+    @Test
+    void release_LatencyIncreaseCutsLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 10, 2.0, 0.5, 10);
+        runWindow(limiter, FAST, 1);
+
+        // Act
+        runWindow(limiter, SLOW, 1);
+
+        // Assert
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void release_HealthyLatencyAtLimitGrowsLimit() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(5, 1, 10, 2.0, 0.5, 10);
+
+        // Act
+        runWindow(limiter, FAST, 5);
+
+        // Assert
+        assertThat(limiter.getLimit()).isEqualTo(6);
+    }
+
+    @Test
+    void release_LimitStaysWithinBounds() {
+        // Arrange
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 2, 10, 2.0, 0.1, 10);
+        runWindow(limiter, FAST, 1);
+
+        // Act
+        runWindow(limiter, SLOW, 1);
+
+        // Assert
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    private void runWindow(AdaptiveConcurrencyLimiter limiter, long rttNanos, int inFlightAtStart) {
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire(RequestPriority.CRITICAL);
+            limiter.release(rttNanos, inFlightAtStart);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.productmanager.service;
+
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.dto.BatchOperation;
+import com.productmanager.dto.BatchOperationResult;
+import com.productmanager.dto.BatchOperationType;
+import com.productmanager.dto.BatchRequest;
+import com.productmanager.dto.BatchResponse;
+import com.productmanager.dto.ItemDTO;
+import com.productmanager.dto.ProductDTO;
+import com.productmanager.exception.ResourceNotFoundException;
+import com.productmanager.service.impl.BatchServiceImpl;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("all")
+class BatchServiceTest {
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private ItemService itemService;
+
+    @Mock
+    private ShardResolver shardResolver;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private BatchServiceImpl batchService;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        ReflectionTestUtils.setField(batchService, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(batchService, "maxOperations", 10);
+        ShardTransactions shardTransactions = new ShardTransactions();
+        ReflectionTestUtils.setField(shardTransactions, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(batchService, "shardTransactions", shardTransactions);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void execute_ResolvesReferencesToEarlierOperations() {
+        // Arrange
+        when(productService.createProduct(any(ProductDTO.class), eq("admin")))
+                .thenReturn(ProductDTO.builder().id(7L).productName("Laptop").build());
+        when(itemService.createItem(eq(7L), argThat(item -> item.getQuantity() == 5 && item.getProductId() == 7L), eq("admin")))
+                .thenReturn(ItemDTO.builder().id(70L).productId(7L).quantity(5).build());
+
+        // Act
+        BatchResponse response = batchService.execute(BatchRequest.builder()
+                .operations(List.of(
+                        BatchOperation.builder().type(BatchOperationType.CREATE_PRODUCT).productName("Laptop").build(),
+                        BatchOperation.builder().type(BatchOperationType.CREATE_ITEM).productId("$0").quantity(5).build(),
+                        BatchOperation.builder().type(BatchOperationType.DELETE_ITEM).productId("$0").itemId("$1").build()))
+                .build(), "admin");
+
+        // Assert
+        assertThat(response.isCommitted()).isTrue();
+        assertThat(response.getResults()).extracting(BatchOperationResult::getStatus).containsExactly(201, 201, 204);
+        assertThat(response.getResults()).extracting(BatchOperationResult::getId).containsExactly(7L, 70L, 70L);
+        verify(itemService).deleteItem(7L, 70L, "admin");
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void execute_AtomicBatchRollsBackOnFirstFailure() {
+        // Arrange
+        when(productService.createProduct(any(ProductDTO.class), eq("admin")))
+                .thenReturn(ProductDTO.builder().id(7L).productName("Laptop").build());
+        doThrow(ResourceNotFoundException.productNotFound(99L)).when(productService).deleteProduct(99L, "admin");
+
+        // Act
+        BatchResponse response = batchService.execute(BatchRequest.builder()
+                .operations(List.of(
+                        BatchOperation.builder().type(BatchOperationType.CREATE_PRODUCT).productName("Laptop").build(),
+                        BatchOperation.builder().type(BatchOperationType.DELETE_PRODUCT).productId("99").build(),
+                        BatchOperation.builder().type(BatchOperationType.DELETE_PRODUCT).productId("$0").build()))
+                .build(), "admin");
+
+        // Assert
+        assertThat(response.isCommitted()).isFalse();
+        assertThat(response.getFailedIndex()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(BatchOperationResult::getStatus).containsExactly(409, 404, 409);
+        verify(productService, never()).deleteProduct(eq(7L), any());
+        verify(transactionManager).commit(argThat(status -> status.isRollbackOnly()));
+    }
+
+    @Test
+    void execute_IndependentBatchContinuesAfterFailure() {
+        // Act
+        BatchResponse response = batchService.execute(BatchRequest.builder()
+                .atomic(false)
+                .operations(List.of(
+                        BatchOperation.builder().type(BatchOperationType.CREATE_PRODUCT).productName(" ").build(),
+                        BatchOperation.builder().type(BatchOperationType.CREATE_ITEM).productId("$0").quantity(1).build(),
+                        BatchOperation.builder().type(BatchOperationType.UPDATE_ITEM).productId("1").itemId("2").quantity(3).build()))
+                .build(), "admin");
+
+        // Assert
+        assertThat(response.getResults()).extracting(BatchOperationResult::getStatus).containsExactly(400, 400, 200);
+        assertThat(response.getResults().get(1).getError()).contains("which failed");
+        verify(itemService).updateItem(eq(1L), eq(2L), any(ItemDTO.class), eq("admin"));
+        verifyNoInteractions(transactionManager);
+    }
+}
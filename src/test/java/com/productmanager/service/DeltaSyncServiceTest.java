@@ -0,0 +1,191 @@
+package com.productmanager.service;
+
+import com.productmanager.changes.ChangeLogRecorder;
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.dto.DeltaSyncResponse;
+import com.productmanager.entity.ChangeLogEntry;
+import com.productmanager.entity.ChangeLogEntry.EntityType;
+import com.productmanager.entity.Product;
+import com.productmanager.event.ChangeType;
+import com.productmanager.exception.InvalidRequestException;
+import com.productmanager.repository.ChangeLogRepository;
+import com.productmanager.repository.ItemRepository;
+import com.productmanager.repository.ProductRepository;
+import com.productmanager.service.impl.DeltaSyncServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("all")
+class DeltaSyncServiceTest {
+
+    @Mock
+    private ChangeLogRepository changeLogRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ChangeLogRecorder changeLogRecorder;
+
+    @Mock
+    private ShardResolver shardResolver;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private DeltaSyncServiceImpl deltaSyncService;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        ReflectionTestUtils.setField(deltaSyncService, "settleMs", 60_000L);
+        ReflectionTestUtils.setField(deltaSyncService, "maxLimit", 1000);
+        ShardTransactions shardTransactions = new ShardTransactions();
+        ReflectionTestUtils.setField(shardTransactions, "transactionManager", transactionManager);
+        ReflectionTestUtils.setField(deltaSyncService, "shardTransactions", shardTransactions);
+        lenient().when(shardResolver.getShardCount()).thenReturn(1);
+        lenient().when(shardResolver.identityStart(0)).thenReturn(1L);
+    }
+
+    @Test
+    void getChangesSince_CollapsesChangesAndReturnsTombstones() {
+        // Arrange
+        Product product = Product.builder()
+                .id(1L)
+                .productName("Test Product")
+                .createdBy("admin")
+                .build();
+        when(changeLogRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 101))).thenReturn(List.of(
+                entry(1L, EntityType.PRODUCT, 1L, ChangeType.PRODUCT_CREATED),
+                entry(2L, EntityType.ITEM, 5L, ChangeType.ITEM_CREATED),
+                entry(3L, EntityType.ITEM, 5L, ChangeType.ITEM_DELETED),
+                entry(4L, EntityType.PRODUCT, 1L, ChangeType.PRODUCT_UPDATED)));
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(product));
+        when(itemRepository.countByProductIds(any())).thenReturn(List.<Object[]>of(new Object[]{1L, 2L}));
+
+        // Act
+        DeltaSyncResponse result = deltaSyncService.getChangesSince("0", 100);
+
+        // Assert
+        assertThat(result.getNextToken()).isEqualTo("4");
+        assertThat(result.isHasMore()).isFalse();
+        assertThat(result.getProducts()).hasSize(1);
+        assertThat(result.getProducts().get(0).getItemCount()).isEqualTo(2);
+        assertThat(result.getItems()).isEmpty();
+        assertThat(result.getDeleted()).singleElement()
+                .satisfies(tombstone -> {
+                    assertThat(tombstone.getEntityType()).isEqualTo("ITEM");
+                    assertThat(tombstone.getId()).isEqualTo(5L);
+                });
+    }
+
+    @Test
+    void getChangesSince_StopsAtRecentSequenceGap() {
+        // Arrange
+        when(changeLogRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 101))).thenReturn(List.of(
+                entry(1L, EntityType.PRODUCT, 1L, ChangeType.PRODUCT_CREATED),
+                entry(3L, EntityType.PRODUCT, 2L, ChangeType.PRODUCT_CREATED)));
+
+        // Act
+        DeltaSyncResponse result = deltaSyncService.getChangesSince("0", 100);
+
+        // Assert
+        assertThat(result.getNextToken()).isEqualTo("1");
+        assertThat(result.isHasMore()).isTrue();
+    }
+
+    @Test
+    void getChangesSince_WaitsAtGapEvenWhenLaterChangesAreOld() {
+        // Arrange
+        when(changeLogRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 101))).thenReturn(List.of(
+                entry(1L, EntityType.PRODUCT, 1L, ChangeType.PRODUCT_CREATED, LocalDateTime.now().minusHours(1)),
+                entry(3L, EntityType.PRODUCT, 2L, ChangeType.PRODUCT_CREATED, LocalDateTime.now().minusHours(1))));
+
+        // Act
+        DeltaSyncResponse result = deltaSyncService.getChangesSince("0", 100);
+
+        // Assert
+        assertThat(result.getNextToken()).isEqualTo("1");
+        assertThat(result.isHasMore()).isTrue();
+    }
+
+    @Test
+    void getChangesSince_PassesGapOnceOpenForSettleTime() throws Exception {
+        // Arrange
+        ReflectionTestUtils.setField(deltaSyncService, "settleMs", 100L);
+        when(changeLogRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 101))).thenReturn(List.of(
+                entry(1L, EntityType.PRODUCT, 1L, ChangeType.PRODUCT_CREATED),
+                entry(3L, EntityType.PRODUCT, 2L, ChangeType.PRODUCT_CREATED),
+                entry(5L, EntityType.PRODUCT, 3L, ChangeType.PRODUCT_CREATED)));
+        DeltaSyncResponse first = deltaSyncService.getChangesSince("0", 100);
+        Thread.sleep(150);
+
+        // Act
+        DeltaSyncResponse second = deltaSyncService.getChangesSince("0", 100);
+
+        // Assert
+        assertThat(first.getNextToken()).isEqualTo("1");
+        assertThat(second.getNextToken()).isEqualTo("5");
+        assertThat(second.isHasMore()).isFalse();
+    }
+
+    @Test
+    void getChangesSince_WithoutToken_ReturnsStartingToken() {
+        // Arrange
+        when(changeLogRepository.findFirstByRecordedOnBeforeOrderByIdDesc(any(LocalDateTime.class)))
+                .thenReturn(Optional.of(entry(9L, EntityType.PRODUCT, 1L, ChangeType.PRODUCT_CREATED)));
+
+        // Act
+        DeltaSyncResponse result = deltaSyncService.getChangesSince(null, 100);
+
+        // Assert
+        assertThat(result.getNextToken()).isEqualTo("9");
+        assertThat(result.isResetRequired()).isFalse();
+        assertThat(result.getProducts()).isEmpty();
+    }
+
+    @Test
+    void getChangesSince_InvalidToken() {
+        // Act & Assert
+        assertThatThrownBy(() -> deltaSyncService.getChangesSince("abc", 100))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("Invalid sync token");
+    }
+
+    private ChangeLogEntry entry(Long id, EntityType entityType, Long entityId, ChangeType changeType) {
+        return entry(id, entityType, entityId, changeType, LocalDateTime.now());
+    }
+
+    private ChangeLogEntry entry(Long id, EntityType entityType, Long entityId, ChangeType changeType,
+                                 LocalDateTime recordedOn) {
+        return ChangeLogEntry.builder()
+                .id(id)
+                .entityType(entityType)
+                .entityId(entityId)
+                .productId(1L)
+                .changeType(changeType)
+                .recordedOn(recordedOn)
+                .build();
+    }
+}
@@ -0,0 +1,102 @@
+package com.productmanager.service;
+
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.dto.CursorPageResponse;
+import com.productmanager.dto.ItemDTO;
+import com.productmanager.entity.Item;
+import com.productmanager.entity.Product;
+import com.productmanager.exception.InvalidRequestException;
+import com.productmanager.repository.ItemRepository;
+import com.productmanager.service.impl.InventoryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("all")
+class InventoryServiceTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ShardResolver shardResolver;
+
+    @Mock
+    private ShardTransactions shardTransactions;
+
+    @InjectMocks
+    private InventoryServiceImpl inventoryService;
+
+    private Product product;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        product = Product.builder()
+                .id(1L)
+                .productName("Test Product")
+                .createdBy("admin")
+                .build();
+        lenient().when(shardResolver.getShardCount()).thenReturn(1);
+        lenient().when(shardTransactions.readOnShard(anyInt(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+    }
+
+    @Test
+    void getLowStockItems_ReturnsCursorWhenMoreRowsExist() {
+        // Arrange
+        when(itemRepository.findLowStock(10, Integer.MIN_VALUE, 0L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(item(4L, 1), item(2L, 3), item(9L, 3)));
+
+        // Act
+        CursorPageResponse<ItemDTO> firstPage = inventoryService.getLowStockItems(10, null, 2, null, null);
+
+        // Assert
+        assertThat(firstPage.getContent()).extracting(ItemDTO::getId).containsExactly(4L, 2L);
+        assertThat(firstPage.isHasMore()).isTrue();
+        assertThat(firstPage.getNextCursor()).isNotBlank();
+
+        // Act
+        inventoryService.getLowStockItems(10, firstPage.getNextCursor(), 2, null, null);
+
+        // Assert
+        verify(itemRepository).findLowStock(10, 3, 2L, PageRequest.of(0, 3));
+    }
+
+    @Test
+    void getLowStockItems_ProductAndOwnerTogether() {
+        // Act & Assert
+        assertThatThrownBy(() -> inventoryService.getLowStockItems(10, null, 10, 1L, "admin"))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void getLowStockItems_InvalidCursor() {
+        // Act & Assert
+        assertThatThrownBy(() -> inventoryService.getLowStockItems(10, "not-a-cursor", 10, null, null))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+
+    private Item item(Long id, int quantity) {
+        return Item.builder()
+                .id(id)
+                .product(product)
+                .quantity(quantity)
+                .build();
+    }
+}
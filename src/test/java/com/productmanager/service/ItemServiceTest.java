@@ -4,6 +4,8 @@ import com.productmanager.dto.ItemDTO;
 import com.productmanager.dto.PagedResponse;
 import com.productmanager.entity.Item;
 import com.productmanager.entity.Product;
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.event.ChangeType;
 import com.productmanager.exception.ResourceNotFoundException;
 import com.productmanager.repository.ItemRepository;
 import com.productmanager.repository.ProductRepository;
@@ -14,6 +16,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -24,6 +27,7 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +40,9 @@ class ItemServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private ItemServiceImpl itemService;
 
@@ -71,7 +78,7 @@ class ItemServiceTest {
         when(itemRepository.save(any(Item.class))).thenReturn(item);
 
         // Act
-        ItemDTO result = itemService.createItem(1L, itemDTO);
+        ItemDTO result = itemService.createItem(1L, itemDTO, "admin");
 
         // Assert
         assertThat(result).isNotNull();
@@ -87,7 +94,7 @@ class ItemServiceTest {
         when(productRepository.findById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThatThrownBy(() -> itemService.createItem(1L, itemDTO))
+        assertThatThrownBy(() -> itemService.createItem(1L, itemDTO, "admin"))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
 
@@ -137,17 +144,28 @@ class ItemServiceTest {
                 .build();
 
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
+        item.setVersion(3L);
         when(itemRepository.findByIdAndProductId(1L, 1L)).thenReturn(Optional.of(item));
-        when(itemRepository.save(any(Item.class))).thenReturn(item);
+        when(itemRepository.saveAndFlush(any(Item.class))).thenAnswer(invocation -> {
+            Item flushed = invocation.getArgument(0);
+            flushed.setVersion(flushed.getVersion() + 1);
+            return flushed;
+        });
 
         // Act
-        ItemDTO result = itemService.updateItem(1L, 1L, updateDTO);
+        ItemDTO result = itemService.updateItem(1L, 1L, updateDTO, "admin");
 
         // Assert
         assertThat(result).isNotNull();
+        assertThat(result.getVersion()).isEqualTo(4L);
         verify(productRepository, times(1)).findById(1L);
         verify(itemRepository, times(1)).findByIdAndProductId(1L, 1L);
-        verify(itemRepository, times(1)).save(any(Item.class));
+        verify(itemRepository, times(1)).saveAndFlush(any(Item.class));
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) -> event instanceof CatalogChangeEvent
+                && ((CatalogChangeEvent) event).getType() == ChangeType.ITEM_UPDATED
+                && ((CatalogChangeEvent) event).getPreviousQuantity() == 100
+                && ((CatalogChangeEvent) event).getQuantity() == 200
+                && "admin".equals(((CatalogChangeEvent) event).getActor())));
     }
 
     @Test
@@ -157,7 +175,7 @@ class ItemServiceTest {
         when(itemRepository.findByIdAndProductId(1L, 1L)).thenReturn(Optional.of(item));
 
         // Act
-        itemService.deleteItem(1L, 1L);
+        itemService.deleteItem(1L, 1L, "admin");
 
         // Assert
         verify(productRepository, times(1)).findById(1L);
@@ -171,7 +189,7 @@ class ItemServiceTest {
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
 
         // Act
-        itemService.deleteAllItemsByProductId(1L);
+        itemService.deleteAllItemsByProductId(1L, "admin");
 
         // Assert
         verify(productRepository, times(1)).findById(1L);
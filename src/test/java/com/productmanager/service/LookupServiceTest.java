@@ -0,0 +1,125 @@
+package com.productmanager.service;
+
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.dto.ItemDTO;
+import com.productmanager.dto.LookupResult;
+import com.productmanager.dto.MultiGetResponse;
+import com.productmanager.dto.ProductDTO;
+import com.productmanager.entity.Item;
+import com.productmanager.entity.Product;
+import com.productmanager.exception.InvalidRequestException;
+import com.productmanager.repository.ItemRepository;
+import com.productmanager.repository.ProductRepository;
+import com.productmanager.service.impl.LookupServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("all")
+class LookupServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ShardResolver shardResolver;
+
+    @Mock
+    private ShardTransactions shardTransactions;
+
+    @InjectMocks
+    private LookupServiceImpl lookupService;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        ReflectionTestUtils.setField(lookupService, "maxIds", 500);
+        ReflectionTestUtils.setField(lookupService, "batchSize", 2);
+        lenient().when(shardTransactions.readOnShard(anyInt(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+    }
+
+    @Test
+    void getProductsByIds_ReturnsRequestOrderWithNotFoundMarkers() {
+        // Arrange
+        when(productRepository.findAllById(List.of(3L, 7L))).thenReturn(List.of(product(3L)));
+        when(productRepository.findAllById(List.of(1L))).thenReturn(List.of(product(1L)));
+        when(itemRepository.countByProductIds(List.of(3L, 7L)))
+                .thenReturn(Collections.singletonList(new Object[]{3L, 4L}));
+        when(itemRepository.countByProductIds(List.of(1L))).thenReturn(List.of());
+
+        // Act
+        MultiGetResponse<ProductDTO> response = lookupService.getProductsByIds(List.of(3L, 7L, 1L, 3L));
+
+        // Assert
+        assertThat(response.getRequested()).isEqualTo(4);
+        assertThat(response.getFound()).isEqualTo(3);
+        assertThat(response.getResults()).extracting(LookupResult::getId).containsExactly(3L, 7L, 1L, 3L);
+        assertThat(response.getResults()).extracting(LookupResult::isFound).containsExactly(true, false, true, true);
+        assertThat(response.getResults().get(0).getData().getItemCount()).isEqualTo(4);
+        assertThat(response.getResults().get(2).getData().getItemCount()).isZero();
+        assertThat(response.getResults().get(1).getData()).isNull();
+        verify(productRepository, times(2)).findAllById(any());
+    }
+
+    @Test
+    void getItemsByIds_MapsItemsToTheirProducts() {
+        // Arrange
+        Product product = product(1L);
+        when(itemRepository.findAllById(List.of(5L, 6L))).thenReturn(List.of(
+                Item.builder().id(6L).product(product).quantity(10).version(2L).build()));
+
+        // Act
+        MultiGetResponse<ItemDTO> response = lookupService.getItemsByIds(List.of(5L, 6L));
+
+        // Assert
+        assertThat(response.getResults()).extracting(LookupResult::isFound).containsExactly(false, true);
+        ItemDTO item = response.getResults().get(1).getData();
+        assertThat(item.getProductId()).isEqualTo(1L);
+        assertThat(item.getVersion()).isEqualTo(2L);
+        verify(shardResolver).shardForItemId(5L);
+        verify(shardResolver, never()).shardForProductId(anyLong());
+    }
+
+    @Test
+    void getProductsByIds_RejectsTooManyIds() {
+        // Arrange
+        ReflectionTestUtils.setField(lookupService, "maxIds", 3);
+        List<Long> ids = new ArrayList<>(List.of(1L, 2L, 3L, 4L));
+
+        // Act & Assert
+        assertThatThrownBy(() -> lookupService.getProductsByIds(ids))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("At most 3");
+        verifyNoInteractions(productRepository);
+    }
+
+    private Product product(Long id) {
+        return Product.builder()
+                .id(id)
+                .productName("Product " + id)
+                .createdBy("admin")
+                .version(0L)
+                .build();
+    }
+}
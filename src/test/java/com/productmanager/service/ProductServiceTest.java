@@ -3,21 +3,28 @@ package com.productmanager.service;
 import com.productmanager.dto.ProductDTO;
 import com.productmanager.dto.PagedResponse;
 import com.productmanager.entity.Product;
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.event.ChangeType;
 import com.productmanager.exception.DuplicateResourceException;
 import com.productmanager.exception.ResourceNotFoundException;
+import com.productmanager.naming.ProductNameFilter;
 import com.productmanager.repository.ProductRepository;
 import com.productmanager.service.impl.ProductServiceImpl;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -26,6 +33,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +43,12 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ProductNameFilter productNameFilter;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -59,8 +73,7 @@ class ProductServiceTest {
     @Test
     void createProduct_Success() {
         // Arrange
-        when(productRepository.countByProductNameIgnoreCase(anyString())).thenReturn(0L);
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(product);
 
         // Act
         ProductDTO result = productService.createProduct(productDTO, "admin");
@@ -69,19 +82,46 @@ class ProductServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getProductName()).isEqualTo("Test Product");
         assertThat(result.getCreatedBy()).isEqualTo("admin");
-        verify(productRepository, times(1)).countByProductNameIgnoreCase(anyString());
-        verify(productRepository, times(1)).save(any(Product.class));
+        verify(productRepository, never()).existsByProductNameKey(anyString());
+        verify(productRepository, times(1)).saveAndFlush(any(Product.class));
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) -> event instanceof CatalogChangeEvent
+                && ((CatalogChangeEvent) event).getType() == ChangeType.PRODUCT_CREATED));
     }
 
     @Test
     void createProduct_DuplicateProductName() {
         // Arrange
-        when(productRepository.countByProductNameIgnoreCase(anyString())).thenReturn(1L);
+        when(productRepository.saveAndFlush(any(Product.class))).thenThrow(new DataIntegrityViolationException("duplicate",
+                new ConstraintViolationException("Duplicate entry", new SQLException(), "UK_PRODUCT_NAME_KEY")));
 
         // Act & Assert
         assertThatThrownBy(() -> productService.createProduct(productDTO, "admin"))
                 .isInstanceOf(DuplicateResourceException.class)
                 .hasMessageContaining("already exists");
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void createProduct_PossiblyTakenNameIsLookedUpBeforeInsert() {
+        // Arrange
+        when(productNameFilter.isEnabled()).thenReturn(true);
+        when(productNameFilter.mightContain("test product")).thenReturn(true);
+        when(productRepository.existsByProductNameKey("test product")).thenReturn(true);
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.createProduct(productDTO, "admin"))
+                .isInstanceOf(DuplicateResourceException.class);
+        verify(productRepository, never()).saveAndFlush(any(Product.class));
+    }
+
+    @Test
+    void createProduct_OtherIntegrityErrorsPropagate() {
+        // Arrange
+        DataIntegrityViolationException violation = new DataIntegrityViolationException("null value in created_by");
+        when(productRepository.saveAndFlush(any(Product.class))).thenThrow(violation);
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.createProduct(productDTO, "admin")).isSameAs(violation);
     }
 
     @Test
@@ -136,8 +176,7 @@ class ProductServiceTest {
                 .build();
 
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
-        when(productRepository.countByProductNameIgnoreCase(anyString())).thenReturn(0L);
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productRepository.saveAndFlush(any(Product.class))).thenReturn(product);
 
         // Act
         ProductDTO result = productService.updateProduct(1L, updateDTO, "admin");
@@ -146,7 +185,7 @@ class ProductServiceTest {
         assertThat(result).isNotNull();
         assertThat(result.getModifiedBy()).isEqualTo("admin");
         verify(productRepository, times(1)).findById(1L);
-        verify(productRepository, times(1)).save(any(Product.class));
+        verify(productRepository, times(1)).saveAndFlush(any(Product.class));
     }
 
     @Test
@@ -155,7 +194,7 @@ class ProductServiceTest {
         when(productRepository.findById(1L)).thenReturn(Optional.of(product));
 
         // Act
-        productService.deleteProduct(1L);
+        productService.deleteProduct(1L, "admin");
 
         // Assert
         verify(productRepository, times(1)).findById(1L);
@@ -168,7 +207,7 @@ class ProductServiceTest {
         when(productRepository.findById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
-        assertThatThrownBy(() -> productService.deleteProduct(1L))
+        assertThatThrownBy(() -> productService.deleteProduct(1L, "admin"))
                 .isInstanceOf(ResourceNotFoundException.class);
     }
 }
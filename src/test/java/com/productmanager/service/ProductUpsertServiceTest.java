@@ -0,0 +1,144 @@
+package com.productmanager.service;
+
+import com.productmanager.datasource.ShardResolver;
+import com.productmanager.datasource.ShardTransactions;
+import com.productmanager.dto.ProductDTO;
+import com.productmanager.dto.ProductUpsertResponse;
+import com.productmanager.dto.UpsertOutcome;
+import com.productmanager.dto.UpsertResult;
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.event.ChangeType;
+import com.productmanager.exception.InvalidRequestException;
+import com.productmanager.repository.ProductRepository;
+import com.productmanager.service.impl.ProductUpsertServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("all")
+class ProductUpsertServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ShardResolver shardResolver;
+
+    @Mock
+    private ShardTransactions shardTransactions;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private ProductUpsertServiceImpl upsertService;
+
+    @BeforeEach
+    @SuppressWarnings("unused")
+    void setUp() {
+        ReflectionTestUtils.setField(upsertService, "maxRecords", 100);
+        ReflectionTestUtils.setField(upsertService, "batchSize", 100);
+        lenient().when(shardResolver.getShardCount()).thenReturn(1);
+        lenient().when(shardTransactions.readOnShard(anyInt(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+        lenient().when(shardTransactions.writeOnShard(anyInt(), any()))
+                .thenAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+    }
+
+    @Test
+    void upsertProducts_ClassifiesEveryRecordInRequestOrder() {
+        // Arrange
+        LocalDateTime createdOn = LocalDateTime.now().minusDays(1);
+        when(productRepository.findUpsertRowsByNameKeys(List.of("laptop", "mouse", "keyboard"))).thenReturn(rows(
+                new Object[]{1L, "laptop", "laptop", 3L, "erp", createdOn},
+                new Object[]{2L, "Mouse", "mouse", 0L, "erp", createdOn}));
+        when(productRepository.findUpsertRowsByNameKeys(List.of("keyboard"))).thenReturn(rows(
+                new Object[]{9L, "Keyboard", "keyboard", 0L, "erp", LocalDateTime.now()}));
+        when(shardResolver.shardForProductName("Keyboard")).thenReturn(0);
+        when(jdbcTemplate.batchUpdate(startsWith("INSERT"), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{{1}});
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE"), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{{1}});
+
+        // Act
+        ProductUpsertResponse response = upsertService.upsertProducts(List.of(
+                product("Laptop"), product("Mouse"), product("Keyboard"), product("MOUSE")), "erp");
+
+        // Assert
+        assertThat(response.getResults()).extracting(UpsertResult::getOutcome).containsExactly(
+                UpsertOutcome.UPDATED, UpsertOutcome.UNCHANGED, UpsertOutcome.CREATED, UpsertOutcome.DUPLICATE);
+        assertThat(response.getResults()).extracting(UpsertResult::getId).containsExactly(1L, 2L, 9L, null);
+        assertThat(response.getResults().get(0).getVersion()).isEqualTo(4L);
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getUpdated()).isEqualTo(1);
+        assertThat(response.getUnchanged()).isEqualTo(1);
+        assertThat(response.getRejected()).isEqualTo(1);
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof CatalogChangeEvent
+                && ((CatalogChangeEvent) event).getType() == ChangeType.PRODUCT_UPDATED
+                && ((CatalogChangeEvent) event).getProductId() == 1L));
+        verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof CatalogChangeEvent
+                && ((CatalogChangeEvent) event).getType() == ChangeType.PRODUCT_CREATED
+                && ((CatalogChangeEvent) event).getProductId() == 9L));
+    }
+
+    @Test
+    void upsertProducts_ReportsConflictWhenVersionMoved() {
+        // Arrange
+        when(productRepository.findUpsertRowsByNameKeys(List.of("laptop"))).thenReturn(rows(
+                new Object[]{1L, "laptop", "laptop", 3L, "erp", LocalDateTime.now()}));
+        when(jdbcTemplate.batchUpdate(startsWith("UPDATE"), anyList(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{{0}});
+
+        // Act
+        ProductUpsertResponse response = upsertService.upsertProducts(List.of(product("Laptop")), "erp");
+
+        // Assert
+        assertThat(response.getResults().get(0).getOutcome()).isEqualTo(UpsertOutcome.CONFLICT);
+        assertThat(response.getRejected()).isEqualTo(1);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void upsertProducts_RejectsTooManyRecords() {
+        // Arrange
+        ReflectionTestUtils.setField(upsertService, "maxRecords", 1);
+
+        // Act & Assert
+        assertThatThrownBy(() -> upsertService.upsertProducts(List.of(product("A"), product("B")), "erp"))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("At most 1");
+        verifyNoInteractions(productRepository, jdbcTemplate);
+    }
+
+    private static ProductDTO product(String name) {
+        return ProductDTO.builder().productName(name).build();
+    }
+
+    private static List<Object[]> rows(Object[]... rows) {
+        return new ArrayList<>(List.of(rows));
+    }
+}
@@ -0,0 +1,102 @@
+package com.productmanager.snapshot;
+
+import com.productmanager.dto.DeletedEntityDTO;
+import com.productmanager.dto.DeltaSyncResponse;
+import com.productmanager.dto.ItemDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SuppressWarnings("all")
+class CatalogSnapshotFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writeThenRead_RoundTripsCatalog() throws Exception {
+        // Arrange
+        LocalDateTime createdOn = LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000);
+        CatalogData data = new CatalogData(4, 4, "42.17");
+        data.putProduct(product(2L, "Mouse", createdOn));
+        data.putProduct(product(1L, "Laptop", createdOn));
+        data.putItem(new ItemRecord(10L, 1L, 5, 0L));
+        data.putItem(new ItemRecord(11L, 2L, 7, null));
+        data.putItem(new ItemRecord(12L, 1L, 9, 4L));
+        Path path = tempDir.resolve("catalog.snapshot");
+
+        // Act
+        CatalogSnapshotFile.write(path, data);
+        CatalogData read = CatalogSnapshotFile.read(path);
+
+        // Assert
+        assertThat(read.getStamp()).isEqualTo("42.17");
+        assertThat(read.getProducts().size()).isEqualTo(2);
+        assertThat(read.getProducts().get(1L)).isEqualTo(product(1L, "Laptop", createdOn));
+        assertThat(read.getItems().size()).isEqualTo(3);
+        assertThat(read.getItems().get(12L)).isEqualTo(new ItemRecord(12L, 1L, 9, 4L));
+        assertThat(read.getItems().get(11L).getVersion()).isNull();
+    }
+
+    @Test
+    void read_RejectsCorruptedFile() throws Exception {
+        // Arrange
+        CatalogData data = new CatalogData(4, 4, "1");
+        data.putProduct(product(1L, "Laptop", LocalDateTime.now()));
+        Path path = tempDir.resolve("catalog.snapshot");
+        CatalogSnapshotFile.write(path, data);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{0x7f}), channel.size() - 1);
+        }
+
+        // Act & Assert
+        assertThatThrownBy(() -> CatalogSnapshotFile.read(path))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+    }
+
+    @Test
+    void apply_ProductTombstoneRemovesItsItems() {
+        // Arrange
+        CatalogData data = new CatalogData(4, 4, "1");
+        data.putProduct(product(1L, "Laptop", LocalDateTime.now()));
+        data.putProduct(product(2L, "Mouse", LocalDateTime.now()));
+        data.putItem(new ItemRecord(10L, 1L, 5, 0L));
+        data.putItem(new ItemRecord(11L, 2L, 7, 0L));
+        DeltaSyncResponse delta = DeltaSyncResponse.builder()
+                .products(List.of())
+                .items(List.of(ItemDTO.builder().id(11L).productId(2L).quantity(3).version(1L).build()))
+                .deleted(List.of(DeletedEntityDTO.builder().entityType("PRODUCT").id(1L).productId(1L).build()))
+                .nextToken("5")
+                .build();
+
+        // Act
+        data.apply(delta);
+
+        // Assert
+        assertThat(data.getStamp()).isEqualTo("5");
+        assertThat(data.getProducts().containsKey(1L)).isFalse();
+        assertThat(data.getItems().containsKey(10L)).isFalse();
+        assertThat(data.getItems().get(11L).getQuantity()).isEqualTo(3);
+        assertThat(data.getItems().get(11L).getVersion()).isEqualTo(1L);
+    }
+
+    private ProductRecord product(Long id, String name, LocalDateTime createdOn) {
+        return ProductRecord.builder()
+                .id(id)
+                .productName(name)
+                .createdBy("admin")
+                .createdOn(createdOn)
+                .version(3L)
+                .build();
+    }
+}
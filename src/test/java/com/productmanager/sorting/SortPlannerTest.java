@@ -0,0 +1,64 @@
+package com.productmanager.sorting;
+
+import com.productmanager.exception.InvalidRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SuppressWarnings("all")
+class SortPlannerTest {
+
+    private SortPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        planner = new SortPlanner();
+        ReflectionTestUtils.setField(planner, "unindexedPolicy", UnindexedSortPolicy.REJECT);
+    }
+
+    @Test
+    void plan_AppendsIdTieBreakerInSameDirection() {
+        // Act
+        Sort sort = planner.plan(SortPlanner.Listing.PRODUCTS, "createdOn", Sort.Direction.DESC);
+
+        // Assert
+        assertThat(sort.toList()).containsExactly(
+                Sort.Order.desc("createdOn"),
+                Sort.Order.desc("id"));
+    }
+
+    @Test
+    void plan_DoesNotDuplicateIdKey() {
+        // Act
+        Sort sort = planner.plan(SortPlanner.Listing.ITEMS, "id", Sort.Direction.ASC);
+
+        // Assert
+        assertThat(sort.toList()).containsExactly(Sort.Order.asc("id"));
+    }
+
+    @Test
+    void plan_RejectsUnindexedSort() {
+        // Act & Assert
+        assertThatThrownBy(() -> planner.plan(SortPlanner.Listing.PRODUCTS, "modifiedBy", Sort.Direction.ASC))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("modifiedBy")
+                .hasMessageContaining("productName");
+        assertThat(planner.getMetricsSnapshot()).containsEntry("rejected", 1L);
+    }
+
+    @Test
+    void plan_DowngradesUnindexedSortToListingDefault() {
+        // Arrange
+        ReflectionTestUtils.setField(planner, "unindexedPolicy", UnindexedSortPolicy.DOWNGRADE);
+
+        // Act
+        Sort sort = planner.plan(SortPlanner.Listing.ITEMS, "modifiedOn", Sort.Direction.DESC);
+
+        // Assert
+        assertThat(sort.toList()).containsExactly(Sort.Order.asc("id"));
+        assertThat(planner.getMetricsSnapshot()).containsEntry("downgraded", 1L);
+    }
+}
@@ -0,0 +1,97 @@
+package com.productmanager.stats;
+
+import com.productmanager.dto.InventorySummaryDTO;
+import com.productmanager.dto.ProductStockDTO;
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.event.ChangeType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SuppressWarnings("all")
+class InventoryAggregatesTest {
+
+    private InventoryAggregates aggregates;
+
+    @BeforeEach
+    void setUp() {
+        aggregates = new InventoryAggregates();
+        ReflectionTestUtils.setField(aggregates, "enabled", true);
+        ReflectionTestUtils.setField(aggregates, "lowStockThreshold", 10);
+    }
+
+    @Test
+    void itemChanges_UpdateProductOwnerAndTotals() {
+        // Arrange
+        aggregates.onCatalogChange(product(ChangeType.PRODUCT_CREATED, 1L, "alice"));
+        aggregates.onCatalogChange(item(ChangeType.ITEM_CREATED, 1L, "alice", 100, null));
+        aggregates.onCatalogChange(item(ChangeType.ITEM_CREATED, 1L, "alice", 5, null));
+
+        // Act
+        aggregates.onCatalogChange(item(ChangeType.ITEM_UPDATED, 1L, "alice", 50, 100));
+
+        // Assert
+        ProductStockDTO stock = aggregates.getProductStock(1L).orElseThrow();
+        assertThat(stock.getTotalQuantity()).isEqualTo(55);
+        assertThat(stock.getItemCount()).isEqualTo(2);
+        assertThat(stock.getLowStockItems()).isEqualTo(1);
+        assertThat(aggregates.getOwnerStock("alice").orElseThrow().getTotalQuantity()).isEqualTo(55);
+
+        InventorySummaryDTO summary = aggregates.getSummary();
+        assertThat(summary.getTotalQuantity()).isEqualTo(55);
+        assertThat(summary.getLowStockItems()).isEqualTo(1);
+        assertThat(summary.getProductsWithLowStock()).isEqualTo(1);
+    }
+
+    @Test
+    void getTopProducts_OrdersByQuantity() {
+        // Arrange
+        aggregates.onCatalogChange(item(ChangeType.ITEM_CREATED, 1L, "alice", 30, null));
+        aggregates.onCatalogChange(item(ChangeType.ITEM_CREATED, 2L, "bob", 80, null));
+        aggregates.onCatalogChange(item(ChangeType.ITEM_CREATED, 3L, "bob", 50, null));
+        aggregates.onCatalogChange(item(ChangeType.ITEM_UPDATED, 1L, "alice", 90, 30));
+
+        // Act & Assert
+        assertThat(aggregates.getTopProducts(2)).extracting(ProductStockDTO::getProductId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void productDeletion_RemovesItsTotals() {
+        // Arrange
+        aggregates.onCatalogChange(item(ChangeType.ITEM_CREATED, 1L, "alice", 3, null));
+        aggregates.onCatalogChange(item(ChangeType.ITEM_CREATED, 2L, "alice", 40, null));
+
+        // Act
+        aggregates.onCatalogChange(product(ChangeType.PRODUCT_DELETED, 1L, "alice"));
+
+        // Assert
+        assertThat(aggregates.getProductStock(1L)).isEmpty();
+        assertThat(aggregates.getOwnerStock("alice").orElseThrow().getProductCount()).isEqualTo(1);
+        InventorySummaryDTO summary = aggregates.getSummary();
+        assertThat(summary.getProductCount()).isEqualTo(1);
+        assertThat(summary.getTotalQuantity()).isEqualTo(40);
+        assertThat(summary.getLowStockItems()).isZero();
+        assertThat(summary.getProductsWithLowStock()).isZero();
+    }
+
+    private CatalogChangeEvent product(ChangeType type, Long productId, String owner) {
+        return CatalogChangeEvent.builder()
+                .type(type)
+                .productId(productId)
+                .owner(owner)
+                .build();
+    }
+
+    private CatalogChangeEvent item(ChangeType type, Long productId, String owner, Integer quantity, Integer previousQuantity) {
+        return CatalogChangeEvent.builder()
+                .type(type)
+                .productId(productId)
+                .itemId(productId * 100)
+                .owner(owner)
+                .quantity(quantity)
+                .previousQuantity(previousQuantity)
+                .build();
+    }
+}
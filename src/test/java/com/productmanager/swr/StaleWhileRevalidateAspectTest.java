@@ -0,0 +1,114 @@
+package com.productmanager.swr;
+
+import com.productmanager.event.CatalogChangeEvent;
+import com.productmanager.event.ChangeType;
+import com.productmanager.exception.ResourceNotFoundException;
+import com.productmanager.service.ProductService;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings("all")
+class StaleWhileRevalidateAspectTest {
+
+    private StaleWhileRevalidateAspect aspect;
+    private ProceedingJoinPoint joinPoint;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        aspect = new StaleWhileRevalidateAspect(1, 16);
+        ReflectionTestUtils.setField(aspect, "enabled", true);
+        ReflectionTestUtils.setField(aspect, "softTtlMillis", 60_000L);
+        ReflectionTestUtils.setField(aspect, "hardTtlMillis", 300_000L);
+        ReflectionTestUtils.setField(aspect, "maxEntries", 100);
+
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(ProductService.class.getMethod("getProductById", Long.class));
+        joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{1L});
+    }
+
+    @AfterEach
+    void tearDown() {
+        aspect.destroy();
+    }
+
+    @Test
+    void serve_ReturnsFreshEntryWithoutProceeding() throws Throwable {
+        // Arrange
+        when(joinPoint.proceed()).thenReturn("v1");
+
+        // Act
+        aspect.serve(joinPoint);
+        Object second = aspect.serve(joinPoint);
+
+        // Assert
+        assertThat(second).isEqualTo("v1");
+        verify(joinPoint, times(1)).proceed();
+        assertThat(aspect.getMetricsSnapshot()).containsEntry("hits", 1L);
+    }
+
+    @Test
+    void serve_ReturnsStaleEntryAndRefreshesInBackground() throws Throwable {
+        // Arrange
+        ReflectionTestUtils.setField(aspect, "softTtlMillis", 0L);
+        when(joinPoint.proceed()).thenReturn("v1", "v2");
+        aspect.serve(joinPoint);
+
+        // Act
+        Object stale = aspect.serve(joinPoint);
+
+        // Assert
+        assertThat(stale).isEqualTo("v1");
+        verify(joinPoint, timeout(2000).times(2)).proceed();
+        assertThat(aspect.getMetricsSnapshot()).containsEntry("staleServed", 1L);
+    }
+
+    @Test
+    void serve_ReloadsAfterCommittedChangeAndFallsBackOnDatabaseError() throws Throwable {
+        // Arrange
+        when(joinPoint.proceed())
+                .thenReturn("v1")
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        aspect.serve(joinPoint);
+        aspect.onCatalogChange(CatalogChangeEvent.builder()
+                .type(ChangeType.PRODUCT_UPDATED)
+                .productId(1L)
+                .build());
+
+        // Act
+        Object result = aspect.serve(joinPoint);
+
+        // Assert
+        assertThat(result).isEqualTo("v1");
+        verify(joinPoint, times(2)).proceed();
+        assertThat(aspect.getMetricsSnapshot()).containsEntry("staleOnError", 1L);
+    }
+
+    @Test
+    void serve_PropagatesNotFoundAndDropsEntry() throws Throwable {
+        // Arrange
+        when(joinPoint.proceed())
+                .thenReturn("v1")
+                .thenThrow(ResourceNotFoundException.productNotFound(1L))
+                .thenReturn("v2");
+        aspect.serve(joinPoint);
+        aspect.onCatalogChange(CatalogChangeEvent.builder()
+                .type(ChangeType.PRODUCT_DELETED)
+                .productId(1L)
+                .build());
+
+        // Act & Assert
+        assertThatThrownBy(() -> aspect.serve(joinPoint)).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(aspect.serve(joinPoint)).isEqualTo("v2");
+        assertThat(aspect.getMetricsSnapshot()).containsEntry("errors", 1L);
+    }
+}
@@ -0,0 +1,110 @@
+package com.productmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SuppressWarnings("all")
+class BatchingWorkerTest {
+
+    @Test
+    void drain_HandsAtMostOneBatchToHandler() {
+        // Arrange
+        List<List<Integer>> batches = new ArrayList<>();
+        BatchingWorker<Integer> worker = new BatchingWorker<>("test-worker", 10, 2, 0, batches::add);
+        worker.offer(1);
+        worker.offer(2);
+        worker.offer(3);
+
+        // Act
+        int taken = worker.drain();
+
+        // Assert
+        assertThat(taken).isEqualTo(2);
+        assertThat(batches).containsExactly(List.of(1, 2));
+        assertThat(worker.size()).isEqualTo(1);
+    }
+
+    @Test
+    void offer_RefusesElementsBeyondCapacity() {
+        // Arrange
+        BatchingWorker<Integer> worker = new BatchingWorker<>("test-worker", 1, 10, 0, batch -> {
+        });
+
+        // Act & Assert
+        assertThat(worker.offer(1)).isTrue();
+        assertThat(worker.offer(2)).isFalse();
+    }
+
+    @Test
+    void start_LingersForBatchToFill() throws Exception {
+        // Arrange
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        CountDownLatch handled = new CountDownLatch(1);
+        BatchingWorker<Integer> worker = new BatchingWorker<>("test-worker", 10, 3, 5000, batch -> {
+            batches.add(List.copyOf(batch));
+            handled.countDown();
+        });
+        worker.start(1);
+
+        // Act
+        worker.offer(1);
+        Thread.sleep(50);
+        worker.offer(2);
+        worker.offer(3);
+
+        // Assert
+        assertThat(handled.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(batches).containsExactly(List.of(1, 2, 3));
+        worker.stop(1000);
+    }
+
+    @Test
+    void stop_HandlesQueuedElementsBeforeThreadsEnd() throws Exception {
+        // Arrange
+        List<Integer> handled = new CopyOnWriteArrayList<>();
+        BatchingWorker<Integer> worker = new BatchingWorker<>("test-worker", 10, 2, 0, handled::addAll);
+        for (int i = 1; i <= 5; i++) {
+            worker.offer(i);
+        }
+
+        // Act
+        worker.start(1);
+        int left = worker.stop(5000);
+
+        // Assert
+        assertThat(left).isZero();
+        assertThat(handled).containsExactly(1, 2, 3, 4, 5);
+        assertThat(worker.isStopped()).isTrue();
+    }
+
+    @Test
+    void start_KeepsRunningAfterHandlerFails() throws Exception {
+        // Arrange
+        List<Integer> handled = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        BatchingWorker<Integer> worker = new BatchingWorker<>("test-worker", 10, 1, 0, batch -> {
+            if (batch.get(0) == 1) {
+                throw new IllegalStateException("down");
+            }
+            handled.addAll(batch);
+            done.countDown();
+        });
+        worker.start(1);
+
+        // Act
+        worker.offer(1);
+        worker.offer(2);
+
+        // Assert
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(handled).containsExactly(2);
+        worker.stop(1000);
+    }
+}
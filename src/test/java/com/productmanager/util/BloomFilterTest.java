@@ -0,0 +1,52 @@
+package com.productmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SuppressWarnings("all")
+class BloomFilterTest {
+
+    @Test
+    void mightContain_NeverMissesAddedValues() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+
+        // Act
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("product " + i);
+        }
+
+        // Assert
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("product " + i)).isTrue();
+        }
+    }
+
+    @Test
+    void mightContain_FalsePositiveRateStaysNearTarget() {
+        // Arrange
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("product " + i);
+        }
+
+        // Act
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("other " + i)) {
+                falsePositives++;
+            }
+        }
+
+        // Assert
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void constructor_RejectsInvalidSizing() {
+        // Act & Assert
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
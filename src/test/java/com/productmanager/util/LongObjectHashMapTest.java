@@ -0,0 +1,54 @@
+package com.productmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SuppressWarnings("all")
+class LongObjectHashMapTest {
+
+    @Test
+    void putGetRemove_BasicOperations() {
+        // Arrange
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+
+        // Act
+        map.put(1L, "one");
+        map.put(-7L, "minus seven");
+        String previous = map.put(1L, "uno");
+
+        // Assert
+        assertThat(previous).isEqualTo("one");
+        assertThat(map.get(1L)).isEqualTo("uno");
+        assertThat(map.get(-7L)).isEqualTo("minus seven");
+        assertThat(map.remove(-7L)).isEqualTo("minus seven");
+        assertThat(map.containsKey(-7L)).isFalse();
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void randomOperations_MatchHashMap() {
+        // Arrange
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>(4);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        // Act
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key));
+            } else {
+                assertThat(map.put(key, (long) i)).isEqualTo(expected.put(key, (long) i));
+            }
+        }
+
+        // Assert
+        assertThat(map.size()).isEqualTo(expected.size());
+        expected.forEach((key, value) -> assertThat(map.get(key)).isEqualTo(value));
+    }
+}
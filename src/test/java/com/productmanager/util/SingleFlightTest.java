@@ -0,0 +1,117 @@
+package com.productmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SuppressWarnings("all")
+class SingleFlightTest {
+
+    @Test
+    void execute_ConcurrentCallsShareOneExecution() throws Exception {
+        // Arrange
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(5000);
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<Integer>> results = new ArrayList<>();
+        results.add(executor.submit(() -> call(singleFlight, () -> {
+            executions.incrementAndGet();
+            leaderStarted.countDown();
+            release.await();
+            return 42;
+        })));
+        leaderStarted.await();
+        for (int i = 0; i < 7; i++) {
+            results.add(executor.submit(() -> call(singleFlight, () -> executions.incrementAndGet())));
+        }
+        while (singleFlight.getFollowerCount() < 7) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        // Assert
+        for (Future<Integer> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+        }
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(singleFlight.getLeaderCount()).isEqualTo(1);
+        assertThat(singleFlight.getCoalescingRatio()).isEqualTo(7.0 / 8.0);
+        assertThat(singleFlight.getInFlightCount()).isZero();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_LeaderExceptionIsSharedWithFollowers() throws Exception {
+        // Arrange
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(5000);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // Act
+        Future<Integer> leader = executor.submit(() -> call(singleFlight, () -> {
+            leaderStarted.countDown();
+            release.await();
+            throw new IllegalStateException("boom");
+        }));
+        leaderStarted.await();
+        Future<Integer> follower = executor.submit(() -> call(singleFlight, () -> 1));
+        while (singleFlight.getFollowerCount() < 1) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        // Assert
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_FollowerRunsItselfAfterMaxWait() throws Throwable {
+        // Arrange
+        SingleFlight<String, Integer> singleFlight = new SingleFlight<>(10);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.submit(() -> call(singleFlight, () -> {
+            leaderStarted.countDown();
+            release.await();
+            return 1;
+        }));
+        leaderStarted.await();
+
+        // Act
+        Integer result = singleFlight.execute("key", () -> 2);
+
+        // Assert
+        assertThat(result).isEqualTo(2);
+        assertThat(singleFlight.getTimeoutCount()).isEqualTo(1);
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    private static Integer call(SingleFlight<String, Integer> singleFlight,
+                                SingleFlight.Loader<Integer> loader) throws Exception {
+        try {
+            return singleFlight.execute("key", loader);
+        } catch (Exception ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
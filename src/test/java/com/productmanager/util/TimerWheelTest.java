@@ -0,0 +1,63 @@
+package com.productmanager.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SuppressWarnings("all")
+class TimerWheelTest {
+
+    @Test
+    void advance_FiresOnlyDueTimers() {
+        // Arrange
+        TimerWheel<String> wheel = new TimerWheel<>(10, 8, 0);
+        wheel.schedule("early", 25);
+        wheel.schedule("late", 60);
+        List<String> fired = new ArrayList<>();
+
+        // Act
+        int count = wheel.advance(30, fired::add);
+
+        // Assert
+        assertThat(count).isEqualTo(1);
+        assertThat(fired).containsExactly("early");
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void advance_KeepsTimersMoreThanOneRevolutionOut() {
+        // Arrange
+        TimerWheel<String> wheel = new TimerWheel<>(10, 4, 0);
+        wheel.schedule("far", 130);
+        List<String> fired = new ArrayList<>();
+
+        // Act
+        wheel.advance(50, fired::add);
+        wheel.advance(100, fired::add);
+        int firedLate = wheel.advance(130, fired::add);
+
+        // Assert
+        assertThat(firedLate).isEqualTo(1);
+        assertThat(fired).containsExactly("far");
+    }
+
+    @Test
+    void advance_AfterLongPause_FiresEverythingDue() {
+        // Arrange
+        TimerWheel<Integer> wheel = new TimerWheel<>(10, 4, 0);
+        for (int i = 1; i <= 20; i++) {
+            wheel.schedule(i, i * 10L);
+        }
+        List<Integer> fired = new ArrayList<>();
+
+        // Act
+        wheel.advance(10_000, fired::add);
+
+        // Assert
+        assertThat(fired).hasSize(20);
+        assertThat(wheel.size()).isZero();
+    }
+}